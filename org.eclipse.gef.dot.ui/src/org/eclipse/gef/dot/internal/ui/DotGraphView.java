@@ -54,6 +54,7 @@ import org.eclipse.gef.dot.internal.ui.language.DotActivatorEx;
 import org.eclipse.gef.dot.internal.ui.language.editor.DotEditorUtils;
 import org.eclipse.gef.dot.internal.ui.preferences.GraphvizPreferencePage;
 import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.layout.LayoutResultCache;
 import org.eclipse.gef.zest.fx.parts.GraphPart;
 import org.eclipse.gef.zest.fx.ui.ZestFxUiModule;
 import org.eclipse.gef.zest.fx.ui.parts.ZestFxUiView;
@@ -127,6 +128,9 @@ public class DotGraphView extends ZestFxUiView implements IShowInTarget {
 	@Inject
 	private Dot2ZestGraphCopier dot2ZestGraphCopier;
 
+	// re-opening an unchanged dot file does not re-run the emulated layout
+	private final LayoutResultCache layoutResultCache = new LayoutResultCache();
+
 	private IPropertyChangeListener preferenceChangeListener = new IPropertyChangeListener() {
 		@Override
 		public void propertyChange(PropertyChangeEvent event) {
@@ -309,6 +313,8 @@ public class DotGraphView extends ZestFxUiView implements IShowInTarget {
 		dot2ZestGraphCopier.getAttributeCopier()
 				.options().emulateLayout = !isNativeMode;
 		dot2ZestGraphCopier.getAttributeCopier().options().invertYAxis = false;
+		dot2ZestGraphCopier.getAttributeCopier()
+				.options().layoutResultCache = layoutResultCache;
 		super.setGraph(dot2ZestGraphCopier.copy(graph));
 
 		// apply graph background color
@@ -66,9 +66,14 @@ import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutResultCache;
+import org.eclipse.gef.layout.algorithms.CircularLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.ComponentPackingLayoutAlgorithm;
 import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.MultilevelForceLayoutAlgorithm;
 import org.eclipse.gef.layout.algorithms.RadialLayoutAlgorithm;
 import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.StressMajorizationLayoutAlgorithm;
 import org.eclipse.gef.layout.algorithms.TreeLayoutAlgorithm;
 import org.eclipse.gef.zest.fx.ZestProperties;
 
@@ -112,6 +117,14 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		 * it is to be transformed without inversion.
 		 */
 		public boolean invertYAxis = false;
+
+		/**
+		 * The {@link LayoutResultCache} that is used by the inferred
+		 * {@link ILayoutAlgorithm} in case layout is emulated, so that
+		 * converting an unchanged dot input again does not re-run the layout.
+		 * If set to <code>null</code>, the layout results are not cached.
+		 */
+		public LayoutResultCache layoutResultCache = null;
 	}
 
 	DotColorUtil colorUtil = new DotColorUtil();
@@ -934,13 +947,18 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 			// convert layout and rankdir to LayoutAlgorithm
 			Object dotLayout = DotAttributes.getLayout(dot);
 			ILayoutAlgorithm algo = null;
-			if (Layout.CIRCO.toString().equals(dotLayout)
-					|| Layout.NEATO.toString().equals(dotLayout)
-					|| Layout.TWOPI.toString().equals(dotLayout)) {
+			if (Layout.CIRCO.toString().equals(dotLayout)) {
+				// circo packs the layouts of the connected components
+				algo = new ComponentPackingLayoutAlgorithm(
+						CircularLayoutAlgorithm::new);
+			} else if (Layout.TWOPI.toString().equals(dotLayout)) {
 				algo = new RadialLayoutAlgorithm();
-			} else if (Layout.FDP.toString().equals(dotLayout)
-					|| Layout.SFDP.toString().equals(dotLayout)) {
+			} else if (Layout.NEATO.toString().equals(dotLayout)) {
+				algo = new StressMajorizationLayoutAlgorithm();
+			} else if (Layout.FDP.toString().equals(dotLayout)) {
 				algo = new SpringLayoutAlgorithm();
+			} else if (Layout.SFDP.toString().equals(dotLayout)) {
+				algo = new MultilevelForceLayoutAlgorithm();
 			} else if (Layout.OSAGE.toString().equals(dotLayout)) {
 				algo = new GridLayoutAlgorithm();
 			} else {
@@ -949,7 +967,9 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 						? TreeLayoutAlgorithm.LEFT_RIGHT
 						: TreeLayoutAlgorithm.TOP_DOWN);
 			}
-			ZestProperties.setLayoutAlgorithm(zest, algo);
+			LayoutResultCache cache = options().layoutResultCache;
+			ZestProperties.setLayoutAlgorithm(zest,
+					cache == null ? algo : cache.wrap(algo));
 		}
 	}
 
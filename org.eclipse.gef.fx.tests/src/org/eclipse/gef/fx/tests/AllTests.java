@@ -19,7 +19,9 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ ConnectionTests.class, GeometryNodeTests.class, GeometryConversionTests.class,
-		OrthogonalProjectionStrategyTests.class, NodeUtilsTests.class, FXCanvasExTests.class, TraverseTests.class})
+		OrthogonalProjectionStrategyTests.class, NodeUtilsTests.class, FXCanvasExTests.class, TraverseTests.class,
+		ObstacleAvoidingOrthogonalRouterTests.class, ChopBoxStrategyTests.class,
+		VisualChangeListenerRegistryTests.class })
 public class AllTests {
 
 }
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.fx.anchors.AnchorKey;
+import org.eclipse.gef.fx.anchors.ChopBoxStrategy;
+import org.eclipse.gef.fx.anchors.DynamicAnchor;
+import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchoredReferencePoint;
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.planar.ICurve;
+import org.eclipse.gef.geometry.planar.IGeometry;
+import org.eclipse.gef.geometry.planar.Point;
+import org.junit.Test;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Rectangle;
+
+public class ChopBoxStrategyTests {
+
+	/**
+	 * Counts how often the outline of an anchorage geometry is determined.
+	 */
+	private static class CountingChopBoxStrategy extends ChopBoxStrategy {
+		private int count = 0;
+
+		@Override
+		protected List<ICurve> getOutlineSegments(IGeometry geometry) {
+			count++;
+			return super.getOutlineSegments(geometry);
+		}
+	}
+
+	/**
+	 * Attaches the given number of anchored nodes (left of the anchorage) to
+	 * the given anchor.
+	 */
+	private static List<AnchorKey> attach(Group root, DynamicAnchor anchor,
+			int count) {
+		List<AnchorKey> keys = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Rectangle anchored = new Rectangle(0, 0, 10, 10);
+			root.getChildren().add(anchored);
+			AnchorKey key = new AnchorKey(anchored, "role");
+			anchor.attach(key);
+			anchor.getComputationParameter(key, AnchoredReferencePoint.class)
+					.set(new Point(-100, 25 + i % 10));
+			keys.add(key);
+		}
+		return keys;
+	}
+
+	/**
+	 * Asserts that the positions of the given keys are on the left side of
+	 * the given anchorage, at the height of the respective reference point.
+	 */
+	private static void assertPositions(DynamicAnchor anchor,
+			List<AnchorKey> keys, Rectangle anchorage) {
+		Point topLeft = NodeUtils.localToScene(anchorage, new Point(0, 0));
+		for (int i = 0; i < keys.size(); i++) {
+			AnchorKey key = keys.get(i);
+			Point position = NodeUtils.localToScene(key.getAnchored(),
+					anchor.getPosition(key));
+			Point reference = NodeUtils.localToScene(key.getAnchored(),
+					anchor.getComputationParameter(key,
+							AnchoredReferencePoint.class).get());
+			assertEquals(topLeft.x, position.x, 1e-6);
+			// on the line from the anchorage center to the reference point
+			Point center = topLeft.getTranslated(25, 25);
+			double expectedY = center.y + (reference.y - center.y)
+					* (position.x - center.x) / (reference.x - center.x);
+			assertEquals(expectedY, position.y, 1e-6);
+		}
+	}
+
+	@Test
+	public void anchorageGeometryIsSharedByAnchoredKeys() {
+		Group root = new Group();
+		Group layer = new Group();
+		root.getChildren().add(layer);
+		Rectangle anchorage = new Rectangle(0, 0, 50, 50);
+		layer.getChildren().add(anchorage);
+		CountingChopBoxStrategy strategy = new CountingChopBoxStrategy();
+		DynamicAnchor anchor = new DynamicAnchor(anchorage, strategy);
+		List<AnchorKey> keys = attach(layer, anchor, 100);
+		assertPositions(anchor, keys, anchorage);
+
+		// moving the anchorage determines the outline only once for all keys
+		int count = strategy.count;
+		anchorage.setLayoutX(30);
+		anchorage.setLayoutY(-20);
+		assertEquals(count + 2, strategy.count);
+		assertPositions(anchor, keys, anchorage);
+
+		// resizing the anchorage changes the anchorage reference geometry
+		count = strategy.count;
+		anchorage.setWidth(60);
+		assertEquals(count + 1, strategy.count);
+
+		// changes of unobserved ancestors are respected when computing
+		// positions later on (e.g. for a changed reference point)
+		anchorage.setWidth(50);
+		root.setLayoutX(500);
+		AnchorKey key = keys.get(0);
+		anchor.getComputationParameter(key, AnchoredReferencePoint.class)
+				.set(new Point(-100, 30));
+		assertPositions(anchor, keys, anchorage);
+	}
+}
@@ -14,20 +14,102 @@
 package org.eclipse.gef.fx.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.eclipse.gef.fx.anchors.DynamicAnchor;
 import org.eclipse.gef.fx.anchors.IAnchor;
 import org.eclipse.gef.fx.anchors.StaticAnchor;
 import org.eclipse.gef.fx.nodes.Connection;
 import org.eclipse.gef.fx.nodes.GeometryNode;
+import org.eclipse.gef.fx.nodes.PolylineInterpolator;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.Point;
 import org.junit.Test;
 
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Rectangle;
+
 public class ConnectionTests {
 
+	/**
+	 * Counts the refreshes of the connections it is used by (each refresh
+	 * interpolates once).
+	 */
+	private static class CountingInterpolator extends PolylineInterpolator {
+		private int count = 0;
+
+		@Override
+		public void interpolate(Connection connection) {
+			count++;
+			super.interpolate(connection);
+		}
+	}
+
+	/**
+	 * Creates connections from the given anchorage to individual end points,
+	 * which are added to the given root together with the anchorage.
+	 */
+	private static List<Connection> createConnections(Group root,
+			Rectangle anchorage, int count, CountingInterpolator interpolator,
+			boolean deferred) {
+		root.getChildren().add(anchorage);
+		List<Connection> connections = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Connection connection = new Connection();
+			connection.setDeferredRefresh(deferred);
+			connection.setInterpolator(interpolator);
+			root.getChildren().add(connection);
+			connection.setStartAnchor(new DynamicAnchor(anchorage));
+			connection.setEndPoint(new Point(500, 10 * i));
+			connections.add(connection);
+		}
+		root.layout();
+		return connections;
+	}
+
+	/**
+	 * Asserts that the curves of the given connections have the same end
+	 * points (up to the precision of the JavaFX transformations).
+	 */
+	private static void assertSameCurve(Connection expected,
+			Connection actual) {
+		ICurve expectedCurve = getGeometry(expected);
+		ICurve actualCurve = getGeometry(actual);
+		assertEquals(expectedCurve.getX1(), actualCurve.getX1(), 1e-4);
+		assertEquals(expectedCurve.getY1(), actualCurve.getY1(), 1e-4);
+		assertEquals(expectedCurve.getX2(), actualCurve.getX2(), 1e-4);
+		assertEquals(expectedCurve.getY2(), actualCurve.getY2(), 1e-4);
+	}
+
+	/**
+	 * Returns the curve geometry of the given connection.
+	 */
+	private static ICurve getGeometry(Connection connection) {
+		return (ICurve) ((GeometryNode<?>) connection.getCurve())
+				.getGeometry();
+	}
+
+	/**
+	 * Simulates the mouse events of a drag frame, i.e. moves the anchorage
+	 * multiple times before the layout pass of the next pulse.
+	 */
+	private static void dragFrame(Rectangle anchorage) {
+		for (int i = 0; i < 3; i++) {
+			anchorage.setLayoutX(anchorage.getLayoutX() + 5);
+			anchorage.setLayoutY(anchorage.getLayoutY() + 3);
+		}
+	}
+
 	@Test
 	public void controlPoints() throws IllegalArgumentException, IllegalAccessException {
 		Connection connection = new Connection();
@@ -97,6 +179,40 @@ public class ConnectionTests {
 		assertEquals(2, connection.getControlPoints().size());
 	}
 
+	@Test
+	public void decorationClip() {
+		Connection connection = new Connection();
+		((GeometryNode<?>) connection.getCurve()).setStrokeWidth(5);
+		connection.setStartDecoration(new Circle(3));
+		connection.setEndDecoration(new Polygon(0, 0, 10, -5, 10, 5));
+		connection.setStartPoint(new Point(0, 0));
+		connection.addControlPoint(0, new Point(100, 0));
+		connection.setEndPoint(new Point(100, 50));
+
+		// the curve is clipped from the decorations' tips up to where it
+		// exits their outlines
+		Node curve = connection.getCurve();
+		Node clip = curve.getClip();
+		assertTrue(clip.contains(curve.parentToLocal(50, 0)));
+		assertTrue(clip.contains(curve.parentToLocal(7, 0)));
+		assertFalse(clip.contains(curve.parentToLocal(3, 0)));
+		assertTrue(clip.contains(curve.parentToLocal(100, 35)));
+		assertFalse(clip.contains(curve.parentToLocal(100, 45)));
+		assertFalse(clip.contains(curve.parentToLocal(102, 49)));
+
+		// the clip is only exchanged if it changes
+		connection.setStartDecoration(new Circle(3));
+		assertSame(clip, curve.getClip());
+		connection.setStartDecoration(null);
+		assertTrue(clip != curve.getClip());
+		assertTrue(curve.getClip().contains(curve.parentToLocal(3, 0)));
+		assertFalse(curve.getClip().contains(curve.parentToLocal(100, 45)));
+
+		// no clip without decorations
+		connection.setEndDecoration(null);
+		assertNull(curve.getClip());
+	}
+
 	@Test
 	public void exchangeCurve() {
 		// setup connection with start, control, end points
@@ -173,4 +289,78 @@ public class ConnectionTests {
 		assertEquals(wayPoint, points.get(1));
 		assertEquals(endPoint, points.get(2));
 	}
+
+	@Test
+	public void deferredRefresh() {
+		// immediate refresh: the connections are refreshed by the anchorage
+		// moves, the layout pass does not refresh them again
+		Group root = new Group();
+		Rectangle anchorage = new Rectangle(0, 0, 50, 50);
+		CountingInterpolator interpolator = new CountingInterpolator();
+		List<Connection> immediate = createConnections(root, anchorage, 200,
+				interpolator, false);
+		for (int frame = 0; frame < 5; frame++) {
+			int before = interpolator.count;
+			dragFrame(anchorage);
+			int afterMoves = interpolator.count;
+			assertTrue(afterMoves > before + 200);
+			root.layout();
+			assertEquals(afterMoves, interpolator.count);
+		}
+
+		// deferred refresh: the anchorage moves do not refresh the
+		// connections, the layout pass refreshes each of them once
+		root = new Group();
+		anchorage = new Rectangle(0, 0, 50, 50);
+		interpolator = new CountingInterpolator();
+		List<Connection> deferred = createConnections(root, anchorage, 200,
+				interpolator, true);
+		for (int frame = 0; frame < 5; frame++) {
+			int before = interpolator.count;
+			dragFrame(anchorage);
+			assertEquals(before, interpolator.count);
+			root.layout();
+			assertEquals(before + 200, interpolator.count);
+		}
+
+		// both result in the same curves
+		for (int i = 0; i < 200; i++) {
+			assertSameCurve(immediate.get(i), deferred.get(i));
+		}
+	}
+
+	@Test
+	public void flushDeferredRefresh() {
+		Connection connection = new Connection();
+		CountingInterpolator interpolator = new CountingInterpolator();
+		connection.setInterpolator(interpolator);
+		connection.setDeferredRefresh(true);
+		int before = interpolator.count;
+		connection.setStartPoint(new Point(10, 20));
+		connection.setEndPoint(new Point(30, 40));
+		assertEquals(before, interpolator.count);
+		// points are up-to-date, the curve is not
+		assertEquals(new Point(10, 20), connection.getStartPoint());
+
+		Connection expected = new Connection();
+		expected.setStartPoint(new Point(10, 20));
+		expected.setEndPoint(new Point(30, 40));
+		assertTrue(!getGeometry(expected).getP1()
+				.equals(getGeometry(connection).getP1()));
+
+		connection.flushRefresh();
+		assertEquals(before + 1, interpolator.count);
+		assertSameCurve(expected, connection);
+
+		// nothing to flush
+		connection.flushRefresh();
+		assertEquals(before + 1, interpolator.count);
+
+		// disabling deferred refresh performs a pending refresh
+		connection.setEndPoint(new Point(50, 60));
+		connection.setDeferredRefresh(false);
+		assertEquals(before + 2, interpolator.count);
+		connection.setEndPoint(new Point(70, 80));
+		assertEquals(before + 3, interpolator.count);
+	}
 }
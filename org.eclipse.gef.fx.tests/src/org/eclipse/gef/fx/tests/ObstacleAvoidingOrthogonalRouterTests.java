@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.gef.fx.anchors.DynamicAnchor;
+import org.eclipse.gef.fx.anchors.OrthogonalProjectionStrategy;
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.ObstacleAvoidingOrthogonalRouter;
+import org.eclipse.gef.fx.nodes.PolylineInterpolator;
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.geometry.planar.Point;
+import org.junit.Test;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+
+public class ObstacleAvoidingOrthogonalRouterTests {
+
+	/**
+	 * Counts the refreshes of the connections it is used by (each refresh
+	 * interpolates once).
+	 */
+	private static class CountingInterpolator extends PolylineInterpolator {
+		private int count = 0;
+
+		@Override
+		public void interpolate(Connection connection) {
+			count++;
+			super.interpolate(connection);
+		}
+	}
+
+	/**
+	 * Asserts that all segments of the given connection are horizontal or
+	 * vertical.
+	 */
+	private static void assertOrthogonal(Connection connection) {
+		List<Point> points = connection.getPointsUnmodifiable();
+		for (int i = 0; i < points.size() - 1; i++) {
+			Point p = points.get(i);
+			Point q = points.get(i + 1);
+			assertTrue("segment " + p + " -> " + q + " is not orthogonal",
+					Math.abs(p.x - q.x) < 1e-6 || Math.abs(p.y - q.y) < 1e-6);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if a segment of the given connection passes
+	 * through the interior of the given rectangle.
+	 */
+	private static boolean crosses(Connection connection, Rectangle shape) {
+		org.eclipse.gef.geometry.planar.Rectangle r = FX2Geometry
+				.toRectangle(shape.localToScene(shape.getLayoutBounds()));
+		List<Point> points = connection.getPointsUnmodifiable();
+		for (int i = 0; i < points.size() - 1; i++) {
+			Point p = NodeUtils.localToScene(connection, points.get(i));
+			Point q = NodeUtils.localToScene(connection, points.get(i + 1));
+			if (Math.max(p.x, q.x) > r.getX() + 1e-6
+					&& Math.min(p.x, q.x) < r.getX() + r.getWidth() - 1e-6
+					&& Math.max(p.y, q.y) > r.getY() + 1e-6
+					&& Math.min(p.y, q.y) < r.getY() + r.getHeight() - 1e-6) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Test
+	public void anchoragesAsObstacles() {
+		Group root = new Group();
+		Rectangle source = new Rectangle(0, 0, 50, 50);
+		Rectangle target = new Rectangle(300, 200, 50, 50);
+		Rectangle obstacle = new Rectangle(100, -100, 100, 400);
+		root.getChildren().addAll(source, target, obstacle);
+
+		ObstacleAvoidingOrthogonalRouter router = new ObstacleAvoidingOrthogonalRouter();
+		router.addObstacle(source);
+		router.addObstacle(target);
+		router.addObstacle(obstacle);
+
+		Connection connection = new Connection();
+		root.getChildren().add(connection);
+		connection.setRouter(router);
+		connection.setStartAnchor(
+				new DynamicAnchor(source, new OrthogonalProjectionStrategy()));
+		connection.setEndAnchor(
+				new DynamicAnchor(target, new OrthogonalProjectionStrategy()));
+
+		assertOrthogonal(connection);
+		assertFalse(crosses(connection, source));
+		assertFalse(crosses(connection, target));
+		assertFalse(crosses(connection, obstacle));
+	}
+
+	@Test
+	public void enclosedEndPoint() {
+		Group root = new Group();
+		ObstacleAvoidingOrthogonalRouter router = new ObstacleAvoidingOrthogonalRouter();
+		for (int i = 0; i < 20; i++) {
+			for (int j = 0; j < 20; j++) {
+				Rectangle obstacle = new Rectangle(60 * i, 60 * j, 30, 30);
+				root.getChildren().add(obstacle);
+				router.addObstacle(obstacle);
+			}
+		}
+		// a ring of obstacles around the end point
+		Rectangle[] ring = { new Rectangle(632, 632, 26, 4),
+				new Rectangle(632, 654, 26, 4), new Rectangle(632, 632, 4, 26),
+				new Rectangle(654, 632, 4, 26) };
+		for (Rectangle obstacle : ring) {
+			root.getChildren().add(obstacle);
+			router.addObstacle(obstacle);
+		}
+
+		Connection connection = new Connection();
+		root.getChildren().add(connection);
+		connection.setRouter(router);
+		connection.setStartPoint(new Point(-20, -20));
+		connection.setEndPoint(new Point(645, 645));
+
+		// there is no route, so the connection is routed like by the
+		// OrthogonalRouter (through the ring)
+		List<Point> points = connection.getPointsUnmodifiable();
+		assertEquals(new Point(-20, -20), points.get(0));
+		assertEquals(new Point(645, 645), points.get(points.size() - 1));
+		assertOrthogonal(connection);
+		assertTrue(crosses(connection, ring[0]));
+
+		// opening the ring lets the connection avoid the obstacles again
+		ring[0].setLayoutX(100);
+		assertOrthogonal(connection);
+		for (Node node : root.getChildren()) {
+			if (node instanceof Rectangle) {
+				assertFalse(crosses(connection, (Rectangle) node));
+			}
+		}
+	}
+
+	@Test
+	public void incrementalUpdate() {
+		Group root = new Group();
+		Rectangle obstacle = new Rectangle(150, -50, 50, 100);
+		root.getChildren().add(obstacle);
+		ObstacleAvoidingOrthogonalRouter router = new ObstacleAvoidingOrthogonalRouter();
+		router.addObstacle(obstacle);
+
+		// one connection passes the obstacle, the other one is far away
+		CountingInterpolator nearInterpolator = new CountingInterpolator();
+		Connection near = new Connection();
+		near.setInterpolator(nearInterpolator);
+		near.setRouter(router);
+		near.setStartPoint(new Point(0, 0));
+		near.setEndPoint(new Point(400, 0));
+		CountingInterpolator farInterpolator = new CountingInterpolator();
+		Connection far = new Connection();
+		far.setInterpolator(farInterpolator);
+		far.setRouter(router);
+		far.setStartPoint(new Point(0, 1000));
+		far.setEndPoint(new Point(400, 1000));
+		root.getChildren().addAll(near, far);
+		assertTrue(near.getPointsUnmodifiable().size() > 2);
+		assertFalse(crosses(near, obstacle));
+		assertEquals(2, far.getPointsUnmodifiable().size());
+
+		// moving the obstacle only re-routes the affected connection
+		int nearCount = nearInterpolator.count;
+		int farCount = farInterpolator.count;
+		obstacle.setLayoutY(20);
+		assertTrue(nearInterpolator.count > nearCount);
+		assertEquals(farCount, farInterpolator.count);
+		assertOrthogonal(near);
+		assertFalse(crosses(near, obstacle));
+
+		// moving the obstacle out of the way straightens the connection
+		obstacle.setLayoutY(500);
+		assertEquals(2, near.getPointsUnmodifiable().size());
+		assertEquals(farCount, farInterpolator.count);
+
+		// removing the obstacle does not affect the connections
+		router.removeObstacle(obstacle);
+		assertEquals(2, near.getPointsUnmodifiable().size());
+		assertEquals(2, far.getPointsUnmodifiable().size());
+	}
+
+	@Test
+	public void routeAroundObstacle() {
+		Group root = new Group();
+		Rectangle obstacle = new Rectangle(150, -30, 50, 150);
+		root.getChildren().add(obstacle);
+		ObstacleAvoidingOrthogonalRouter router = new ObstacleAvoidingOrthogonalRouter();
+		router.addObstacle(obstacle);
+
+		Connection connection = new Connection();
+		root.getChildren().add(connection);
+		connection.setRouter(router);
+		connection.setStartPoint(new Point(0, 25));
+		connection.setEndPoint(new Point(400, 25));
+
+		// route around the obstacle (rather than through it), bending as
+		// little as possible
+		List<Point> points = connection.getPointsUnmodifiable();
+		assertEquals(4, points.size());
+		assertEquals(new Point(0, 25), points.get(0));
+		assertEquals(new Point(400, 25), points.get(3));
+		assertOrthogonal(connection);
+		assertFalse(crosses(connection, obstacle));
+		// the shorter detour (above the obstacle) is taken, keeping the
+		// obstacle spacing
+		assertEquals(-30 - router.getObstacleSpacing(), points.get(1).y, 1e-6);
+		assertEquals(-30 - router.getObstacleSpacing(), points.get(2).y, 1e-6);
+
+		// without bend penalty, any of the shortest routes may be taken
+		router.setBendPenalty(0);
+		points = connection.getPointsUnmodifiable();
+		assertOrthogonal(connection);
+		assertFalse(crosses(connection, obstacle));
+		double length = 0;
+		for (int i = 0; i < points.size() - 1; i++) {
+			length += points.get(i).getDistance(points.get(i + 1));
+		}
+		assertEquals(400 + 2 * (55 + router.getObstacleSpacing()), length,
+				1e-6);
+	}
+
+	@Test
+	public void routeWithoutObstacles() {
+		Connection connection = new Connection();
+		ObstacleAvoidingOrthogonalRouter router = new ObstacleAvoidingOrthogonalRouter();
+		connection.setRouter(router);
+		connection.setStartPoint(new Point(0, 0));
+		connection.setEndPoint(new Point(100, 50));
+		// behaves like the OrthogonalRouter
+		assertEquals(3, connection.getPointsUnmodifiable().size());
+		assertOrthogonal(connection);
+	}
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.fx.listeners.VisualChangeListener;
+import org.eclipse.gef.fx.listeners.VisualChangeListenerRegistry;
+import org.junit.Test;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Transform;
+
+public class VisualChangeListenerRegistryTests {
+
+	/**
+	 * Counts the notifications it receives.
+	 */
+	private static class CountingVisualChangeListener
+			extends VisualChangeListener {
+		private int changes = 0;
+		private int batches = 0;
+
+		public CountingVisualChangeListener(
+				VisualChangeListenerRegistry registry) {
+			super(registry);
+		}
+
+		@Override
+		protected void boundsInLocalChanged(Bounds oldBounds,
+				Bounds newBounds) {
+			changes++;
+		}
+
+		@Override
+		protected void localToParentTransformChanged(Node observed,
+				Transform oldTransform, Transform newTransform) {
+			changes++;
+		}
+
+		@Override
+		protected void onBoundsChanged() {
+			batches++;
+		}
+	}
+
+	@Test
+	public void changesCausedByListenersAreBatched() {
+		VisualChangeListenerRegistry registry = new VisualChangeListenerRegistry();
+		Group root = new Group();
+		Rectangle trigger = new Rectangle(0, 0, 10, 10);
+		Rectangle observed = new Rectangle(0, 0, 10, 10);
+		Rectangle observer = new Rectangle(0, 0, 10, 10);
+		root.getChildren().addAll(trigger, observed, observer);
+
+		// moves observed and observer upon changes of trigger
+		VisualChangeListener relocating = new VisualChangeListener(registry) {
+			@Override
+			protected void boundsInLocalChanged(Bounds oldBounds,
+					Bounds newBounds) {
+			}
+
+			@Override
+			protected void localToParentTransformChanged(Node observed,
+					Transform oldTransform, Transform newTransform) {
+			}
+
+			@Override
+			protected void onBoundsChanged() {
+				observed.setLayoutX(observed.getLayoutX() + 10);
+				observer.setLayoutX(observer.getLayoutX() + 10);
+				observed.setWidth(observed.getWidth() + 10);
+			}
+		};
+		relocating.register(trigger, root);
+		CountingVisualChangeListener counting = new CountingVisualChangeListener(
+				registry);
+		counting.register(observed, observer);
+
+		trigger.setLayoutY(10);
+		// three changes, which are dispatched as a single batch
+		assertEquals(3, counting.changes);
+		assertEquals(1, counting.batches);
+
+		// changes outside of a batch are dispatched immediately
+		observed.setLayoutY(10);
+		assertEquals(4, counting.changes);
+		assertEquals(2, counting.batches);
+	}
+
+	@Test
+	public void hierarchyChanges() {
+		VisualChangeListenerRegistry registry = new VisualChangeListenerRegistry();
+		Group root = new Group();
+		Group oldParent = new Group();
+		Group newParent = new Group();
+		Rectangle observed = new Rectangle(0, 0, 10, 10);
+		Rectangle observer = new Rectangle(0, 0, 10, 10);
+		oldParent.getChildren().add(observed);
+		root.getChildren().addAll(oldParent, newParent, observer);
+		CountingVisualChangeListener first = new CountingVisualChangeListener(
+				registry);
+		first.register(observed, observer);
+
+		// a listener that is registered after the observed node has been
+		// moved to a different parent observes the new parent
+		newParent.getChildren().add(observed);
+		CountingVisualChangeListener second = new CountingVisualChangeListener(
+				registry);
+		second.register(observed, observer);
+		int firstBatches = first.batches;
+		int secondBatches = second.batches;
+		newParent.setLayoutX(10);
+		assertEquals(firstBatches + 1, first.batches);
+		assertEquals(secondBatches + 1, second.batches);
+		oldParent.setLayoutX(10);
+		assertEquals(firstBatches + 1, first.batches);
+		assertEquals(secondBatches + 1, second.batches);
+	}
+
+	@Test
+	public void sharedListeners() {
+		VisualChangeListenerRegistry registry = new VisualChangeListenerRegistry();
+		Group root = new Group();
+		Group layer = new Group();
+		Group parent = new Group();
+		Rectangle observed = new Rectangle(0, 0, 10, 10);
+		parent.getChildren().add(observed);
+		layer.getChildren().add(parent);
+		root.getChildren().add(layer);
+
+		// register one listener for each of 100 observers in the same layer
+		List<CountingVisualChangeListener> listeners = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Rectangle observer = new Rectangle(0, 0, 10, 10);
+			layer.getChildren().add(observer);
+			CountingVisualChangeListener listener = new CountingVisualChangeListener(
+					registry);
+			listener.register(observed, observer);
+			listeners.add(listener);
+		}
+		// observed and parent are observed once, each observer once
+		assertEquals(2 + 100, registry.getTransformListenerCount());
+
+		// each listener is notified once per change
+		parent.setLayoutX(10);
+		observed.setWidth(20);
+		for (CountingVisualChangeListener listener : listeners) {
+			assertEquals(2, listener.changes);
+			assertEquals(2, listener.batches);
+		}
+
+		// changes of the layer are not observed
+		layer.setLayoutX(10);
+		for (CountingVisualChangeListener listener : listeners) {
+			assertEquals(2, listener.batches);
+		}
+
+		// unregistered listeners are no longer notified, and the shared
+		// listeners are removed with the last one
+		for (int i = 0; i < 50; i++) {
+			listeners.get(i).unregister();
+		}
+		assertEquals(2 + 50, registry.getTransformListenerCount());
+		parent.setLayoutX(20);
+		assertEquals(2, listeners.get(0).batches);
+		assertEquals(3, listeners.get(99).batches);
+		for (int i = 50; i < 100; i++) {
+			listeners.get(i).unregister();
+		}
+		assertEquals(0, registry.getTransformListenerCount());
+		parent.setLayoutX(30);
+		assertEquals(3, listeners.get(99).batches);
+	}
+}
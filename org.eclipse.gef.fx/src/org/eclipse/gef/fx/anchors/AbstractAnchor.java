@@ -21,6 +21,7 @@ import java.util.Set;
 import org.eclipse.gef.common.adapt.IAdaptable;
 import org.eclipse.gef.common.beans.property.ReadOnlyMapWrapperEx;
 import org.eclipse.gef.fx.listeners.VisualChangeListener;
+import org.eclipse.gef.fx.listeners.VisualChangeListenerRegistry;
 import org.eclipse.gef.fx.utils.NodeUtils;
 import org.eclipse.gef.geometry.planar.Point;
 
@@ -58,6 +59,12 @@ import javafx.scene.transform.Transform;
  * {@link AnchorKey}s, it may request that an {@link IAdaptable} info gets
  * passed into {@link #attach(AnchorKey)} and {@link #detach(AnchorKey)}, and
  * may overwrite both methods to get access to it.
+ * <p>
+ * The {@link VisualChangeListener}s of all {@link AbstractAnchor}s share their
+ * listeners via a common {@link VisualChangeListenerRegistry}, so that the
+ * anchorage {@link Node} and its ancestors are observed only once, independent
+ * of the number of attached {@link Node}s, and the positions for an anchored
+ * {@link Node} are updated only once per batch of visual changes.
  *
  * @author anyssen
  * @author mwienand
@@ -65,6 +72,8 @@ import javafx.scene.transform.Transform;
  */
 public abstract class AbstractAnchor implements IAnchor {
 
+	private static final VisualChangeListenerRegistry VCL_REGISTRY = new VisualChangeListenerRegistry();
+
 	private ReadOnlyObjectWrapper<Node> anchorageProperty = new ReadOnlyObjectWrapper<>();
 	private SetMultimap<Node, AnchorKey> keysByNode = HashMultimap.create();
 
@@ -212,16 +221,21 @@ public abstract class AbstractAnchor implements IAnchor {
 	protected abstract Point computePosition(AnchorKey key);
 
 	private VisualChangeListener createVCL(final Node anchored) {
-		return new VisualChangeListener() {
+		return new VisualChangeListener(VCL_REGISTRY) {
 			@Override
 			protected void boundsInLocalChanged(Bounds oldBounds,
 					Bounds newBounds) {
-				updatePositions(anchored);
+				// positions are updated once per batch (onBoundsChanged())
 			}
 
 			@Override
 			protected void localToParentTransformChanged(Node observed,
 					Transform oldTransform, Transform newTransform) {
+				// positions are updated once per batch (onBoundsChanged())
+			}
+
+			@Override
+			protected void onBoundsChanged() {
 				updatePositions(anchored);
 			}
 
@@ -26,6 +26,7 @@ import org.eclipse.gef.geometry.planar.IShape;
 import org.eclipse.gef.geometry.planar.Line;
 import org.eclipse.gef.geometry.planar.Path;
 import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
 
 import javafx.geometry.Point2D;
 import javafx.scene.Node;
@@ -63,20 +64,14 @@ public class ChopBoxStrategy extends ProjectionStrategy {
 	protected Point computeAnchorageReferencePointInLocal(Node anchorage,
 			IGeometry geometryInLocal,
 			Point anchoredReferencePointInAnchorageLocal) {
-		if (geometryInLocal instanceof IShape) {
-			IShape shape = (IShape) geometryInLocal;
-			// in case of an IShape we can pick the bounds center if it
-			// is contained, or the vertex nearest to the center point
-			Point boundsCenterInLocal = geometryInLocal.getBounds().getCenter();
-			if (shape.contains(boundsCenterInLocal)) {
-				return boundsCenterInLocal;
-			}
-		} else if (geometryInLocal instanceof Path) {
-			// in case of a Path we can pick the vertex nearest
-			// to the center point
-			Point boundsCenterInLocal = geometryInLocal.getBounds().getCenter();
-			if (geometryInLocal.contains(boundsCenterInLocal)) {
-				return boundsCenterInLocal;
+		if (geometryInLocal instanceof IShape
+				|| geometryInLocal instanceof Path) {
+			// in case of an IShape or Path we can pick the bounds center if it
+			// is contained (which is cached per anchorage)
+			AnchorageGeometry anchorageGeometry = getAnchorageGeometry(
+					anchorage, geometryInLocal);
+			if (anchorageGeometry.isBoundsCenterContained()) {
+				return anchorageGeometry.getBoundsCenterInLocal();
 			}
 		}
 		return null;
@@ -111,8 +106,8 @@ public class ChopBoxStrategy extends ProjectionStrategy {
 		if (anchorageReferencePointInLocal == null) {
 			return null;
 		}
-		return NodeUtils.localToScene(anchorage,
-				anchorageReferencePointInLocal);
+		return getAnchorageGeometry(anchorage, geometryInLocal)
+				.localToScene(anchorageReferencePointInLocal);
 	}
 
 	@Override
@@ -140,8 +135,10 @@ public class ChopBoxStrategy extends ProjectionStrategy {
 		Line referenceLineInScene = new Line(anchorageReferencePointInScene,
 				anchoredReferencePointInScene);
 
-		IGeometry anchorageGeometryInScene = NodeUtils.localToScene(anchorage,
+		AnchorageGeometry anchorageGeometry = getAnchorageGeometry(anchorage,
 				anchorageReferenceGeometryInLocal);
+		IGeometry anchorageGeometryInScene = anchorageGeometry
+				.getGeometryInScene();
 
 		if (anchorageGeometryInScene instanceof Ellipse) {
 			// we optimize for Ellipse here, as its computation can be
@@ -153,17 +150,33 @@ public class ChopBoxStrategy extends ProjectionStrategy {
 						intersections);
 			}
 		} else {
-			List<ICurve> anchorageOutlinesInScene = getOutlineSegments(
-					anchorageGeometryInScene);
+			List<ICurve> anchorageOutlinesInScene = anchorageGeometry
+					.getOutlineSegmentsInScene();
+			List<Rectangle> anchorageOutlinesBoundsInScene = anchorageGeometry
+					.getOutlineSegmentBoundsInScene();
+			Rectangle referenceLineBoundsInScene = referenceLineInScene
+					.getBounds();
 			Point nearestProjectionInScene = null;
 			double nearestDistance = 0d;
-			for (ICurve anchorageOutlineInScene : anchorageOutlinesInScene) {
+			for (int i = 0; i < anchorageOutlinesInScene.size(); i++) {
+				ICurve anchorageOutlineInScene = anchorageOutlinesInScene
+						.get(i);
+				Rectangle anchorageOutlineBoundsInScene = anchorageOutlinesBoundsInScene
+						.get(i);
 				// if the reference point is already on the outline, we may
 				// directly use it
-				if (anchorageOutlineInScene
-						.contains(anchoredReferencePointInScene)) {
+				if (anchorageOutlineBoundsInScene
+						.contains(anchoredReferencePointInScene)
+						&& anchorageOutlineInScene
+								.contains(anchoredReferencePointInScene)) {
 					return anchoredReferencePointInScene;
 				}
+				// the outline cannot intersect the reference line if their
+				// bounds do not touch
+				if (!anchorageOutlineBoundsInScene
+						.touches(referenceLineBoundsInScene)) {
+					continue;
+				}
 				Point[] intersections = anchorageOutlineInScene
 						.getIntersections(referenceLineInScene);
 				if (intersections.length > 0) {
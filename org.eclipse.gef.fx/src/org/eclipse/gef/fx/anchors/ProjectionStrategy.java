@@ -13,19 +13,24 @@
  *******************************************************************************/
 package org.eclipse.gef.fx.anchors;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchorageReferenceGeometry;
 import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchoredReferencePoint;
 import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.IGeometry;
 import org.eclipse.gef.geometry.planar.IShape;
 import org.eclipse.gef.geometry.planar.Path;
 import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
 
 import javafx.scene.Node;
 
@@ -44,12 +49,137 @@ import javafx.scene.Node;
  * outlines.</li>
  * <li>Return the nearest projection to the anchored reference point.</li>
  * </ol>
+ * <p>
+ * The anchorage reference geometry in scene coordinates, including its
+ * outlines, is cached per anchorage (see
+ * {@link #getAnchorageGeometry(Node, IGeometry)}), so that it is computed only
+ * once for all anchored keys, instead of once per anchored key.
  *
  * @author anyssen
  * @author mwienand
  */
 public class ProjectionStrategy implements IComputationStrategy {
 
+	/**
+	 * The anchorage reference geometry of an anchorage, transformed into scene
+	 * coordinates, together with the data that is derived from it. It is
+	 * computed for a specific anchorage reference geometry (in local
+	 * coordinates) and local-to-scene transformation of the anchorage, and is
+	 * therefore immutable.
+	 */
+	protected static final class AnchorageGeometry {
+
+		private final IGeometry geometryInLocal;
+		private final AffineTransform localToSceneTx;
+		private final IGeometry geometryInScene;
+		private final List<ICurve> outlineSegmentsInScene;
+		private final List<Rectangle> outlineSegmentBoundsInScene;
+		private Point boundsCenterInLocal;
+		private Boolean boundsCenterContained;
+
+		private AnchorageGeometry(IGeometry geometryInLocal,
+				AffineTransform localToSceneTx, IGeometry geometryInScene,
+				List<ICurve> outlineSegmentsInScene) {
+			this.geometryInLocal = geometryInLocal;
+			this.localToSceneTx = localToSceneTx;
+			this.geometryInScene = geometryInScene;
+			this.outlineSegmentsInScene = Collections
+					.unmodifiableList(outlineSegmentsInScene);
+			List<Rectangle> bounds = new ArrayList<>(
+					outlineSegmentsInScene.size());
+			for (ICurve segment : outlineSegmentsInScene) {
+				bounds.add(segment.getBounds());
+			}
+			this.outlineSegmentBoundsInScene = Collections
+					.unmodifiableList(bounds);
+		}
+
+		/**
+		 * Returns the center of the bounds of the anchorage reference geometry
+		 * within the local coordinate system of the anchorage.
+		 *
+		 * @return The bounds center in local coordinates.
+		 */
+		public Point getBoundsCenterInLocal() {
+			if (boundsCenterInLocal == null) {
+				boundsCenterInLocal = geometryInLocal.getBounds().getCenter();
+			}
+			return boundsCenterInLocal.getCopy();
+		}
+
+		/**
+		 * Returns the anchorage reference geometry within the local
+		 * coordinate system of the anchorage.
+		 *
+		 * @return The anchorage reference geometry in local coordinates.
+		 */
+		public IGeometry getGeometryInLocal() {
+			return geometryInLocal;
+		}
+
+		/**
+		 * Returns the anchorage reference geometry in scene coordinates.
+		 *
+		 * @return The anchorage reference geometry in scene coordinates.
+		 */
+		public IGeometry getGeometryInScene() {
+			return geometryInScene;
+		}
+
+		/**
+		 * Returns the bounds of the {@link #getOutlineSegmentsInScene()
+		 * outline segments}, in the same order.
+		 *
+		 * @return An unmodifiable list of the bounds of the outline segments
+		 *         in scene coordinates.
+		 */
+		public List<Rectangle> getOutlineSegmentBoundsInScene() {
+			return outlineSegmentBoundsInScene;
+		}
+
+		/**
+		 * Returns the outline segments of the anchorage reference geometry in
+		 * scene coordinates, as determined by
+		 * {@link ProjectionStrategy#getOutlineSegments(IGeometry)}.
+		 *
+		 * @return An unmodifiable list of the outline segments in scene
+		 *         coordinates.
+		 */
+		public List<ICurve> getOutlineSegmentsInScene() {
+			return outlineSegmentsInScene;
+		}
+
+		/**
+		 * Returns <code>true</code> if the anchorage reference geometry
+		 * contains the {@link #getBoundsCenterInLocal() center of its
+		 * bounds}. The result is computed only once.
+		 *
+		 * @return <code>true</code> if the bounds center is contained,
+		 *         <code>false</code> otherwise.
+		 */
+		public boolean isBoundsCenterContained() {
+			if (boundsCenterContained == null) {
+				boundsCenterContained = geometryInLocal
+						.contains(getBoundsCenterInLocal());
+			}
+			return boundsCenterContained;
+		}
+
+		/**
+		 * Transforms the given {@link Point} from the local coordinate system
+		 * of the anchorage into scene coordinates.
+		 *
+		 * @param pointInLocal
+		 *            The {@link Point} to transform.
+		 * @return The transformed {@link Point}.
+		 */
+		public Point localToScene(Point pointInLocal) {
+			return localToSceneTx.getTransformed(pointInLocal);
+		}
+	}
+
+	private final Map<Node, AnchorageGeometry> anchorageGeometries = new WeakHashMap<>();
+
 	@Override
 	public Point computePositionInScene(Node anchorage, Node anchored,
 			Set<Parameter<?>> parameters) {
@@ -59,13 +189,9 @@ public class ProjectionStrategy implements IComputationStrategy {
 		Point anchoredReferencePointInLocal = Parameter
 				.get(parameters, AnchoredReferencePoint.class).get();
 
-		// determine anchorage geometry in scene
-		IGeometry anchorageGeometryInScene = NodeUtils.localToScene(anchorage,
-				anchorageReferenceGeometryInLocal);
-
 		// determine anchorage outlines in scene
-		List<ICurve> anchorageOutlinesInScene = getOutlineSegments(
-				anchorageGeometryInScene);
+		List<ICurve> anchorageOutlinesInScene = getAnchorageGeometry(anchorage,
+				anchorageReferenceGeometryInLocal).getOutlineSegmentsInScene();
 
 		// transform anchored reference point to scene
 		Point anchoredReferencePointInScene = NodeUtils.localToScene(anchored,
@@ -102,6 +228,41 @@ public class ProjectionStrategy implements IComputationStrategy {
 		return Point.nearest(anchoredReferencePointInScene, projections);
 	}
 
+	/**
+	 * Returns the {@link AnchorageGeometry} for the given anchorage and
+	 * anchorage reference geometry. It is cached per anchorage and only
+	 * recomputed if the anchorage reference geometry or the local-to-scene
+	 * transformation of the anchorage changed. Validating against the
+	 * transformation (rather than invalidating upon visual changes) ensures
+	 * that the geometry is shared by all anchored keys that are updated in
+	 * response to the same change, and that changes of ancestors that are not
+	 * observed by the anchor (e.g. scrolling) are respected.
+	 *
+	 * @param anchorage
+	 *            The anchorage visual.
+	 * @param geometryInLocal
+	 *            The anchorage reference geometry within the local coordinate
+	 *            system of the anchorage visual.
+	 * @return The {@link AnchorageGeometry} for the given anchorage.
+	 */
+	protected AnchorageGeometry getAnchorageGeometry(Node anchorage,
+			IGeometry geometryInLocal) {
+		AffineTransform localToSceneTx = NodeUtils.getLocalToSceneTx(anchorage);
+		AnchorageGeometry anchorageGeometry = anchorageGeometries
+				.get(anchorage);
+		if (anchorageGeometry == null
+				|| anchorageGeometry.geometryInLocal != geometryInLocal
+				|| !anchorageGeometry.localToSceneTx.equals(localToSceneTx)) {
+			IGeometry geometryInScene = NodeUtils.localToScene(anchorage,
+					geometryInLocal);
+			anchorageGeometry = new AnchorageGeometry(geometryInLocal,
+					localToSceneTx, geometryInScene,
+					getOutlineSegments(geometryInScene));
+			anchorageGeometries.put(anchorage, anchorageGeometry);
+		}
+		return anchorageGeometry;
+	}
+
 	/**
 	 * Determines the outline of the given {@link IGeometry}, represented as a
 	 * list of {@link ICurve}s.
@@ -44,6 +44,7 @@ import javafx.scene.transform.Transform;
  */
 public abstract class VisualChangeListener {
 
+	private final VisualChangeListenerRegistry registry;
 	private Node observed;
 	private HashMap<ChangeListener<Transform>, Node> localToParentTransformListeners = new HashMap<>();
 
@@ -59,6 +60,30 @@ public abstract class VisualChangeListener {
 		}
 	};
 
+	/**
+	 * Creates a new {@link VisualChangeListener} that registers its own
+	 * listeners at the observed and observer {@link Node}s and their ancestors.
+	 */
+	public VisualChangeListener() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new {@link VisualChangeListener} that shares the listeners at
+	 * the observed and observer {@link Node}s and their ancestors with the
+	 * other {@link VisualChangeListener}s of the given
+	 * {@link VisualChangeListenerRegistry}, which dispatches the notifications
+	 * in batches. If the given registry is <code>null</code>, the
+	 * {@link VisualChangeListener} registers its own listeners.
+	 *
+	 * @param registry
+	 *            The {@link VisualChangeListenerRegistry} to use, or
+	 *            <code>null</code>.
+	 */
+	public VisualChangeListener(VisualChangeListenerRegistry registry) {
+		this.registry = registry;
+	}
+
 	/**
 	 * This method is called upon a bounds-in-local change.
 	 *
@@ -123,7 +148,7 @@ public abstract class VisualChangeListener {
 	 * @param b
 	 * @return
 	 */
-	private boolean isValidBounds(Bounds b) {
+	static boolean isValidBounds(Bounds b) {
 		if (Double.isNaN(b.getMinX()) || Double.isInfinite(b.getMinX())) {
 			return false;
 		}
@@ -147,7 +172,7 @@ public abstract class VisualChangeListener {
 	 * @param t
 	 * @return
 	 */
-	private boolean isValidTransform(Transform t) {
+	static boolean isValidTransform(Transform t) {
 		if (Double.isNaN(t.getMxx()) || Double.isInfinite(t.getMxx())) {
 			return false;
 		}
@@ -263,6 +288,12 @@ public abstract class VisualChangeListener {
 		// assign new nodes
 		this.observed = observed;
 
+		// share listeners if possible
+		if (registry != null) {
+			registry.register(this, observed, observer, commonAncestor);
+			return;
+		}
+
 		// add bounds listeners
 		observed.boundsInLocalProperty().addListener(boundsInLocalListener);
 
@@ -305,6 +336,13 @@ public abstract class VisualChangeListener {
 			return;
 		}
 
+		// release shared listeners
+		if (registry != null) {
+			registry.unregister(this);
+			observed = null;
+			return;
+		}
+
 		// remove bounds listener
 		observed.boundsInLocalProperty().removeListener(boundsInLocalListener);
 
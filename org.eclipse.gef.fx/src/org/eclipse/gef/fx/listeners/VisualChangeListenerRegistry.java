@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.listeners;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.transform.Transform;
+
+/**
+ * The {@link VisualChangeListenerRegistry} shares the JavaFX listeners of
+ * {@link VisualChangeListener}s that are created for it (see
+ * {@link VisualChangeListener#VisualChangeListener(VisualChangeListenerRegistry)}).
+ * <p>
+ * A {@link VisualChangeListener} that is registered for an observed and an
+ * observer {@link Node} depends on two chains of {@link Node}s, i.e. the
+ * {@link Node}s from the observed and from the observer {@link Node} up to
+ * (but excluding) their nearest common ancestor. Instead of registering its
+ * own listeners at all {@link Node}s of both chains, a
+ * {@link VisualChangeListener} subscribes to the chains maintained by its
+ * registry, of which there is exactly one per pair of {@link Node} and
+ * ancestor. The listeners of a chain are registered when it is subscribed to
+ * for the first time, and are unregistered when its last subscriber
+ * unsubscribes. Therefore, if several {@link VisualChangeListener}s observe
+ * the same {@link Node} (e.g. all anchors of the same anchorage), only a
+ * single set of listeners is registered at that {@link Node} and its
+ * ancestors.
+ * <p>
+ * Notifications are dispatched in batches: when a change of a chain is
+ * reported, {@link VisualChangeListener#boundsInLocalChanged(Bounds, Bounds)}
+ * or
+ * {@link VisualChangeListener#localToParentTransformChanged(Node, Transform, Transform)}
+ * is called for all subscribers, while
+ * {@link VisualChangeListener#onBoundsChanged()} is called once per subscriber
+ * after all changes of the batch have been reported. Changes that are caused
+ * while a batch is dispatched (e.g. by a subscriber that relocates other
+ * {@link Node}s) are added to the current batch, so that a subscriber is not
+ * called back repeatedly for them.
+ * <p>
+ * As JavaFX {@link Node}s, a {@link VisualChangeListenerRegistry} may only be
+ * accessed from a single thread (usually the JavaFX application thread).
+ */
+public class VisualChangeListenerRegistry {
+
+	/**
+	 * The listeners that are registered at the {@link Node}s from a specific
+	 * {@link Node} up to (but excluding) one of its ancestors, shared by all
+	 * subscribed {@link VisualChangeListener}s.
+	 */
+	private final class Chain {
+
+		private final Node node;
+		private final Node ancestor;
+		private final List<Node> nodes = new ArrayList<>();
+		private final List<ChangeListener<Transform>> transformListeners = new ArrayList<>();
+		private final ChangeListener<Bounds> boundsListener = (observable,
+				oldValue, newValue) -> boundsInLocalChanged(this, oldValue,
+						newValue);
+		private final Set<VisualChangeListener> transformSubscribers = new LinkedHashSet<>();
+		private final Set<VisualChangeListener> boundsSubscribers = new LinkedHashSet<>();
+
+		private Chain(Node node, Node ancestor) {
+			this.node = node;
+			this.ancestor = ancestor;
+		}
+
+		private boolean isUnused() {
+			return transformSubscribers.isEmpty();
+		}
+
+		private void subscribe(VisualChangeListener listener,
+				boolean observeBounds) {
+			updateTransformListeners();
+			transformSubscribers.add(listener);
+			if (observeBounds && boundsSubscribers.add(listener)
+					&& boundsSubscribers.size() == 1) {
+				node.boundsInLocalProperty().addListener(boundsListener);
+			}
+		}
+
+		private void unregisterTransformListeners() {
+			for (int i = 0; i < nodes.size(); i++) {
+				nodes.get(i).localToParentTransformProperty()
+						.removeListener(transformListeners.get(i));
+			}
+			nodes.clear();
+			transformListeners.clear();
+		}
+
+		private void unsubscribe(VisualChangeListener listener) {
+			transformSubscribers.remove(listener);
+			if (boundsSubscribers.remove(listener)
+					&& boundsSubscribers.isEmpty()) {
+				node.boundsInLocalProperty().removeListener(boundsListener);
+			}
+			if (transformSubscribers.isEmpty()) {
+				unregisterTransformListeners();
+			}
+		}
+
+		/**
+		 * Ensures that the transform listeners are registered at the current
+		 * ancestors of the node, which may have changed since they were
+		 * registered for a previous subscriber.
+		 */
+		private void updateTransformListeners() {
+			int i = 0;
+			Node current = node;
+			while (current != null && current != ancestor) {
+				if (i >= nodes.size() || nodes.get(i) != current) {
+					break;
+				}
+				current = current.getParent();
+				i++;
+			}
+			if (i == nodes.size() && (current == null || current == ancestor)) {
+				return;
+			}
+			unregisterTransformListeners();
+			current = node;
+			while (current != null && current != ancestor) {
+				final Node changed = current;
+				ChangeListener<Transform> transformListener = (observable,
+						oldValue, newValue) -> localToParentTransformChanged(
+								this, changed, oldValue, newValue);
+				current.localToParentTransformProperty()
+						.addListener(transformListener);
+				nodes.add(current);
+				transformListeners.add(transformListener);
+				current = current.getParent();
+			}
+		}
+	}
+
+	private final Map<Node, Map<Node, Chain>> chains = new HashMap<>();
+	private final Map<VisualChangeListener, Chain[]> subscriptions = new HashMap<>();
+	private final Set<VisualChangeListener> pending = new LinkedHashSet<>();
+	private boolean dispatching = false;
+
+	private void boundsInLocalChanged(Chain chain, Bounds oldBounds,
+			Bounds newBounds) {
+		// only fire a visual change event if the new bounds are valid
+		if (!VisualChangeListener.isValidBounds(newBounds)) {
+			return;
+		}
+		for (VisualChangeListener listener : chain.boundsSubscribers
+				.toArray(new VisualChangeListener[] {})) {
+			listener.boundsInLocalChanged(oldBounds, newBounds);
+			pending.add(listener);
+		}
+		dispatch();
+	}
+
+	/**
+	 * Calls {@link VisualChangeListener#onBoundsChanged()} for all pending
+	 * subscribers, unless a batch is already dispatched, in which case the
+	 * pending subscribers are handled by that batch.
+	 */
+	private void dispatch() {
+		if (dispatching) {
+			return;
+		}
+		dispatching = true;
+		try {
+			while (!pending.isEmpty()) {
+				Iterator<VisualChangeListener> iterator = pending.iterator();
+				VisualChangeListener listener = iterator.next();
+				iterator.remove();
+				if (listener.isRegistered()) {
+					listener.onBoundsChanged();
+				}
+			}
+		} finally {
+			pending.clear();
+			dispatching = false;
+		}
+	}
+
+	private Chain getChain(Node node, Node ancestor) {
+		Map<Node, Chain> chainsByAncestor = chains.get(node);
+		if (chainsByAncestor == null) {
+			chainsByAncestor = new HashMap<>();
+			chains.put(node, chainsByAncestor);
+		}
+		Chain chain = chainsByAncestor.get(ancestor);
+		if (chain == null) {
+			chain = new Chain(node, ancestor);
+			chainsByAncestor.put(ancestor, chain);
+		}
+		return chain;
+	}
+
+	/**
+	 * Returns the number of {@link Node}s at which this
+	 * {@link VisualChangeListenerRegistry} has currently registered
+	 * local-to-parent-transform listeners, counting a {@link Node} once for
+	 * each chain it is part of.
+	 *
+	 * @return The number of currently registered local-to-parent-transform
+	 *         listeners.
+	 */
+	public int getTransformListenerCount() {
+		int count = 0;
+		for (Map<Node, Chain> chainsByAncestor : chains.values()) {
+			for (Chain chain : chainsByAncestor.values()) {
+				count += chain.transformListeners.size();
+			}
+		}
+		return count;
+	}
+
+	private void localToParentTransformChanged(Chain chain, Node observed,
+			Transform oldTransform, Transform newTransform) {
+		// only fire a visual change event if the new transform is valid
+		if (!VisualChangeListener.isValidTransform(newTransform)) {
+			return;
+		}
+		for (VisualChangeListener listener : chain.transformSubscribers
+				.toArray(new VisualChangeListener[] {})) {
+			listener.localToParentTransformChanged(observed, oldTransform,
+					newTransform);
+			pending.add(listener);
+		}
+		dispatch();
+	}
+
+	/**
+	 * Subscribes the given {@link VisualChangeListener} to the chains of the
+	 * given observed and observer {@link Node}s.
+	 *
+	 * @param listener
+	 *            The {@link VisualChangeListener} to subscribe.
+	 * @param observed
+	 *            The observed {@link Node}.
+	 * @param observer
+	 *            The observer {@link Node}.
+	 * @param commonAncestor
+	 *            The nearest common ancestor of observed and observer.
+	 */
+	void register(VisualChangeListener listener, Node observed,
+			Node observer, Node commonAncestor) {
+		Chain observedChain = getChain(observed, commonAncestor);
+		Chain observerChain = getChain(observer, commonAncestor);
+		observedChain.subscribe(listener, true);
+		observerChain.subscribe(listener, false);
+		subscriptions.put(listener,
+				new Chain[] { observedChain, observerChain });
+	}
+
+	/**
+	 * Unsubscribes the given {@link VisualChangeListener} from the chains it
+	 * was subscribed to, unregistering the listeners of chains that are no
+	 * longer used.
+	 *
+	 * @param listener
+	 *            The {@link VisualChangeListener} to unsubscribe.
+	 */
+	void unregister(VisualChangeListener listener) {
+		Chain[] subscribed = subscriptions.remove(listener);
+		if (subscribed == null) {
+			return;
+		}
+		pending.remove(listener);
+		for (Chain chain : subscribed) {
+			chain.unsubscribe(listener);
+			if (chain.isUnused()) {
+				Map<Node, Chain> chainsByAncestor = chains.get(chain.node);
+				if (chainsByAncestor != null
+						&& chainsByAncestor.get(chain.ancestor) == chain) {
+					chainsByAncestor.remove(chain.ancestor);
+					if (chainsByAncestor.isEmpty()) {
+						chains.remove(chain.node);
+					}
+				}
+			}
+		}
+	}
+}
@@ -24,14 +24,15 @@ import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.BezierCurve;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.IGeometry;
+import org.eclipse.gef.geometry.planar.IShape;
 import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Polygon;
 
 import javafx.collections.ObservableList;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Path;
-import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.Shape;
 
 /**
@@ -45,6 +46,13 @@ import javafx.scene.shape.Shape;
  */
 public abstract class AbstractInterpolator implements IConnectionInterpolator {
 
+	/**
+	 * The key of the property of the clip of the curve node, under which the
+	 * clip geometry is stored, so that an unchanged clip does not need to be
+	 * exchanged.
+	 */
+	private static final String CLIP_GEOMETRY_PROPERTY = "clipGeometry";
+
 	/**
 	 * Arranges the given decoration according to the passed-in values.
 	 *
@@ -147,7 +155,14 @@ public abstract class AbstractInterpolator implements IConnectionInterpolator {
 	 *            The decoration to clip the curve node from.
 	 * @return A shape representing the resulting clip, interpreted in scene
 	 *         coordinates.
+	 * @deprecated This method is no longer used when interpolating, because
+	 *             the CAG operations it relies on are too expensive to be
+	 *             performed on each refresh. The curve is clipped at the
+	 *             areas provided by
+	 *             {@link #computeDecorationClip(Node, ICurve, Shape, boolean)}
+	 *             instead.
 	 */
+	@Deprecated
 	protected Shape clipAtDecoration(Shape curveShape, Shape curveClip,
 			Shape decoration) {
 		// first intersect curve shape with decoration layout bounds,
@@ -176,6 +191,74 @@ public abstract class AbstractInterpolator implements IConnectionInterpolator {
 	 */
 	protected abstract ICurve computeCurve(Connection connection);
 
+	/**
+	 * Computes the area that is cut out of the clip of the curve node, so that
+	 * the curve does not paint through the given decoration. Within the local
+	 * coordinate system of the decoration, the area spans the decoration's
+	 * bounds, from the decorated end of the curve up to the point where the
+	 * curve exits the decoration's outline. This point is determined by
+	 * intersecting the {@link BezierCurve}s that constitute the curve with the
+	 * outline, starting at the decorated end, until a {@link BezierCurve} lies
+	 * outside of the decoration's bounds.
+	 *
+	 * @param curveNode
+	 *            The curve node of the {@link Connection}.
+	 * @param curve
+	 *            The {@link ICurve} geometry of the curve node, interpreted in
+	 *            the local coordinate system of the curve node.
+	 * @param decoration
+	 *            The decoration, which is arranged at the start or end of the
+	 *            curve.
+	 * @param isStartDecoration
+	 *            <code>true</code> if the decoration is arranged at the start
+	 *            of the curve, <code>false</code> if it is arranged at the
+	 *            end.
+	 * @return A {@link Polygon} representing the area to clip, interpreted in
+	 *         the local coordinate system of the curve node, or
+	 *         <code>null</code> if the curve does not need to be clipped.
+	 */
+	protected Polygon computeDecorationClip(Node curveNode, ICurve curve,
+			Shape decoration, boolean isStartDecoration) {
+		org.eclipse.gef.geometry.planar.Rectangle bounds = NodeUtils
+				.getShapeBounds(decoration);
+		IGeometry outline = NodeUtils.getShapeOutline(decoration);
+		ICurve outlineCurve = outline instanceof IShape
+				? ((IShape) outline).getOutline()
+				: outline instanceof ICurve ? (ICurve) outline
+						: bounds.getOutline();
+		AffineTransform curveToDecoration = NodeUtils
+				.getSceneToLocalTx(decoration)
+				.concatenate(NodeUtils.getLocalToSceneTx(curveNode));
+
+		// the decoration is arranged so that its x-axis points into the curve,
+		// i.e. the exit point is the intersection with the largest x
+		BezierCurve[] beziers = curve.toBezier();
+		double exitX = bounds.getX();
+		for (int i = 0; i < beziers.length; i++) {
+			BezierCurve bezier = beziers[isStartDecoration ? i
+					: beziers.length - 1 - i]
+							.getTransformed(curveToDecoration);
+			if (!bezier.getBounds().touches(bounds)) {
+				break;
+			}
+			for (Point intersection : bezier.getIntersections(outlineCurve)) {
+				exitX = Math.max(exitX, intersection.x);
+			}
+		}
+		if (exitX <= bounds.getX()) {
+			return null;
+		}
+
+		AffineTransform decorationToCurve = NodeUtils
+				.getSceneToLocalTx(curveNode)
+				.concatenate(NodeUtils.getLocalToSceneTx(decoration));
+		double y1 = bounds.getY();
+		double y2 = bounds.getY() + bounds.getHeight();
+		return new Polygon(decorationToCurve.getTransformed(new Point[] {
+				new Point(bounds.getX(), y1), new Point(exitX, y1),
+				new Point(exitX, y2), new Point(bounds.getX(), y2) }));
+	}
+
 	@Override
 	public void interpolate(Connection connection) {
 		// compute new curve (this can lead to another refreshGeometry() call
@@ -209,9 +292,6 @@ public abstract class AbstractInterpolator implements IConnectionInterpolator {
 
 		if (!newGeometry.getBounds().isEmpty()
 				&& (startDecoration != null || endDecoration != null)) {
-			// XXX Use scene coordinates, as the clip node does not provide a
-			// parent.
-
 			// union curve node's children's bounds-in-parent
 			org.eclipse.gef.geometry.planar.Rectangle unionBoundsInCurveNode = new org.eclipse.gef.geometry.planar.Rectangle();
 			ObservableList<Node> childrenUnmodifiable = curveNode
@@ -223,35 +303,40 @@ public abstract class AbstractInterpolator implements IConnectionInterpolator {
 				unionBoundsInCurveNode.union(rectangle);
 			}
 
-			// convert unioned bounds to scene coordinates
-			Bounds visualBounds = curveNode.localToScene(
-					Geometry2FX.toFXBounds(unionBoundsInCurveNode));
-
-			// create clip
-			Shape clip = new Rectangle(visualBounds.getMinX(),
-					visualBounds.getMinY(), visualBounds.getWidth(),
-					visualBounds.getHeight());
-			clip.setFill(Color.RED);
+			// cut the areas covered by the decorations out of the unioned
+			// bounds (using the even-odd rule, so that no CAG operations are
+			// needed); the clip is specified in the local coordinate system
+			// of the curve node
+			org.eclipse.gef.geometry.planar.Path clipGeometry = new org.eclipse.gef.geometry.planar.Path(
+					org.eclipse.gef.geometry.planar.Path.WIND_EVEN_ODD);
+			clipGeometry.add(unionBoundsInCurveNode.toPath().getSegments());
 
 			// can only clip Shape decorations
 			if (startDecoration != null && startDecoration instanceof Shape) {
-				clip = clipAtDecoration(curveNode.getGeometricShape(), clip,
-						(Shape) startDecoration);
+				Polygon decorationClip = computeDecorationClip(curveNode,
+						newGeometry, (Shape) startDecoration, true);
+				if (decorationClip != null) {
+					clipGeometry.add(decorationClip.toPath().getSegments());
+				}
 			}
 			// can only clip Shape decorations
 			if (endDecoration != null && endDecoration instanceof Shape) {
-				clip = clipAtDecoration(curveNode.getGeometricShape(), clip,
-						(Shape) endDecoration);
+				Polygon decorationClip = computeDecorationClip(curveNode,
+						newGeometry, (Shape) endDecoration, false);
+				if (decorationClip != null) {
+					clipGeometry.add(decorationClip.toPath().getSegments());
+				}
 			}
 
-			// XXX: All CAG operations deliver result shapes that reflect areas
-			// in scene coordinates.
-			AffineTransform sceneToLocalTx = NodeUtils
-					.getSceneToLocalTx(curveNode);
-			clip.getTransforms().add(Geometry2FX.toFXAffine(sceneToLocalTx));
-
-			// set clip
-			curveNode.setClip(clip);
+			// only exchange the clip if it changed
+			Node oldClip = curveNode.getClip();
+			if (oldClip == null || !clipGeometry.equals(
+					oldClip.getProperties().get(CLIP_GEOMETRY_PROPERTY))) {
+				Shape clip = Geometry2Shape.toPath(clipGeometry);
+				clip.setFill(Color.RED);
+				clip.getProperties().put(CLIP_GEOMETRY_PROPERTY, clipGeometry);
+				curveNode.setClip(clip);
+			}
 		} else {
 			curveNode.setClip(null);
 		}
@@ -313,6 +313,8 @@ public class Connection extends Group {
 		}
 	};
 	private boolean inRefresh = false;
+	private boolean deferredRefresh = false;
+	private boolean refreshPending = false;
 
 	/**
 	 * Constructs a new {@link Connection} whose start and end point are set to
@@ -614,6 +616,23 @@ public class Connection extends Group {
 		return endDecorationProperty;
 	}
 
+	/**
+	 * Performs a pending {@link #refresh()} of this {@link Connection}
+	 * immediately, if this {@link Connection} is in
+	 * {@link #setDeferredRefresh(boolean) deferred refresh} mode and was
+	 * marked dirty since its last refresh. This can be used to ensure that the
+	 * curve geometry is up-to-date before it is queried, e.g. within tests or
+	 * when exporting a drawing. Note that performing a layout pass on an
+	 * ancestor (see {@link javafx.scene.Parent#layout()}) flushes all pending
+	 * refreshes of the contained connections as well.
+	 */
+	public void flushRefresh() {
+		if (refreshPending && !inRefresh) {
+			refreshPending = false;
+			doRefresh();
+		}
+	}
+
 	/**
 	 * Returns the anchor at the given index. The start anchor will be provided
 	 * for <code>index == 0</code>, the end anchor for the last defined index.
@@ -1054,6 +1073,19 @@ public class Connection extends Group {
 		return isConnected(getControlAnchor(index));
 	}
 
+	/**
+	 * Returns <code>true</code> if changes to this {@link Connection} only
+	 * mark it dirty, so that it is refreshed once during the next layout pass,
+	 * otherwise returns <code>false</code> (default).
+	 *
+	 * @return <code>true</code> if this {@link Connection} is refreshed
+	 *         deferred, otherwise <code>false</code>.
+	 * @see #setDeferredRefresh(boolean)
+	 */
+	public boolean isDeferredRefresh() {
+		return deferredRefresh;
+	}
+
 	/**
 	 * Returns <code>true</code> if the currently assigned
 	 * {@link #getEndAnchor() end anchor} is bound to an anchorage. Otherwise
@@ -1080,6 +1112,13 @@ public class Connection extends Group {
 		return isConnected(getStartAnchor());
 	}
 
+	@Override
+	protected void layoutChildren() {
+		// perform a deferred refresh once per pulse
+		flushRefresh();
+		super.layoutChildren();
+	}
+
 	@Override
 	public double maxHeight(double width) {
 		return Double.MAX_VALUE;
@@ -1228,12 +1267,31 @@ public class Connection extends Group {
 	 * <li>The connection refreshed its points manually again.
 	 * <li>The connection registers all position change listeners.
 	 * </ol>
+	 * If this {@link Connection} is in {@link #setDeferredRefresh(boolean)
+	 * deferred refresh} mode, it is only marked dirty and a layout pass is
+	 * requested, so that multiple changes within one pulse (e.g. multiple
+	 * anchor position changes during a drag) lead to a single refresh within
+	 * {@link #layoutChildren()}.
 	 */
 	protected void refresh() {
 		// guard against refreshing while refreshing
 		if (inRefresh) {
 			return;
 		}
+		if (deferredRefresh) {
+			if (!refreshPending) {
+				refreshPending = true;
+				requestLayout();
+			}
+			return;
+		}
+		doRefresh();
+	}
+
+	/**
+	 * Performs the refresh as described in {@link #refresh()}.
+	 */
+	private void doRefresh() {
 		inRefresh = true;
 		// System.out.println("+--- Refresh ---+");
 
@@ -1713,6 +1771,30 @@ public class Connection extends Group {
 		this.curveProperty.set(curve);
 	}
 
+	/**
+	 * Enables or disables the deferred refresh mode of this
+	 * {@link Connection}. In deferred refresh mode, changes of anchor
+	 * positions, points, decorations, the router, or the interpolator do not
+	 * refresh the {@link Connection} immediately, but mark it dirty and request
+	 * a layout pass, during which it is refreshed once. While a refresh is
+	 * pending, the points of this {@link Connection} reflect the anchor
+	 * positions, but the route (i.e. volatile anchors) and the curve geometry
+	 * are only updated by the refresh, which can be enforced using
+	 * {@link #flushRefresh()}. A pending refresh is performed when the
+	 * deferred refresh mode is disabled.
+	 *
+	 * @param deferredRefresh
+	 *            <code>true</code> to refresh this {@link Connection} once per
+	 *            layout pass, <code>false</code> to refresh it upon each
+	 *            change (default).
+	 */
+	public void setDeferredRefresh(boolean deferredRefresh) {
+		this.deferredRefresh = deferredRefresh;
+		if (!deferredRefresh) {
+			flushRefresh();
+		}
+	}
+
 	/**
 	 * Sets the end {@link IAnchor} of this {@link Connection} to the given
 	 * value.
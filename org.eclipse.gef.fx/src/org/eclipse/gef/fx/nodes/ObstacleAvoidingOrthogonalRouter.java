@@ -0,0 +1,983 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.nodes;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.function.LongConsumer;
+
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.geometry.euclidean.Vector;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+
+/**
+ * An {@link OrthogonalRouter} that routes the {@link Connection} around a set
+ * of obstacle {@link Node}s.
+ * <p>
+ * The scene bounds of the obstacles are maintained in a uniform grid, which
+ * is updated incrementally when an obstacle is moved or resized. Each segment
+ * between two consecutive (non-volatile) points of a {@link Connection} is
+ * routed within a search window around the segment, through the orthogonal
+ * visibility graph that is formed by the horizontal and vertical lines of
+ * sight of the end points of the segment and of the corners of the (spaced)
+ * outlines of the obstacles within the window. Its vertices are the crossings
+ * of these lines, and each vertex is only connected to the nearest vertex in
+ * each direction. The graph is explored lazily using A*, minimizing the length
+ * of the route plus a {@link #getBendPenalty() penalty} per bend. If no route
+ * can be found, the window is grown to the obstacles within it, for a bounded
+ * number of times. In case there is still no route (e.g. because the end
+ * points are enclosed by obstacles), the segment is routed by the
+ * {@link OrthogonalRouter} instead.
+ * <p>
+ * Routes are cached per {@link Connection} in scene coordinates. They are
+ * reused as long as the end points of the segment do not change, and are
+ * invalidated when an obstacle changes in their vicinity; only the
+ * {@link Connection}s whose routes are invalidated this way are refreshed. The
+ * cached routes are indexed by their bounds in a second uniform grid, so that
+ * only the routes near a changed obstacle need to be inspected. The same
+ * router may therefore (and should) be shared by all {@link Connection}s that
+ * are routed around the same obstacles.
+ * <p>
+ * The anchorages of a {@link Connection} may be obstacles themselves. In this
+ * case, the route leaves and enters them perpendicular to their outline.
+ */
+public class ObstacleAvoidingOrthogonalRouter extends OrthogonalRouter {
+
+	/**
+	 * An obstacle, i.e. a {@link Node} together with its bounds in scene
+	 * coordinates, as indexed within the grid.
+	 */
+	private static class Obstacle {
+		private final Node node;
+		private Rectangle bounds;
+		private ChangeListener<Object> listener;
+
+		private Obstacle(Node node) {
+			this.node = node;
+		}
+	}
+
+	/**
+	 * A cached route for a segment, in scene coordinates.
+	 */
+	private static class Route {
+		private final WeakReference<Connection> connection;
+		private final Point start;
+		private final Point end;
+		private final List<Point> points;
+		private final Rectangle bounds;
+		// the area (around the bounds) for which the route is indexed
+		private Rectangle area;
+
+		private Route(Connection connection, Point start, Point end,
+				List<Point> points) {
+			this.connection = new WeakReference<>(connection);
+			this.start = start;
+			this.end = end;
+			this.points = points;
+			Rectangle bounds = new Rectangle(start, end);
+			if (points != null) {
+				for (Point p : points) {
+					bounds.union(p);
+				}
+			}
+			this.bounds = bounds;
+		}
+	}
+
+	/**
+	 * An entry of the A* open list. Among the entries with the same estimate,
+	 * the one that is closest to the target is preferred.
+	 */
+	private static class SearchEntry implements Comparable<SearchEntry> {
+		private final long state;
+		private final double cost;
+		private final double estimate;
+		private final SearchEntry parent;
+
+		private SearchEntry(long state, double cost, double estimate,
+				SearchEntry parent) {
+			this.state = state;
+			this.cost = cost;
+			this.estimate = estimate;
+			this.parent = parent;
+		}
+
+		@Override
+		public int compareTo(SearchEntry o) {
+			int result = Double.compare(estimate, o.estimate);
+			return result != 0 ? result : Double.compare(o.cost, cost);
+		}
+	}
+
+	private static final double CELL_SIZE = 128;
+	private static final double EPSILON = 1e-6;
+	// how often the search window is grown before giving up
+	private static final int MAX_WINDOW_GROWTHS = 2;
+	// routes that cover more cells are not indexed, but always inspected
+	private static final int MAX_ROUTE_CELLS = 64;
+	// directions of the A* states: right, down, left, up, and none (start)
+	private static final int NONE = 4;
+
+	private final Map<Node, Obstacle> obstacles = new LinkedHashMap<>();
+	private final Map<Long, List<Obstacle>> cells = new HashMap<>();
+	private final Map<Connection, List<Route>> routes = new WeakHashMap<>();
+	private final Map<Long, List<Route>> routeCells = new HashMap<>();
+	private final List<Route> largeRoutes = new ArrayList<>();
+	private double bendPenalty = 20;
+	private double obstacleSpacing = 10;
+
+	/**
+	 * Adds the given {@link Node} to the obstacles that are avoided by this
+	 * router. The {@link Connection}s whose routes are affected are refreshed.
+	 *
+	 * @param obstacle
+	 *            The {@link Node} to avoid.
+	 */
+	public void addObstacle(Node obstacle) {
+		if (obstacle == null) {
+			throw new IllegalArgumentException("obstacle may not be null.");
+		}
+		if (obstacles.containsKey(obstacle)) {
+			return;
+		}
+		Obstacle o = new Obstacle(obstacle);
+		o.bounds = computeBounds(obstacle);
+		o.listener = (observable, oldValue, newValue) -> obstacleChanged(o);
+		obstacle.boundsInLocalProperty().addListener(o.listener);
+		obstacle.localToSceneTransformProperty().addListener(o.listener);
+		obstacles.put(obstacle, o);
+		index(o);
+		invalidateRoutes(o.bounds);
+	}
+
+	/**
+	 * Returns the penalty (in length units) that is added to the cost of a
+	 * route per bend. Defaults to <code>20</code>.
+	 *
+	 * @return The bend penalty.
+	 */
+	public double getBendPenalty() {
+		return bendPenalty;
+	}
+
+	/**
+	 * Returns the {@link Node}s that are avoided by this router.
+	 *
+	 * @return An unmodifiable set of the obstacle {@link Node}s.
+	 */
+	public Set<Node> getObstacles() {
+		return Collections.unmodifiableSet(obstacles.keySet());
+	}
+
+	/**
+	 * Returns the distance that is kept between a route and the obstacles
+	 * (other than the anchorages of the routed connection). Defaults to
+	 * <code>10</code>.
+	 *
+	 * @return The obstacle spacing.
+	 */
+	public double getObstacleSpacing() {
+		return obstacleSpacing;
+	}
+
+	/**
+	 * Removes the given {@link Node} from the obstacles that are avoided by
+	 * this router. The {@link Connection}s whose routes are affected are
+	 * refreshed.
+	 *
+	 * @param obstacle
+	 *            The {@link Node} that no longer needs to be avoided.
+	 */
+	public void removeObstacle(Node obstacle) {
+		Obstacle o = obstacles.remove(obstacle);
+		if (o == null) {
+			return;
+		}
+		obstacle.boundsInLocalProperty().removeListener(o.listener);
+		obstacle.localToSceneTransformProperty().removeListener(o.listener);
+		unindex(o);
+		invalidateRoutes(o.bounds);
+	}
+
+	/**
+	 * Sets the penalty (in length units) that is added to the cost of a route
+	 * per bend. The higher the penalty, the longer the detours that are taken
+	 * to save a bend. All routes are recomputed.
+	 *
+	 * @param bendPenalty
+	 *            The bend penalty, which may not be negative.
+	 */
+	public void setBendPenalty(double bendPenalty) {
+		if (bendPenalty < 0) {
+			throw new IllegalArgumentException(
+					"bendPenalty may not be negative.");
+		}
+		this.bendPenalty = bendPenalty;
+		invalidateRoutes();
+	}
+
+	/**
+	 * Sets the distance that is kept between a route and the obstacles (other
+	 * than the anchorages of the routed connection). All routes are
+	 * recomputed.
+	 *
+	 * @param obstacleSpacing
+	 *            The obstacle spacing, which may not be negative.
+	 */
+	public void setObstacleSpacing(double obstacleSpacing) {
+		if (obstacleSpacing < 0) {
+			throw new IllegalArgumentException(
+					"obstacleSpacing may not be negative.");
+		}
+		this.obstacleSpacing = obstacleSpacing;
+		invalidateRoutes();
+	}
+
+	@Override
+	protected Vector route(ControlPointManipulator cpm, Vector inDirection,
+			Vector outDirection) {
+		if (obstacles.isEmpty() || Math.abs(outDirection.x) <= 0.05
+				&& Math.abs(outDirection.y) <= 0.05) {
+			return super.route(cpm, inDirection, outDirection);
+		}
+		Connection connection = cpm.getConnection();
+		Point point = cpm.getPoint();
+		Point next = point.getTranslated(outDirection.x, outDirection.y);
+		List<Point> route = getRoute(connection, cpm.getIndex(),
+				NodeUtils.localToScene(connection, point),
+				NodeUtils.localToScene(connection, next));
+		if (route == null) {
+			return super.route(cpm, inDirection, outDirection);
+		}
+		if (route.size() == 2) {
+			return outDirection;
+		}
+		double[] deltas = new double[2 * (route.size() - 2)];
+		Point last = null;
+		for (int i = 1; i < route.size() - 1; i++) {
+			last = NodeUtils.sceneToLocal(connection, route.get(i));
+			deltas[2 * i - 2] = last.x - point.x;
+			deltas[2 * i - 1] = last.y - point.y;
+		}
+		cpm.addRoutingPoints(cpm.getIndex() + 1, point, deltas);
+		return new Vector(last, next);
+	}
+
+	/**
+	 * Returns the cached route for the segment with the given index, or
+	 * computes (and caches) it if the end points changed.
+	 */
+	private List<Point> getRoute(Connection connection, int index,
+			Point start, Point end) {
+		List<Route> cached = routes.get(connection);
+		if (cached == null) {
+			cached = new ArrayList<>();
+			routes.put(connection, cached);
+		}
+		while (cached.size() <= index) {
+			cached.add(null);
+		}
+		Route route = cached.get(index);
+		if (route == null || !route.start.equals(start)
+				|| !route.end.equals(end)) {
+			if (route != null) {
+				unindex(route);
+			}
+			route = new Route(connection, start, end, findRoute(start, end));
+			cached.set(index, route);
+			index(route);
+		}
+		return route.points;
+	}
+
+	/**
+	 * Computes an orthogonal route from the given start point to the given end
+	 * point (both in scene coordinates) that avoids all obstacles. The route
+	 * is searched within a window around the segment, which is grown to the
+	 * obstacles within it if there is no route, for a bounded number of times.
+	 *
+	 * @return The points of the route, including start and end point, or
+	 *         <code>null</code> if there is no such route.
+	 */
+	private List<Point> findRoute(Point start, Point end) {
+		double margin = 2 * obstacleSpacing + 1;
+		Rectangle window = new Rectangle(start, end).expand(margin, margin);
+		for (int i = 0;; i++) {
+			Set<Obstacle> candidates = getObstacles(window);
+			List<Point> route = findRoute(start, end, candidates, window);
+			if (route != null || i == MAX_WINDOW_GROWTHS) {
+				return route;
+			}
+			Rectangle grown = window.getCopy();
+			for (Obstacle o : candidates) {
+				grown.union(o.bounds);
+			}
+			if (grown.equals(window)) {
+				// the obstacles within the window block all routes
+				return null;
+			}
+			window = grown.expand(margin, margin);
+		}
+	}
+
+	/**
+	 * Computes an orthogonal route that avoids the given obstacles, and does
+	 * not leave the given window.
+	 */
+	private List<Point> findRoute(Point start, Point end,
+			Collection<Obstacle> candidates, Rectangle window) {
+		// blocking rectangles; tight rectangles are not spaced because they
+		// contain the start or end point when spaced (e.g. the anchorages)
+		Map<Obstacle, Integer> blockIndices = new IdentityHashMap<>();
+		List<Rectangle> blocks = new ArrayList<>();
+		List<Boolean> tight = new ArrayList<>();
+		List<Point> vertices = new ArrayList<>();
+		vertices.add(start);
+		vertices.add(end);
+		for (Obstacle o : candidates) {
+			Rectangle spaced = o.bounds.getExpanded(obstacleSpacing,
+					obstacleSpacing);
+			addCorners(spaced, vertices);
+			if (!isInside(start, spaced) && !isInside(end, spaced)) {
+				blockIndices.put(o, blocks.size());
+				blocks.add(spaced);
+				tight.add(false);
+			} else if (!isInside(start, o.bounds)
+					&& !isInside(end, o.bounds)) {
+				addCorners(o.bounds, vertices);
+				blockIndices.put(o, blocks.size());
+				blocks.add(o.bounds);
+				tight.add(true);
+			}
+		}
+
+		// drop the corners that are outside of the window or inside a block,
+		// and initialize how far the rays from the vertices reach (right,
+		// down, left, up); a ray that runs along the outline of a tight block
+		// is blocked right away
+		int n = 0;
+		double[] xs = new double[vertices.size()];
+		double[] ys = new double[vertices.size()];
+		double[] reach = new double[4 * vertices.size()];
+		for (int i = 0; i < vertices.size(); i++) {
+			Point v = vertices.get(i);
+			if (i > 1 && !window.contains(v)) {
+				continue;
+			}
+			boolean inside = false;
+			boolean horizontalBlocked = false;
+			boolean verticalBlocked = false;
+			Rectangle vicinity = new Rectangle(v, v)
+					.expand(obstacleSpacing + EPSILON, obstacleSpacing + EPSILON);
+			for (Obstacle o : getObstacles(vicinity)) {
+				Integer b = blockIndices.get(o);
+				if (b == null) {
+					continue;
+				}
+				Rectangle r = blocks.get(b);
+				double slack = tight.get(b) ? -EPSILON : EPSILON;
+				boolean insideX = v.x > r.getX() + EPSILON
+						&& v.x < r.getX() + r.getWidth() - EPSILON;
+				boolean insideY = v.y > r.getY() + EPSILON
+						&& v.y < r.getY() + r.getHeight() - EPSILON;
+				inside |= insideX && insideY;
+				horizontalBlocked |= insideX && v.y > r.getY() + slack
+						&& v.y < r.getY() + r.getHeight() - slack;
+				verticalBlocked |= insideY && v.x > r.getX() + slack
+						&& v.x < r.getX() + r.getWidth() - slack;
+			}
+			if (i > 1 && inside) {
+				continue;
+			}
+			xs[n] = v.x;
+			ys[n] = v.y;
+			reach[4 * n] = horizontalBlocked ? 0
+					: window.getX() + window.getWidth() - v.x;
+			reach[4 * n + 1] = verticalBlocked ? 0
+					: window.getY() + window.getHeight() - v.y;
+			reach[4 * n + 2] = horizontalBlocked ? 0 : v.x - window.getX();
+			reach[4 * n + 3] = verticalBlocked ? 0 : v.y - window.getY();
+			n++;
+		}
+		limitReaches(xs, ys, n, blocks, tight, true, reach);
+		limitReaches(xs, ys, n, blocks, tight, false, reach);
+
+		// the rays of the vertices on the same horizontal (or vertical) line,
+		// merged into segments; the intersections of the horizontal and
+		// vertical segments are the vertices of the visibility graph
+		double[] columnXs = toCoordinates(xs, n);
+		double[] rowYs = toCoordinates(ys, n);
+		double[][] rows = toSegments(rowYs, ys, xs, reach, 0, n);
+		double[][] columns = toSegments(columnXs, xs, ys, reach, 1, n);
+		int nx = columnXs.length;
+		int endX = search(columnXs, xs[1] + EPSILON) - 1;
+		int endY = search(rowYs, ys[1] + EPSILON) - 1;
+
+		// A* over (vertex, incoming direction) states; each vertex is
+		// connected to the nearest vertex in each direction along its
+		// segments
+		Map<Long, SearchEntry[]> best = new HashMap<>();
+		PriorityQueue<SearchEntry> open = new PriorityQueue<>();
+		SearchEntry first = new SearchEntry(
+				toState(search(columnXs, xs[0] + EPSILON) - 1,
+						search(rowYs, ys[0] + EPSILON) - 1, NONE, nx),
+				0, getEstimate(xs[0], ys[0], NONE, end), null);
+		best.put(first.state / 5, new SearchEntry[5]);
+		best.get(first.state / 5)[NONE] = first;
+		open.add(first);
+		while (!open.isEmpty()) {
+			SearchEntry entry = open.poll();
+			long state = entry.state;
+			if (best.get(state / 5)[(int) (state % 5)] != entry) {
+				// outdated entry
+				continue;
+			}
+			int direction = (int) (state % 5);
+			int x = (int) (state / 5 % nx);
+			int y = (int) (state / 5 / nx);
+			if (x == endX && y == endY) {
+				return toRoute(columnXs, rowYs, entry, start, end);
+			}
+			for (int d = 0; d < 4; d++) {
+				if (direction != NONE && d == (direction + 2) % 4) {
+					continue;
+				}
+				boolean horizontal = d % 2 == 0;
+				int step = d < 2 ? 1 : -1;
+				double[] along = horizontal ? columnXs : rowYs;
+				double[] across = horizontal ? rowYs : columnXs;
+				double[][] lines = horizontal ? columns : rows;
+				int from = horizontal ? x : y;
+				int at = horizontal ? y : x;
+				double[] segment = horizontal ? rows[y] : columns[x];
+				int s = findSegment(segment, along[from]);
+				if (s < 0) {
+					continue;
+				}
+				// the nearest crossing segment within the segment
+				int to = from + step;
+				while (to >= 0 && to < along.length
+						&& along[to] >= segment[2 * s] - EPSILON
+						&& along[to] <= segment[2 * s + 1] + EPSILON
+						&& findSegment(lines[to], across[at]) < 0) {
+					to += step;
+				}
+				if (to < 0 || to >= along.length
+						|| along[to] < segment[2 * s] - EPSILON
+						|| along[to] > segment[2 * s + 1] + EPSILON) {
+					continue;
+				}
+				double cost = entry.cost + Math.abs(along[to] - along[from])
+						+ (direction != NONE && direction != d ? bendPenalty
+								: 0);
+				int x2 = horizontal ? to : x;
+				int y2 = horizontal ? y : to;
+				long state2 = toState(x2, y2, d, nx);
+				SearchEntry[] known = best.computeIfAbsent(
+						state2 / 5, k -> new SearchEntry[5]);
+				if (!isDominated(known, d, cost)) {
+					SearchEntry next = new SearchEntry(state2, cost,
+							cost + getEstimate(columnXs[x2], rowYs[y2], d,
+									end),
+							entry);
+					known[d] = next;
+					open.add(next);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether entering a vertex in the given direction at the given
+	 * cost is not better than the given entries of the vertex, i.e. whether
+	 * each way to leave the vertex is available from one of the entries at a
+	 * cost that is not higher.
+	 */
+	private boolean isDominated(SearchEntry[] entries, int direction,
+			double cost) {
+		for (int m = 0; m < 4; m++) {
+			if (m == (direction + 2) % 4) {
+				continue;
+			}
+			double limit = cost + (m == direction ? 0 : bendPenalty) + EPSILON;
+			boolean covered = false;
+			for (int d = 0; d < 5 && !covered; d++) {
+				SearchEntry entry = entries[d];
+				covered = entry != null && d != (m + 2) % 4
+						&& entry.cost + (d == NONE || d == m ? 0
+								: bendPenalty) <= limit;
+			}
+			if (!covered) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Limits the reach of the horizontal (or vertical) rays from the given
+	 * vertices to the nearest block in their way, using a scan line that
+	 * sweeps the vertices and blocks in vertical (or horizontal) direction
+	 * while maintaining the blocks it crosses. Rays may run along the outline
+	 * of a spaced block, but not along the outline of a tight one. The
+	 * vertices must not be inside a block, and the rays that start on the
+	 * outline of a tight block and run along it have to be blocked
+	 * beforehand.
+	 */
+	private void limitReaches(double[] xs, double[] ys, int n,
+			List<Rectangle> blocks, List<Boolean> tight, boolean horizontal,
+			double[] reach) {
+		int m = blocks.size();
+		double[] min = new double[m];
+		double[] max = new double[m];
+		double[] lo = new double[m];
+		double[] hi = new double[m];
+		for (int b = 0; b < m; b++) {
+			Rectangle r = blocks.get(b);
+			double slack = tight.get(b) ? -EPSILON : EPSILON;
+			min[b] = horizontal ? r.getX() : r.getY();
+			max[b] = min[b] + (horizontal ? r.getWidth() : r.getHeight());
+			lo[b] = (horizontal ? r.getY() : r.getX()) + slack;
+			hi[b] = lo[b] - 2 * slack
+					+ (horizontal ? r.getHeight() : r.getWidth());
+		}
+		double[] along = horizontal ? xs : ys;
+		double[] at = horizontal ? ys : xs;
+		int forward = horizontal ? 0 : 1;
+		int backward = forward + 2;
+		// the scan line crosses the blocks for which lo < at < hi
+		PriorityQueue<Integer> crossed = new PriorityQueue<>(
+				Comparator.comparingDouble(b -> hi[b]));
+		TreeMap<Double, Integer> mins = new TreeMap<>();
+		TreeMap<Double, Integer> maxs = new TreeMap<>();
+		int[] blockOrder = toSortedOrder(lo, m);
+		int next = 0;
+		for (int v : toSortedOrder(at, n)) {
+			while (next < m && lo[blockOrder[next]] < at[v]) {
+				int b = blockOrder[next++];
+				crossed.add(b);
+				updateCount(mins, min[b], 1);
+				updateCount(maxs, max[b], 1);
+			}
+			while (!crossed.isEmpty() && hi[crossed.peek()] <= at[v]) {
+				int b = crossed.poll();
+				updateCount(mins, min[b], -1);
+				updateCount(maxs, max[b], -1);
+			}
+			// as the vertex is not inside a crossed block, the blocks ahead
+			// of it start behind it
+			Double ahead = mins.ceilingKey(along[v] - EPSILON);
+			if (ahead != null) {
+				reach[4 * v + forward] = Math.min(reach[4 * v + forward],
+						Math.max(0, ahead - along[v]));
+			}
+			Double behind = maxs.floorKey(along[v] + EPSILON);
+			if (behind != null) {
+				reach[4 * v + backward] = Math.min(reach[4 * v + backward],
+						Math.max(0, along[v] - behind));
+			}
+		}
+	}
+
+	private void updateCount(TreeMap<Double, Integer> counts, double key,
+			int delta) {
+		// maintains a multiset of keys
+		counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+	}
+
+	/**
+	 * Returns the segments covered by the horizontal (or vertical) rays of the
+	 * given vertices for each of the given lines, sorted and merged, as a
+	 * sequence of minimum and maximum coordinates.
+	 */
+	private double[][] toSegments(double[] lines, double[] at, double[] along,
+			double[] reach, int forward, int n) {
+		List<List<double[]>> segments = new ArrayList<>();
+		for (int i = 0; i < lines.length; i++) {
+			segments.add(new ArrayList<>(2));
+		}
+		for (int v = 0; v < n; v++) {
+			segments.get(search(lines, at[v] + EPSILON) - 1)
+					.add(new double[] { along[v] - reach[4 * v + forward + 2],
+							along[v] + reach[4 * v + forward] });
+		}
+		double[][] result = new double[lines.length][];
+		for (int i = 0; i < lines.length; i++) {
+			List<double[]> line = segments.get(i);
+			line.sort((s1, s2) -> Double.compare(s1[0], s2[0]));
+			double[] merged = new double[2 * line.size()];
+			int count = 0;
+			for (double[] segment : line) {
+				if (count > 0 && segment[0] <= merged[count - 1] + EPSILON) {
+					merged[count - 1] = Math.max(merged[count - 1],
+							segment[1]);
+				} else {
+					merged[count++] = segment[0];
+					merged[count++] = segment[1];
+				}
+			}
+			result[i] = Arrays.copyOf(merged, count);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the index of the (sorted and merged) segment that contains the
+	 * given coordinate, or <code>-1</code> if there is none.
+	 */
+	private int findSegment(double[] segments, double coordinate) {
+		// the last segment that starts at or before the coordinate
+		int low = 0;
+		int high = segments.length / 2;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (segments[2 * middle] <= coordinate + EPSILON) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low > 0 && segments[2 * low - 1] >= coordinate - EPSILON
+				? low - 1 : -1;
+	}
+
+	/**
+	 * Returns a lower bound for the cost of the rest of a route from the given
+	 * point, which is entered in the given direction, to the given end point:
+	 * its distance plus the bends that are needed at least.
+	 */
+	private double getEstimate(double x, double y, int direction, Point end) {
+		double dx = end.x - x;
+		double dy = end.y - y;
+		int bends;
+		if (direction == NONE) {
+			bends = Math.abs(dx) > EPSILON && Math.abs(dy) > EPSILON ? 1 : 0;
+		} else {
+			double ahead = direction == 0 ? dx
+					: direction == 1 ? dy : direction == 2 ? -dx : -dy;
+			double aside = Math.abs(direction % 2 == 0 ? dy : dx);
+			if (aside <= EPSILON) {
+				bends = ahead >= -EPSILON ? 0 : 3;
+			} else {
+				bends = ahead >= -EPSILON ? 1 : 2;
+			}
+		}
+		return Math.abs(dx) + Math.abs(dy) + bends * bendPenalty;
+	}
+
+	private List<Point> toRoute(double[] xs, double[] ys, SearchEntry entry,
+			Point start, Point end) {
+		// collect the vertices where the direction changes, backwards
+		int nx = xs.length;
+		List<Point> bends = new ArrayList<>();
+		for (SearchEntry previous = entry.parent; previous != null;
+				previous = previous.parent) {
+			long state = previous.state;
+			if (state % 5 != NONE && state % 5 != entry.state % 5) {
+				bends.add(new Point(xs[(int) (state / 5 % nx)],
+						ys[(int) (state / 5 / nx)]));
+			}
+			entry = previous;
+		}
+		List<Point> route = new ArrayList<>(bends.size() + 2);
+		route.add(start);
+		for (int i = bends.size() - 1; i >= 0; i--) {
+			route.add(bends.get(i));
+		}
+		route.add(end);
+		return route;
+	}
+
+	private long toState(int x, int y, int direction, int nx) {
+		return ((long) y * nx + x) * 5 + direction;
+	}
+
+	private void addCorners(Rectangle r, List<Point> vertices) {
+		vertices.add(r.getTopLeft());
+		vertices.add(r.getTopRight());
+		vertices.add(r.getBottomLeft());
+		vertices.add(r.getBottomRight());
+	}
+
+	/**
+	 * Returns the first <i>n</i> of the given coordinates, sorted and without
+	 * duplicates.
+	 */
+	private double[] toCoordinates(double[] values, int n) {
+		double[] sorted = Arrays.copyOf(values, n);
+		Arrays.sort(sorted);
+		int count = 0;
+		for (int i = 0; i < n; i++) {
+			if (count == 0 || sorted[i] > sorted[count - 1] + EPSILON) {
+				sorted[count++] = sorted[i];
+			}
+		}
+		return Arrays.copyOf(sorted, count);
+	}
+
+	/**
+	 * Returns the indices of the first <i>n</i> of the given values, sorted
+	 * by value.
+	 */
+	private int[] toSortedOrder(double[] values, int n) {
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingDouble(i -> values[i]));
+		int[] result = new int[n];
+		for (int i = 0; i < n; i++) {
+			result[i] = order[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the index of the first of the given sorted values that is
+	 * greater than the given value.
+	 */
+	private int search(double[] sorted, double value) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sorted[middle] > value) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+
+	private boolean isInside(Point p, Rectangle r) {
+		return p.x > r.getX() + EPSILON
+				&& p.x < r.getX() + r.getWidth() - EPSILON
+				&& p.y > r.getY() + EPSILON
+				&& p.y < r.getY() + r.getHeight() - EPSILON;
+	}
+
+	private Rectangle computeBounds(Node node) {
+		return FX2Geometry
+				.toRectangle(node.localToScene(node.getLayoutBounds()));
+	}
+
+	private void obstacleChanged(Obstacle o) {
+		Rectangle oldBounds = o.bounds;
+		Rectangle newBounds = computeBounds(o.node);
+		if (newBounds.equals(oldBounds)) {
+			return;
+		}
+		unindex(o);
+		o.bounds = newBounds;
+		index(o);
+		invalidateRoutes(oldBounds, newBounds);
+	}
+
+	/**
+	 * Invalidates the cached routes near the given areas (in scene
+	 * coordinates), or all cached routes if no area is given, and refreshes
+	 * the respective connections.
+	 */
+	private void invalidateRoutes(Rectangle... areas) {
+		Set<Connection> affected = new LinkedHashSet<>();
+		if (areas.length == 0) {
+			affected.addAll(routes.keySet());
+			routes.clear();
+			routeCells.clear();
+			largeRoutes.clear();
+		} else {
+			Set<Route> candidates = Collections
+					.newSetFromMap(new IdentityHashMap<>());
+			for (Rectangle area : areas) {
+				if (area != null) {
+					forEachCell(area, key -> {
+						List<Route> cell = routeCells.get(key);
+						if (cell != null) {
+							candidates.addAll(cell);
+						}
+					});
+				}
+			}
+			candidates.addAll(largeRoutes);
+			for (Route route : candidates) {
+				if (isAffected(route, areas)) {
+					Connection connection = route.connection.get();
+					if (connection != null) {
+						affected.add(connection);
+					} else {
+						// the connection has been garbage collected
+						unindex(route);
+					}
+				}
+			}
+		}
+		for (Connection connection : affected) {
+			List<Route> removed = routes.remove(connection);
+			if (removed != null) {
+				for (Route route : removed) {
+					if (route != null) {
+						unindex(route);
+					}
+				}
+			}
+			if (connection.getRouter() == this) {
+				connection.refresh();
+			}
+		}
+	}
+
+	private boolean isAffected(Route route, Rectangle[] areas) {
+		for (Rectangle area : areas) {
+			if (area != null && route.area.touches(area)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Set<Obstacle> getObstacles(Rectangle region) {
+		Set<Obstacle> result = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+		int x1 = toCell(region.getX());
+		int x2 = toCell(region.getX() + region.getWidth());
+		int y1 = toCell(region.getY());
+		int y2 = toCell(region.getY() + region.getHeight());
+		if ((long) (x2 - x1 + 1) * (y2 - y1 + 1) > cells.size()) {
+			// fewer occupied cells than covered cells
+			for (List<Obstacle> cell : cells.values()) {
+				for (Obstacle o : cell) {
+					if (o.bounds.touches(region)) {
+						result.add(o);
+					}
+				}
+			}
+			return result;
+		}
+		for (int x = x1; x <= x2; x++) {
+			for (int y = y1; y <= y2; y++) {
+				List<Obstacle> cell = cells.get(toKey(x, y));
+				if (cell != null) {
+					for (Obstacle o : cell) {
+						if (o.bounds.touches(region)) {
+							result.add(o);
+						}
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private void index(Obstacle o) {
+		forEachCell(o.bounds, key -> {
+			List<Obstacle> cell = cells.get(key);
+			if (cell == null) {
+				cell = new ArrayList<>(2);
+				cells.put(key, cell);
+			}
+			cell.add(o);
+		});
+	}
+
+	private void unindex(Obstacle o) {
+		forEachCell(o.bounds, key -> {
+			List<Obstacle> cell = cells.get(key);
+			if (cell != null) {
+				cell.remove(o);
+				if (cell.isEmpty()) {
+					cells.remove(key);
+				}
+			}
+		});
+	}
+
+	private void index(Route route) {
+		// a route is affected by the changes within twice the spacing
+		route.area = route.bounds.getExpanded(2 * obstacleSpacing,
+				2 * obstacleSpacing);
+		long count = (long) (toCell(route.area.getX() + route.area.getWidth())
+				- toCell(route.area.getX()) + 1)
+				* (toCell(route.area.getY() + route.area.getHeight())
+						- toCell(route.area.getY()) + 1);
+		if (count > MAX_ROUTE_CELLS) {
+			largeRoutes.add(route);
+			return;
+		}
+		forEachCell(route.area, key -> {
+			List<Route> cell = routeCells.get(key);
+			if (cell == null) {
+				cell = new ArrayList<>(2);
+				routeCells.put(key, cell);
+			}
+			cell.add(route);
+		});
+	}
+
+	private void unindex(Route route) {
+		if (largeRoutes.remove(route)) {
+			return;
+		}
+		forEachCell(route.area, key -> {
+			List<Route> cell = routeCells.get(key);
+			if (cell != null) {
+				cell.remove(route);
+				if (cell.isEmpty()) {
+					routeCells.remove(key);
+				}
+			}
+		});
+	}
+
+	private void forEachCell(Rectangle bounds, LongConsumer consumer) {
+		int x1 = toCell(bounds.getX());
+		int x2 = toCell(bounds.getX() + bounds.getWidth());
+		int y1 = toCell(bounds.getY());
+		int y2 = toCell(bounds.getY() + bounds.getHeight());
+		for (int x = x1; x <= x2; x++) {
+			for (int y = y1; y <= y2; y++) {
+				consumer.accept(toKey(x, y));
+			}
+		}
+	}
+
+	private int toCell(double coordinate) {
+		return (int) Math.floor(coordinate / CELL_SIZE);
+	}
+
+	private long toKey(int x, int y) {
+		return ((long) x << 32) | (y & 0xffffffffL);
+	}
+}
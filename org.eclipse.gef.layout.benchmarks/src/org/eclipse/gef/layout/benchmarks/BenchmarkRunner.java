@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. It accepts the usual JMH command line
+ * options, but defaults to the settings that are used for regression tracking:
+ * results are written as JSON to <code>jmh-result.json</code>, and the
+ * {@link GCProfiler} is enabled, so that allocation rates are reported in
+ * addition to throughput and latency percentiles.
+ */
+public final class BenchmarkRunner {
+
+	private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	private BenchmarkRunner() {
+		// not to be instantiated
+	}
+
+	/**
+	 * Runs the benchmarks that are selected by the given command line
+	 * arguments.
+	 *
+	 * @param args
+	 *            The JMH command line arguments.
+	 * @throws Exception
+	 *             If the command line is invalid or the benchmarks fail.
+	 */
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions cmdOptions;
+		try {
+			cmdOptions = new CommandLineOptions(args);
+		} catch (CommandLineOptionException e) {
+			System.err.println("Error parsing command line: " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+		if (cmdOptions.shouldHelp() || cmdOptions.shouldList()
+				|| cmdOptions.shouldListWithParams()
+				|| cmdOptions.shouldListProfilers()
+				|| cmdOptions.shouldListResultFormats()) {
+			// let JMH handle the informational options
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+
+		OptionsBuilder options = new OptionsBuilder();
+		options.parent(cmdOptions);
+		if (!cmdOptions.getResultFormat().hasValue()) {
+			options.resultFormat(ResultFormatType.JSON);
+		}
+		if (!cmdOptions.getResult().hasValue()) {
+			options.result(DEFAULT_RESULT_FILE);
+		}
+		if (cmdOptions.getProfilers().isEmpty()) {
+			options.addProfiler(GCProfiler.class);
+		}
+		try {
+			new Runner(options.build()).run();
+		} catch (RunnerException e) {
+			System.err.println("Benchmarks failed: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.gef.common.attributes.IAttributeCopier;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.GraphCopier;
+import org.eclipse.gef.layout.benchmarks.GraphGenerator.Family;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the construction of graphs using the {@link Graph.Builder} and
+ * copying them using the {@link GraphCopier}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class GraphBenchmark {
+
+	@Param({ "RANDOM", "SCALE_FREE", "BALANCED_TREE", "UNBALANCED_TREE", "DAG",
+			"FOREST" })
+	private Family family;
+
+	@Param({ "100", "1000", "10000", "100000" })
+	private int size;
+
+	private int[] edges;
+	private Graph graph;
+
+	@Setup
+	public void setUp() {
+		edges = GraphGenerator.generateEdges(family, size, 42);
+		graph = GraphGenerator.createGraph(size, edges, 42);
+	}
+
+	@Benchmark
+	public Graph build() {
+		Graph.Builder builder = new Graph.Builder();
+		for (int i = 0; i < size; i++) {
+			builder.node(i).attr("label", "n" + i);
+		}
+		for (int e = 0; e < edges.length; e += 2) {
+			builder.edge(edges[e], edges[e + 1]);
+		}
+		return builder.build();
+	}
+
+	@Benchmark
+	public Graph copy() {
+		return new GraphCopier(IAttributeCopier.SHALLOW_COPY).copy(graph);
+	}
+}
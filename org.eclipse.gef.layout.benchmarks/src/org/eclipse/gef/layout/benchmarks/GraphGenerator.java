@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link GraphGenerator} creates synthetic graphs of the different
+ * {@link Family families} that are used by the benchmarks. The structure of a
+ * graph is generated as an array of edges between node indices, which is
+ * deterministic for a given seed, so that all benchmarks of a run (and
+ * subsequent runs) use the same graphs.
+ */
+public final class GraphGenerator {
+
+	/**
+	 * The families of graphs that can be generated. The number of edges is
+	 * about twice the number of nodes, except for trees and forests.
+	 */
+	public enum Family {
+		/**
+		 * Erdős–Rényi graphs, whose edges connect uniformly chosen pairs of
+		 * nodes.
+		 */
+		RANDOM,
+		/**
+		 * Scale-free graphs (Barabási–Albert), in which each node is connected
+		 * to two existing nodes that are chosen proportional to their degree.
+		 */
+		SCALE_FREE,
+		/**
+		 * Complete trees in which each inner node has four children.
+		 */
+		BALANCED_TREE,
+		/**
+		 * Trees in which each node is attached to its predecessor or to a
+		 * uniformly chosen node, so that long paths and wide fans occur.
+		 */
+		UNBALANCED_TREE,
+		/**
+		 * Directed acyclic graphs whose edges lead from lower to higher node
+		 * indices that are close to each other, which results in many layers.
+		 */
+		DAG,
+		/**
+		 * Forests of unbalanced trees with about 50 nodes each.
+		 */
+		FOREST
+	}
+
+	private static final int FOREST_TREE_SIZE = 50;
+
+	private GraphGenerator() {
+		// utility class
+	}
+
+	/**
+	 * Generates the edges of a graph of the given {@link Family} with the
+	 * given number of nodes.
+	 *
+	 * @param family
+	 *            The {@link Family} of the graph.
+	 * @param nodeCount
+	 *            The number of nodes.
+	 * @param seed
+	 *            The seed for the random decisions.
+	 * @return An array containing the source and target index of each edge
+	 *         as consecutive elements.
+	 */
+	public static int[] generateEdges(Family family, int nodeCount,
+			long seed) {
+		Random random = new Random(seed);
+		switch (family) {
+		case RANDOM:
+			return generateRandom(nodeCount, random);
+		case SCALE_FREE:
+			return generateScaleFree(nodeCount, random);
+		case BALANCED_TREE:
+			return generateBalancedTree(nodeCount);
+		case UNBALANCED_TREE:
+			return generateForest(nodeCount, nodeCount, random);
+		case DAG:
+			return generateDag(nodeCount, random);
+		case FOREST:
+			return generateForest(nodeCount, FOREST_TREE_SIZE, random);
+		default:
+			throw new IllegalArgumentException(
+					"Unsupported graph family " + family + ".");
+		}
+	}
+
+	private static int[] generateRandom(int nodeCount, Random random) {
+		int[] edges = new int[nodeCount < 2 ? 0 : 4 * nodeCount];
+		for (int e = 0; e < edges.length; e += 2) {
+			edges[e] = random.nextInt(nodeCount);
+			do {
+				edges[e + 1] = random.nextInt(nodeCount);
+			} while (edges[e + 1] == edges[e]);
+		}
+		return edges;
+	}
+
+	private static int[] generateScaleFree(int nodeCount, Random random) {
+		// the end points of all edges so far, in which each node occurs as
+		// often as its degree
+		int[] endPoints = new int[4 * nodeCount];
+		int count = 0;
+		for (int i = 1; i < nodeCount; i++) {
+			for (int k = 0; k < Math.min(2, i); k++) {
+				int target = count == 0 ? 0 : endPoints[random.nextInt(count)];
+				endPoints[count++] = i;
+				endPoints[count++] = target;
+			}
+		}
+		return Arrays.copyOf(endPoints, count);
+	}
+
+	private static int[] generateBalancedTree(int nodeCount) {
+		int[] edges = new int[2 * Math.max(nodeCount - 1, 0)];
+		for (int i = 1; i < nodeCount; i++) {
+			edges[2 * (i - 1)] = (i - 1) / 4;
+			edges[2 * (i - 1) + 1] = i;
+		}
+		return edges;
+	}
+
+	/**
+	 * Generates a forest of unbalanced trees of the given size (the last tree
+	 * may be smaller).
+	 */
+	private static int[] generateForest(int nodeCount, int treeSize,
+			Random random) {
+		int treeCount = (nodeCount + treeSize - 1) / treeSize;
+		int[] edges = new int[2 * (nodeCount - treeCount)];
+		int e = 0;
+		for (int i = 0; i < nodeCount; i++) {
+			int root = i - i % treeSize;
+			if (i != root) {
+				edges[e++] = random.nextBoolean() ? i - 1
+						: root + random.nextInt(i - root);
+				edges[e++] = i;
+			}
+		}
+		return edges;
+	}
+
+	private static int[] generateDag(int nodeCount, Random random) {
+		int[] edges = new int[nodeCount < 2 ? 0 : 4 * nodeCount];
+		for (int e = 0; e < edges.length; e += 2) {
+			int source = random.nextInt(nodeCount - 1);
+			edges[e] = source;
+			edges[e + 1] = Math.min(nodeCount - 1,
+					source + 1 + random.nextInt(10));
+		}
+		return edges;
+	}
+
+	/**
+	 * Creates a {@link Graph} with the given number of nodes and the given
+	 * edges, which is prepared for layout: each node has a size and a random
+	 * location, and the graph has layout bounds that grow with the number of
+	 * nodes.
+	 *
+	 * @param nodeCount
+	 *            The number of nodes.
+	 * @param edges
+	 *            The edges, as returned by
+	 *            {@link #generateEdges(Family, int, long)}.
+	 * @param seed
+	 *            The seed for the random sizes and locations.
+	 * @return A new {@link Graph}.
+	 */
+	public static Graph createGraph(int nodeCount, int[] edges, long seed) {
+		Random random = new Random(seed);
+		double side = getSide(nodeCount);
+		List<Node> nodes = new ArrayList<>(nodeCount);
+		for (int i = 0; i < nodeCount; i++) {
+			Node node = new Node();
+			LayoutProperties.setSize(node,
+					new Dimension(20 + random.nextInt(40), 20));
+			LayoutProperties.setLocation(node, new Point(
+					random.nextDouble() * side, random.nextDouble() * side));
+			nodes.add(node);
+		}
+		List<Edge> edgeList = new ArrayList<>(edges.length / 2);
+		for (int e = 0; e < edges.length; e += 2) {
+			edgeList.add(new Edge(nodes.get(edges[e]), nodes.get(edges[e + 1])));
+		}
+		Graph graph = new Graph(nodes, edgeList);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, side, side));
+		return graph;
+	}
+
+	/**
+	 * Returns the side length of the square layout bounds for the given number
+	 * of nodes, which leaves an area of about 100 x 100 per node.
+	 *
+	 * @param nodeCount
+	 *            The number of nodes.
+	 * @return The side length of the layout bounds.
+	 */
+	public static double getSide(int nodeCount) {
+		return 100 * Math.ceil(Math.sqrt(Math.max(nodeCount, 1)));
+	}
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.BalloonTreeLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.BoxLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.CircularLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.ComponentPackingLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.EdgeRoutingAlgorithm;
+import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.HorizontalShiftAlgorithm;
+import org.eclipse.gef.layout.algorithms.MultilevelForceLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.OverlapRemovalLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.RadialLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpaceTreeLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.StressMajorizationLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.TidyTreeLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.TreeLayoutAlgorithm;
+import org.eclipse.gef.layout.benchmarks.GraphGenerator.Family;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a clean layout pass of each {@link ILayoutAlgorithm}. The nodes are
+ * reset to their initial (random) locations and sizes before each pass, so
+ * that all passes start from the same state; this is included in the
+ * measurement, but is negligible compared to the layout.
+ * <p>
+ * By default, graphs with up to 10,000 nodes are laid out, as the algorithms
+ * that take quadratic time (e.g. {@link SpringLayoutAlgorithm}) do not finish
+ * within reasonable time for larger graphs. Larger graphs can be selected for
+ * individual algorithms, e.g. using
+ * <code>-p algorithm=GRID,SUGIYAMA -p size=100000</code>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class LayoutBenchmark {
+
+	/**
+	 * The {@link ILayoutAlgorithm}s that are measured.
+	 */
+	public enum Algorithm {
+		BALLOON_TREE, BOX, CIRCULAR, COMPONENT_PACKING, EDGE_ROUTING, GRID,
+		HORIZONTAL_SHIFT, MULTILEVEL_FORCE, OVERLAP_REMOVAL, RADIAL, SPACE_TREE,
+		SPRING, STRESS_MAJORIZATION, SUGIYAMA, TIDY_TREE, TREE;
+
+		/**
+		 * Creates a new instance of this {@link ILayoutAlgorithm} with its
+		 * default settings.
+		 *
+		 * @return A new {@link ILayoutAlgorithm}.
+		 */
+		public ILayoutAlgorithm create() {
+			switch (this) {
+			case BALLOON_TREE:
+				return new BalloonTreeLayoutAlgorithm();
+			case BOX:
+				return new BoxLayoutAlgorithm();
+			case CIRCULAR:
+				return new CircularLayoutAlgorithm();
+			case COMPONENT_PACKING:
+				return new ComponentPackingLayoutAlgorithm(
+						() -> new TreeLayoutAlgorithm());
+			case EDGE_ROUTING:
+				return new EdgeRoutingAlgorithm();
+			case GRID:
+				return new GridLayoutAlgorithm();
+			case HORIZONTAL_SHIFT:
+				return new HorizontalShiftAlgorithm();
+			case MULTILEVEL_FORCE:
+				return new MultilevelForceLayoutAlgorithm();
+			case OVERLAP_REMOVAL:
+				return new OverlapRemovalLayoutAlgorithm();
+			case RADIAL:
+				return new RadialLayoutAlgorithm();
+			case SPACE_TREE:
+				return new SpaceTreeLayoutAlgorithm();
+			case SPRING:
+				return new SpringLayoutAlgorithm();
+			case STRESS_MAJORIZATION:
+				return new StressMajorizationLayoutAlgorithm();
+			case SUGIYAMA:
+				return new SugiyamaLayoutAlgorithm();
+			case TIDY_TREE:
+				return new TidyTreeLayoutAlgorithm();
+			case TREE:
+				return new TreeLayoutAlgorithm();
+			default:
+				throw new IllegalStateException(
+						"Unsupported algorithm " + this + ".");
+			}
+		}
+	}
+
+	@Param({ "BALLOON_TREE", "BOX", "CIRCULAR", "COMPONENT_PACKING",
+			"EDGE_ROUTING", "GRID", "HORIZONTAL_SHIFT", "MULTILEVEL_FORCE",
+			"OVERLAP_REMOVAL", "RADIAL", "SPACE_TREE", "SPRING",
+			"STRESS_MAJORIZATION", "SUGIYAMA", "TIDY_TREE", "TREE" })
+	private Algorithm algorithm;
+
+	@Param({ "RANDOM", "SCALE_FREE", "BALANCED_TREE", "UNBALANCED_TREE", "DAG",
+			"FOREST" })
+	private Family family;
+
+	@Param({ "100", "1000", "10000" })
+	private int size;
+
+	private LayoutContext context;
+	private Node[] nodes;
+	private double[] x;
+	private double[] y;
+	private double[] width;
+	private double[] height;
+
+	@Setup
+	public void setUp() {
+		Graph graph = GraphGenerator.createGraph(size,
+				GraphGenerator.generateEdges(family, size, 42), 42);
+		context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm.create());
+		nodes = context.getNodes();
+		x = new double[nodes.length];
+		y = new double[nodes.length];
+		width = new double[nodes.length];
+		height = new double[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			Point location = LayoutProperties.getLocation(nodes[i]);
+			Dimension size = LayoutProperties.getSize(nodes[i]);
+			x[i] = location.x;
+			y[i] = location.y;
+			width[i] = size.width;
+			height[i] = size.height;
+		}
+	}
+
+	@Benchmark
+	public LayoutContext layout() {
+		context.commitLayout(nodes, x, y, width, height);
+		context.applyLayout(true);
+		return context;
+	}
+}
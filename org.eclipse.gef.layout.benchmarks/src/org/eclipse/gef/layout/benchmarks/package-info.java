@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial text
+ *
+ *******************************************************************************/
+/**
+ * This package provides JMH benchmarks for the construction and copying of
+ * graphs ({@link org.eclipse.gef.layout.benchmarks.GraphBenchmark}) and for
+ * the layout algorithms
+ * ({@link org.eclipse.gef.layout.benchmarks.LayoutBenchmark}), which operate on
+ * synthetic graphs that are created by the
+ * {@link org.eclipse.gef.layout.benchmarks.GraphGenerator}.
+ * <p>
+ * The benchmarks are built using the <code>benchmarks</code> profile, i.e.
+ * <code>mvn -Pbenchmarks package</code> within <code>org.eclipse.gef.releng</code>,
+ * and are run headless using
+ * <code>java -jar org.eclipse.gef.layout.benchmarks/target/benchmarks.jar</code>,
+ * which accepts the usual JMH options, e.g.
+ * <code>LayoutBenchmark -p algorithm=SUGIYAMA -p size=1000</code>. The results
+ * are written to <code>jmh-result.json</code> by default.
+ */
+package org.eclipse.gef.layout.benchmarks;
@@ -18,6 +18,18 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ LayoutAlgorithmTests.class })
+@SuiteClasses({ BalloonTreeLayoutAlgorithmTests.class,
+		CircularLayoutAlgorithmTests.class,
+		ComponentPackingLayoutAlgorithmTests.class,
+		CompoundLayoutEngineTests.class, EdgeRoutingAlgorithmTests.class,
+		LayoutAlgorithmTests.class, LayoutContextTests.class,
+		LayoutResultCacheTests.class,
+		MultilevelForceLayoutAlgorithmTests.class,
+		OverlapRemovalLayoutAlgorithmTests.class,
+		StressMajorizationLayoutAlgorithmTests.class,
+		SpaceTreeLayoutAlgorithmTests.class,
+		SpringLayoutAlgorithmTests.class,
+		SugiyamaLayoutAlgorithmTests.class,
+		TidyTreeLayoutAlgorithmTests.class })
 public class AllTests {
 }
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.eclipse.gef.layout.tests.TestUtils.createNode;
+import static org.eclipse.gef.layout.tests.TestUtils.getBounds;
+import static org.eclipse.gef.layout.tests.TestUtils.layout;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.BalloonTreeLayoutAlgorithm;
+import org.junit.Test;
+
+public class BalloonTreeLayoutAlgorithmTests {
+
+	private static Graph createRandomTree(int nodeCount, Random random,
+			List<Node> nodes, List<Edge> edges) {
+		for (int i = 0; i < nodeCount; i++) {
+			Node node = createNode(10 + random.nextInt(30), 20);
+			nodes.add(node);
+			if (i > 0) {
+				edges.add(new Edge(nodes.get(random.nextInt(i)), node));
+			}
+		}
+		return new Graph(nodes, edges);
+	}
+
+	/**
+	 * Asserts that the circles enclosing the nodes do not overlap.
+	 */
+	private static void assertNoOverlap(List<Node> nodes) {
+		for (int i = 0; i < nodes.size(); i++) {
+			Point p1 = LayoutProperties.getLocation(nodes.get(i));
+			Dimension s1 = LayoutProperties.getSize(nodes.get(i));
+			for (int j = 0; j < i; j++) {
+				Point p2 = LayoutProperties.getLocation(nodes.get(j));
+				Dimension s2 = LayoutProperties.getSize(nodes.get(j));
+				double r1 = Math.sqrt(s1.width * s1.width
+						+ s1.height * s1.height) / 2;
+				double r2 = Math.sqrt(s2.width * s2.width
+						+ s2.height * s2.height) / 2;
+				assertTrue(p1.getDistance(p2) >= r1 + r2 - 1e-6);
+			}
+		}
+	}
+
+	@Test
+	public void testNoOverlap() {
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		Graph graph = createRandomTree(300, new Random(5), nodes, edges);
+		layout(graph, new BalloonTreeLayoutAlgorithm(),
+				new Rectangle(0, 0, 500, 500));
+		assertNoOverlap(nodes);
+		// the drawing is centered within the bounds, but not scaled
+		Rectangle bounds = getBounds(nodes);
+		assertEquals(250, bounds.getCenter().x, 1e-6);
+		assertEquals(250, bounds.getCenter().y, 1e-6);
+		assertTrue(bounds.getWidth() > 500);
+	}
+
+	@Test
+	public void testPathIsStraight() {
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			Node node = createNode(30, 40);
+			nodes.add(node);
+			if (i > 0) {
+				edges.add(new Edge(nodes.get(i - 1), node));
+			}
+		}
+		layout(new Graph(nodes, edges), new BalloonTreeLayoutAlgorithm());
+		Point first = LayoutProperties.getLocation(nodes.get(0));
+		Point second = LayoutProperties.getLocation(nodes.get(1));
+		for (int i = 1; i < nodes.size(); i++) {
+			Point previous = LayoutProperties.getLocation(nodes.get(i - 1));
+			Point location = LayoutProperties.getLocation(nodes.get(i));
+			// collinear and separated by the node diameter and the spacing
+			assertEquals(0, (second.x - first.x) * (location.y - first.y)
+					- (second.y - first.y) * (location.x - first.x), 1e-6);
+			assertEquals(50 + 10, previous.getDistance(location), 1e-6);
+		}
+	}
+
+	@Test
+	public void testForestWithCycles() {
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			Node node = createNode(30, 30);
+			nodes.add(node);
+		}
+		List<Edge> edges = new ArrayList<>();
+		// a tree 0 -> 1, 0 -> 2, a cycle 3 -> 4 -> 5 -> 3, and a single node
+		edges.add(new Edge(nodes.get(0), nodes.get(1)));
+		edges.add(new Edge(nodes.get(0), nodes.get(2)));
+		edges.add(new Edge(nodes.get(3), nodes.get(4)));
+		edges.add(new Edge(nodes.get(4), nodes.get(5)));
+		edges.add(new Edge(nodes.get(5), nodes.get(3)));
+		layout(new Graph(nodes, edges), new BalloonTreeLayoutAlgorithm());
+		for (Node node : nodes) {
+			assertNotNull(LayoutProperties.getLocation(node));
+		}
+		assertNoOverlap(nodes);
+	}
+
+	@Test
+	public void testLargeHierarchy() {
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		Random random = new Random(7);
+		for (int i = 0; i < 100000; i++) {
+			Node node = createNode(20, 20);
+			nodes.add(node);
+			if (i > 0) {
+				// long paths and wide fans
+				int parent = random.nextInt(4) == 0 ? random.nextInt(i)
+						: i - 1;
+				edges.add(new Edge(nodes.get(parent), node));
+			}
+		}
+		layout(new Graph(nodes, edges), new BalloonTreeLayoutAlgorithm());
+		// a node and its children are separated by the node diameter and the
+		// spacing (at least)
+		for (Edge edge : edges) {
+			Point source = LayoutProperties.getLocation(edge.getSource());
+			Point target = LayoutProperties.getLocation(edge.getTarget());
+			assertTrue(source.getDistance(target) >= Math.sqrt(800) + 10
+					- 1e-6);
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.eclipse.gef.layout.tests.TestUtils.createNode;
+import static org.eclipse.gef.layout.tests.TestUtils.getBounds;
+import static org.eclipse.gef.layout.tests.TestUtils.layout;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.CircularLayoutAlgorithm;
+import org.junit.Test;
+
+public class CircularLayoutAlgorithmTests {
+
+	private static List<Node> createNodes(int count) {
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			nodes.add(createNode(20, 10));
+		}
+		return nodes;
+	}
+
+	/**
+	 * Adds the edges of a cycle through the given nodes.
+	 */
+	private static void addCycle(List<Node> nodes, List<Edge> edges) {
+		for (int i = 0; i < nodes.size(); i++) {
+			edges.add(new Edge(nodes.get(i),
+					nodes.get((i + 1) % nodes.size())));
+		}
+	}
+
+	private static Point getCentroid(List<Node> nodes) {
+		Point centroid = new Point();
+		for (Node node : nodes) {
+			centroid.translate(LayoutProperties.getLocation(node));
+		}
+		return centroid.getScaled(1d / nodes.size());
+	}
+
+	/**
+	 * Asserts that the given nodes lie on a circle, in the given order, and
+	 * that adjacent nodes do not overlap.
+	 */
+	private static void assertOnCircle(List<Node> nodes) {
+		Point center = getCentroid(nodes);
+		double radius = center
+				.getDistance(LayoutProperties.getLocation(nodes.get(0)));
+		double previous = 0;
+		double sign = 0;
+		for (int i = 0; i < nodes.size(); i++) {
+			Point location = LayoutProperties.getLocation(nodes.get(i));
+			assertEquals(radius, center.getDistance(location), 1e-6);
+			assertTrue(location.getDistance(LayoutProperties.getLocation(
+					nodes.get((i + 1) % nodes.size()))) >= 20);
+			// the angles are monotonic (modulo a single wrap around)
+			double angle = Math.atan2(location.y - center.y,
+					location.x - center.x);
+			if (i > 0) {
+				double step = Math.IEEEremainder(angle - previous,
+						2 * Math.PI);
+				if (sign == 0) {
+					sign = Math.signum(step);
+				}
+				assertEquals(sign, Math.signum(step), 0);
+				assertEquals(2 * Math.PI / nodes.size(), Math.abs(step),
+						1e-6);
+			}
+			previous = angle;
+		}
+	}
+
+	@Test
+	public void testCycle() {
+		List<Node> cycle = createNodes(12);
+		List<Edge> edges = new ArrayList<>();
+		addCycle(cycle, edges);
+		// the order of the nodes in the graph does not matter
+		List<Node> nodes = new ArrayList<>(cycle);
+		Collections.shuffle(nodes, new Random(1));
+		layout(new Graph(nodes, edges), new CircularLayoutAlgorithm(),
+				new Rectangle(10, 10, 500, 500));
+		assertOnCircle(cycle);
+		Point center = getCentroid(cycle);
+		assertTrue(center.x > 10 && center.y > 10);
+	}
+
+	@Test
+	public void testBlocks() {
+		// two cycles sharing a node, and a pendant node
+		List<Node> first = createNodes(5);
+		List<Node> second = createNodes(4);
+		second.add(0, first.get(2));
+		List<Node> pendant = createNodes(1);
+		List<Edge> edges = new ArrayList<>();
+		addCycle(first, edges);
+		addCycle(second, edges);
+		edges.add(new Edge(second.get(3), pendant.get(0)));
+		List<Node> nodes = new ArrayList<>(first);
+		nodes.addAll(second.subList(1, 5));
+		nodes.addAll(pendant);
+		layout(new Graph(nodes, edges), new CircularLayoutAlgorithm(),
+				new Rectangle(10, 10, 500, 500));
+		assertOnCircle(first);
+		assertOnCircle(second);
+		assertFalse(getCentroid(first).getDistance(getCentroid(second)) < 1);
+		assertEquals(40, LayoutProperties.getLocation(second.get(3))
+				.getDistance(LayoutProperties.getLocation(pendant.get(0))),
+				1e-6);
+	}
+
+	@Test
+	public void testManyBlocksDoNotOverlap() {
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		// a star of 100 leaves and 10 triangles around the same cut vertex
+		Node hub = createNode(10, 10);
+		nodes.add(hub);
+		for (int i = 0; i < 100; i++) {
+			Node leaf = createNode(10, 10);
+			nodes.add(leaf);
+			edges.add(new Edge(hub, leaf));
+		}
+		for (int i = 0; i < 10; i++) {
+			List<Node> triangle = new ArrayList<>();
+			triangle.add(hub);
+			triangle.add(createNode(10, 10));
+			triangle.add(createNode(10, 10));
+			nodes.addAll(triangle.subList(1, 3));
+			addCycle(triangle, edges);
+		}
+		// a ternary tree hanging off a leaf
+		List<Node> level = Collections.singletonList(nodes.get(1));
+		for (int depth = 0; depth < 4; depth++) {
+			List<Node> next = new ArrayList<>();
+			for (Node parent : level) {
+				for (int i = 0; i < 3; i++) {
+					Node child = createNode(10, 10);
+					nodes.add(child);
+					next.add(child);
+					edges.add(new Edge(parent, child));
+				}
+			}
+			level = next;
+		}
+		// a cycle with many pendant nodes at each of its nodes
+		List<Node> cycle = createNodes(6);
+		nodes.addAll(cycle);
+		addCycle(cycle, edges);
+		edges.add(new Edge(hub, cycle.get(0)));
+		for (Node node : cycle) {
+			for (int i = 0; i < 8; i++) {
+				Node pendant = createNode(10, 10);
+				nodes.add(pendant);
+				edges.add(new Edge(node, pendant));
+			}
+		}
+		layout(new Graph(nodes, edges), new CircularLayoutAlgorithm(),
+				new Rectangle(0, 0, 500, 500));
+		for (int i = 0; i < nodes.size(); i++) {
+			Rectangle bounds = getBounds(nodes.get(i)).shrink(1e-3, 1e-3);
+			for (int j = 0; j < i; j++) {
+				assertFalse(bounds.touches(getBounds(nodes.get(j))));
+			}
+		}
+	}
+
+	@Test
+	public void testLargeGraph() {
+		// a long path, so that a recursive search would overflow the stack,
+		// attached to cycles with chords
+		int n = 50000;
+		List<Node> nodes = createNodes(n);
+		List<Edge> edges = new ArrayList<>();
+		Random random = new Random(3);
+		for (int i = 1; i < n; i++) {
+			edges.add(new Edge(nodes.get(i - 1), nodes.get(i)));
+			if (i > n / 2 && i % 10 == 0) {
+				edges.add(new Edge(nodes.get(i - 1 - random.nextInt(9)),
+						nodes.get(i)));
+			}
+		}
+		layout(new Graph(nodes, edges), new CircularLayoutAlgorithm(),
+				new Rectangle(10, 10, 500, 500));
+		for (Node node : nodes) {
+			Point location = LayoutProperties.getLocation(node);
+			assertFalse(Double.isNaN(location.x) || Double.isNaN(location.y));
+		}
+	}
+}
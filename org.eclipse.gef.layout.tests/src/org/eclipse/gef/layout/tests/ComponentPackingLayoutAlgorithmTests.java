@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.eclipse.gef.layout.tests.TestUtils.createNode;
+import static org.eclipse.gef.layout.tests.TestUtils.getBounds;
+import static org.eclipse.gef.layout.tests.TestUtils.layout;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.ComponentPackingLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.TidyTreeLayoutAlgorithm;
+import org.junit.Test;
+
+public class ComponentPackingLayoutAlgorithmTests {
+
+	/**
+	 * Creates the given number of trees, where the i-th tree consists of a
+	 * root with (i % 4) children.
+	 */
+	private static Graph createForest(int treeCount, List<List<Node>> trees) {
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int t = 0; t < treeCount; t++) {
+			List<Node> tree = new ArrayList<>();
+			for (int i = 0; i <= t % 4; i++) {
+				Node node = createNode(20, 10);
+				if (i > 0) {
+					edges.add(new Edge(tree.get(0), node));
+				}
+				tree.add(node);
+			}
+			nodes.addAll(tree);
+			trees.add(tree);
+		}
+		return new Graph(nodes, edges);
+	}
+
+	@Test
+	public void testComponentsArePacked() {
+		List<List<Node>> trees = new ArrayList<>();
+		Graph graph = createForest(200, trees);
+		layout(graph, new ComponentPackingLayoutAlgorithm(
+				() -> new TidyTreeLayoutAlgorithm()),
+				new Rectangle(50, 50, 1000, 1000));
+
+		Rectangle total = null;
+		double area = 0;
+		for (int i = 0; i < trees.size(); i++) {
+			Rectangle bounds = getBounds(trees.get(i));
+			assertTrue(bounds.getX() >= 50 && bounds.getY() >= 50);
+			for (int j = 0; j < i; j++) {
+				Rectangle other = getBounds(trees.get(j));
+				// components are separated by the spacing
+				assertFalse(bounds.getExpanded(9.9, 9.9)
+						.touches(other.getExpanded(9.9, 9.9)));
+			}
+			// the children are placed below their root
+			List<Node> tree = trees.get(i);
+			for (int k = 1; k < tree.size(); k++) {
+				assertEquals(LayoutProperties.getLocation(tree.get(0)).y + 50,
+						LayoutProperties.getLocation(tree.get(k)).y, 1e-6);
+			}
+			total = total == null ? bounds : total.getUnioned(bounds);
+			area += (bounds.getWidth() + 20) * (bounds.getHeight() + 20);
+		}
+		assertTrue(total.getWidth() * total.getHeight() < 2 * area);
+		assertTrue(total.getWidth() < 2 * total.getHeight()
+				&& total.getHeight() < 2 * total.getWidth());
+	}
+
+	@Test
+	public void testNonMovableNodes() {
+		List<List<Node>> trees = new ArrayList<>();
+		Graph graph = createForest(10, trees);
+		Node pinned = trees.get(5).get(1);
+		LayoutProperties.setLocation(pinned, new Point(-100, -100));
+		pinned.getAttributes().put(LayoutProperties.MOVABLE_PROPERTY, false);
+		layout(graph,
+				new ComponentPackingLayoutAlgorithm(
+						new TidyTreeLayoutAlgorithm()),
+				new Rectangle(50, 50, 1000, 1000));
+		assertEquals(new Point(-100, -100),
+				LayoutProperties.getLocation(pinned));
+		for (Node node : graph.getNodes()) {
+			if (node != pinned) {
+				assertTrue(LayoutProperties.getLocation(node).x > 0);
+			}
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.eclipse.gef.layout.tests.TestUtils.createNode;
+import static org.eclipse.gef.layout.tests.TestUtils.getBounds;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.CompoundLayoutEngine;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
+import org.junit.Test;
+
+public class CompoundLayoutEngineTests {
+
+	/**
+	 * Creates a chain of the given number of nodes, each of which nests
+	 * another such graph up to the given depth.
+	 */
+	private static Graph createHierarchy(int width, int depth) {
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < width; i++) {
+			Node node = createNode(20, 10);
+			if (depth > 0) {
+				node.setNestedGraph(createHierarchy(width, depth - 1));
+			}
+			if (i > 0) {
+				edges.add(new Edge(nodes.get(i - 1), node));
+			}
+			nodes.add(node);
+		}
+		return new Graph(nodes, edges);
+	}
+
+	/**
+	 * Asserts that the nodes of the nested graphs lie within the padding of
+	 * their nesting nodes, and returns the number of layouted graphs.
+	 */
+	private static int assertNested(Graph graph, double padding) {
+		int count = 1;
+		for (Node node : graph.getNodes()) {
+			Graph nestedGraph = node.getNestedGraph();
+			if (nestedGraph == null) {
+				continue;
+			}
+			Dimension size = LayoutProperties.getSize(node);
+			assertEquals(new Rectangle(new Point(), size),
+					LayoutProperties.getBounds(nestedGraph));
+			Rectangle bounds = null;
+			for (Node nestedNode : nestedGraph.getNodes()) {
+				Rectangle nestedBounds = getBounds(nestedNode);
+				bounds = bounds == null ? nestedBounds
+						: bounds.union(nestedBounds);
+			}
+			assertEquals(new Rectangle(padding, padding,
+					size.width - 2 * padding, size.height - 2 * padding),
+					bounds);
+			count += assertNested(nestedGraph, padding);
+		}
+		return count;
+	}
+
+	@Test
+	public void testNestedSizes() {
+		Graph graph = createHierarchy(4, 3);
+		CompoundLayoutEngine engine = new CompoundLayoutEngine(
+				g -> new GridLayoutAlgorithm(), new ForkJoinPool(4));
+		engine.setPadding(5);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 1000, 1000));
+		engine.applyLayout(graph);
+		assertEquals(1 + 4 + 16 + 64, assertNested(graph, 5));
+		assertEquals(new Rectangle(0, 0, 1000, 1000),
+				LayoutProperties.getBounds(graph));
+		// the nesting nodes grow with the depth of their nested graphs
+		Dimension leafParent = LayoutProperties
+				.getSize(graph.getNodes().get(0).getNestedGraph().getNodes()
+						.get(0).getNestedGraph().getNodes().get(0));
+		Dimension root = LayoutProperties.getSize(graph.getNodes().get(0));
+		assertTrue(root.width > leafParent.width);
+	}
+
+	@Test
+	public void testNotResizable() {
+		Graph graph = createHierarchy(3, 1);
+		Node node = graph.getNodes().get(0);
+		LayoutProperties.setResizable(node, false);
+		new CompoundLayoutEngine(g -> new GridLayoutAlgorithm())
+				.applyLayout(graph);
+		assertEquals(new Dimension(20, 10), LayoutProperties.getSize(node));
+		assertTrue(
+				LayoutProperties.getSize(graph.getNodes().get(1)).width > 20);
+		// graphs without an algorithm are not layouted
+		graph = createHierarchy(3, 1);
+		new CompoundLayoutEngine(g -> null).applyLayout(graph);
+		assertNull(LayoutProperties.getLocation(graph.getNodes().get(0)));
+	}
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.eclipse.gef.layout.tests.TestUtils.getBounds;
+import static org.eclipse.gef.layout.tests.TestUtils.layout;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.EdgeRoutingAlgorithm;
+import org.junit.Test;
+
+public class EdgeRoutingAlgorithmTests {
+
+	private static Node createNode(double x, double y, double width,
+			double height) {
+		Node node = new Node();
+		LayoutProperties.setLocation(node, new Point(x, y));
+		LayoutProperties.setSize(node, new Dimension(width, height));
+		return node;
+	}
+
+	private static EdgeRoutingAlgorithm createAlgorithm(
+			EdgeRoutingAlgorithm.Style style) {
+		EdgeRoutingAlgorithm algorithm = new EdgeRoutingAlgorithm();
+		algorithm.setStyle(style);
+		return algorithm;
+	}
+
+	private static List<Point> getRoute(Edge edge) {
+		List<Point> route = new ArrayList<>();
+		route.add(LayoutProperties.getLocation(edge.getSource()));
+		route.addAll(LayoutProperties.getControlPoints(edge));
+		route.add(LayoutProperties.getLocation(edge.getTarget()));
+		return route;
+	}
+
+	private static void assertAvoidsNodes(Edge edge, List<Node> nodes) {
+		List<Point> route = getRoute(edge);
+		for (Node node : nodes) {
+			if (node == edge.getSource() || node == edge.getTarget()) {
+				continue;
+			}
+			Rectangle bounds = getBounds(node).shrink(1e-3, 1e-3);
+			for (int i = 0; i + 1 < route.size(); i++) {
+				Point p = route.get(i);
+				Point q = route.get(i + 1);
+				for (int k = 0; k <= 100; k++) {
+					assertFalse(bounds.contains(new Point(
+							p.x + (q.x - p.x) * k / 100,
+							p.y + (q.y - p.y) * k / 100)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testStraightRoute() {
+		Node source = createNode(0, 0, 20, 20);
+		Node target = createNode(100, 50, 20, 20);
+		Edge edge = new Edge(source, target);
+		layout(new Graph(Arrays.asList(source, target), Arrays.asList(edge)),
+				new EdgeRoutingAlgorithm());
+		assertEquals(Collections.emptyList(),
+				LayoutProperties.getControlPoints(edge));
+	}
+
+	@Test
+	public void testPolylineRouteAroundNode() {
+		Node source = createNode(0, 0, 20, 20);
+		Node obstacle = createNode(100, 0, 40, 40);
+		Node target = createNode(200, 0, 20, 20);
+		Edge edge = new Edge(source, target);
+		List<Node> nodes = Arrays.asList(source, obstacle, target);
+		layout(new Graph(nodes, Arrays.asList(edge)),
+				new EdgeRoutingAlgorithm());
+		List<Point> controlPoints = LayoutProperties.getControlPoints(edge);
+		assertEquals(2, controlPoints.size());
+		assertAvoidsNodes(edge, nodes);
+	}
+
+	@Test
+	public void testOrthogonalRoute() {
+		Node source = createNode(0, 0, 20, 20);
+		Node target = createNode(100, 100, 20, 20);
+		Edge edge = new Edge(source, target);
+		layout(new Graph(Arrays.asList(source, target), Arrays.asList(edge)),
+				createAlgorithm(EdgeRoutingAlgorithm.Style.ORTHOGONAL));
+		List<Point> route = getRoute(edge);
+		assertEquals(3, route.size());
+		for (int i = 0; i + 1 < route.size(); i++) {
+			assertTrue(route.get(i).x == route.get(i + 1).x
+					|| route.get(i).y == route.get(i + 1).y);
+		}
+	}
+
+	@Test
+	public void testSelfLoopNotRouted() {
+		Node node = createNode(0, 0, 20, 20);
+		Edge loop = new Edge(node, node);
+		LayoutProperties.setControlPoints(loop,
+				Arrays.asList(new Point(50, 50)));
+		layout(new Graph(Arrays.asList(node), Arrays.asList(loop)),
+				new EdgeRoutingAlgorithm());
+		assertNull(LayoutProperties.getControlPoints(loop));
+	}
+
+	@Test
+	public void testRoutesAvoidNodes() {
+		// a jittered grid of nodes with edges between nearby nodes
+		Random random = new Random(1);
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			nodes.add(createNode(i % 20 * 60 + random.nextDouble() * 10,
+					i / 20 * 60 + random.nextDouble() * 10,
+					10 + random.nextInt(30), 10 + random.nextInt(20)));
+		}
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			int column = i % 20 + random.nextInt(7) - 3;
+			int row = i / 20 + random.nextInt(7) - 3;
+			if (column >= 0 && column < 20 && row >= 0 && row < 20
+					&& row * 20 + column != i) {
+				edges.add(new Edge(nodes.get(i), nodes.get(row * 20 + column)));
+			}
+		}
+		Graph graph = new Graph(nodes, edges);
+		for (EdgeRoutingAlgorithm.Style style : EdgeRoutingAlgorithm.Style
+				.values()) {
+			layout(graph, createAlgorithm(style));
+			for (Edge edge : edges) {
+				assertNotNull(LayoutProperties.getControlPoints(edge));
+				assertAvoidsNodes(edge, nodes);
+			}
+		}
+	}
+}
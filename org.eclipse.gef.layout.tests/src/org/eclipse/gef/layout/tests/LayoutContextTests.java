@@ -0,0 +1,443 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutFilter;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.RadialLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.TreeLayoutAlgorithm;
+import org.junit.Test;
+
+import javafx.collections.MapChangeListener;
+
+public class LayoutContextTests {
+
+	/**
+	 * Filters the nodes with a "hidden" attribute and counts its invocations.
+	 */
+	private static class CountingFilter implements ILayoutFilter {
+		int count;
+
+		@Override
+		public boolean isLayoutIrrelevant(Edge edge) {
+			count++;
+			return false;
+		}
+
+		@Override
+		public boolean isLayoutIrrelevant(Node node) {
+			count++;
+			return Boolean.TRUE.equals(node.getAttributes().get("hidden"));
+		}
+	}
+
+	/**
+	 * Records whether it is applied concurrently. The first pass only returns
+	 * when it was cancelled and released, as cancellation is cooperative.
+	 */
+	private static class ExclusiveAlgorithm implements ILayoutAlgorithm {
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch released = new CountDownLatch(1);
+		private final AtomicInteger active = new AtomicInteger();
+		private final AtomicInteger passes = new AtomicInteger();
+		private volatile boolean concurrent;
+
+		public void applyLayout(LayoutContext context, boolean clean) {
+			if (active.incrementAndGet() > 1) {
+				concurrent = true;
+			}
+			try {
+				if (passes.getAndIncrement() == 0) {
+					started.countDown();
+					while (!context.isLayoutCancelled()) {
+						Thread.yield();
+					}
+					released.await();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				active.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Moves all nodes to the given location, reporting progress until it is
+	 * cancelled (if it should wait for cancellation).
+	 */
+	private static class MovingAlgorithm implements ILayoutAlgorithm {
+		private final double location;
+		private final boolean waitForCancellation;
+
+		MovingAlgorithm(double location, boolean waitForCancellation) {
+			this.location = location;
+			this.waitForCancellation = waitForCancellation;
+		}
+
+		public void applyLayout(LayoutContext context, boolean clean) {
+			Node[] nodes = context.getNodes();
+			double[] x = new double[nodes.length];
+			Arrays.fill(x, location);
+			context.commitLayout(nodes, x, x, null, null);
+			context.reportProgress(0.5);
+			while (waitForCancellation && !context.isLayoutCancelled()) {
+				Thread.yield();
+			}
+		}
+	}
+
+	/**
+	 * Runs the tasks that are passed to the result executor on the test
+	 * thread, until the given future is done.
+	 */
+	private static void runResultTasks(LinkedBlockingQueue<Runnable> tasks,
+			CompletableFuture<Void> future) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 10000;
+		while (!future.isDone() && System.currentTimeMillis() < timeout) {
+			Runnable task = tasks.poll(10, TimeUnit.MILLISECONDS);
+			if (task != null) {
+				task.run();
+			}
+		}
+		assertTrue(future.isDone());
+	}
+
+	/**
+	 * Counts the copies of the nodes and edges handed out to the algorithms.
+	 */
+	private static class CopyCountingContext extends LayoutContext {
+		int copies;
+
+		@Override
+		public Edge[] getEdges() {
+			copies++;
+			return super.getEdges();
+		}
+
+		@Override
+		public Node[] getNodes() {
+			copies++;
+			return super.getNodes();
+		}
+	}
+
+	private static Graph createGraph(int nodeCount) {
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < nodeCount; i++) {
+			Node node = new Node();
+			LayoutProperties.setSize(node, new Dimension(10, 10));
+			nodes.add(node);
+		}
+		return new Graph(nodes, new ArrayList<Edge>());
+	}
+
+	@Test
+	public void testGridLayoutFiltersOnce() {
+		// the grid layout used to re-filter all nodes for each node
+		Graph graph = createGraph(50000);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 1000, 1000));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		CountingFilter filter = new CountingFilter();
+		context.addLayoutFilter(filter);
+		context.setLayoutAlgorithm(new GridLayoutAlgorithm());
+		context.applyLayout(true);
+		assertEquals(50000, filter.count);
+		// writing layout properties does not invalidate the cache
+		context.applyLayout(true);
+		assertEquals(50000, filter.count);
+	}
+
+	@Test
+	public void testTreeAndRadialLayoutDoNotCopyNodes() {
+		Graph graph = createGraph(1000);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 1000, 1000));
+		CopyCountingContext context = new CopyCountingContext();
+		context.setGraph(graph);
+		CountingFilter filter = new CountingFilter();
+		context.addLayoutFilter(filter);
+		context.setLayoutAlgorithm(new TreeLayoutAlgorithm());
+		context.applyLayout(true);
+		context.setLayoutAlgorithm(new RadialLayoutAlgorithm());
+		context.applyLayout(true);
+		assertEquals(0, context.copies);
+		assertEquals(1000, filter.count);
+	}
+
+	@Test
+	public void testCommitLayout() {
+		Graph graph = createGraph(3);
+		Node[] nodes = graph.getNodes().toArray(new Node[] {});
+		final int[] changes = new int[1];
+		MapChangeListener<String, Object> listener = new MapChangeListener<String, Object>() {
+			@Override
+			public void onChanged(
+					MapChangeListener.Change<? extends String, ? extends Object> change) {
+				changes[0]++;
+			}
+		};
+		for (Node node : nodes) {
+			node.getAttributes().addListener(listener);
+		}
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+
+		// NaN coordinates are skipped
+		double[] x = { 1, Double.NaN, 3 };
+		double[] y = { 4, 5, 6 };
+		context.commitLayout(nodes, x, y, null, null);
+		assertEquals(2, changes[0]);
+		assertEquals(new Point(3, 6), LayoutProperties.getLocation(nodes[2]));
+		assertNull(LayoutProperties.getLocation(nodes[1]));
+		assertEquals(new Dimension(10, 10),
+				LayoutProperties.getSize(nodes[0]));
+
+		// unchanged values are not written
+		x[1] = 2;
+		context.commitLayout(nodes, x, y, new double[] { 10, 10, 20 },
+				new double[] { 10, 10, 20 });
+		assertEquals(4, changes[0]);
+		assertEquals(new Dimension(20, 20),
+				LayoutProperties.getSize(nodes[2]));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCommitLayoutWithMissingSizes() {
+		Graph graph = createGraph(2);
+		new LayoutContext().commitLayout(
+				graph.getNodes().toArray(new Node[] {}), new double[2],
+				new double[2], new double[2], null);
+	}
+
+	@Test
+	public void testApplyLayoutAsync() throws Exception {
+		Graph graph = createGraph(3);
+		Node hidden = graph.getNodes().get(2);
+		hidden.getAttributes().put("hidden", true);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.addLayoutFilter(new CountingFilter());
+		final LinkedBlockingQueue<Runnable> resultTasks = new LinkedBlockingQueue<>();
+		Executor resultExecutor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				resultTasks.add(command);
+			}
+		};
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			// a pass that is superseded is cancelled, and its results are
+			// discarded
+			context.setLayoutAlgorithm(new MovingAlgorithm(1, true));
+			CompletableFuture<Void> first = context.applyLayoutAsync(true,
+					executor, resultExecutor);
+			context.setLayoutAlgorithm(new MovingAlgorithm(2, false));
+			CompletableFuture<Void> second = context.applyLayoutAsync(true,
+					executor, resultExecutor);
+			assertTrue(first.isCancelled());
+			assertNull(LayoutProperties.getLocation(graph.getNodes().get(0)));
+			runResultTasks(resultTasks, second);
+			assertTrue(!second.isCompletedExceptionally());
+			assertEquals(new Point(2, 2),
+					LayoutProperties.getLocation(graph.getNodes().get(0)));
+			assertEquals(new Point(2, 2),
+					LayoutProperties.getLocation(graph.getNodes().get(1)));
+			assertNull(LayoutProperties.getLocation(hidden));
+			assertEquals(1, context.layoutProgressProperty().get(), 0);
+
+			// cancelling the returned future cancels the pass
+			context.setLayoutAlgorithm(new MovingAlgorithm(3, true));
+			CompletableFuture<Void> third = context.applyLayoutAsync(true,
+					executor, resultExecutor);
+			third.cancel(false);
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+			for (Runnable task : resultTasks) {
+				task.run();
+			}
+			assertEquals(new Point(2, 2),
+					LayoutProperties.getLocation(graph.getNodes().get(0)));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testApplyLayoutAfterAsyncLayout() throws Exception {
+		LayoutContext context = new LayoutContext();
+		context.setGraph(createGraph(3));
+		ExclusiveAlgorithm algorithm = new ExclusiveAlgorithm();
+		context.setLayoutAlgorithm(algorithm);
+		LinkedBlockingQueue<Runnable> resultTasks = new LinkedBlockingQueue<>();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CompletableFuture<Void> async = context.applyLayoutAsync(true,
+					executor, resultTasks::add);
+			assertTrue(algorithm.started.await(10, TimeUnit.SECONDS));
+			// the synchronous pass does not wait for the cancelled background
+			// pass, but is applied by the result executor after it stopped
+			context.applyLayout(true);
+			assertTrue(async.isCancelled());
+			assertEquals(1, algorithm.passes.get());
+			algorithm.released.countDown();
+			long timeout = System.currentTimeMillis() + 10000;
+			while (algorithm.passes.get() < 2
+					&& System.currentTimeMillis() < timeout) {
+				Runnable task = resultTasks.poll(10, TimeUnit.MILLISECONDS);
+				if (task != null) {
+					task.run();
+				}
+			}
+			assertEquals(2, algorithm.passes.get());
+			assertFalse(algorithm.concurrent);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testContinuousLayoutAfterAsyncLayout() throws Exception {
+		LayoutContext context = new LayoutContext();
+		Graph graph = createGraph(3);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 100, 100));
+		for (Node node : graph.getNodes()) {
+			LayoutProperties.setLocation(node, new Point(50, 50));
+		}
+		context.setGraph(graph);
+		ExclusiveAlgorithm algorithm = new ExclusiveAlgorithm();
+		context.setLayoutAlgorithm(algorithm);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CompletableFuture<Void> async = context.applyLayoutAsync(true,
+					executor, new LinkedBlockingQueue<Runnable>()::add);
+			assertTrue(algorithm.started.await(10, TimeUnit.SECONDS));
+			// no iterations are performed (and the calling thread is not
+			// blocked) while the cancelled background pass is running
+			SpringLayoutAlgorithm spring = new SpringLayoutAlgorithm();
+			assertFalse(spring.performContinuousIterations(context, 1, 10));
+			assertTrue(async.isCancelled());
+			assertEquals(1, algorithm.active.get());
+			algorithm.released.countDown();
+			long timeout = System.currentTimeMillis() + 10000;
+			while (!context.cancelAsyncLayout()
+					&& System.currentTimeMillis() < timeout) {
+				Thread.sleep(10);
+			}
+			assertEquals(0, algorithm.active.get());
+			spring.performContinuousIterations(context, 1, 10);
+			assertFalse(algorithm.concurrent);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testInvalidation() {
+		Graph graph = createGraph(3);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		CountingFilter filter = new CountingFilter();
+		assertEquals(3, context.getNodes().length);
+
+		// filter changes
+		context.addLayoutFilter(filter);
+		Node hidden = graph.getNodes().get(1);
+		hidden.getAttributes().put("hidden", true);
+		assertEquals(2, context.getNodes().length);
+		assertEquals(-1, context.getNodeIndex(hidden));
+		assertEquals(1, context.getNodeIndex(graph.getNodes().get(2)));
+		context.removeLayoutFilter(filter);
+		assertEquals(3, context.getNodes().length);
+		context.addLayoutFilter(filter);
+		assertEquals(2, context.getNodes().length);
+
+		// attribute changes
+		int count = filter.count;
+		LayoutProperties.setLocation(hidden, new Point(1, 1));
+		assertEquals(2, context.getNodes().length);
+		assertEquals(count, filter.count);
+		hidden.getAttributes().remove("hidden");
+		assertEquals(3, context.getNodes().length);
+
+		// graph changes
+		Node added = new Node();
+		graph.getNodes().add(added);
+		assertEquals(3, context.getNodeIndex(added));
+		graph.getNodes().remove(0);
+		assertEquals(2, context.getNodeIndex(added));
+		added.getAttributes().put("hidden", true);
+		assertEquals(2, context.getNodes().length);
+		context.setGraph(createGraph(5));
+		assertEquals(5, context.getNodes().length);
+	}
+
+	@Test
+	public void testUnmodifiableNodesAndEdges() {
+		Graph graph = createGraph(3);
+		graph.getEdges().add(new Edge(graph.getNodes().get(0),
+				graph.getNodes().get(1)));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+
+		// the same (non-copied) lists are returned until the graph changes
+		List<Node> nodes = context.getNodesUnmodifiable();
+		List<Edge> edges = context.getEdgesUnmodifiable();
+		assertSame(nodes, context.getNodesUnmodifiable());
+		assertSame(edges, context.getEdgesUnmodifiable());
+		assertEquals(Arrays.asList(context.getNodes()), nodes);
+		assertEquals(Arrays.asList(context.getEdges()), edges);
+		try {
+			nodes.set(0, new Node());
+			fail("The nodes may not be modified.");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		graph.getNodes().add(new Node());
+		assertEquals(3, nodes.size());
+		assertEquals(4, context.getNodesUnmodifiable().size());
+		graph.getEdges().clear();
+		assertEquals(0, context.getEdgesUnmodifiable().size());
+	}
+}
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.eclipse.gef.layout.tests.TestUtils.createNode;
+import static org.eclipse.gef.layout.tests.TestUtils.layout;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutResultCache;
+import org.eclipse.gef.layout.LayoutResultCache.CachingLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.DFSLayerProvider;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.Direction;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.NetworkSimplexLayerProvider;
+import org.eclipse.gef.layout.algorithms.TidyTreeLayoutAlgorithm;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LayoutResultCacheTests {
+
+	/**
+	 * Counts the layout passes of the wrapped algorithm, and records whether
+	 * the last one was clean.
+	 */
+	private static class CountingAlgorithm extends TidyTreeLayoutAlgorithm {
+		int count;
+		boolean clean;
+
+		@Override
+		public void applyLayout(LayoutContext context, boolean clean) {
+			count++;
+			this.clean = clean;
+			super.applyLayout(context, clean);
+		}
+	}
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Creates a tree with the given number of nodes, which are labeled with
+	 * their index.
+	 */
+	private static Graph createTree(int nodeCount) {
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < nodeCount; i++) {
+			Node node = createNode(20, 10);
+			node.getAttributes().put("label", "node" + i);
+			if (i > 0) {
+				edges.add(new Edge(nodes.get((i - 1) / 2), node));
+			}
+			nodes.add(node);
+		}
+		Graph graph = new Graph(nodes, edges);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 500, 500));
+		return graph;
+	}
+
+	private static List<Point> getLocations(Graph graph) {
+		List<Point> locations = new ArrayList<>();
+		for (Node node : graph.getNodes()) {
+			locations.add(LayoutProperties.getLocation(node));
+		}
+		return locations;
+	}
+
+	@Test
+	public void testStructurallyEqualGraphs() {
+		LayoutResultCache cache = new LayoutResultCache();
+		CountingAlgorithm algorithm = new CountingAlgorithm();
+		ILayoutAlgorithm cachingAlgorithm = cache.wrap(algorithm);
+		Graph graph = createTree(20);
+		layout(graph, cachingAlgorithm);
+		assertEquals(1, algorithm.count);
+
+		// a re-created graph is layouted from the cache
+		Graph copy = createTree(20);
+		layout(copy, cachingAlgorithm);
+		assertEquals(1, algorithm.count);
+		assertEquals(getLocations(graph), getLocations(copy));
+
+		// as is the already layouted graph
+		layout(graph, cachingAlgorithm);
+		assertEquals(1, algorithm.count);
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(2d / 3, cache.getHitRate(), 1e-9);
+	}
+
+	@Test
+	public void testChangesInvalidate() {
+		LayoutResultCache cache = new LayoutResultCache();
+		CountingAlgorithm algorithm = new CountingAlgorithm();
+		ILayoutAlgorithm cachingAlgorithm = cache.wrap(algorithm);
+		layout(createTree(20), cachingAlgorithm);
+
+		// sizes
+		Graph graph = createTree(20);
+		LayoutProperties.setSize(graph.getNodes().get(5),
+				new Dimension(30, 10));
+		layout(graph, cachingAlgorithm);
+		assertEquals(2, algorithm.count);
+
+		// labels
+		graph = createTree(20);
+		graph.getNodes().get(5).getAttributes().put("label", "changed");
+		layout(graph, cachingAlgorithm);
+		assertEquals(3, algorithm.count);
+
+		// algorithm parameters
+		algorithm.setNodeSpacing(algorithm.getNodeSpacing() + 1);
+		layout(createTree(20), cachingAlgorithm);
+		assertEquals(4, algorithm.count);
+		assertEquals(0, cache.getHitCount());
+	}
+
+	@Test
+	public void testAlgorithmParameters() {
+		LayoutResultCache cache = new LayoutResultCache();
+		Graph vertical = createTree(20);
+		layout(vertical, cache.wrap(new SugiyamaLayoutAlgorithm()));
+
+		// parameters without getters are part of the fingerprint
+		Graph horizontal = createTree(20);
+		layout(horizontal,
+				cache.wrap(new SugiyamaLayoutAlgorithm(Direction.HORIZONTAL)));
+		assertEquals(0, cache.getHitCount());
+		assertNotEquals(getLocations(vertical), getLocations(horizontal));
+		Graph layered = createTree(20);
+		layout(layered, cache.wrap(new SugiyamaLayoutAlgorithm(
+				Direction.VERTICAL, new NetworkSimplexLayerProvider())));
+		assertEquals(0, cache.getHitCount());
+		Graph copy = createTree(20);
+		layout(copy, cache.wrap(new SugiyamaLayoutAlgorithm(
+				Direction.VERTICAL, new NetworkSimplexLayerProvider())));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(getLocations(layered), getLocations(copy));
+	}
+
+	@Test
+	public void testIncrementalPassAfterHit() {
+		LayoutResultCache cache = new LayoutResultCache();
+		CountingAlgorithm algorithm = new CountingAlgorithm();
+		ILayoutAlgorithm cachingAlgorithm = cache.wrap(algorithm);
+		layout(createTree(20), cachingAlgorithm);
+		LayoutContext context = layout(createTree(20), cachingAlgorithm);
+		assertEquals(1, algorithm.count);
+		assertEquals(1, cache.getHitCount());
+
+		// the algorithm did not see the cached pass, so that the following
+		// incremental pass is applied as a clean one
+		context.applyLayout(false);
+		assertEquals(2, algorithm.count);
+		assertTrue(algorithm.clean);
+
+		// further incremental passes are applied as is, and are not cached
+		context.applyLayout(false);
+		assertEquals(3, algorithm.count);
+		assertFalse(algorithm.clean);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void testUnknownParameters() {
+		LayoutResultCache cache = new LayoutResultCache();
+		// the nodes assigned to layers cannot be reported
+		SugiyamaLayoutAlgorithm algorithm = new SugiyamaLayoutAlgorithm(
+				Direction.VERTICAL, new DFSLayerProvider());
+		CachingLayoutAlgorithm cachingAlgorithm = cache.wrap(algorithm);
+		assertSame(algorithm, cachingAlgorithm.getDelegate());
+		Graph graph = createTree(20);
+		layout(graph, cachingAlgorithm);
+		layout(createTree(20), cachingAlgorithm);
+		assertNotNull(LayoutProperties.getLocation(graph.getNodes().get(0)));
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+	}
+
+	@Test
+	public void testCapacity() {
+		LayoutResultCache cache = new LayoutResultCache(2);
+		CountingAlgorithm algorithm = new CountingAlgorithm();
+		ILayoutAlgorithm cachingAlgorithm = cache.wrap(algorithm);
+		layout(createTree(10), cachingAlgorithm);
+		layout(createTree(20), cachingAlgorithm);
+		assertEquals(2, algorithm.count);
+		// the results (before and after the pass) of the first graph have
+		// been evicted
+		layout(createTree(10), cachingAlgorithm);
+		assertEquals(3, algorithm.count);
+		layout(createTree(10), cachingAlgorithm);
+		assertEquals(3, algorithm.count);
+	}
+
+	@Test
+	public void testDirectory() throws Exception {
+		LayoutResultCache cache = new LayoutResultCache();
+		cache.setDirectory(folder.getRoot().toPath());
+		Graph graph = createTree(20);
+		layout(graph, cache.wrap(new TidyTreeLayoutAlgorithm()));
+
+		// a new cache reads the persisted results
+		LayoutResultCache other = new LayoutResultCache();
+		other.setDirectory(folder.getRoot().toPath());
+		CountingAlgorithm algorithm = new CountingAlgorithm();
+		Graph copy = createTree(20);
+		layout(copy, other.wrap(algorithm));
+		// the class of the algorithm is part of the fingerprint
+		assertEquals(1, algorithm.count);
+		copy = createTree(20);
+		layout(copy, other.wrap(new TidyTreeLayoutAlgorithm()));
+		assertEquals(getLocations(graph), getLocations(copy));
+		assertEquals(1, other.getHitCount());
+	}
+}
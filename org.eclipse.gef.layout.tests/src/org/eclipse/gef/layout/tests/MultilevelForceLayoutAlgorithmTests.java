@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.eclipse.gef.layout.tests.TestUtils.createNode;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.MultilevelForceLayoutAlgorithm;
+import org.junit.Test;
+
+public class MultilevelForceLayoutAlgorithmTests {
+
+	private static Graph createGrid(int columns, int rows) {
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < columns * rows; i++) {
+			Node node = createNode(10, 10);
+			nodes.add(node);
+			if (i % columns > 0) {
+				edges.add(new Edge(nodes.get(i - 1), node));
+			}
+			if (i >= columns) {
+				edges.add(new Edge(nodes.get(i - columns), node));
+			}
+		}
+		return new Graph(nodes, edges);
+	}
+
+	private static LayoutContext layout(Graph graph, long seed) {
+		MultilevelForceLayoutAlgorithm algorithm = new MultilevelForceLayoutAlgorithm();
+		algorithm.setRandomSeed(seed);
+		return TestUtils.layout(graph, algorithm);
+	}
+
+	@Test
+	public void testEdgesShorterThanAverageDistance() {
+		Graph graph = createGrid(15, 15);
+		LayoutContext context = layout(graph, 0);
+
+		Node[] nodes = context.getNodes();
+		double distances = 0;
+		for (int i = 0; i < nodes.length; i++) {
+			Point p = LayoutProperties.getLocation(nodes[i]);
+			assertNotNull(p);
+			assertFalse(Double.isNaN(p.x) || Double.isNaN(p.y));
+			for (int j = 0; j < i; j++) {
+				distances += p.getDistance(LayoutProperties.getLocation(nodes[j]));
+			}
+		}
+		double averageDistance = distances
+				/ (nodes.length * (nodes.length - 1) / 2);
+		double edgeLengths = 0;
+		for (Edge edge : context.getEdges()) {
+			edgeLengths += LayoutProperties.getLocation(edge.getSource())
+					.getDistance(LayoutProperties.getLocation(edge.getTarget()));
+		}
+		double averageEdgeLength = edgeLengths / context.getEdges().length;
+		assertTrue(averageEdgeLength < averageDistance / 4);
+	}
+
+	@Test
+	public void testReproducible() {
+		Graph graph1 = createGrid(8, 8);
+		Graph graph2 = createGrid(8, 8);
+		layout(graph1, 42);
+		layout(graph2, 42);
+		for (int i = 0; i < graph1.getNodes().size(); i++) {
+			assertEquals(
+					LayoutProperties.getLocation(graph1.getNodes().get(i)),
+					LayoutProperties.getLocation(graph2.getNodes().get(i)));
+		}
+	}
+
+	@Test
+	public void testNonMovableNodesKeepLocation() {
+		Graph graph = createGrid(5, 5);
+		Node pinned = graph.getNodes().get(12);
+		LayoutProperties.setLocation(pinned, new Point(123, 456));
+		pinned.getAttributes().put(LayoutProperties.MOVABLE_PROPERTY, false);
+		layout(graph, 0);
+		assertEquals(new Point(123, 456), LayoutProperties.getLocation(pinned));
+	}
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.eclipse.gef.layout.tests.TestUtils.getBounds;
+import static org.eclipse.gef.layout.tests.TestUtils.layout;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.CompositeLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.OverlapRemovalLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.RadialLayoutAlgorithm;
+import org.junit.Test;
+
+public class OverlapRemovalLayoutAlgorithmTests {
+
+	private static List<Node> createNodes(int count, double side, long seed) {
+		Random random = new Random(seed);
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Node node = new Node();
+			LayoutProperties.setSize(node,
+					new Dimension(10 + random.nextInt(30), 10));
+			LayoutProperties.setLocation(node, new Point(
+					random.nextDouble() * side, random.nextDouble() * side));
+			nodes.add(node);
+		}
+		return nodes;
+	}
+
+	private static void assertNoOverlaps(List<Node> nodes) {
+		for (int i = 0; i < nodes.size(); i++) {
+			Rectangle bounds = getBounds(nodes.get(i)).shrink(1e-3, 1e-3);
+			for (int j = 0; j < i; j++) {
+				assertFalse(bounds.touches(getBounds(nodes.get(j))));
+			}
+		}
+	}
+
+	@Test
+	public void testOverlapsRemoved() {
+		List<Node> nodes = createNodes(2000, 300, 1);
+		Node pinned = nodes.get(0);
+		pinned.getAttributes().put(LayoutProperties.MOVABLE_PROPERTY, false);
+		Point pinnedLocation = LayoutProperties.getLocation(pinned);
+		layout(new Graph(nodes, new ArrayList<Edge>()),
+				new OverlapRemovalLayoutAlgorithm());
+		assertNoOverlaps(nodes);
+		assertEquals(pinnedLocation, LayoutProperties.getLocation(pinned));
+	}
+
+	@Test
+	public void testCoincidentNodes() {
+		List<Node> nodes = createNodes(50, 0, 2);
+		OverlapRemovalLayoutAlgorithm algorithm = new OverlapRemovalLayoutAlgorithm();
+		algorithm.setSpacing(5);
+		layout(new Graph(nodes, new ArrayList<Edge>()), algorithm);
+		for (Node node : nodes) {
+			Dimension size = LayoutProperties.getSize(node);
+			LayoutProperties.setSize(node, size.getExpanded(4.9, 4.9));
+		}
+		assertNoOverlaps(nodes);
+	}
+
+	@Test
+	public void testNoOverlapsUnchanged() {
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Node node = new Node();
+			LayoutProperties.setSize(node, new Dimension(10, 10));
+			LayoutProperties.setLocation(node,
+					new Point(i % 10 * 11, i / 10 * 11));
+			nodes.add(node);
+		}
+		layout(new Graph(nodes, new ArrayList<Edge>()),
+				new OverlapRemovalLayoutAlgorithm());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(new Point(i % 10 * 11, i / 10 * 11),
+					LayoutProperties.getLocation(nodes.get(i)));
+		}
+	}
+
+	@Test
+	public void testChainedWithRadialLayout() {
+		// a star whose leaves overlap on the circle around the center
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		nodes.add(new Node());
+		for (int i = 1; i < 200; i++) {
+			nodes.add(new Node());
+			edges.add(new Edge(nodes.get(0), nodes.get(i)));
+		}
+		for (Node node : nodes) {
+			LayoutProperties.setSize(node, new Dimension(40, 20));
+		}
+		Graph graph = new Graph(nodes, edges);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 300, 300));
+		RadialLayoutAlgorithm radial = new RadialLayoutAlgorithm();
+		radial.setResizing(false);
+		layout(graph, new CompositeLayoutAlgorithm(new ILayoutAlgorithm[] {
+				radial, new OverlapRemovalLayoutAlgorithm() }));
+		assertNoOverlaps(nodes);
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.SpaceTreeLayoutAlgorithm;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpaceTreeLayoutAlgorithmTests {
+
+	private List<Node> nodes;
+	private LayoutContext context;
+	private SpaceTreeLayoutAlgorithm algorithm;
+
+	@Before
+	public void setUp() {
+		// a root with three children, each having three children
+		nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		Node root = new Node();
+		nodes.add(root);
+		for (int i = 0; i < 3; i++) {
+			Node child = new Node();
+			nodes.add(child);
+			edges.add(new Edge(root, child));
+			for (int j = 0; j < 3; j++) {
+				Node grandChild = new Node();
+				nodes.add(grandChild);
+				edges.add(new Edge(child, grandChild));
+			}
+		}
+		for (Node node : nodes) {
+			LayoutProperties.setSize(node, new Dimension(20, 20));
+			LayoutProperties.setLocation(node, new Point());
+		}
+		Graph graph = new Graph(nodes, edges);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 1000, 1000));
+		context = new LayoutContext();
+		context.setGraph(graph);
+		algorithm = new SpaceTreeLayoutAlgorithm();
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+	}
+
+	private Map<Node, Point> getLocations() {
+		Map<Node, Point> locations = new IdentityHashMap<>();
+		for (Node node : nodes) {
+			locations.put(node, LayoutProperties.getLocation(node));
+		}
+		return locations;
+	}
+
+	/**
+	 * Returns the root and its children.
+	 */
+	private List<Node> getUpperLayers() {
+		return Arrays.asList(nodes.get(0), nodes.get(1), nodes.get(5),
+				nodes.get(9));
+	}
+
+	/**
+	 * Asserts that exactly the nodes that were moved are reported as changed.
+	 */
+	private void assertChangedNodes(Map<Node, Point> previousLocations) {
+		for (Node node : nodes) {
+			boolean moved = !previousLocations.get(node)
+					.equals(LayoutProperties.getLocation(node));
+			assertEquals(moved, algorithm.getChangedNodes().contains(node));
+		}
+	}
+
+	@Test
+	public void testStateKeptAcrossPasses() {
+		assertEquals(nodes.size(), algorithm.getChangedNodes().size());
+		for (Node node : nodes.subList(0, 2)) {
+			assertTrue(algorithm.isExpanded(node));
+		}
+		Map<Node, Point> locations = getLocations();
+		context.applyLayout(false);
+		assertTrue(algorithm.getChangedNodes().isEmpty());
+		assertChangedNodes(locations);
+	}
+
+	@Test
+	public void testAddAndRemoveNode() {
+		// adding a leaf to the third child does not move the upper layers
+		Node child = nodes.get(9);
+		Node leaf = new Node();
+		LayoutProperties.setSize(leaf, new Dimension(20, 20));
+		LayoutProperties.setLocation(leaf, new Point());
+		Map<Node, Point> locations = getLocations();
+		Graph graph = context.getGraph();
+		graph.getNodes().add(leaf);
+		graph.getEdges().add(new Edge(child, leaf));
+		context.applyLayout(false);
+		for (Node node : getUpperLayers()) {
+			assertEquals(locations.get(node), LayoutProperties.getLocation(node));
+		}
+		assertTrue(algorithm.isExpanded(child));
+		assertEquals(LayoutProperties.getLocation(nodes.get(10)).y,
+				LayoutProperties.getLocation(leaf).y, 0);
+		// the grand children of the other children do not overlap the leaf
+		for (Node grandChild : nodes) {
+			if (grandChild != leaf && LayoutProperties.getLocation(
+					grandChild).y == LayoutProperties.getLocation(leaf).y) {
+				assertTrue(Math.abs(LayoutProperties.getLocation(grandChild).x
+						- LayoutProperties.getLocation(leaf).x) >= 20);
+			}
+		}
+
+		// removing it again does not move the upper layers either
+		graph.getEdges().remove(graph.getEdges().size() - 1);
+		graph.getNodes().remove(leaf);
+		context.applyLayout(false);
+		for (Node node : getUpperLayers()) {
+			assertEquals(locations.get(node), LayoutProperties.getLocation(node));
+		}
+		for (Node grandChild : nodes.subList(10, 13)) {
+			assertTrue(LayoutProperties.getLocation(grandChild).y
+					> LayoutProperties.getLocation(child).y);
+		}
+	}
+
+	@Test
+	public void testCollapseAndExpand() {
+		Node child = nodes.get(1);
+		algorithm.collapse(child);
+		assertFalse(algorithm.isExpanded(child));
+		Map<Node, Point> locations = getLocations();
+		context.applyLayout(false);
+		assertFalse(algorithm.isExpanded(child));
+		assertChangedNodes(locations);
+
+		algorithm.expand(child);
+		locations = getLocations();
+		context.applyLayout(false);
+		assertTrue(algorithm.isExpanded(child));
+		assertChangedNodes(locations);
+		// the grand children are placed below the expanded child
+		for (Node grandChild : nodes.subList(2, 5)) {
+			assertTrue(LayoutProperties.getLocation(grandChild).y
+					> LayoutProperties.getLocation(child).y);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.junit.Test;
+
+public class SpringLayoutAlgorithmTests {
+
+	private static Node createNode(double x, double y) {
+		Node node = new Node();
+		LayoutProperties.setSize(node, new Dimension(20, 10));
+		LayoutProperties.setLocation(node, new Point(x, y));
+		return node;
+	}
+
+	/**
+	 * Performs continuous iterations until the layout has converged, and
+	 * returns the number of frames.
+	 */
+	private static int converge(SpringLayoutAlgorithm algorithm,
+			LayoutContext context) {
+		int frames = 1;
+		while (!algorithm.performContinuousIterations(context, 10, 1000)) {
+			assertTrue(++frames < 1000);
+		}
+		return frames;
+	}
+
+	@Test
+	public void testContinuousIterations() {
+		// a ring of nodes
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			nodes.add(createNode(i * 30, i % 3 * 30));
+			if (i > 0) {
+				edges.add(new Edge(nodes.get(i - 1), nodes.get(i)));
+			}
+		}
+		edges.add(new Edge(nodes.get(9), nodes.get(0)));
+		Graph graph = new Graph(nodes, edges);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 400, 400));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		algorithm.setRandom(false);
+		converge(algorithm, context);
+
+		// a converged layout stays converged
+		Point location = LayoutProperties.getLocation(nodes.get(0));
+		assertTrue(algorithm.performContinuousIterations(context, 10, 1000));
+		assertEquals(location.x, LayoutProperties.getLocation(nodes.get(0)).x,
+				0.5);
+
+		// moving a node restarts the layout
+		LayoutProperties.setLocation(nodes.get(0),
+				location.getTranslated(100, 100));
+		assertFalse(algorithm.performContinuousIterations(context, 1, 1000));
+		converge(algorithm, context);
+
+		// adding a node continues from the current locations
+		Point other = LayoutProperties.getLocation(nodes.get(5));
+		Node added = createNode(other.x, other.y + 10);
+		graph.getNodes().add(added);
+		graph.getEdges().add(new Edge(nodes.get(5), added));
+		assertFalse(algorithm.performContinuousIterations(context, 1, 1000));
+		assertTrue(other.getDistance(
+				LayoutProperties.getLocation(nodes.get(5))) < 50);
+		converge(algorithm, context);
+	}
+}
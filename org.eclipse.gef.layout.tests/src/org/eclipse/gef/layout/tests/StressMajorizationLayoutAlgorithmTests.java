@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.eclipse.gef.layout.tests.TestUtils.layout;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.StressMajorizationLayoutAlgorithm;
+import org.junit.Test;
+
+public class StressMajorizationLayoutAlgorithmTests {
+
+	private static Graph createPaths(int pathCount, int pathLength) {
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int p = 0; p < pathCount; p++) {
+			for (int i = 0; i < pathLength; i++) {
+				Node node = new Node();
+				if (i > 0) {
+					edges.add(new Edge(nodes.get(nodes.size() - 1), node));
+				}
+				nodes.add(node);
+			}
+		}
+		return new Graph(nodes, edges);
+	}
+
+	private static double getLength(Edge edge) {
+		return LayoutProperties.getLocation(edge.getSource())
+				.getDistance(LayoutProperties.getLocation(edge.getTarget()));
+	}
+
+	@Test
+	public void testPathIsStraight() {
+		Graph graph = createPaths(1, 30);
+		layout(graph, new StressMajorizationLayoutAlgorithm());
+		for (Edge edge : graph.getEdges()) {
+			assertEquals(50, getLength(edge), 0.5);
+		}
+		Point first = LayoutProperties.getLocation(graph.getNodes().get(0));
+		Point last = LayoutProperties.getLocation(graph.getNodes().get(29));
+		assertEquals(29 * 50, first.getDistance(last), 1);
+	}
+
+	@Test
+	public void testDisconnected() {
+		Graph graph = createPaths(3, 5);
+		layout(graph, new StressMajorizationLayoutAlgorithm());
+		for (Node node : graph.getNodes()) {
+			Point location = LayoutProperties.getLocation(node);
+			assertNotNull(location);
+			assertFalse(Double.isNaN(location.x) || Double.isNaN(location.y));
+		}
+		for (Edge edge : graph.getEdges()) {
+			assertEquals(50, getLength(edge), 10);
+		}
+	}
+
+	@Test
+	public void testNonMovableNodesKeepLocation() {
+		Graph graph = createPaths(1, 10);
+		Node pinned = graph.getNodes().get(4);
+		LayoutProperties.setLocation(pinned, new Point(-100, 300));
+		pinned.getAttributes().put(LayoutProperties.MOVABLE_PROPERTY, false);
+		layout(graph, new StressMajorizationLayoutAlgorithm());
+		assertEquals(new Point(-100, 300), LayoutProperties.getLocation(pinned));
+		for (Edge edge : graph.getEdges()) {
+			assertEquals(50, getLength(edge), 1);
+		}
+	}
+}
@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.BarycentricCrossingReducer;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.BrandesKoepfCoordinateAssigner;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.DFSLayerProvider;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.Direction;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.LayerSweepCrossingReducer;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.NetworkSimplexLayerProvider;
+import org.junit.Test;
+
+public class SugiyamaLayoutAlgorithmTests {
+
+	/**
+	 * Creates a graph with the given number of layers of the given width,
+	 * where each node is connected to random nodes of the next layer.
+	 */
+	private static Graph createLayeredGraph(int layers, int width,
+			int degree, long seed) {
+		Random random = new Random(seed);
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < layers * width; i++) {
+			nodes.add(new Node());
+		}
+		for (int l = 0; l < layers - 1; l++) {
+			for (int i = 0; i < width; i++) {
+				for (int d = 0; d < degree; d++) {
+					edges.add(new Edge(nodes.get(l * width + i),
+							nodes.get((l + 1) * width + random.nextInt(width))));
+				}
+			}
+		}
+		return new Graph(nodes, edges);
+	}
+
+	private static void layout(Graph graph, ILayoutAlgorithm algorithm) {
+		TestUtils.layout(graph, algorithm, new Rectangle(0, 0, 1000, 1000));
+	}
+
+	/**
+	 * Counts the crossings of the (vertically laid out) edges by comparing all
+	 * pairs of edges that span the same layers.
+	 */
+	private static int countCrossings(Graph graph) {
+		int crossings = 0;
+		List<Edge> edges = graph.getEdges();
+		for (int i = 0; i < edges.size(); i++) {
+			Point s1 = LayoutProperties.getLocation(edges.get(i).getSource());
+			Point t1 = LayoutProperties.getLocation(edges.get(i).getTarget());
+			for (int j = 0; j < i; j++) {
+				Point s2 = LayoutProperties
+						.getLocation(edges.get(j).getSource());
+				Point t2 = LayoutProperties
+						.getLocation(edges.get(j).getTarget());
+				if (s1.y == s2.y && t1.y == t2.y
+						&& (s1.x - s2.x) * (t1.x - t2.x) < 0) {
+					crossings++;
+				}
+			}
+		}
+		return crossings;
+	}
+
+	@Test
+	public void testLayerSweepRemovesCrossings() {
+		// a perfect matching in reverse order can be drawn without crossings
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			nodes.add(new Node());
+		}
+		for (int i = 0; i < 8; i++) {
+			edges.add(new Edge(nodes.get(i), nodes.get(15 - i)));
+		}
+		Graph graph = new Graph(nodes, edges);
+		layout(graph, new SugiyamaLayoutAlgorithm(Direction.VERTICAL,
+				new LayerSweepCrossingReducer()));
+		assertEquals(0, countCrossings(graph));
+	}
+
+	@Test
+	public void testLayerSweepFewerCrossingsThanBarycentric() {
+		int barycentricCrossings = 0;
+		int layerSweepCrossings = 0;
+		for (long seed = 0; seed < 10; seed++) {
+			Graph graph1 = createLayeredGraph(5, 12, 2, seed);
+			layout(graph1, new SugiyamaLayoutAlgorithm(Direction.VERTICAL,
+					new BarycentricCrossingReducer()));
+			barycentricCrossings += countCrossings(graph1);
+			Graph graph2 = createLayeredGraph(5, 12, 2, seed);
+			layout(graph2, new SugiyamaLayoutAlgorithm(Direction.VERTICAL,
+					new LayerSweepCrossingReducer()));
+			layerSweepCrossings += countCrossings(graph2);
+		}
+		assertTrue(layerSweepCrossings < barycentricCrossings);
+	}
+
+	@Test
+	public void testLayerSweepWithUnlinkedLayers() {
+		// the DFSLayerProvider does not link predecessors and successors
+		Graph graph = createLayeredGraph(4, 10, 2, 42);
+		layout(graph, new SugiyamaLayoutAlgorithm(Direction.VERTICAL,
+				new DFSLayerProvider(), new LayerSweepCrossingReducer()));
+		for (Node node : graph.getNodes()) {
+			assertTrue(LayoutProperties.getLocation(node) != null);
+		}
+	}
+
+	@Test
+	public void testNetworkSimplexDeepChain() {
+		// a deep chain with short cuts, and a back edge that closes a cycle
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			nodes.add(new Node());
+			if (i > 0) {
+				edges.add(new Edge(nodes.get(i - 1), nodes.get(i)));
+			}
+			if (i > 2) {
+				edges.add(new Edge(nodes.get(i - 3), nodes.get(i)));
+			}
+		}
+		edges.add(new Edge(nodes.get(19999), nodes.get(0)));
+		Graph graph = new Graph(nodes, edges);
+		layout(graph, new SugiyamaLayoutAlgorithm(Direction.VERTICAL,
+				new NetworkSimplexLayerProvider(),
+				new LayerSweepCrossingReducer()));
+		for (int i = 1; i < nodes.size(); i++) {
+			assertTrue(LayoutProperties.getLocation(nodes.get(i - 1)).y
+					< LayoutProperties.getLocation(nodes.get(i)).y);
+		}
+	}
+
+	private static List<Node> layoutWithLateSource(int maxIterations) {
+		// longest path layering places the source e on the first layer,
+		// whereas network simplex moves it next to its successor d
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			nodes.add(new Node());
+		}
+		List<Edge> edges = new ArrayList<>();
+		edges.add(new Edge(nodes.get(0), nodes.get(1)));
+		edges.add(new Edge(nodes.get(1), nodes.get(2)));
+		edges.add(new Edge(nodes.get(2), nodes.get(3)));
+		edges.add(new Edge(nodes.get(4), nodes.get(3)));
+		layout(new Graph(nodes, edges),
+				new SugiyamaLayoutAlgorithm(Direction.VERTICAL,
+						new NetworkSimplexLayerProvider(maxIterations), null));
+		return nodes;
+	}
+
+	@Test
+	public void testNetworkSimplexMinimizesEdgeLength() {
+		List<Node> nodes = layoutWithLateSource(100);
+		assertEquals(LayoutProperties.getLocation(nodes.get(2)).y,
+				LayoutProperties.getLocation(nodes.get(4)).y, 0);
+		nodes = layoutWithLateSource(0);
+		assertEquals(LayoutProperties.getLocation(nodes.get(0)).y,
+				LayoutProperties.getLocation(nodes.get(4)).y, 0);
+	}
+
+	private static SugiyamaLayoutAlgorithm createBrandesKoepfAlgorithm(
+			Direction direction) {
+		SugiyamaLayoutAlgorithm algorithm = new SugiyamaLayoutAlgorithm(
+				direction, new NetworkSimplexLayerProvider(),
+				new LayerSweepCrossingReducer());
+		algorithm.setCoordinateAssigner(
+				new BrandesKoepfCoordinateAssigner(10, 30));
+		return algorithm;
+	}
+
+	@Test
+	public void testBrandesKoepfRespectsSizesAndSpacing() {
+		Graph graph = createLayeredGraph(5, 8, 2, 7);
+		Random random = new Random(7);
+		for (Node node : graph.getNodes()) {
+			LayoutProperties.setSize(node, new Dimension(
+					10 + random.nextInt(40), 10 + random.nextInt(20)));
+		}
+		layout(graph, createBrandesKoepfAlgorithm(Direction.VERTICAL));
+		List<Node> nodes = graph.getNodes();
+		for (int i = 0; i < nodes.size(); i++) {
+			Point p1 = LayoutProperties.getLocation(nodes.get(i));
+			Dimension s1 = LayoutProperties.getSize(nodes.get(i));
+			assertTrue(p1.x - s1.width / 2 >= 0 && p1.y - s1.height / 2 >= 0);
+			for (int j = 0; j < i; j++) {
+				Point p2 = LayoutProperties.getLocation(nodes.get(j));
+				Dimension s2 = LayoutProperties.getSize(nodes.get(j));
+				if (p1.y == p2.y) {
+					// same layer
+					assertTrue(Math.abs(p1.x - p2.x) >= (s1.width + s2.width)
+							/ 2 + 10 - 1e-6);
+				} else {
+					assertTrue(Math.abs(p1.y - p2.y) >= (s1.height + s2.height)
+							/ 2 + 30 - 1e-6);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testBrandesKoepfStraightensChains() {
+		// the inner nodes of the chain 0 -> 1 -> ... -> 5 are aligned, even
+		// though the long edge 0 -> 5 runs next to them
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			Node node = new Node();
+			LayoutProperties.setSize(node, new Dimension(20, 20));
+			nodes.add(node);
+			if (i > 0) {
+				edges.add(new Edge(nodes.get(i - 1), node));
+			}
+		}
+		edges.add(new Edge(nodes.get(0), nodes.get(5)));
+		Graph graph = new Graph(nodes, edges);
+		layout(graph, createBrandesKoepfAlgorithm(Direction.HORIZONTAL));
+		for (int i = 1; i < 6; i++) {
+			if (i > 1 && i < 5) {
+				assertEquals(LayoutProperties.getLocation(nodes.get(1)).y,
+						LayoutProperties.getLocation(nodes.get(i)).y, 1e-6);
+			}
+			assertEquals(LayoutProperties.getLocation(nodes.get(i - 1)).x + 50,
+					LayoutProperties.getLocation(nodes.get(i)).x, 1e-6);
+		}
+	}
+
+	@Test
+	public void testIncrementalLayout() {
+		Graph graph = createLayeredGraph(6, 10, 2, 11);
+		List<Node> nodes = new ArrayList<>(graph.getNodes());
+		for (Node node : nodes) {
+			LayoutProperties.setSize(node, new Dimension(20, 20));
+		}
+		LayoutContext context = TestUtils.layout(graph,
+				createBrandesKoepfAlgorithm(Direction.VERTICAL),
+				new Rectangle(0, 0, 1000, 1000));
+		List<Point> locations = new ArrayList<>();
+		for (Node node : nodes) {
+			locations.add(LayoutProperties.getLocation(node));
+		}
+
+		// a node between the first and the third layer
+		Node added = TestUtils.createNode(20, 20);
+		graph.getNodes().add(added);
+		graph.getEdges().add(new Edge(nodes.get(0), added));
+		graph.getEdges().add(new Edge(added, nodes.get(20)));
+		context.applyLayout(false);
+
+		Point location = LayoutProperties.getLocation(added);
+		assertTrue(location.y > locations.get(0).y);
+		assertTrue(location.y < locations.get(20).y);
+		for (int i = 0; i < nodes.size(); i++) {
+			Point p1 = LayoutProperties.getLocation(nodes.get(i));
+			// the layers are preserved
+			assertEquals(locations.get(i).y, p1.y, 0);
+			if (p1.y == location.y) {
+				assertTrue(Math.abs(p1.x - location.x) >= 30 - 1e-6);
+			}
+			// the layers below the affected ones are not changed
+			if (i >= 30) {
+				assertEquals(locations.get(i), p1);
+			}
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import java.util.Collection;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * Utilities for layout unit tests.
+ */
+public class TestUtils {
+
+	/**
+	 * Creates a new {@link Node} of the given size.
+	 *
+	 * @param width
+	 *            The width of the node.
+	 * @param height
+	 *            The height of the node.
+	 * @return A new {@link Node} of the given size.
+	 */
+	public static Node createNode(double width, double height) {
+		Node node = new Node();
+		LayoutProperties.setSize(node, new Dimension(width, height));
+		return node;
+	}
+
+	/**
+	 * Returns the bounds of the given node, as determined by its location
+	 * (center) and size.
+	 *
+	 * @param node
+	 *            The {@link Node} whose bounds to return.
+	 * @return The bounds of the given {@link Node}.
+	 */
+	public static Rectangle getBounds(Node node) {
+		Point location = LayoutProperties.getLocation(node);
+		Dimension size = LayoutProperties.getSize(node);
+		return new Rectangle(location.x - size.width / 2,
+				location.y - size.height / 2, size.width, size.height);
+	}
+
+	/**
+	 * Returns the union of the bounds of the given (non-empty) nodes.
+	 *
+	 * @param nodes
+	 *            The {@link Node}s whose bounds to unite.
+	 * @return The union of the bounds of the given {@link Node}s.
+	 */
+	public static Rectangle getBounds(Collection<Node> nodes) {
+		Rectangle bounds = null;
+		for (Node node : nodes) {
+			bounds = bounds == null ? getBounds(node)
+					: bounds.union(getBounds(node));
+		}
+		return bounds;
+	}
+
+	/**
+	 * Applies the given layout algorithm (in a clean layout pass) to the given
+	 * graph, using its current bounds.
+	 *
+	 * @param graph
+	 *            The {@link Graph} to lay out.
+	 * @param algorithm
+	 *            The {@link ILayoutAlgorithm} to apply.
+	 * @return The {@link LayoutContext} that was used.
+	 */
+	public static LayoutContext layout(Graph graph,
+			ILayoutAlgorithm algorithm) {
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		return context;
+	}
+
+	/**
+	 * Sets the bounds of the given graph, and applies the given layout
+	 * algorithm (in a clean layout pass) to it.
+	 *
+	 * @param graph
+	 *            The {@link Graph} to lay out.
+	 * @param algorithm
+	 *            The {@link ILayoutAlgorithm} to apply.
+	 * @param bounds
+	 *            The bounds to lay out the graph in.
+	 * @return The {@link LayoutContext} that was used.
+	 */
+	public static LayoutContext layout(Graph graph, ILayoutAlgorithm algorithm,
+			Rectangle bounds) {
+		LayoutProperties.setBounds(graph, bounds);
+		return layout(graph, algorithm);
+	}
+
+	private TestUtils() {
+		// this class should not be instantiated by clients
+	}
+
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.eclipse.gef.layout.tests.TestUtils.createNode;
+import static org.eclipse.gef.layout.tests.TestUtils.layout;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.TidyTreeLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.TreeLayoutAlgorithm;
+import org.junit.Test;
+
+public class TidyTreeLayoutAlgorithmTests {
+
+	/**
+	 * Asserts that no two nodes of the same level (i.e. with the same y
+	 * coordinate) are closer than their sizes and the default spacing permit.
+	 */
+	private static void assertNoOverlap(List<Node> nodes) {
+		for (int i = 0; i < nodes.size(); i++) {
+			Point p1 = LayoutProperties.getLocation(nodes.get(i));
+			Dimension s1 = LayoutProperties.getSize(nodes.get(i));
+			for (int j = 0; j < i; j++) {
+				Point p2 = LayoutProperties.getLocation(nodes.get(j));
+				Dimension s2 = LayoutProperties.getSize(nodes.get(j));
+				if (p1.y == p2.y) {
+					assertTrue(Math.abs(p1.x - p2.x) >= (s1.width + s2.width)
+							/ 2 + 20 - 1e-6);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testParentsCenteredAndNoOverlap() {
+		Random random = new Random(3);
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			Node node = createNode(10 + random.nextInt(50), 20);
+			nodes.add(node);
+			if (i > 0) {
+				edges.add(new Edge(nodes.get(random.nextInt(i)), node));
+			}
+		}
+		Graph graph = new Graph(nodes, edges);
+		layout(graph, new TidyTreeLayoutAlgorithm(TreeLayoutAlgorithm.TOP_DOWN));
+		assertNoOverlap(nodes);
+		for (Node node : nodes) {
+			List<Node> children = new ArrayList<>();
+			for (Edge edge : edges) {
+				if (edge.getSource() == node) {
+					children.add(edge.getTarget());
+				}
+			}
+			if (!children.isEmpty()) {
+				// the children are placed in the order of the edges
+				Point first = LayoutProperties.getLocation(children.get(0));
+				Point last = LayoutProperties
+						.getLocation(children.get(children.size() - 1));
+				Point parent = LayoutProperties.getLocation(node);
+				assertEquals((first.x + last.x) / 2, parent.x, 1e-6);
+				assertEquals(parent.y + 60, first.y, 1e-6);
+			}
+		}
+	}
+
+	@Test
+	public void testDeepTree() {
+		// a deep path with a leaf at every node
+		List<Node> nodes = new ArrayList<>();
+		List<Edge> edges = new ArrayList<>();
+		Node previous = null;
+		for (int i = 0; i < 50000; i++) {
+			Node node = new Node();
+			Node leaf = new Node();
+			nodes.add(node);
+			nodes.add(leaf);
+			if (previous != null) {
+				edges.add(new Edge(previous, node));
+				edges.add(new Edge(previous, leaf));
+			}
+			previous = node;
+		}
+		Graph graph = new Graph(nodes, edges);
+		layout(graph, new TidyTreeLayoutAlgorithm(TreeLayoutAlgorithm.LEFT_RIGHT));
+		Point root = LayoutProperties.getLocation(nodes.get(0));
+		Point deepest = LayoutProperties.getLocation(nodes.get(99998));
+		assertEquals(49999 * 40, deepest.x - root.x, 1e-6);
+	}
+
+	@Test
+	public void testForestWithCycles() {
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			Node node = createNode(30, 30);
+			nodes.add(node);
+		}
+		List<Edge> edges = new ArrayList<>();
+		// a tree 0 -> 1, 0 -> 2 and a cycle 3 -> 4 -> 5 -> 3
+		edges.add(new Edge(nodes.get(0), nodes.get(1)));
+		edges.add(new Edge(nodes.get(0), nodes.get(2)));
+		edges.add(new Edge(nodes.get(3), nodes.get(4)));
+		edges.add(new Edge(nodes.get(4), nodes.get(5)));
+		edges.add(new Edge(nodes.get(5), nodes.get(3)));
+		Graph graph = new Graph(nodes, edges);
+		layout(graph, new TidyTreeLayoutAlgorithm(TreeLayoutAlgorithm.TOP_DOWN));
+		for (Node node : nodes) {
+			assertNotNull(LayoutProperties.getLocation(node));
+		}
+		assertNoOverlap(nodes);
+		assertEquals(LayoutProperties.getLocation(nodes.get(0)).y,
+				LayoutProperties.getLocation(nodes.get(3)).y, 1e-6);
+	}
+}
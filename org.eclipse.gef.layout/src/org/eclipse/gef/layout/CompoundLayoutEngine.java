@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * The {@link CompoundLayoutEngine} computes the layout of a hierarchy of
+ * nested graphs (see {@link Node#getNestedGraph()}) up front, bottom-up: the
+ * nested graphs of a graph are layouted first, in parallel on a
+ * {@link ForkJoinPool}, and the bounds of their layouts are then used as the
+ * sizes of their nesting nodes when layouting the graph itself.
+ * <p>
+ * After its layout pass, the nodes of a nested graph are translated so that
+ * their bounds start at the padding, its layout bounds (see
+ * {@link LayoutProperties#getBounds(Graph)}) are set to the bounds of its
+ * nodes enlarged by the padding, and the size of its nesting node is set to
+ * the size of these bounds, unless the nesting node is not resizable (see
+ * {@link LayoutProperties#isResizable(Node)}). The bounds of the root graph
+ * are not fitted to its nodes. Graphs that do not specify layout bounds
+ * before their layout pass are given square bounds that offer each node a
+ * cell of the size of their largest node, enlarged by the padding.
+ * <p>
+ * The layout algorithms are obtained per graph from a given function. As the
+ * graphs are layouted concurrently, the function has to be thread-safe, and
+ * has to return a distinct {@link ILayoutAlgorithm} instance for each graph
+ * (or <code>null</code> if a graph is not to be layouted).
+ */
+public class CompoundLayoutEngine {
+
+	/**
+	 * The default padding between the nodes of a nested graph and the border
+	 * of its nesting node.
+	 */
+	public static final double DEFAULT_PADDING = 10;
+
+	/**
+	 * Layouts a graph after its nested graphs.
+	 */
+	private final class CompoundLayoutTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Graph graph;
+
+		CompoundLayoutTask(Graph graph) {
+			this.graph = graph;
+		}
+
+		@Override
+		protected void compute() {
+			List<CompoundLayoutTask> nestedTasks = new ArrayList<>();
+			for (Node node : graph.getNodes()) {
+				Graph nestedGraph = node.getNestedGraph();
+				if (nestedGraph != null
+						&& !nestedGraph.getNodes().isEmpty()) {
+					nestedTasks.add(new CompoundLayoutTask(nestedGraph));
+				}
+			}
+			invokeAll(nestedTasks);
+			for (CompoundLayoutTask task : nestedTasks) {
+				fitNestingNode(task.graph);
+			}
+			if (LayoutProperties.getBounds(graph) == null) {
+				LayoutProperties.setBounds(graph, getDefaultBounds(graph));
+			}
+			ILayoutAlgorithm algorithm = algorithmProvider.apply(graph);
+			if (algorithm != null) {
+				LayoutContext context = new LayoutContext();
+				context.setGraph(graph);
+				context.setLayoutAlgorithm(algorithm);
+				context.applyLayout(true);
+				// stop observing the graph
+				context.setGraph(null);
+			}
+		}
+	}
+
+	private final Function<Graph, ILayoutAlgorithm> algorithmProvider;
+	private final ForkJoinPool pool;
+	private double padding = DEFAULT_PADDING;
+
+	/**
+	 * Constructs a new {@link CompoundLayoutEngine} that uses the common
+	 * {@link ForkJoinPool}.
+	 *
+	 * @param algorithmProvider
+	 *            The function that returns the {@link ILayoutAlgorithm} for a
+	 *            graph.
+	 */
+	public CompoundLayoutEngine(
+			Function<Graph, ILayoutAlgorithm> algorithmProvider) {
+		this(algorithmProvider, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs a new {@link CompoundLayoutEngine} that uses the given
+	 * {@link ForkJoinPool}.
+	 *
+	 * @param algorithmProvider
+	 *            The function that returns the {@link ILayoutAlgorithm} for a
+	 *            graph.
+	 * @param pool
+	 *            The {@link ForkJoinPool} on which the graphs are layouted.
+	 */
+	public CompoundLayoutEngine(
+			Function<Graph, ILayoutAlgorithm> algorithmProvider,
+			ForkJoinPool pool) {
+		if (algorithmProvider == null) {
+			throw new IllegalArgumentException(
+					"algorithmProvider may not be null.");
+		}
+		if (pool == null) {
+			throw new IllegalArgumentException("pool may not be null.");
+		}
+		this.algorithmProvider = algorithmProvider;
+		this.pool = pool;
+	}
+
+	/**
+	 * Layouts the given graph and all graphs nested within it. This method
+	 * blocks until all layout passes are finished. The graphs may not be
+	 * changed concurrently.
+	 *
+	 * @param graph
+	 *            The root {@link Graph} of the hierarchy.
+	 */
+	public void applyLayout(Graph graph) {
+		pool.invoke(new CompoundLayoutTask(graph));
+	}
+
+	/**
+	 * Returns the padding between the nodes of a nested graph and the border
+	 * of its nesting node.
+	 *
+	 * @return The padding.
+	 */
+	public double getPadding() {
+		return padding;
+	}
+
+	/**
+	 * Sets the padding between the nodes of a nested graph and the border of
+	 * its nesting node.
+	 *
+	 * @param padding
+	 *            The padding, which may not be negative.
+	 */
+	public void setPadding(double padding) {
+		if (padding < 0) {
+			throw new IllegalArgumentException(
+					"padding may not be negative.");
+		}
+		this.padding = padding;
+	}
+
+	/**
+	 * Returns square bounds that offer each node of the given graph a cell of
+	 * the size of its largest node, enlarged by the padding.
+	 */
+	private Rectangle getDefaultBounds(Graph graph) {
+		double cell = 0;
+		for (Node node : graph.getNodes()) {
+			Dimension size = LayoutProperties.getSize(node);
+			if (size != null) {
+				cell = Math.max(cell, Math.max(size.width, size.height));
+			}
+		}
+		cell += padding;
+		double side = Math.ceil(Math.sqrt(graph.getNodes().size())) * cell;
+		return new Rectangle(0, 0, side, side);
+	}
+
+	/**
+	 * Translates the nodes of the given nested graph to the padding, and sets
+	 * the bounds of the graph and the size of its nesting node accordingly.
+	 */
+	private void fitNestingNode(Graph nestedGraph) {
+		Rectangle bounds = null;
+		for (Node node : nestedGraph.getNodes()) {
+			Point location = LayoutProperties.getLocation(node);
+			if (location == null) {
+				continue;
+			}
+			Dimension size = LayoutProperties.getSize(node);
+			if (size == null) {
+				size = new Dimension();
+			}
+			Rectangle nodeBounds = new Rectangle(
+					location.x - size.width / 2, location.y - size.height / 2,
+					size.width, size.height);
+			bounds = bounds == null ? nodeBounds : bounds.union(nodeBounds);
+		}
+		if (bounds == null) {
+			return;
+		}
+		double dx = padding - bounds.getX();
+		double dy = padding - bounds.getY();
+		for (Node node : nestedGraph.getNodes()) {
+			Point location = LayoutProperties.getLocation(node);
+			if (location != null) {
+				LayoutProperties.setLocation(node,
+						location.getTranslated(dx, dy));
+			}
+		}
+		Dimension size = bounds.getSize().expand(2 * padding, 2 * padding);
+		LayoutProperties.setBounds(nestedGraph,
+				new Rectangle(new Point(), size));
+		Node nestingNode = nestedGraph.getNestingNode();
+		if (LayoutProperties.isResizable(nestingNode)) {
+			LayoutProperties.setSize(nestingNode, size);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+/**
+ * An {@link ICacheableLayoutAlgorithm} is an {@link ILayoutAlgorithm} that
+ * reports the parameters that affect its results, so that its results can be
+ * cached by a {@link LayoutResultCache}. The results of algorithms that do not
+ * implement this interface are not cached.
+ */
+public interface ICacheableLayoutAlgorithm extends ILayoutAlgorithm {
+
+	/**
+	 * Returns the values of all parameters that affect the results of this
+	 * {@link ICacheableLayoutAlgorithm}, in a fixed order. Two algorithms of
+	 * the same class that report equal parameters have to produce equal
+	 * results when applied to equal {@link LayoutContext}s.
+	 * <p>
+	 * The values may be <code>null</code>, strings, numbers, booleans,
+	 * characters, enum literals, points, dimensions, rectangles, or other
+	 * {@link ICacheableLayoutAlgorithm}s (e.g. delegates), whose class and
+	 * parameters are reported in turn. If the parameters cannot be reported
+	 * (e.g. because a strategy provided by a client is used), this method
+	 * returns <code>null</code>, and the results are not cached.
+	 *
+	 * @return The values of the parameters of this
+	 *         {@link ICacheableLayoutAlgorithm}, or <code>null</code> if they
+	 *         cannot be reported.
+	 */
+	public Object[] getLayoutParameters();
+
+}
@@ -14,21 +14,58 @@
 package org.eclipse.gef.layout;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
 
 /**
  * The {@link LayoutContext} provides the context in which to layout a
  * {@link Graph}. It maintains an {@link ILayoutAlgorithm} that can be applied,
  * supports the handling and execution of pre and post {@link Runnable}s, and
  * filtering of layout objects using {@link ILayoutFilter}.
+ * <p>
+ * The filtered nodes and edges are cached. The cache is invalidated when the
+ * graph, its nodes or edges, or the layout filters change, as well as when an
+ * attribute of a node or edge changes, except for the attributes that are
+ * written by layout algorithms (see {@link LayoutProperties}). If layout
+ * filters depend on other state, {@link #invalidateLayoutObjects()} has to be
+ * called when that state changes.
+ * <p>
+ * Layout algorithms can write their results using
+ * {@link #commitLayout(Node[], double[], double[], double[], double[])}, which
+ * applies the coordinates of all nodes in one pass and only changes the
+ * attributes whose values differ. As the layout properties are written while
+ * the layout is computed, observers should not react to individual changes
+ * of them, but process the results once in a post-layout pass (see
+ * {@link #schedulePostLayoutPass(Runnable)}).
+ * <p>
+ * Using {@link #applyLayoutAsync(boolean, Executor, Executor)}, a layout can
+ * be computed in the background on a private copy of the layout objects, so
+ * that the thread that owns the graph is not blocked.
  * 
  * @author mwienand
  *
@@ -44,11 +81,194 @@ public class LayoutContext {
 	private ObjectProperty<ILayoutAlgorithm> layoutAlgorithmProperty = new SimpleObjectProperty<>(
 			this, LAYOUT_ALGORITHM_PROPERTY);
 
+	/**
+	 * An {@link LayoutContext} notifies registered listeners about the
+	 * progress of a layout pass using this property name.
+	 */
+	public static final String LAYOUT_PROGRESS_PROPERTY = "layoutProgress";
+
+	private ReadOnlyDoubleWrapper layoutProgressProperty = new ReadOnlyDoubleWrapper(
+			this, LAYOUT_PROGRESS_PROPERTY, 1);
+
+	/**
+	 * The {@link LayoutContext} that is passed to the layout algorithm during
+	 * an asynchronous layout pass. It holds copies of the layout objects of
+	 * its owner, which only carry the layout properties, and transfers the
+	 * results back to the owner using the result executor.
+	 */
+	private static class SnapshotLayoutContext extends LayoutContext {
+
+		private final LayoutContext owner;
+		private final Executor resultExecutor;
+		private final Node[] originals;
+		private final Node[] copies;
+		private final List<Edge> originalEdges = new ArrayList<>();
+		private final List<Edge> edgeCopies = new ArrayList<>();
+		private volatile boolean cancelled;
+		// whether intermediate results are waiting to be applied
+		private final AtomicBoolean publishing = new AtomicBoolean();
+
+		public SnapshotLayoutContext(LayoutContext owner,
+				Executor resultExecutor) {
+			this.owner = owner;
+			this.resultExecutor = resultExecutor;
+			originals = owner.getNodes();
+			copies = new Node[originals.length];
+			Map<Node, Node> copyOf = new IdentityHashMap<>();
+			for (int i = 0; i < originals.length; i++) {
+				copies[i] = new Node(LayoutProperties.copyLayoutProperties(
+						originals[i].getAttributes()));
+				copyOf.put(originals[i], copies[i]);
+			}
+			// edges to nodes that are not laid out are omitted
+			for (Edge edge : owner.getEdges()) {
+				Node source = copyOf.get(edge.getSource());
+				Node target = copyOf.get(edge.getTarget());
+				if (source != null && target != null) {
+					originalEdges.add(edge);
+					edgeCopies.add(new Edge(LayoutProperties
+							.copyLayoutProperties(edge.getAttributes()),
+							source, target));
+				}
+			}
+			setGraph(new Graph(
+					LayoutProperties.copyLayoutProperties(
+							owner.getGraph().getAttributes()),
+					Arrays.asList(copies), edgeCopies));
+		}
+
+		/**
+		 * Applies the given result, as returned by {@link #getResult()}, to
+		 * the original nodes. Has to be called by the result executor.
+		 */
+		void applyResult(double[][] result, double progress) {
+			owner.commitLayout(originals, result[0], result[1], result[2],
+					result[3]);
+			owner.postLayout();
+			owner.layoutProgressProperty.set(progress);
+		}
+
+		/**
+		 * Applies the control points of the copied edges to the original
+		 * edges. Has to be called by the result executor, after the layout
+		 * algorithm has finished.
+		 */
+		void applyControlPoints() {
+			for (int i = 0; i < edgeCopies.size(); i++) {
+				List<Point> controlPoints = LayoutProperties
+						.getControlPoints(edgeCopies.get(i));
+				LayoutProperties.setControlPoints(originalEdges.get(i),
+						controlPoints == null ? null
+								: new ArrayList<>(controlPoints));
+			}
+		}
+
+		void cancel() {
+			cancelled = true;
+		}
+
+		/**
+		 * Returns the current locations and sizes of the copied nodes.
+		 */
+		double[][] getResult() {
+			int n = copies.length;
+			double[][] result = new double[4][n];
+			for (int i = 0; i < n; i++) {
+				Point location = LayoutProperties.getLocation(copies[i]);
+				Dimension size = LayoutProperties.getSize(copies[i]);
+				result[0][i] = location == null ? Double.NaN : location.x;
+				result[1][i] = location == null ? Double.NaN : location.y;
+				result[2][i] = size == null ? Double.NaN : size.width;
+				result[3][i] = size == null ? Double.NaN : size.height;
+			}
+			return result;
+		}
+
+		@Override
+		public boolean isLayoutCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public void reportProgress(final double progress) {
+			// skip the intermediate result if the previous one is pending
+			if (cancelled || !publishing.compareAndSet(false, true)) {
+				return;
+			}
+			final double[][] result = getResult();
+			resultExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					publishing.set(false);
+					if (!cancelled) {
+						applyResult(result, progress);
+					}
+				}
+			});
+		}
+	}
+
 	private Graph graph;
 	private final List<Runnable> postLayoutPass = new ArrayList<>();
 	private final List<Runnable> preLayoutPass = new ArrayList<>();
 	private final List<ILayoutFilter> layoutFilters = new ArrayList<>();
 
+	// cached layout objects, null if invalid
+	private Node[] nodes;
+	private Edge[] edges;
+	private List<Node> nodesUnmodifiable;
+	private List<Edge> edgesUnmodifiable;
+	private Map<Node, Integer> nodeIndices;
+
+	// the most recent asynchronous layout pass, its result, and the executor
+	// on which its result is applied
+	private CompletableFuture<Void> asyncLayoutPass;
+	private CompletableFuture<Void> asyncLayoutResult;
+	private Executor asyncResultExecutor;
+	// counts the requested layout passes, so that a deferred pass can detect
+	// that it was superseded
+	private int layoutPasses;
+
+	private final MapChangeListener<String, Object> attributesObserver = new MapChangeListener<String, Object>() {
+		@Override
+		public void onChanged(
+				MapChangeListener.Change<? extends String, ? extends Object> change) {
+			if (!LayoutProperties.isLayoutProperty(change.getKey())) {
+				invalidateLayoutObjects();
+			}
+		}
+	};
+
+	private final ListChangeListener<Node> nodesObserver = new ListChangeListener<Node>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Node> change) {
+			while (change.next()) {
+				for (Node node : change.getRemoved()) {
+					node.getAttributes().removeListener(attributesObserver);
+				}
+				for (Node node : change.getAddedSubList()) {
+					node.getAttributes().addListener(attributesObserver);
+				}
+			}
+			invalidateLayoutObjects();
+		}
+	};
+
+	private final ListChangeListener<Edge> edgesObserver = new ListChangeListener<Edge>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> change) {
+			while (change.next()) {
+				for (Edge edge : change.getRemoved()) {
+					edge.getAttributes().removeListener(attributesObserver);
+				}
+				for (Edge edge : change.getAddedSubList()) {
+					edge.getAttributes().addListener(attributesObserver);
+				}
+			}
+			invalidateLayoutObjects();
+		}
+	};
+
 	/**
 	 * Adds the given ILayoutFilter to this {@link LayoutContext}.
 	 * 
@@ -57,23 +277,288 @@ public class LayoutContext {
 	 */
 	public void addLayoutFilter(ILayoutFilter layoutFilter) {
 		layoutFilters.add(layoutFilter);
+		invalidateLayoutObjects();
 	}
 
 	/**
 	 * Applies the layout algorithm of this LayoutContext. The clean flag is
 	 * passed-in to the layout algorithm to indicate whether the context changed
-	 * significantly since the last layout pass.
+	 * significantly since the last layout pass. A layout pass that is applied
+	 * in the background is cancelled before (see {@link #cancelAsyncLayout()}).
+	 * If its layout algorithm is still running, the calling thread is not
+	 * blocked. Instead, the layout algorithm is applied after that pass
+	 * stopped, using the result executor of that pass, unless another layout
+	 * pass is started in the meantime.
 	 * 
 	 * @param clear
 	 *            <code>true</code> to indicate that the algorithm has to fully
 	 *            re-compute the layout, otherwise <code>false</code>.
 	 */
-	public void applyLayout(boolean clear) {
+	public void applyLayout(final boolean clear) {
+		final int pass = ++layoutPasses;
+		if (!cancelAsyncLayout()) {
+			// chained, so that a subsequent background pass waits for it
+			asyncLayoutPass = asyncLayoutPass
+					.handle(new BiFunction<Void, Throwable, Void>() {
+						@Override
+						public Void apply(Void v, Throwable t) {
+							return null;
+						}
+					}).thenRunAsync(new Runnable() {
+						@Override
+						public void run() {
+							if (pass == layoutPasses) {
+								doApplyLayout(clear);
+							}
+						}
+					}, asyncResultExecutor);
+			return;
+		}
+		doApplyLayout(clear);
+	}
+
+	/**
+	 * Applies the layout algorithm of this {@link LayoutContext} in the
+	 * background. The pre-layout pass is executed and the layout objects are
+	 * copied on the calling thread. The layout algorithm is then applied to
+	 * the copies using the given executor, while intermediate results
+	 * published via {@link #reportProgress(double)} as well as the final
+	 * result are applied to the nodes of this context in one batch (followed
+	 * by a post-layout pass) using the given result executor, which therefore
+	 * has to run its tasks on the thread that owns the graph.
+	 * <p>
+	 * A layout pass that is still running is cancelled when a new one is
+	 * started, and its remaining results are discarded. Its layout algorithm is asked
+	 * to stop (see {@link #isLayoutCancelled()}), and the new pass only starts
+	 * after it did, so that an algorithm is never applied concurrently.
+	 * Cancelling the returned {@link CompletableFuture} cancels the layout
+	 * pass as well.
+	 * 
+	 * @param clean
+	 *            <code>true</code> to indicate that the algorithm has to fully
+	 *            re-compute the layout, otherwise <code>false</code>.
+	 * @param executor
+	 *            The {@link Executor} that is used to apply the layout
+	 *            algorithm.
+	 * @param resultExecutor
+	 *            The {@link Executor} that is used to apply the results to the
+	 *            nodes of this context.
+	 * @return A {@link CompletableFuture} that is completed when the results
+	 *         are applied, or cancelled when the layout pass is cancelled.
+	 */
+	public CompletableFuture<Void> applyLayoutAsync(final boolean clean,
+			Executor executor, Executor resultExecutor) {
+		// the new pass is chained to the previous one (see below)
+		layoutPasses++;
+		cancelAsyncLayoutResult();
+		final ILayoutAlgorithm layoutAlgorithm = layoutAlgorithmProperty.get();
+		if (layoutAlgorithm == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		layoutProgressProperty.set(0);
+		preLayout();
+		final SnapshotLayoutContext snapshot = new SnapshotLayoutContext(this,
+				resultExecutor);
+		final CompletableFuture<Void> result = new CompletableFuture<Void>() {
+			@Override
+			public boolean cancel(boolean mayInterruptIfRunning) {
+				snapshot.cancel();
+				return super.cancel(mayInterruptIfRunning);
+			}
+		};
+
+		// wait for the previous pass, regardless of its outcome
+		CompletableFuture<Void> previous = asyncLayoutPass == null
+				? CompletableFuture.<Void> completedFuture(null)
+				: asyncLayoutPass
+						.handle(new BiFunction<Void, Throwable, Void>() {
+							@Override
+							public Void apply(Void v, Throwable t) {
+								return null;
+							}
+						});
+		CompletableFuture<double[][]> computation = previous
+				.thenApplyAsync(new Function<Void, double[][]>() {
+					@Override
+					public double[][] apply(Void v) {
+						if (snapshot.isLayoutCancelled()) {
+							return null;
+						}
+						layoutAlgorithm.applyLayout(snapshot, clean);
+						return snapshot.isLayoutCancelled() ? null
+								: snapshot.getResult();
+					}
+				}, executor);
+		computation.whenCompleteAsync(new BiConsumer<double[][], Throwable>() {
+			@Override
+			public void accept(double[][] layoutResult, Throwable t) {
+				if (t != null) {
+					result.completeExceptionally(
+							t instanceof CompletionException ? t.getCause()
+									: t);
+				} else if (layoutResult == null
+						|| snapshot.isLayoutCancelled()) {
+					result.cancel(false);
+				} else {
+					snapshot.applyControlPoints();
+					snapshot.applyResult(layoutResult, 1);
+					result.complete(null);
+				}
+			}
+		}, resultExecutor);
+		asyncLayoutResult = result;
+		asyncResultExecutor = resultExecutor;
+		asyncLayoutPass = computation.thenApply(new Function<double[][], Void>() {
+			@Override
+			public Void apply(double[][] layoutResult) {
+				return null;
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Cancels the layout pass that is applied in the background (see
+	 * {@link #applyLayoutAsync(boolean, Executor, Executor)}), if any. The
+	 * results of the cancelled pass are not applied. As cancellation is
+	 * cooperative, the layout algorithm may still be running when the pass is
+	 * cancelled, so that it may not be applied on the calling thread until it
+	 * stopped. This method does not wait for it, i.e. it may be called on the
+	 * thread that owns the graph, but returns whether the layout algorithm
+	 * may be applied.
+	 * <p>
+	 * This is done by {@link #applyLayout(boolean)}, as well as by
+	 * {@link org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm#performContinuousIterations(LayoutContext, int, long)}.
+	 * Clients that apply the layout algorithm of this context in other ways
+	 * have to call this method before.
+	 * 
+	 * @return <code>true</code> if no layout pass is running in the
+	 *         background, so that the layout algorithm may be applied,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean cancelAsyncLayout() {
+		cancelAsyncLayoutResult();
+		if (asyncLayoutPass != null) {
+			if (!asyncLayoutPass.isDone()) {
+				return false;
+			}
+			asyncLayoutPass = null;
+			asyncResultExecutor = null;
+		}
+		return true;
+	}
+
+	private void cancelAsyncLayoutResult() {
+		if (asyncLayoutResult != null) {
+			asyncLayoutResult.cancel(false);
+			asyncLayoutResult = null;
+		}
+	}
+
+	private void doApplyLayout(boolean clear) {
 		ILayoutAlgorithm layoutAlgorithm = layoutAlgorithmProperty.get();
 		if (layoutAlgorithm != null) {
+			layoutProgressProperty.set(0);
 			preLayout();
 			layoutAlgorithm.applyLayout(this, clear);
 			postLayout();
+			layoutProgressProperty.set(1);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the current layout pass was cancelled, so
+	 * that the layout algorithm should stop as soon as possible, otherwise
+	 * <code>false</code>. Layout passes that are applied in the background
+	 * (see {@link #applyLayoutAsync(boolean, Executor, Executor)}) are
+	 * cancelled when they are superseded by a newer layout pass. Long-running
+	 * layout algorithms should check this regularly.
+	 * 
+	 * @return <code>true</code> if the current layout pass was cancelled,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isLayoutCancelled() {
+		return false;
+	}
+
+	/**
+	 * Reports the progress of the current layout pass. Layout algorithms
+	 * should call this after they wrote intermediate results to the layout
+	 * properties. When the layout is applied in the background, the
+	 * intermediate results are then applied to the nodes of this context.
+	 * 
+	 * @param progress
+	 *            The progress of the layout pass, between <code>0</code> and
+	 *            <code>1</code>.
+	 */
+	public void reportProgress(double progress) {
+		layoutProgressProperty.set(progress);
+	}
+
+	/**
+	 * A read-only property representing the progress of the current layout
+	 * pass, between <code>0</code> and <code>1</code>. It is updated on the
+	 * thread that owns the graph.
+	 * 
+	 * @return A read-only property named {@link #LAYOUT_PROGRESS_PROPERTY}.
+	 */
+	public ReadOnlyDoubleProperty layoutProgressProperty() {
+		return layoutProgressProperty.getReadOnlyProperty();
+	}
+
+	/**
+	 * Applies the given locations and sizes to the given nodes in one pass.
+	 * The location of the node at index <code>i</code> is set to
+	 * <code>(x[i], y[i])</code>, and its size to
+	 * <code>(width[i], height[i])</code>. Coordinates that are
+	 * {@link Double#NaN} are skipped, so that individual nodes (e.g. ones that
+	 * are not movable) can be left unchanged, and attributes are only written
+	 * if their value changes, so that no change notifications are fired for
+	 * nodes that keep their location or size.
+	 * 
+	 * @param nodes
+	 *            The {@link Node}s to which the results are applied.
+	 * @param x
+	 *            The x coordinates of the node centers.
+	 * @param y
+	 *            The y coordinates of the node centers.
+	 * @param width
+	 *            The node widths, or <code>null</code> to leave the sizes
+	 *            unchanged.
+	 * @param height
+	 *            The node heights, or <code>null</code> to leave the sizes
+	 *            unchanged.
+	 */
+	public void commitLayout(Node[] nodes, double[] x, double[] y,
+			double[] width, double[] height) {
+		int n = nodes.length;
+		if (x.length < n || y.length < n) {
+			throw new IllegalArgumentException(
+					"Locations have to be given for all nodes.");
+		}
+		if ((width == null) != (height == null)
+				|| width != null && (width.length < n || height.length < n)) {
+			throw new IllegalArgumentException(
+					"Sizes have to be given for all nodes, or for none.");
+		}
+		for (int i = 0; i < n; i++) {
+			Node node = nodes[i];
+			if (width != null && !Double.isNaN(width[i])
+					&& !Double.isNaN(height[i])) {
+				Dimension size = LayoutProperties.getSize(node);
+				if (size == null || size.width != width[i]
+						|| size.height != height[i]) {
+					LayoutProperties.setSize(node,
+							new Dimension(width[i], height[i]));
+				}
+			}
+			if (!Double.isNaN(x[i]) && !Double.isNaN(y[i])) {
+				Point location = LayoutProperties.getLocation(node);
+				if (location == null || location.x != x[i]
+						|| location.y != y[i]) {
+					LayoutProperties.setLocation(node, new Point(x[i], y[i]));
+				}
+			}
 		}
 	}
 
@@ -120,42 +605,164 @@ public class LayoutContext {
 		if (graph == null) {
 			graph = new Graph();
 		}
+		if (this.graph == graph) {
+			return;
+		}
+		if (this.graph != null) {
+			observe(this.graph, false);
+		}
 		this.graph = graph;
+		observe(graph, true);
+		invalidateLayoutObjects();
+	}
+
+	private void observe(Graph graph, boolean observe) {
+		ObservableMap<String, Object> attributes;
+		for (Node node : graph.getNodes()) {
+			attributes = node.getAttributes();
+			if (observe) {
+				attributes.addListener(attributesObserver);
+			} else {
+				attributes.removeListener(attributesObserver);
+			}
+		}
+		for (Edge edge : graph.getEdges()) {
+			attributes = edge.getAttributes();
+			if (observe) {
+				attributes.addListener(attributesObserver);
+			} else {
+				attributes.removeListener(attributesObserver);
+			}
+		}
+		if (observe) {
+			graph.getNodes().addListener(nodesObserver);
+			graph.getEdges().addListener(edgesObserver);
+		} else {
+			graph.getNodes().removeListener(nodesObserver);
+			graph.getEdges().removeListener(edgesObserver);
+		}
+	}
+
+	/**
+	 * Invalidates the cached nodes and edges, so that they are filtered again
+	 * when they are accessed the next time. This is done automatically when
+	 * the graph or the layout filters change. Clients need to call this method
+	 * when they change state that is evaluated by a layout filter, other than
+	 * the attributes of the nodes and edges.
+	 */
+	public void invalidateLayoutObjects() {
+		nodes = null;
+		edges = null;
+		nodesUnmodifiable = null;
+		edgesUnmodifiable = null;
+		nodeIndices = null;
 	}
 
 	/**
 	 * Returns all the nodes that should be laid out. Replacing elements in the
-	 * returned array does not affect this context.
+	 * returned array does not affect this context. As a new array is returned
+	 * on each call, algorithms that access the nodes repeatedly should use
+	 * {@link #getNodesUnmodifiable()} instead.
 	 * 
 	 * @return array of nodes to lay out
 	 */
 	// TODO: remove this (algorithms should use getGraph().getNodes())
 	public Node[] getNodes() {
-		ObservableList<Node> nodes = graph.getNodes();
-		List<Node> layoutRelevantNodes = new ArrayList<>();
-		for (Node n : nodes) {
-			if (!isLayoutIrrelevant(n)) {
-				layoutRelevantNodes.add(n);
+		return getLayoutRelevantNodes().clone();
+	}
+
+	/**
+	 * Returns an unmodifiable {@link List} of all the nodes that should be laid
+	 * out, in the order of {@link #getNodes()}. In contrast to
+	 * {@link #getNodes()}, the nodes are not copied, i.e. the same
+	 * {@link List} is returned until the nodes to lay out change.
+	 * 
+	 * @return An unmodifiable {@link List} of the nodes to lay out.
+	 */
+	public List<Node> getNodesUnmodifiable() {
+		if (nodesUnmodifiable == null) {
+			nodesUnmodifiable = Collections
+					.unmodifiableList(Arrays.asList(getLayoutRelevantNodes()));
+		}
+		return nodesUnmodifiable;
+	}
+
+	private Node[] getLayoutRelevantNodes() {
+		if (nodes == null) {
+			ObservableList<Node> graphNodes = graph.getNodes();
+			List<Node> layoutRelevantNodes = new ArrayList<>();
+			for (Node n : graphNodes) {
+				if (!isLayoutIrrelevant(n)) {
+					layoutRelevantNodes.add(n);
+				}
 			}
+			nodes = layoutRelevantNodes.toArray(new Node[] {});
 		}
-		return layoutRelevantNodes.toArray(new Node[] {});
+		return nodes;
+	}
+
+	/**
+	 * Returns the index of the given {@link Node} within the array returned
+	 * by {@link #getNodes()}, or <code>-1</code> if the node is not laid out.
+	 * 
+	 * @param node
+	 *            The {@link Node} whose index is returned.
+	 * @return The index of the given {@link Node} within the nodes to lay out,
+	 *         or <code>-1</code>.
+	 */
+	public int getNodeIndex(Node node) {
+		if (nodeIndices == null) {
+			Node[] layoutRelevantNodes = getLayoutRelevantNodes();
+			Map<Node, Integer> indices = new IdentityHashMap<>();
+			for (int i = 0; i < layoutRelevantNodes.length; i++) {
+				indices.put(layoutRelevantNodes[i], i);
+			}
+			nodeIndices = indices;
+		}
+		Integer index = nodeIndices.get(node);
+		return index == null ? -1 : index;
 	}
 
 	/**
 	 * Returns all the connections between nodes that should be laid out.
 	 * Replacing elements in the returned array does not affect this context.
+	 * As a new array is returned on each call, algorithms that access the
+	 * edges repeatedly should use {@link #getEdgesUnmodifiable()} instead.
 	 * 
 	 * @return array of connections between nodes
 	 */
 	public Edge[] getEdges() {
-		ObservableList<Edge> edges = graph.getEdges();
-		List<Edge> layoutRelevantEdges = new ArrayList<>();
-		for (Edge e : edges) {
-			if (!isLayoutIrrelevant(e)) {
-				layoutRelevantEdges.add(e);
+		return getLayoutRelevantEdges().clone();
+	}
+
+	/**
+	 * Returns an unmodifiable {@link List} of all the connections between
+	 * nodes that should be laid out, in the order of {@link #getEdges()}. In
+	 * contrast to {@link #getEdges()}, the edges are not copied, i.e. the same
+	 * {@link List} is returned until the edges to lay out change.
+	 * 
+	 * @return An unmodifiable {@link List} of the edges to lay out.
+	 */
+	public List<Edge> getEdgesUnmodifiable() {
+		if (edgesUnmodifiable == null) {
+			edgesUnmodifiable = Collections
+					.unmodifiableList(Arrays.asList(getLayoutRelevantEdges()));
+		}
+		return edgesUnmodifiable;
+	}
+
+	private Edge[] getLayoutRelevantEdges() {
+		if (edges == null) {
+			ObservableList<Edge> graphEdges = graph.getEdges();
+			List<Edge> layoutRelevantEdges = new ArrayList<>();
+			for (Edge e : graphEdges) {
+				if (!isLayoutIrrelevant(e)) {
+					layoutRelevantEdges.add(e);
+				}
 			}
+			edges = layoutRelevantEdges.toArray(new Edge[] {});
 		}
-		return layoutRelevantEdges.toArray(new Edge[] {});
+		return edges;
 	}
 
 	/**
@@ -228,7 +835,9 @@ public class LayoutContext {
 	 *            The ILayoutFilter to remove to this context.
 	 */
 	public void removeLayoutFilter(ILayoutFilter layoutFilter) {
-		layoutFilters.remove(layoutFilter);
+		if (layoutFilters.remove(layoutFilter)) {
+			invalidateLayoutObjects();
+		}
 	}
 
 	/**
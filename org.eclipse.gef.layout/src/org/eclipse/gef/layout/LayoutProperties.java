@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.gef.layout;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
@@ -83,6 +87,13 @@ public class LayoutProperties {
 	 */
 	public static final Double DEFAULT_WEIGHT = 0d;
 
+	/**
+	 * Stores the control points of the route of an edge, i.e. the points
+	 * between its source and target node (excluding the end points). An empty
+	 * list denotes a straight route.
+	 */
+	public static final String CONTROL_POINTS_PROPERTY = "layout_control-points";
+
 	/**
 	 * Constant for top-down direction (default).
 	 */
@@ -113,6 +124,56 @@ public class LayoutProperties {
 	 */
 	public static final Integer DEFAULT_DIRECTION = DIRECTION_TOP_DOWN;
 
+	/**
+	 * The prefix of the names of all layout properties.
+	 */
+	private static final String PROPERTY_PREFIX = "layout_";
+
+	/**
+	 * Returns <code>true</code> if the attribute with the given name is a
+	 * layout property, i.e. one that is read and written by layout algorithms,
+	 * otherwise <code>false</code>.
+	 * 
+	 * @param attributeName
+	 *            The name of the attribute in question.
+	 * @return <code>true</code> if the given attribute is a layout property,
+	 *         otherwise <code>false</code>.
+	 */
+	public static boolean isLayoutProperty(String attributeName) {
+		return attributeName != null
+				&& attributeName.startsWith(PROPERTY_PREFIX);
+	}
+
+	/**
+	 * Returns a new {@link Map} containing the layout properties (see
+	 * {@link #isLayoutProperty(String)}) of the given attributes. Locations,
+	 * sizes, and bounds are copied, so that changing them does not affect the
+	 * given attributes.
+	 * 
+	 * @param attributes
+	 *            The attributes of a {@link Graph}, {@link Node}, or
+	 *            {@link Edge}.
+	 * @return A new {@link Map} containing copies of the layout properties.
+	 */
+	public static Map<String, Object> copyLayoutProperties(
+			Map<String, Object> attributes) {
+		Map<String, Object> copy = new HashMap<>();
+		for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+			if (isLayoutProperty(entry.getKey())) {
+				Object value = entry.getValue();
+				if (value instanceof Point) {
+					value = ((Point) value).getCopy();
+				} else if (value instanceof Dimension) {
+					value = ((Dimension) value).getCopy();
+				} else if (value instanceof Rectangle) {
+					value = ((Rectangle) value).getCopy();
+				}
+				copy.put(entry.getKey(), value);
+			}
+		}
+		return copy;
+	}
+
 	/**
 	 * Returns the value of the {@link #BOUNDS_PROPERTY} of the given
 	 * {@link LayoutContext}.
@@ -290,4 +351,39 @@ public class LayoutProperties {
 		edge.getAttributes().put(WEIGHT_PROPERTY, weight);
 	}
 
+	/**
+	 * Returns the value of the {@link #CONTROL_POINTS_PROPERTY} of the given
+	 * {@link Edge}.
+	 * 
+	 * @param edge
+	 *            The {@link Edge} whose {@link #CONTROL_POINTS_PROPERTY} is
+	 *            read.
+	 * @return The value of the {@link #CONTROL_POINTS_PROPERTY} of the given
+	 *         {@link Edge}, or <code>null</code> if the edge has not been
+	 *         routed.
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<Point> getControlPoints(Edge edge) {
+		return (List<Point>) edge.getAttributes().get(CONTROL_POINTS_PROPERTY);
+	}
+
+	/**
+	 * Sets the value of the {@link #CONTROL_POINTS_PROPERTY} of the given
+	 * {@link Edge} to the given value.
+	 * 
+	 * @param edge
+	 *            The {@link Edge} whose {@link #CONTROL_POINTS_PROPERTY} is
+	 *            changed.
+	 * @param controlPoints
+	 *            The new value for the {@link #CONTROL_POINTS_PROPERTY} of the
+	 *            given {@link Edge}, or <code>null</code> to remove it.
+	 */
+	public static void setControlPoints(Edge edge, List<Point> controlPoints) {
+		if (controlPoints == null) {
+			edge.getAttributes().remove(CONTROL_POINTS_PROPERTY);
+		} else {
+			edge.getAttributes().put(CONTROL_POINTS_PROPERTY, controlPoints);
+		}
+	}
+
 }
@@ -0,0 +1,498 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * The {@link LayoutResultCache} stores the results of layout passes, so that
+ * layouting an unchanged graph again does not re-run the layout algorithm.
+ * Layout algorithms are {@link #wrap(ILayoutAlgorithm) wrapped} to use the
+ * cache, and a single cache may be shared by several algorithms and
+ * {@link LayoutContext}s. Only the results of
+ * {@link ICacheableLayoutAlgorithm}s are cached, i.e. of algorithms that
+ * report all their parameters; other algorithms are applied as is.
+ * <p>
+ * The results are keyed by a structural fingerprint of the layout context and
+ * the algorithm, so that a graph that is re-created from the same input (e.g.
+ * when re-opening a file) is recognized. The fingerprint comprises:
+ * <ul>
+ * <li>the order of the (filtered) nodes and edges, and the nodes connected by
+ * each edge,
+ * <li>all layout properties of the graph, nodes, and edges, e.g. sizes,
+ * locations, and bounds,
+ * <li>all other attributes whose values are strings, numbers, booleans,
+ * characters, or enum literals, e.g. labels or ids,
+ * <li>the class of the algorithm, and the values of its parameters as
+ * reported by {@link ICacheableLayoutAlgorithm#getLayoutParameters()}.
+ * </ul>
+ * A result is stored for the fingerprint before and after the layout pass, so
+ * that a graph that is already layouted is recognized as well. Only clean
+ * layout passes are cached, and the results of cancelled passes are
+ * discarded. As an algorithm is not applied when its result is taken from the
+ * cache, the state that it keeps for incremental layout passes is outdated
+ * afterwards. Therefore, an incremental layout pass that follows a cached
+ * layout pass is applied as a clean layout pass.
+ * <p>
+ * The most recently used results are kept in memory, up to a given capacity.
+ * Additionally, the results can be persisted to a {@link #setDirectory(Path)
+ * directory}. Failures to read or write results from or to the directory are
+ * treated as cache misses, i.e. they do not cause the layout pass to fail.
+ */
+public class LayoutResultCache {
+
+	/**
+	 * The default number of results that are kept in memory.
+	 */
+	public static final int DEFAULT_CAPACITY = 64;
+
+	private static final String FILE_EXTENSION = ".layout";
+	private static final int FILE_VERSION = 1;
+
+	/**
+	 * Caches the results for an {@link ILayoutAlgorithm}, which is
+	 * {@link #getDelegate() delegated} to when the result for a layout pass is
+	 * not cached.
+	 */
+	public final class CachingLayoutAlgorithm implements ILayoutAlgorithm {
+
+		private final ILayoutAlgorithm algorithm;
+		// whether the last pass was taken from the cache, i.e. the algorithm
+		// did not see it
+		private boolean cached;
+
+		CachingLayoutAlgorithm(ILayoutAlgorithm algorithm) {
+			this.algorithm = algorithm;
+		}
+
+		public void applyLayout(LayoutContext context, boolean clean) {
+			if (!clean) {
+				// the state that the algorithm keeps for incremental passes
+				// is outdated if the last pass was taken from the cache
+				algorithm.applyLayout(context, cached);
+				cached = false;
+				return;
+			}
+			cached = false;
+			String key = getFingerprint(context, algorithm);
+			if (key == null) {
+				// the parameters of the algorithm are unknown
+				algorithm.applyLayout(context, clean);
+				return;
+			}
+			Node[] nodes = context.getNodes();
+			double[] result = get(key, nodes.length);
+			if (result != null) {
+				int n = nodes.length;
+				context.commitLayout(nodes, Arrays.copyOfRange(result, 0, n),
+						Arrays.copyOfRange(result, n, 2 * n),
+						Arrays.copyOfRange(result, 2 * n, 3 * n),
+						Arrays.copyOfRange(result, 3 * n, 4 * n));
+				cached = true;
+				return;
+			}
+			algorithm.applyLayout(context, clean);
+			if (context.isLayoutCancelled()) {
+				return;
+			}
+			result = getResult(context.getNodes());
+			put(key, result);
+			put(getFingerprint(context, algorithm), result);
+		}
+
+		/**
+		 * Returns the {@link ILayoutAlgorithm} whose results are cached.
+		 *
+		 * @return The wrapped {@link ILayoutAlgorithm}.
+		 */
+		public ILayoutAlgorithm getDelegate() {
+			return algorithm;
+		}
+	}
+
+	private final Map<String, double[]> results;
+	private Path directory;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Constructs a new {@link LayoutResultCache} that keeps up to
+	 * {@link #DEFAULT_CAPACITY} results in memory.
+	 */
+	public LayoutResultCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new {@link LayoutResultCache} that keeps up to the given
+	 * number of results in memory.
+	 *
+	 * @param capacity
+	 *            The maximum number of results that are kept in memory.
+	 */
+	public LayoutResultCache(final int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException(
+					"Capacity has to be positive.");
+		}
+		results = new LinkedHashMap<String, double[]>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Entry<String, double[]> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Returns an {@link ILayoutAlgorithm} that applies the given algorithm,
+	 * unless its result is already cached. The results are only cached if the
+	 * given algorithm is an {@link ICacheableLayoutAlgorithm}.
+	 *
+	 * @param algorithm
+	 *            The {@link ILayoutAlgorithm} whose results are cached.
+	 * @return An {@link ILayoutAlgorithm} that uses this cache.
+	 */
+	public CachingLayoutAlgorithm wrap(ILayoutAlgorithm algorithm) {
+		if (algorithm == null) {
+			throw new IllegalArgumentException(
+					"The algorithm may not be null.");
+		}
+		return new CachingLayoutAlgorithm(algorithm);
+	}
+
+	/**
+	 * Returns the directory to which the results are persisted, or
+	 * <code>null</code> if they are only kept in memory.
+	 *
+	 * @return The directory to which the results are persisted.
+	 */
+	public synchronized Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Sets the directory to which the results are persisted, so that they
+	 * can be reused by other {@link LayoutResultCache}s using the same
+	 * directory. Defaults to <code>null</code>, i.e. the results are only
+	 * kept in memory.
+	 *
+	 * @param directory
+	 *            The directory to which the results are persisted, or
+	 *            <code>null</code>.
+	 */
+	public synchronized void setDirectory(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Removes all results from memory. Persisted results are not removed.
+	 */
+	public synchronized void clear() {
+		results.clear();
+	}
+
+	/**
+	 * Returns the number of layout passes for which a cached result was
+	 * used.
+	 *
+	 * @return The number of cache hits.
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of layout passes for which the layout algorithm had
+	 * to be applied.
+	 *
+	 * @return The number of cache misses.
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * Returns the ratio of cache hits to all (clean) layout passes, or
+	 * <code>0</code> if no layout pass was performed yet.
+	 *
+	 * @return The hit rate of this cache.
+	 */
+	public double getHitRate() {
+		long hitCount = hits.get();
+		long total = hitCount + misses.get();
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	private double[] get(String key, int nodeCount) {
+		double[] result;
+		Path file;
+		synchronized (this) {
+			result = results.get(key);
+			file = directory == null ? null
+					: directory.resolve(key + FILE_EXTENSION);
+		}
+		if (result == null && file != null && Files.isRegularFile(file)) {
+			result = read(file);
+			if (result != null) {
+				synchronized (this) {
+					results.put(key, result);
+				}
+			}
+		}
+		if (result == null || result.length != 4 * nodeCount) {
+			misses.incrementAndGet();
+			return null;
+		}
+		hits.incrementAndGet();
+		return result;
+	}
+
+	private void put(String key, double[] result) {
+		Path file;
+		synchronized (this) {
+			results.put(key, result);
+			file = directory == null ? null
+					: directory.resolve(key + FILE_EXTENSION);
+		}
+		if (file != null && !Files.exists(file)) {
+			write(file, result);
+		}
+	}
+
+	private static double[] read(Path file) {
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FILE_VERSION) {
+				return null;
+			}
+			double[] result = new double[in.readInt()];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = in.readDouble();
+			}
+			return result;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static void write(Path file, double[] result) {
+		try {
+			Files.createDirectories(file.getParent());
+			// write to a temporary file first, so that concurrent readers
+			// never see a partial result
+			Path tmp = Files.createTempFile(file.getParent(), null, null);
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				out.writeInt(FILE_VERSION);
+				out.writeInt(result.length);
+				for (double value : result) {
+					out.writeDouble(value);
+				}
+			}
+			try {
+				Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(tmp);
+			}
+		} catch (IOException e) {
+			// the result is still kept in memory
+		}
+	}
+
+	/**
+	 * Returns the locations and sizes of the given nodes, which are stored
+	 * consecutively, using NaN for missing values.
+	 */
+	private static double[] getResult(Node[] nodes) {
+		int n = nodes.length;
+		double[] result = new double[4 * n];
+		Arrays.fill(result, Double.NaN);
+		for (int i = 0; i < n; i++) {
+			Point location = LayoutProperties.getLocation(nodes[i]);
+			if (location != null) {
+				result[i] = location.x;
+				result[n + i] = location.y;
+			}
+			Dimension size = LayoutProperties.getSize(nodes[i]);
+			if (size != null) {
+				result[2 * n + i] = size.width;
+				result[3 * n + i] = size.height;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the structural fingerprint of the given context and algorithm,
+	 * as a hex encoded SHA-256 digest, or returns <code>null</code> if the
+	 * parameters of the algorithm are unknown.
+	 */
+	private static String getFingerprint(LayoutContext context,
+			ILayoutAlgorithm algorithm) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is supported by all Java platforms
+			throw new IllegalStateException(e);
+		}
+		try (DataOutputStream out = new DataOutputStream(
+				new DigestOutputStream(new OutputStream() {
+					@Override
+					public void write(int b) {
+					}
+				}, digest))) {
+			if (!writeAlgorithm(out, algorithm)) {
+				return null;
+			}
+			Graph graph = context.getGraph();
+			writeAttributes(out,
+					graph == null ? null : graph.getAttributes());
+			List<Node> nodes = context.getNodesUnmodifiable();
+			out.writeInt(nodes.size());
+			for (Node node : nodes) {
+				writeAttributes(out, node.getAttributes());
+			}
+			List<Edge> edges = context.getEdgesUnmodifiable();
+			out.writeInt(edges.size());
+			for (Edge edge : edges) {
+				out.writeInt(context.getNodeIndex(edge.getSource()));
+				out.writeInt(context.getNodeIndex(edge.getTarget()));
+				writeAttributes(out, edge.getAttributes());
+			}
+		} catch (IOException e) {
+			// not thrown when writing to the digest
+			throw new IllegalStateException(e);
+		}
+		StringBuilder key = new StringBuilder();
+		for (byte b : digest.digest()) {
+			key.append(String.format("%02x", b));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Writes the class and parameters of the given algorithm, or returns
+	 * <code>false</code> if they are unknown.
+	 */
+	private static boolean writeAlgorithm(DataOutputStream out,
+			ILayoutAlgorithm algorithm) throws IOException {
+		if (!(algorithm instanceof ICacheableLayoutAlgorithm)) {
+			return false;
+		}
+		Object[] parameters = ((ICacheableLayoutAlgorithm) algorithm)
+				.getLayoutParameters();
+		if (parameters == null) {
+			return false;
+		}
+		out.writeUTF(algorithm.getClass().getName());
+		out.writeInt(parameters.length);
+		for (Object parameter : parameters) {
+			if (parameter instanceof ILayoutAlgorithm) {
+				if (!writeAlgorithm(out, (ILayoutAlgorithm) parameter)) {
+					return false;
+				}
+			} else if (parameter == null || isSimpleType(parameter.getClass())
+					|| parameter instanceof Point
+					|| parameter instanceof Dimension
+					|| parameter instanceof Rectangle) {
+				writeValue(out, parameter);
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void writeAttributes(DataOutputStream out,
+			Map<String, Object> attributes) throws IOException {
+		if (attributes == null) {
+			out.writeInt(-1);
+			return;
+		}
+		Map<String, Object> sorted = new TreeMap<>();
+		for (Entry<String, Object> entry : attributes.entrySet()) {
+			Object value = entry.getValue();
+			if (value != null && (isSimpleType(value.getClass())
+					|| LayoutProperties.isLayoutProperty(entry.getKey()))) {
+				sorted.put(entry.getKey(), value);
+			}
+		}
+		out.writeInt(sorted.size());
+		for (Entry<String, Object> entry : sorted.entrySet()) {
+			out.writeUTF(entry.getKey());
+			writeValue(out, entry.getValue());
+		}
+	}
+
+	private static void writeValue(DataOutputStream out, Object value)
+			throws IOException {
+		if (value instanceof Point) {
+			Point point = (Point) value;
+			out.writeDouble(point.x);
+			out.writeDouble(point.y);
+		} else if (value instanceof Dimension) {
+			Dimension dimension = (Dimension) value;
+			out.writeDouble(dimension.width);
+			out.writeDouble(dimension.height);
+		} else if (value instanceof Rectangle) {
+			Rectangle rectangle = (Rectangle) value;
+			out.writeDouble(rectangle.getX());
+			out.writeDouble(rectangle.getY());
+			out.writeDouble(rectangle.getWidth());
+			out.writeDouble(rectangle.getHeight());
+		} else if (value == null || isSimpleType(value.getClass())) {
+			out.writeUTF(String.valueOf(value));
+		} else {
+			// layout properties of other types only contribute their type
+			out.writeUTF(value.getClass().getName());
+		}
+	}
+
+	private static boolean isSimpleType(Class<?> type) {
+		return type.isPrimitive() && type != void.class
+				|| type == String.class || type == Boolean.class
+				|| type == Character.class
+				|| Number.class.isAssignableFrom(type) || type.isEnum();
+	}
+
+}
@@ -13,9 +13,16 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -57,16 +64,32 @@ class AlgorithmHelper {
 	 */
 	public static void fitWithinBounds(Node[] entities,
 			Rectangle destinationBounds, boolean resize) {
-		if (entities.length == 1) {
-			fitSingleEntity(entities[0], destinationBounds, resize);
+		fitWithinBounds(Arrays.asList(entities), destinationBounds, resize);
+	}
+
+	/**
+	 * Fits given entities within given bounds, preserving their relative
+	 * locations (see {@link #fitWithinBounds(Node[], Rectangle, boolean)}).
+	 * 
+	 * @param entities
+	 *            The {@link Node}s to fit.
+	 * @param destinationBounds
+	 *            The {@link Rectangle} representing the layout bounds.
+	 * @param resize
+	 *            <code>true</code> to indicate that the entities can be
+	 *            resized, otherwise <code>false</code>.
+	 */
+	public static void fitWithinBounds(List<Node> entities,
+			Rectangle destinationBounds, boolean resize) {
+		if (entities.size() == 1) {
+			fitSingleEntity(entities.get(0), destinationBounds, resize);
 			return;
 		}
 		Rectangle startingBounds = getLayoutBounds(entities, false);
 		double sizeScale = Math.min(
 				destinationBounds.getWidth() / startingBounds.getWidth(),
 				destinationBounds.getHeight() / startingBounds.getHeight());
-		for (int i = 0; i < entities.length; i++) {
-			Node entity = entities[i];
+		for (Node entity : entities) {
 			Dimension size = LayoutProperties.getSize(entity);
 			if (LayoutProperties.isMovable(entity)) {
 				Point location = LayoutProperties.getLocation(entity);
@@ -117,6 +140,56 @@ class AlgorithmHelper {
 		}
 	}
 
+	/**
+	 * Computes the (undirected) adjacency of the given nodes with respect to
+	 * the given edges. The nodes are identified by their index within the given
+	 * array. Self-loops and edges connecting nodes that are not contained in
+	 * the given array are ignored, parallel edges are retained.
+	 *
+	 * @param entities
+	 *            The {@link Node}s for which to compute the adjacency.
+	 * @param edges
+	 *            The {@link Edge}s connecting the nodes.
+	 * @return An array that contains the indices of the adjacent nodes for
+	 *         each node.
+	 */
+	public static int[][] getAdjacency(Node[] entities, Edge[] edges) {
+		Map<Node, Integer> entityToPosition = new IdentityHashMap<>();
+		for (int i = 0; i < entities.length; i++) {
+			entityToPosition.put(entities[i], i);
+		}
+		int[] sources = new int[edges.length];
+		int[] targets = new int[edges.length];
+		int edgeCount = 0;
+		for (Edge edge : edges) {
+			Integer source = entityToPosition.get(edge.getSource());
+			Integer target = entityToPosition.get(edge.getTarget());
+			if (source == null || target == null
+					|| source.intValue() == target.intValue()) {
+				continue;
+			}
+			sources[edgeCount] = source;
+			targets[edgeCount] = target;
+			edgeCount++;
+		}
+		int n = entities.length;
+		int[] degree = new int[n + 1];
+		for (int e = 0; e < edgeCount; e++) {
+			degree[sources[e]]++;
+			degree[targets[e]]++;
+		}
+		int[][] adjacency = new int[n][];
+		for (int i = 0; i < n; i++) {
+			adjacency[i] = new int[degree[i]];
+			degree[i] = 0;
+		}
+		for (int e = 0; e < edgeCount; e++) {
+			adjacency[sources[e]][degree[sources[e]]++] = targets[e];
+			adjacency[targets[e]][degree[targets[e]]++] = sources[e];
+		}
+		return adjacency;
+	}
+
 	/**
 	 * Resizes the nodes so that they have a maximal area without overlapping
 	 * each other, with additional empty space of 20% of node's width (or
@@ -126,14 +199,24 @@ class AlgorithmHelper {
 	 *            The {@link Node}s of which the sizes are maximized.
 	 */
 	public static void maximizeSizes(Node[] entities) {
-		if (entities.length > 1) {
+		maximizeSizes(Arrays.asList(entities));
+	}
+
+	/**
+	 * Resizes the nodes so that they have a maximal area without overlapping
+	 * each other (see {@link #maximizeSizes(Node[])}).
+	 * 
+	 * @param entities
+	 *            The {@link Node}s of which the sizes are maximized.
+	 */
+	public static void maximizeSizes(List<Node> entities) {
+		if (entities.size() > 1) {
 			Dimension minDistance = getMinimumDistance(entities);
 			double nodeSize = Math.max(minDistance.width, minDistance.height)
 					* PADDING_PERCENT;
 			double width = nodeSize;
 			double height = nodeSize;
-			for (int i = 0; i < entities.length; i++) {
-				Node entity = entities[i];
+			for (Node entity : entities) {
 				if (LayoutProperties.isResizable(entity)) {
 					double preferredRatio = LayoutProperties
 							.getPreferredAspectRatio(entity);
@@ -186,12 +269,28 @@ class AlgorithmHelper {
 	 */
 	public static Rectangle getLayoutBounds(Node[] entities,
 			boolean includeNodeSize) {
+		return getLayoutBounds(Arrays.asList(entities), includeNodeSize);
+	}
+
+	/**
+	 * Find the bounds in which the nodes are located (see
+	 * {@link #getLayoutBounds(Node[], boolean)}).
+	 * 
+	 * @param entities
+	 *            The {@link Node}s for which the layout bounds are computed.
+	 * @param includeNodeSize
+	 *            <code>true</code> to indicate that the entities' sizes should
+	 *            be taken into consideration, otherwise <code>false</code>.
+	 * @return A {@link Rectangle} representing the layout bounds of the given
+	 *         {@link Node}s.
+	 */
+	public static Rectangle getLayoutBounds(List<Node> entities,
+			boolean includeNodeSize) {
 		double rightSide = Double.NEGATIVE_INFINITY;
 		double bottomSide = Double.NEGATIVE_INFINITY;
 		double leftSide = Double.POSITIVE_INFINITY;
 		double topSide = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < entities.length; i++) {
-			Node entity = entities[i];
+		for (Node entity : entities) {
 			Point location = LayoutProperties.getLocation(entity);
 			Dimension size = LayoutProperties.getSize(entity);
 			if (includeNodeSize) {
@@ -238,26 +337,136 @@ class AlgorithmHelper {
 	 *         y-direction).
 	 */
 	public static Dimension getMinimumDistance(Node[] entities) {
+		return getMinimumDistance(Arrays.asList(entities));
+	}
+
+	/**
+	 * Determines the distance of the two closest nodes (see
+	 * {@link #getMinimumDistance(Node[])}).
+	 * 
+	 * @param entities
+	 *            The {@link Node}s for which the minimum distance is computed.
+	 * @return A {@link Dimension} representing the minimum distance (in x- and
+	 *         y-direction).
+	 */
+	public static Dimension getMinimumDistance(List<Node> entities) {
 		Dimension horAndVertdistance = new Dimension(Double.MAX_VALUE,
 				Double.MAX_VALUE);
-		double minDistance = Double.MAX_VALUE;
+		int n = entities.size();
+		if (n < 2) {
+			return horAndVertdistance;
+		}
 
-		// TODO: Very Slow!
-		for (int i = 0; i < entities.length; i++) {
-			Point location1 = LayoutProperties.getLocation(entities[i]);
-			for (int j = i + 1; j < entities.length; j++) {
-				Point location2 = LayoutProperties.getLocation(entities[j]);
-				double distanceX = location1.x - location2.x;
-				double distanceY = location1.y - location2.y;
-				double distance = distanceX * distanceX + distanceY * distanceY;
+		// find the closest pair by divide and conquer (in O(n log n))
+		final double[] x = new double[n];
+		final double[] y = new double[n];
+		Integer[] byX = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			Point location = LayoutProperties.getLocation(entities.get(i));
+			x[i] = location.x;
+			y[i] = location.y;
+			byX[i] = i;
+		}
+		Arrays.sort(byX, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i, Integer j) {
+				return Double.compare(x[i], x[j]);
+			}
+		});
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = byX[i];
+		}
+		int[] closestPair = new int[2];
+		double[] minDistance = { Double.MAX_VALUE };
+		findClosestPair(x, y, order, 0, n, new int[n], closestPair,
+				minDistance);
+		if (minDistance[0] < Double.MAX_VALUE) {
+			horAndVertdistance.width = Math
+					.abs(x[closestPair[0]] - x[closestPair[1]]);
+			horAndVertdistance.height = Math
+					.abs(y[closestPair[0]] - y[closestPair[1]]);
+		}
+		return horAndVertdistance;
+	}
 
-				if (distance < minDistance) {
-					minDistance = distance;
-					horAndVertdistance.width = Math.abs(distanceX);
-					horAndVertdistance.height = Math.abs(distanceY);
+	/**
+	 * Finds the closest pair of points within the given range of the given
+	 * order, which is sorted by x coordinate, and updates the given closest
+	 * pair and (squared) minimum distance if it is closer. Afterwards, the
+	 * range is sorted by y coordinate.
+	 */
+	private static void findClosestPair(double[] x, double[] y, int[] order,
+			int start, int end, int[] buffer, int[] closestPair,
+			double[] minDistance) {
+		if (end - start <= 3) {
+			for (int i = start; i < end; i++) {
+				for (int j = i + 1; j < end; j++) {
+					updateClosestPair(x, y, order[i], order[j], closestPair,
+							minDistance);
+				}
+			}
+			// insertion sort by y
+			for (int i = start + 1; i < end; i++) {
+				int p = order[i];
+				int j = i - 1;
+				while (j >= start && y[order[j]] > y[p]) {
+					order[j + 1] = order[j];
+					j--;
 				}
+				order[j + 1] = p;
 			}
+			return;
+		}
+		int mid = (start + end) >>> 1;
+		double midX = x[order[mid]];
+		findClosestPair(x, y, order, start, mid, buffer, closestPair,
+				minDistance);
+		findClosestPair(x, y, order, mid, end, buffer, closestPair,
+				minDistance);
+
+		// merge the halves by y coordinate
+		int i = start;
+		int j = mid;
+		int k = start;
+		while (i < mid || j < end) {
+			if (j >= end || i < mid && y[order[i]] <= y[order[j]]) {
+				buffer[k++] = order[i++];
+			} else {
+				buffer[k++] = order[j++];
+			}
+		}
+		System.arraycopy(buffer, start, order, start, end - start);
+
+		// compare the points within the strip around the middle
+		int stripSize = 0;
+		for (i = start; i < end; i++) {
+			double dx = x[order[i]] - midX;
+			if (dx * dx < minDistance[0]) {
+				buffer[stripSize++] = order[i];
+			}
+		}
+		for (i = 0; i < stripSize; i++) {
+			for (j = i + 1; j < stripSize; j++) {
+				double dy = y[buffer[j]] - y[buffer[i]];
+				if (dy * dy >= minDistance[0]) {
+					break;
+				}
+				updateClosestPair(x, y, buffer[i], buffer[j], closestPair,
+						minDistance);
+			}
+		}
+	}
+
+	private static void updateClosestPair(double[] x, double[] y, int i,
+			int j, int[] closestPair, double[] minDistance) {
+		double distanceX = x[i] - x[j];
+		double distanceY = y[i] - y[j];
+		double distance = distanceX * distanceX + distanceY * distanceY;
+		if (distance < minDistance[0]) {
+			minDistance[0] = distance;
+			closestPair[0] = i;
+			closestPair[1] = j;
 		}
-		return horAndVertdistance;
 	}
 }
@@ -0,0 +1,371 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.Arrays;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link BalloonTreeLayoutAlgorithm} arranges a tree (or forest) as nested
+ * balloons: the roots are surrounded by their children, and the children of
+ * every other node are fanned out around it, on the side that faces away from
+ * its parent. In contrast to the {@link RadialLayoutAlgorithm}, which maps a
+ * layered tree layout to polar coordinates, the angular wedge of each child is
+ * derived from the space that its subtree occupies, so that large subtrees get
+ * more room than small ones, and no rescaling is necessary afterwards.
+ * <p>
+ * Each subtree is described by a wedge with its root as apex, i.e. by the
+ * angle between its outermost nodes and the direction from the parent to the
+ * root, and by the distance of its farthest node. These are computed
+ * bottom-up in a single pass: the ring radius of a node is the smallest
+ * radius for which the wedges of its children (as seen from the node) fit
+ * into a half circle, and the children are packed around the direction away
+ * from the parent. A node with a single child therefore continues the
+ * direction of its parent, so that paths are drawn as straight lines. The
+ * locations are computed top-down in a second pass, so that the layout takes
+ * linear time. As the wedges of siblings are disjoint, nodes do not overlap
+ * and edges do not cross.
+ * <p>
+ * The spanning tree is computed by a breadth first search that starts at the
+ * nodes without incoming edges (in the order of the nodes). Edges to nodes
+ * that were already visited are ignored, and nodes that are only reachable
+ * via cycles are used as additional roots. The trees of a forest are arranged
+ * around a common center.
+ * <p>
+ * The computed layout is not scaled, but centered within the layout bounds.
+ */
+public class BalloonTreeLayoutAlgorithm implements ICacheableLayoutAlgorithm {
+
+	private static final double DEFAULT_NODE_SPACING = 10;
+	private static final double TWO_PI = 2 * Math.PI;
+	private static final double HALF_PI = Math.PI / 2;
+	private static final int BISECTION_STEPS = 12;
+
+	private double nodeSpacing = DEFAULT_NODE_SPACING;
+
+	// the tree, the virtual root (with index n) connects all roots
+	private int[] parent;
+	private int[] order;
+	private int[] childOffsets;
+	private int[] children;
+
+	// the radius of the circle enclosing each node, and the wedge (half
+	// angle and radius) of each subtree
+	private double[] extent;
+	private double[] spread;
+	private double[] reach;
+
+	public Object[] getLayoutParameters() {
+		return new Object[] { nodeSpacing };
+	}
+
+	public void applyLayout(LayoutContext layoutContext, boolean clean) {
+		if (!clean) {
+			return;
+		}
+		Node[] entities = layoutContext.getNodes();
+		int n = entities.length;
+		if (n == 0) {
+			return;
+		}
+		buildTree(layoutContext, n);
+
+		extent = new double[n + 1];
+		double[] width = new double[n];
+		double[] height = new double[n];
+		for (int v = 0; v < n; v++) {
+			Dimension size = LayoutProperties.getSize(entities[v]);
+			if (size != null) {
+				width[v] = size.width;
+				height[v] = size.height;
+				extent[v] = Math.sqrt(size.width * size.width
+						+ size.height * size.height) / 2;
+			}
+		}
+
+		double[] ringRadius = new double[n + 1];
+		double[] angle = new double[n + 1];
+		computeWedges(n, ringRadius, angle);
+
+		// place the nodes top-down, the angle of each child is relative to
+		// the direction from the parent of its parent to its parent
+		double[] x = new double[n + 1];
+		double[] y = new double[n + 1];
+		double[] direction = new double[n + 1];
+		for (int i = 1; i <= n; i++) {
+			int v = order[i];
+			int p = parent[v];
+			double theta = direction[p] + angle[v];
+			direction[v] = theta;
+			x[v] = x[p] + ringRadius[p] * Math.cos(theta);
+			y[v] = y[p] + ringRadius[p] * Math.sin(theta);
+		}
+
+		// center the drawing within the layout bounds
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int v = 0; v < n; v++) {
+			minX = Math.min(minX, x[v] - width[v] / 2);
+			minY = Math.min(minY, y[v] - height[v] / 2);
+			maxX = Math.max(maxX, x[v] + width[v] / 2);
+			maxY = Math.max(maxY, y[v] + height[v] / 2);
+		}
+		Rectangle bounds = LayoutProperties
+				.getBounds(layoutContext.getGraph());
+		double dx = -(minX + maxX) / 2;
+		double dy = -(minY + maxY) / 2;
+		if (bounds != null) {
+			dx += bounds.getCenter().x;
+			dy += bounds.getCenter().y;
+		}
+		double[] locationX = new double[n];
+		double[] locationY = new double[n];
+		for (int v = 0; v < n; v++) {
+			if (LayoutProperties.isMovable(entities[v])) {
+				locationX[v] = x[v] + dx;
+				locationY[v] = y[v] + dy;
+			} else {
+				locationX[v] = Double.NaN;
+			}
+		}
+		layoutContext.commitLayout(entities, locationX, locationY, null, null);
+		extent = null;
+		spread = null;
+		reach = null;
+	}
+
+	/**
+	 * Computes a breadth first spanning forest of the nodes and connects its
+	 * roots to a virtual root. The resulting order lists each node after its
+	 * parent, and the children of each node in the order of the edges.
+	 */
+	private void buildTree(LayoutContext layoutContext, int n) {
+		Edge[] edges = layoutContext.getEdges();
+		// outgoing adjacency in compressed sparse row format
+		int[] sources = new int[edges.length];
+		int[] targets = new int[edges.length];
+		int m = 0;
+		int[] outOffsets = new int[n + 1];
+		boolean[] hasIncoming = new boolean[n];
+		for (Edge edge : edges) {
+			int source = layoutContext.getNodeIndex(edge.getSource());
+			int target = layoutContext.getNodeIndex(edge.getTarget());
+			if (source < 0 || target < 0 || source == target) {
+				continue;
+			}
+			sources[m] = source;
+			targets[m] = target;
+			outOffsets[source + 1]++;
+			hasIncoming[target] = true;
+			m++;
+		}
+		for (int v = 0; v < n; v++) {
+			outOffsets[v + 1] += outOffsets[v];
+		}
+		int[] out = new int[m];
+		int[] fill = Arrays.copyOf(outOffsets, n);
+		for (int e = 0; e < m; e++) {
+			out[fill[sources[e]]++] = targets[e];
+		}
+
+		// breadth first search, starting with the sources
+		parent = new int[n + 1];
+		order = new int[n + 1];
+		Arrays.fill(parent, -1);
+		int root = n;
+		order[0] = root;
+		int tail = 1;
+		boolean[] visited = new boolean[n];
+		for (int pass = 0; pass < 2; pass++) {
+			for (int r = 0; r < n; r++) {
+				// first pass: sources, second pass: remaining cycles
+				if (visited[r] || (pass == 0 && hasIncoming[r])) {
+					continue;
+				}
+				visited[r] = true;
+				parent[r] = root;
+				int start = tail;
+				order[tail++] = r;
+				for (int i = start; i < tail; i++) {
+					int v = order[i];
+					for (int e = outOffsets[v]; e < outOffsets[v + 1]; e++) {
+						int w = out[e];
+						if (!visited[w]) {
+							visited[w] = true;
+							parent[w] = v;
+							order[tail++] = w;
+						}
+					}
+				}
+			}
+		}
+
+		// children in compressed sparse row format (in search order)
+		childOffsets = new int[n + 2];
+		for (int v = 0; v < n; v++) {
+			childOffsets[parent[v] + 1]++;
+		}
+		for (int v = 0; v <= n; v++) {
+			childOffsets[v + 1] += childOffsets[v];
+		}
+		children = new int[n];
+		fill = Arrays.copyOf(childOffsets, n + 1);
+		for (int i = 1; i <= n; i++) {
+			int v = order[i];
+			children[fill[parent[v]]++] = v;
+		}
+	}
+
+	/**
+	 * Computes the wedges bottom-up (in reverse search order). For each node,
+	 * the radius of the ring on which its children are placed is stored in
+	 * <i>ringRadius</i>, and for each child, its angle relative to the
+	 * direction from the parent of the node to the node is stored in
+	 * <i>angle</i>.
+	 */
+	private void computeWedges(int n, double[] ringRadius, double[] angle) {
+		spread = new double[n + 1];
+		reach = Arrays.copyOf(extent, n + 1);
+		for (int i = n; i >= 0; i--) {
+			int v = order[i];
+			int first = childOffsets[v];
+			int last = childOffsets[v + 1];
+			if (first == last) {
+				continue;
+			}
+			// the children of the roots surround them, the other children
+			// are placed in the half circle facing away from the parent
+			boolean isRoot = v == n || parent[v] == n;
+			double available = isRoot ? TWO_PI : Math.PI;
+			if (v == n && last - first == 1) {
+				// a single root is placed at the center
+				continue;
+			}
+
+			// the nodes of the children must not overlap the node, and
+			// subtrees that surround their root must not contain it
+			double r = 0;
+			for (int c = first; c < last; c++) {
+				int w = children[c];
+				r = Math.max(r, extent[v] + extent[w] + nodeSpacing);
+				if (spread[w] > HALF_PI) {
+					r = Math.max(r, extent[v] + reach[w] + nodeSpacing);
+				}
+			}
+			// The wedges shrink with growing radius, so the smallest radius
+			// for which they fit is bracketed by doubling and then
+			// approximated from above by bisection.
+			if (getWedges(v, r, angle) > available) {
+				double low = r;
+				double high = 2 * r;
+				while (getWedges(v, high, angle) > available) {
+					low = high;
+					high *= 2;
+				}
+				for (int step = 0; step < BISECTION_STEPS; step++) {
+					double middle = (low + high) / 2;
+					if (getWedges(v, middle, angle) > available) {
+						low = middle;
+					} else {
+						high = middle;
+					}
+				}
+				r = high;
+			}
+			double total = getWedges(v, r, angle);
+
+			// pack the children around the direction away from the parent,
+			// or spread them around the roots
+			double scale = isRoot ? available / total : 1;
+			double start = -total * scale / 2;
+			double maxReach = 0;
+			for (int c = first; c < last; c++) {
+				int w = children[c];
+				double halfWedge = angle[w] * scale;
+				angle[w] = start + halfWedge;
+				start += 2 * halfWedge;
+				spread[v] = Math.max(spread[v], Math.abs(angle[w]) + halfWedge);
+				maxReach = Math.max(maxReach, reach[w]);
+			}
+			spread[v] = Math.min(spread[v], Math.PI);
+			ringRadius[v] = r;
+			reach[v] = Math.max(extent[v], r + maxReach);
+		}
+	}
+
+	/**
+	 * Stores the half angle of the wedge of each child of the given node, as
+	 * seen from the node if the child is placed at the given distance, in
+	 * <i>angle</i> and returns the sum of the (full) angles.
+	 */
+	private double getWedges(int v, double r, double[] angle) {
+		double halfSpacing = nodeSpacing / 2;
+		double padding = Math.asin(Math.min(1, halfSpacing / r));
+		double sum = 0;
+		for (int c = childOffsets[v]; c < childOffsets[v + 1]; c++) {
+			int w = children[c];
+			double halfWedge = Math
+					.asin(Math.min(1, (extent[w] + halfSpacing) / r));
+			if (reach[w] > extent[w]) {
+				// the wedge of the subtree, whose apex has the distance r
+				double s = spread[w];
+				double t;
+				if (s <= HALF_PI) {
+					t = Math.atan2(reach[w] * Math.sin(s),
+							r + reach[w] * Math.cos(s));
+				} else {
+					t = reach[w] < r ? Math.asin(reach[w] / r) : Math.PI;
+				}
+				halfWedge = Math.max(halfWedge, t + padding);
+			}
+			angle[w] = Math.min(halfWedge, Math.PI);
+			sum += 2 * angle[w];
+		}
+		return sum;
+	}
+
+	/**
+	 * Returns the minimum distance between the nodes of two neighboring
+	 * subtrees.
+	 *
+	 * @return The node spacing.
+	 */
+	public double getNodeSpacing() {
+		return nodeSpacing;
+	}
+
+	/**
+	 * Sets the minimum distance between the nodes of two neighboring
+	 * subtrees, and between a node and its children (default is 10).
+	 *
+	 * @param nodeSpacing
+	 *            The new node spacing.
+	 */
+	public void setNodeSpacing(double nodeSpacing) {
+		if (nodeSpacing < 0) {
+			throw new IllegalArgumentException(
+					"Node spacing may not be negative: " + nodeSpacing);
+		}
+		this.nodeSpacing = nodeSpacing;
+	}
+}
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * The {@link BarnesHutQuadTree} is a region quad tree over a set of points that
+ * is used to approximate the repulsive forces between all pairs of points in
+ * <code>O(n log n)</code>. Cells that are far enough away from a point (with
+ * respect to the opening criterion <i>theta</i>) are treated as a single point
+ * located at their center of mass.
+ * <p>
+ * The tree is stored in primitive arrays, so that it can be rebuilt cheaply in
+ * each iteration of a force-directed layout algorithm. After
+ * {@link #build(double[], double[], int)} returned, the tree may be queried
+ * concurrently.
+ */
+class BarnesHutQuadTree {
+
+	/**
+	 * The maximum depth of the tree. Points that cannot be separated within
+	 * this depth (e.g. coincident points) are stored in the same leaf.
+	 */
+	private static final int MAX_DEPTH = 24;
+
+	private int cellCount;
+	private double[] cellX, cellY, cellSize;
+	private double[] massX, massY, mass;
+	private int[] children, parent, depth, head;
+	private int[] next;
+	private double[] x, y;
+
+	/**
+	 * Constructs a new, empty {@link BarnesHutQuadTree}.
+	 */
+	public BarnesHutQuadTree() {
+		allocateCells(64);
+	}
+
+	private void allocateCells(int capacity) {
+		cellX = cellX == null ? new double[capacity]
+				: Arrays.copyOf(cellX, capacity);
+		cellY = cellY == null ? new double[capacity]
+				: Arrays.copyOf(cellY, capacity);
+		cellSize = cellSize == null ? new double[capacity]
+				: Arrays.copyOf(cellSize, capacity);
+		massX = massX == null ? new double[capacity]
+				: Arrays.copyOf(massX, capacity);
+		massY = massY == null ? new double[capacity]
+				: Arrays.copyOf(massY, capacity);
+		mass = mass == null ? new double[capacity]
+				: Arrays.copyOf(mass, capacity);
+		parent = parent == null ? new int[capacity]
+				: Arrays.copyOf(parent, capacity);
+		depth = depth == null ? new int[capacity]
+				: Arrays.copyOf(depth, capacity);
+		head = head == null ? new int[capacity] : Arrays.copyOf(head, capacity);
+		children = children == null ? new int[4 * capacity]
+				: Arrays.copyOf(children, 4 * capacity);
+	}
+
+	/**
+	 * Rebuilds this tree for the first <i>n</i> points given by their x and y
+	 * coordinates. The arrays are referenced (not copied) and must not be
+	 * changed while the tree is queried.
+	 *
+	 * @param x
+	 *            The x coordinates of the points.
+	 * @param y
+	 *            The y coordinates of the points.
+	 * @param n
+	 *            The number of points.
+	 */
+	public void build(double[] x, double[] y, int n) {
+		this.x = x;
+		this.y = y;
+		if (next == null || next.length < n) {
+			next = new int[n];
+		}
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		cellCount = 0;
+		if (n == 0) {
+			return;
+		}
+		double size = Math.max(Math.max(maxX - minX, maxY - minY), 1e-9);
+		createCell(-1, minX, minY, size * 1.0001);
+		for (int i = 0; i < n; i++) {
+			insert(i);
+		}
+		computeMasses();
+	}
+
+	private int createCell(int parentCell, double cx, double cy,
+			double size) {
+		if (cellCount == parent.length) {
+			allocateCells(2 * cellCount);
+		}
+		int cell = cellCount++;
+		cellX[cell] = cx;
+		cellY[cell] = cy;
+		cellSize[cell] = size;
+		parent[cell] = parentCell;
+		depth[cell] = parentCell < 0 ? 0 : depth[parentCell] + 1;
+		head[cell] = -1;
+		mass[cell] = 0;
+		massX[cell] = 0;
+		massY[cell] = 0;
+		Arrays.fill(children, 4 * cell, 4 * cell + 4, -1);
+		return cell;
+	}
+
+	private int getOrCreateChild(int cell, int point) {
+		double half = cellSize[cell] / 2;
+		int quadrant = 0;
+		double cx = cellX[cell];
+		double cy = cellY[cell];
+		if (x[point] >= cx + half) {
+			quadrant |= 1;
+			cx += half;
+		}
+		if (y[point] >= cy + half) {
+			quadrant |= 2;
+			cy += half;
+		}
+		int child = children[4 * cell + quadrant];
+		if (child < 0) {
+			// create cell first, as the children array may be reallocated
+			child = createCell(cell, cx, cy, half);
+			children[4 * cell + quadrant] = child;
+		}
+		return child;
+	}
+
+	private boolean isLeaf(int cell) {
+		int base = 4 * cell;
+		return children[base] < 0 && children[base + 1] < 0
+				&& children[base + 2] < 0 && children[base + 3] < 0;
+	}
+
+	private void insert(int point) {
+		int cell = 0;
+		while (true) {
+			if (isLeaf(cell)) {
+				if (head[cell] < 0 || depth[cell] >= MAX_DEPTH) {
+					next[point] = head[cell];
+					head[cell] = point;
+					return;
+				}
+				// split leaf, pushing its single point down one level
+				int existing = head[cell];
+				head[cell] = -1;
+				int child = getOrCreateChild(cell, existing);
+				head[child] = existing;
+				next[existing] = -1;
+			}
+			cell = getOrCreateChild(cell, point);
+		}
+	}
+
+	private void computeMasses() {
+		// children are always created after their parents, therefore, a
+		// reverse iteration processes all children before their parent
+		for (int cell = cellCount - 1; cell >= 0; cell--) {
+			for (int p = head[cell]; p >= 0; p = next[p]) {
+				mass[cell]++;
+				massX[cell] += x[p];
+				massY[cell] += y[p];
+			}
+			int parentCell = parent[cell];
+			if (parentCell >= 0) {
+				mass[parentCell] += mass[cell];
+				massX[parentCell] += massX[cell];
+				massY[parentCell] += massY[cell];
+			}
+		}
+		for (int cell = 0; cell < cellCount; cell++) {
+			if (mass[cell] > 0) {
+				massX[cell] /= mass[cell];
+				massY[cell] /= mass[cell];
+			}
+		}
+	}
+
+	/**
+	 * Accumulates the approximated repulsive force that all other points exert
+	 * on the point with the given index. The force between two points at
+	 * distance <i>d</i> is <code>strength / d</code>, directed away from the
+	 * other point.
+	 *
+	 * @param i
+	 *            The index of the point for which to compute the force.
+	 * @param strength
+	 *            The strength of the repulsion.
+	 * @param theta
+	 *            The opening criterion, i.e. a cell is approximated by its
+	 *            center of mass if <code>size / distance &lt; theta</code>.
+	 * @param stack
+	 *            An <code>int[]</code> used as traversal stack. Will be
+	 *            replaced if it is too small.
+	 * @param force
+	 *            A <code>double[2]</code> to which the force is added.
+	 * @return The (possibly reallocated) traversal stack.
+	 */
+	public int[] addRepulsiveForce(int i, double strength, double theta,
+			int[] stack, double[] force) {
+		if (cellCount == 0) {
+			return stack;
+		}
+		double xi = x[i];
+		double yi = y[i];
+		double theta2 = theta * theta;
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int cell = stack[--top];
+			if (mass[cell] == 0) {
+				continue;
+			}
+			if (isLeaf(cell)) {
+				for (int p = head[cell]; p >= 0; p = next[p]) {
+					if (p != i) {
+						addForce(xi - x[p], yi - y[p], i - p, strength, force);
+					}
+				}
+				continue;
+			}
+			double dx = xi - massX[cell];
+			double dy = yi - massY[cell];
+			double d2 = dx * dx + dy * dy;
+			double size = cellSize[cell];
+			if (size * size < theta2 * d2) {
+				addForce(dx, dy, 1, strength * mass[cell], force);
+			} else {
+				if (top + 4 > stack.length) {
+					stack = Arrays.copyOf(stack, 2 * stack.length + 4);
+				}
+				for (int q = 0; q < 4; q++) {
+					int child = children[4 * cell + q];
+					if (child >= 0) {
+						stack[top++] = child;
+					}
+				}
+			}
+		}
+		return stack;
+	}
+
+	private static void addForce(double dx, double dy, int tieBreaker,
+			double strength, double[] force) {
+		double d2 = dx * dx + dy * dy;
+		if (d2 < 1e-12) {
+			// coincident points: separate them along a deterministic direction
+			double angle = tieBreaker * 2.399963229728653;
+			dx = Math.cos(angle) * 1e-3;
+			dy = Math.sin(angle) * 1e-3;
+			d2 = 1e-6;
+		}
+		force[0] += strength * dx / d2;
+		force[1] += strength * dy / d2;
+	}
+}
@@ -13,6 +13,8 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.Arrays;
+
 /**
  * Layout algorithm that places all elements in one column or one row, depending
  * on set orientation.
@@ -81,6 +83,14 @@ public class BoxLayoutAlgorithm extends GridLayoutAlgorithm {
 			throw new RuntimeException("Invalid orientation: " + orientation);
 	}
 
+	@Override
+	public Object[] getLayoutParameters() {
+		Object[] parameters = super.getLayoutParameters();
+		parameters = Arrays.copyOf(parameters, parameters.length + 1);
+		parameters[parameters.length - 1] = orientation;
+		return parameters;
+	}
+
 	protected int[] calculateNumberOfRowsAndCols(int numChildren, double boundX,
 			double boundY, double boundWidth, double boundHeight) {
 		if (orientation == HORIZONTAL)
@@ -0,0 +1,754 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link CircularLayoutAlgorithm} places the nodes of each biconnected
+ * component (block) of the (undirected) graph on a circle, similar to the
+ * circo layout of Graphviz:
+ * <ol>
+ * <li>The blocks and cut vertices are determined by an iterative variant of
+ * the Hopcroft-Tarjan depth-first search, so that deep graphs do not overflow
+ * the stack.
+ * <li>The nodes of each block are initially ordered by a depth-first search
+ * within the block that prefers neighbors of low degree, which places long
+ * paths along the circle. The order is then refined by repeatedly sorting the
+ * nodes by the circular mean of the angles of their neighbors, as long as
+ * this shortens the edges along the circle, which reduces the number of
+ * crossing chords.
+ * <li>The blocks are arranged along the block-cut tree, starting with the
+ * largest block (or with the node shared by the most blocks, e.g. the center
+ * of a star): the subtrees of the blocks sharing a cut vertex with a placed
+ * block are fanned out around that vertex, away from the placed block, each
+ * within a wedge sized by the extent of the subtree. The subtrees of
+ * different nodes of a block stay within disjoint sectors around its center,
+ * so that the nodes of the blocks do not overlap. Where there is enough room,
+ * the cut vertex lies on the circles of all its blocks; otherwise the child
+ * blocks are moved away from it.
+ * </ol>
+ * The radius of a circle is chosen so that adjacent nodes are separated by the
+ * node spacing, based on the largest node of the block. All steps take linear
+ * time, except for the sorting steps of the refinement and a bounded number of
+ * steps searching the distances of the child blocks. The connected
+ * components are placed next to each other; a
+ * {@link ComponentPackingLayoutAlgorithm} can be used to pack them instead.
+ * <p>
+ * The layout is translated to the origin of the layout bounds, but not scaled,
+ * and the locations of nodes that are not movable are not changed.
+ */
+public class CircularLayoutAlgorithm implements ICacheableLayoutAlgorithm {
+
+	private static final double DEFAULT_NODE_SPACING = 20;
+
+	/**
+	 * The maximum number of refinement rounds of the order of a block.
+	 */
+	private static final int MAX_REFINEMENT_ROUNDS = 8;
+
+	/**
+	 * The maximum number of steps when searching the distance by which the
+	 * child blocks of a cut vertex are moved away from it.
+	 */
+	private static final int MAX_SPREAD_STEPS = 32;
+
+	private double nodeSpacing = DEFAULT_NODE_SPACING;
+
+	// state of a layout pass (vertices are indices into the nodes)
+	private int[][] adjacency;
+	private double[] width;
+	private double[] height;
+	private double[] x;
+	private double[] y;
+	private int[][] blocksOf;
+	private int[] local;
+
+	// state of the placement of the blocks of a component
+	private int[] attachment;
+	private int[][] orders;
+	private double[] radius;
+	private double[] startAngle;
+	private double[][] discs;
+	private double[] extent;
+	private double[] centerX;
+	private double[] centerY;
+	private double[] rotation;
+
+	/**
+	 * Constructs a new {@link CircularLayoutAlgorithm}.
+	 */
+	public CircularLayoutAlgorithm() {
+	}
+
+	/**
+	 * Returns the minimum distance between the borders of two adjacent nodes
+	 * on a circle, which is also used as the distance between connected
+	 * components.
+	 *
+	 * @return The node spacing.
+	 */
+	public double getNodeSpacing() {
+		return nodeSpacing;
+	}
+
+	/**
+	 * Sets the minimum distance between the borders of two adjacent nodes on
+	 * a circle, which is also used as the distance between connected
+	 * components.
+	 *
+	 * @param nodeSpacing
+	 *            The new node spacing.
+	 */
+	public void setNodeSpacing(double nodeSpacing) {
+		if (nodeSpacing < 0) {
+			throw new IllegalArgumentException(
+					"Node spacing may not be negative.");
+		}
+		this.nodeSpacing = nodeSpacing;
+	}
+
+	public Object[] getLayoutParameters() {
+		return new Object[] { nodeSpacing };
+	}
+
+	public void applyLayout(LayoutContext context, boolean clean) {
+		if (!clean) {
+			return;
+		}
+		Node[] entities = context.getNodes();
+		int n = entities.length;
+		if (n == 0) {
+			return;
+		}
+		adjacency = removeParallelEdges(
+				AlgorithmHelper.getAdjacency(entities, context.getEdges()));
+		width = new double[n];
+		height = new double[n];
+		for (int i = 0; i < n; i++) {
+			Dimension size = LayoutProperties.getSize(entities[i]);
+			if (size != null) {
+				width[i] = size.width;
+				height[i] = size.height;
+			}
+		}
+
+		x = new double[n];
+		y = new double[n];
+		blocksOf = new int[n][];
+		local = new int[n];
+		Arrays.fill(local, -1);
+		int[] disc = new int[n];
+		Arrays.fill(disc, -1);
+		int[] low = new int[n];
+		int[] parent = new int[n];
+		int[] next = new int[n];
+		int[] stack = new int[n];
+		int[] vertexStack = new int[n];
+		int time = 0;
+		double offset = 0;
+		for (int root = 0; root < n; root++) {
+			if (disc[root] >= 0) {
+				continue;
+			}
+			// determine the blocks of the component (Hopcroft-Tarjan)
+			List<int[]> blocks = new ArrayList<>();
+			int top = 0;
+			int vertexTop = 0;
+			disc[root] = low[root] = time++;
+			parent[root] = -1;
+			stack[top++] = root;
+			vertexStack[vertexTop++] = root;
+			if (adjacency[root].length == 0) {
+				blocks.add(new int[] { root });
+			}
+			while (top > 0) {
+				int v = stack[top - 1];
+				if (next[v] < adjacency[v].length) {
+					int w = adjacency[v][next[v]++];
+					if (disc[w] < 0) {
+						disc[w] = low[w] = time++;
+						parent[w] = v;
+						stack[top++] = w;
+						vertexStack[vertexTop++] = w;
+					} else if (w != parent[v]) {
+						low[v] = Math.min(low[v], disc[w]);
+					}
+					continue;
+				}
+				top--;
+				int p = parent[v];
+				if (p < 0) {
+					continue;
+				}
+				low[p] = Math.min(low[p], low[v]);
+				if (low[v] >= disc[p]) {
+					// p separates the block of v from the rest
+					int start = vertexTop - 1;
+					while (vertexStack[start] != v) {
+						start--;
+					}
+					int[] block = new int[vertexTop - start + 1];
+					block[0] = p;
+					System.arraycopy(vertexStack, start, block, 1,
+							vertexTop - start);
+					vertexTop = start;
+					blocks.add(block);
+				}
+			}
+
+			// place the blocks and translate the component next to the
+			// previous ones
+			int[] vertices = placeBlocks(blocks);
+			double minX = Double.POSITIVE_INFINITY;
+			double minY = Double.POSITIVE_INFINITY;
+			double maxX = Double.NEGATIVE_INFINITY;
+			for (int v : vertices) {
+				minX = Math.min(minX, x[v] - width[v] / 2);
+				minY = Math.min(minY, y[v] - height[v] / 2);
+				maxX = Math.max(maxX, x[v] + width[v] / 2);
+			}
+			for (int v : vertices) {
+				x[v] += offset - minX;
+				y[v] -= minY;
+			}
+			offset += maxX - minX + nodeSpacing;
+		}
+
+		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
+		for (int i = 0; i < n; i++) {
+			if (!LayoutProperties.isMovable(entities[i])) {
+				x[i] = Double.NaN;
+				y[i] = Double.NaN;
+			} else if (bounds != null) {
+				x[i] += bounds.getX();
+				y[i] += bounds.getY();
+			}
+		}
+		context.commitLayout(entities, x, y, null, null);
+		adjacency = null;
+		width = height = x = y = null;
+		blocksOf = null;
+		local = null;
+	}
+
+	/**
+	 * Returns the given adjacency without duplicate neighbors.
+	 */
+	private static int[][] removeParallelEdges(int[][] adjacency) {
+		for (int v = 0; v < adjacency.length; v++) {
+			int[] neighbors = adjacency[v];
+			Arrays.sort(neighbors);
+			int count = 0;
+			for (int i = 0; i < neighbors.length; i++) {
+				if (i == 0 || neighbors[i] != neighbors[i - 1]) {
+					neighbors[count++] = neighbors[i];
+				}
+			}
+			if (count < neighbors.length) {
+				adjacency[v] = Arrays.copyOf(neighbors, count);
+			}
+		}
+		return adjacency;
+	}
+
+	/**
+	 * Places the given blocks of a connected component along its block-cut
+	 * tree, and returns the vertices of the component.
+	 */
+	private int[] placeBlocks(List<int[]> blocks) {
+		// count the blocks of each vertex, which uses the local indices as
+		// counters
+		int vertexCount = 0;
+		for (int[] block : blocks) {
+			for (int v : block) {
+				if (local[v]-- == -1) {
+					vertexCount++;
+				}
+			}
+		}
+
+		// the traversal of the block-cut tree starts at the largest block, or
+		// at the vertex shared by the most blocks if these outnumber the
+		// vertices of the largest block (e.g. the center of a star), which is
+		// represented by an additional block of its own
+		int first = 0;
+		for (int b = 1; b < blocks.size(); b++) {
+			if (blocks.get(b).length > blocks.get(first).length) {
+				first = b;
+			}
+		}
+		int hub = -1;
+		for (int[] block : blocks) {
+			for (int v : block) {
+				if (-1 - local[v] > blocks.get(first).length
+						&& (hub < 0 || local[v] < local[hub])) {
+					hub = v;
+				}
+			}
+		}
+		if (hub >= 0) {
+			first = blocks.size();
+			blocks.add(new int[] { hub });
+			local[hub]--;
+		}
+
+		// the blocks of each vertex
+		int blockCount = blocks.size();
+		int[] vertices = new int[vertexCount];
+		vertexCount = 0;
+		for (int b = 0; b < blockCount; b++) {
+			for (int v : blocks.get(b)) {
+				if (blocksOf[v] == null) {
+					blocksOf[v] = new int[-1 - local[v]];
+					local[v] = -1;
+					vertices[vertexCount++] = v;
+				}
+				blocksOf[v][-1 - local[v]] = b;
+				local[v]--;
+			}
+		}
+		for (int v : vertices) {
+			local[v] = -1;
+		}
+
+		// breadth-first traversal of the block-cut tree
+		attachment = new int[blockCount];
+		int[] queue = new int[blockCount];
+		int head = 0;
+		int tail = 0;
+		attachment[first] = -1;
+		queue[tail++] = first;
+		while (head < tail) {
+			int b = queue[head++];
+			for (int v : blocks.get(b)) {
+				if (v == attachment[b]) {
+					continue;
+				}
+				for (int child : blocksOf[v]) {
+					if (child != b) {
+						attachment[child] = v;
+						queue[tail++] = child;
+					}
+				}
+			}
+		}
+
+		// lay out the subtrees of the block-cut tree bottom-up, relative to
+		// the centers of their parent blocks
+		orders = new int[blockCount][];
+		radius = new double[blockCount];
+		startAngle = new double[blockCount];
+		discs = new double[blockCount][];
+		extent = new double[blockCount];
+		centerX = new double[blockCount];
+		centerY = new double[blockCount];
+		rotation = new double[blockCount];
+		for (int i = tail - 1; i >= 0; i--) {
+			layoutBlock(queue[i], blocks.get(queue[i]));
+		}
+
+		// place the blocks top-down
+		for (int i = 0; i < tail; i++) {
+			int b = queue[i];
+			int[] order = orders[b];
+			int k = order.length;
+			double cos = Math.cos(rotation[b]);
+			double sin = Math.sin(rotation[b]);
+			for (int j = 0; j < k; j++) {
+				int v = order[j];
+				if (v == attachment[b]) {
+					continue;
+				}
+				double angle = rotation[b] + startAngle[b]
+						+ 2 * Math.PI * j / k;
+				x[v] = centerX[b] + radius[b] * Math.cos(angle);
+				y[v] = centerY[b] + radius[b] * Math.sin(angle);
+				for (int child : blocksOf[v]) {
+					if (child != b) {
+						double childX = centerX[child];
+						double childY = centerY[child];
+						centerX[child] = centerX[b] + cos * childX
+								- sin * childY;
+						centerY[child] = centerY[b] + sin * childX
+								+ cos * childY;
+						rotation[child] += rotation[b];
+					}
+				}
+			}
+		}
+		attachment = null;
+		orders = null;
+		radius = startAngle = extent = null;
+		discs = null;
+		centerX = centerY = rotation = null;
+		return vertices;
+	}
+
+	/**
+	 * Lays out the given block and the subtrees of its cut vertices within
+	 * its own frame, which has the center of the block as origin and the
+	 * positive x-axis pointing away from the attachment of the block, and
+	 * determines the discs covering the nodes of the subtree (except for the
+	 * attachment).
+	 */
+	private void layoutBlock(int b, int[] block) {
+		int k = block.length;
+		int a = attachment[b];
+		int[] order = orderBlock(block);
+		double size = 0;
+		double half = 0;
+		int childCount = 0;
+		int anchorCount = 0;
+		for (int v : block) {
+			size = Math.max(size, Math.max(width[v], height[v]));
+			half = Math.max(half, getHalfDiagonal(v));
+			if (v != a) {
+				childCount += blocksOf[v].length - 1;
+			}
+			if (v == a || blocksOf[v].length > 1) {
+				anchorCount++;
+			}
+		}
+		// the nodes do not reach into the sectors of their neighbors
+		double r = k == 1 ? 0
+				: Math.max(size + nodeSpacing, 2 * half)
+						/ (2 * Math.sin(Math.PI / k));
+		double start = -Math.PI / 2;
+		if (a >= 0) {
+			int index = 0;
+			while (order[index] != a) {
+				index++;
+			}
+			start = Math.PI - 2 * Math.PI * index / k;
+		}
+		orders[b] = order;
+		radius[b] = r;
+		startAngle[b] = start;
+		double[] px = new double[k];
+		double[] py = new double[k];
+		// the attachment and the cut vertices (anchors) divide the circle into
+		// the sectors of their subtrees
+		int[] anchors = new int[anchorCount];
+		anchorCount = 0;
+		for (int i = 0; i < k; i++) {
+			double angle = start + 2 * Math.PI * i / k;
+			px[i] = r * Math.cos(angle);
+			py[i] = r * Math.sin(angle);
+			if (order[i] == a || blocksOf[order[i]].length > 1) {
+				anchors[anchorCount++] = i;
+			}
+		}
+
+		double[] content = new double[3 * (k - (a < 0 ? 0 : 1) + childCount)];
+		int count = 0;
+		for (int i = 0; i < k; i++) {
+			int v = order[i];
+			if (v == a) {
+				continue;
+			}
+			content[count++] = px[i];
+			content[count++] = py[i];
+			content[count++] = getHalfDiagonal(v) + nodeSpacing / 2;
+		}
+		for (int j = 0; j < anchorCount; j++) {
+			int i = anchors[j];
+			int v = order[i];
+			if (v == a) {
+				continue;
+			}
+			// a single anchor has the whole circle as its sector
+			int previous = (i - anchors[(j + anchorCount - 1) % anchorCount]
+					+ k - 1) % k + 1;
+			int next = (anchors[(j + 1) % anchorCount] - i + k - 1) % k + 1;
+			spreadChildren(b, i, order, px, py, previous, next);
+			for (int child : blocksOf[v]) {
+				if (child != b) {
+					content[count++] = centerX[child];
+					content[count++] = centerY[child];
+					content[count++] = extent[child];
+				}
+			}
+		}
+		discs[b] = content;
+		for (int i = 0; i < content.length; i += 3) {
+			extent[b] = Math.max(extent[b],
+					Math.hypot(content[i], content[i + 1]) + content[i + 2]);
+		}
+	}
+
+	/**
+	 * Fans out the child blocks of the cut vertex at the given position of
+	 * the given block around it, moving them away from the cut vertex as far
+	 * as necessary. The sector of the cut vertex reaches halfway to the
+	 * previous and next anchors, which are the given number of positions
+	 * away.
+	 */
+	private void spreadChildren(int b, int i, int[] order, double[] px,
+			double[] py, int previous, int next) {
+		if (spreadChildren(b, i, order, px, py, previous, next, 0)) {
+			return;
+		}
+		// bisect the minimal distance by which the blocks are moved
+		double min = 0;
+		double max = Math.max(nodeSpacing, 1);
+		for (int step = 0; step < MAX_SPREAD_STEPS && !spreadChildren(b, i,
+				order, px, py, previous, next, max); step++) {
+			min = max;
+			max *= 2;
+		}
+		for (int step = 0; step < MAX_SPREAD_STEPS; step++) {
+			double distance = (min + max) / 2;
+			if (spreadChildren(b, i, order, px, py, previous, next,
+					distance)) {
+				max = distance;
+			} else {
+				min = distance;
+			}
+		}
+		spreadChildren(b, i, order, px, py, previous, next, max);
+	}
+
+	/**
+	 * Places the centers of the child blocks of the cut vertex at the given
+	 * position of the given block, moved away from the cut vertex by the
+	 * given distance, so that each child subtree lies within a wedge of its
+	 * own. Returns whether the subtrees lie within the sector of the cut
+	 * vertex, and do not overlap the nodes of the block.
+	 */
+	private boolean spreadChildren(int b, int i, int[] order, double[] px,
+			double[] py, int previous, int next, double distance) {
+		int k = order.length;
+		int[] children = blocksOf[order[i]];
+		double outward = Math.atan2(py[i], px[i]);
+		if (k == 1) {
+			outward = startAngle[b];
+		}
+
+		// the wedges of the children (relative to their frames)
+		double[] low = new double[children.length];
+		double[] high = new double[children.length];
+		double total = 0;
+		for (int c = 0; c < children.length; c++) {
+			int child = children[c];
+			if (child == b) {
+				continue;
+			}
+			double[] content = discs[child];
+			double d = radius[child] + distance;
+			low[c] = Double.POSITIVE_INFINITY;
+			high[c] = Double.NEGATIVE_INFINITY;
+			for (int j = 0; j < content.length; j += 3) {
+				double dx = content[j] + d;
+				double dy = content[j + 1];
+				double length = Math.hypot(dx, dy);
+				if (length <= content[j + 2]) {
+					return false;
+				}
+				double angle = Math.atan2(dy, dx);
+				double wedge = Math.asin(content[j + 2] / length);
+				low[c] = Math.min(low[c], angle - wedge);
+				high[c] = Math.max(high[c], angle + wedge);
+			}
+			total += high[c] - low[c];
+		}
+		if (total > 2 * Math.PI) {
+			return false;
+		}
+
+		// place the wedges next to each other, centered at the outward
+		// direction, and check the discs against the sector and the nodes
+		// between the neighboring anchors
+		double left = Math.PI * previous / k;
+		double right = Math.PI * next / k;
+		double cursor = outward - total / 2;
+		for (int c = 0; c < children.length; c++) {
+			int child = children[c];
+			if (child == b) {
+				continue;
+			}
+			double d = radius[child] + distance;
+			double direction = cursor - low[c];
+			cursor += high[c] - low[c];
+			double cos = Math.cos(direction);
+			double sin = Math.sin(direction);
+			centerX[child] = px[i] + d * cos;
+			centerY[child] = py[i] + d * sin;
+			rotation[child] = direction;
+			double[] content = discs[child];
+			for (int j = 0; j < content.length; j += 3) {
+				double x = centerX[child] + cos * content[j]
+						- sin * content[j + 1];
+				double y = centerY[child] + sin * content[j]
+						+ cos * content[j + 1];
+				double q = content[j + 2];
+				if (previous < k) {
+					double deviation = Math.IEEEremainder(
+							Math.atan2(y, x) - outward, 2 * Math.PI);
+					if (getDistance(x, y, left + deviation) < q
+							|| getDistance(x, y, right - deviation) < q) {
+						return false;
+					}
+				}
+				int first = i - previous + 1;
+				for (int n = first; n < Math.min(i + next, first + k); n++) {
+					int w = (n + k) % k;
+					if (w != i && Math.hypot(x - px[w], y - py[w]) < q
+							+ getHalfDiagonal(order[w])) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the distance of the given point from a ray starting at the
+	 * origin, which deviates from the direction of the point by the given
+	 * angle (negative if the point lies on the other side of the ray).
+	 */
+	private static double getDistance(double x, double y, double angle) {
+		if (angle < 0) {
+			return Double.NEGATIVE_INFINITY;
+		}
+		double length = Math.hypot(x, y);
+		return angle >= Math.PI / 2 ? length : length * Math.sin(angle);
+	}
+
+	private double getHalfDiagonal(int v) {
+		return Math.hypot(width[v], height[v]) / 2;
+	}
+
+	/**
+	 * Returns the order of the vertices of the given block on its circle.
+	 */
+	private int[] orderBlock(int[] block) {
+		int k = block.length;
+		if (k <= 3) {
+			return block;
+		}
+		// the adjacency within the block, by ascending degree
+		for (int i = 0; i < k; i++) {
+			local[block[i]] = i;
+		}
+		final int[][] neighbors = new int[k][];
+		for (int i = 0; i < k; i++) {
+			int[] all = adjacency[block[i]];
+			int[] within = new int[all.length];
+			int count = 0;
+			for (int w : all) {
+				if (local[w] >= 0) {
+					within[count++] = local[w];
+				}
+			}
+			neighbors[i] = Arrays.copyOf(within, count);
+		}
+		for (int v : block) {
+			local[v] = -1;
+		}
+		for (int i = 0; i < k; i++) {
+			neighbors[i] = Arrays.stream(neighbors[i]).boxed()
+					.sorted(Comparator.comparingInt(w -> neighbors[w].length))
+					.mapToInt(Integer::intValue).toArray();
+		}
+
+		// depth-first order
+		int[] position = new int[k];
+		Arrays.fill(position, -1);
+		int[] next = new int[k];
+		int[] stack = new int[k];
+		int top = 0;
+		int count = 0;
+		position[0] = count++;
+		stack[top++] = 0;
+		while (top > 0) {
+			int v = stack[top - 1];
+			if (next[v] < neighbors[v].length) {
+				int w = neighbors[v][next[v]++];
+				if (position[w] < 0) {
+					position[w] = count++;
+					stack[top++] = w;
+				}
+			} else {
+				top--;
+			}
+		}
+
+		// refine by the circular means of the neighbors
+		long length = getLength(neighbors, position);
+		Integer[] sorted = new Integer[k];
+		double[] mean = new double[k];
+		for (int round = 0; round < MAX_REFINEMENT_ROUNDS; round++) {
+			for (int v = 0; v < k; v++) {
+				double sumX = 0;
+				double sumY = 0;
+				for (int w : neighbors[v]) {
+					double angle = 2 * Math.PI * position[w] / k;
+					sumX += Math.cos(angle);
+					sumY += Math.sin(angle);
+				}
+				mean[v] = Math.abs(sumX) + Math.abs(sumY) < 1e-9
+						? 2 * Math.PI * position[v] / k
+						: Math.atan2(sumY, sumX);
+				if (mean[v] < 0) {
+					mean[v] += 2 * Math.PI;
+				}
+				sorted[v] = v;
+			}
+			Arrays.sort(sorted, Comparator.comparingDouble(v -> mean[v]));
+			int[] refined = new int[k];
+			for (int i = 0; i < k; i++) {
+				refined[sorted[i]] = i;
+			}
+			long refinedLength = getLength(neighbors, refined);
+			if (refinedLength >= length) {
+				break;
+			}
+			position = refined;
+			length = refinedLength;
+		}
+		int[] order = new int[k];
+		for (int v = 0; v < k; v++) {
+			order[position[v]] = block[v];
+		}
+		return order;
+	}
+
+	/**
+	 * Returns the total length of the edges along the circle, measured in
+	 * positions.
+	 */
+	private static long getLength(int[][] neighbors, int[] position) {
+		int k = position.length;
+		long length = 0;
+		for (int v = 0; v < k; v++) {
+			for (int w : neighbors[v]) {
+				int distance = Math.abs(position[v] - position[w]);
+				length += Math.min(distance, k - distance);
+			}
+		}
+		return length;
+	}
+}
@@ -0,0 +1,426 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link ComponentPackingLayoutAlgorithm} splits the graph into its
+ * connected components, lays out each component separately using a delegate
+ * {@link ILayoutAlgorithm}, and packs the resulting component bounds using a
+ * skyline heuristic, so that graphs consisting of many small components do
+ * not waste space.
+ * <p>
+ * Each component is laid out within its own {@link LayoutContext}, on copies
+ * of its nodes and edges that only carry the layout properties. The bounds of
+ * such a context form a square whose area is proportional to the area of the
+ * component's nodes. If a delegate factory is given, the components are laid
+ * out in parallel (on the common fork-join pool), each using a new delegate.
+ * The locations of nodes that are not movable are not changed.
+ */
+public class ComponentPackingLayoutAlgorithm
+		implements ICacheableLayoutAlgorithm {
+
+	/**
+	 * The default spacing between components.
+	 */
+	private static final double DEFAULT_SPACING = 20;
+
+	private ILayoutAlgorithm delegate;
+	private Supplier<? extends ILayoutAlgorithm> delegateFactory;
+	private double spacing = DEFAULT_SPACING;
+
+	/**
+	 * Constructs a new {@link ComponentPackingLayoutAlgorithm} that lays out
+	 * the components one after another using the given
+	 * {@link ILayoutAlgorithm}.
+	 *
+	 * @param delegate
+	 *            The {@link ILayoutAlgorithm} that is used to lay out the
+	 *            components.
+	 */
+	public ComponentPackingLayoutAlgorithm(ILayoutAlgorithm delegate) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("Delegate may not be null.");
+		}
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Constructs a new {@link ComponentPackingLayoutAlgorithm} that lays out
+	 * the components in parallel, using a new {@link ILayoutAlgorithm} that is
+	 * created by the given factory for each component.
+	 *
+	 * @param delegateFactory
+	 *            The factory that creates the {@link ILayoutAlgorithm}s that
+	 *            are used to lay out the components.
+	 */
+	public ComponentPackingLayoutAlgorithm(
+			Supplier<? extends ILayoutAlgorithm> delegateFactory) {
+		if (delegateFactory == null) {
+			throw new IllegalArgumentException(
+					"Delegate factory may not be null.");
+		}
+		this.delegateFactory = delegateFactory;
+	}
+
+	/**
+	 * Returns the spacing between the packed components.
+	 *
+	 * @return The spacing between the packed components.
+	 */
+	public double getSpacing() {
+		return spacing;
+	}
+
+	/**
+	 * Sets the spacing between the packed components.
+	 *
+	 * @param spacing
+	 *            The new spacing between the packed components.
+	 */
+	public void setSpacing(double spacing) {
+		if (spacing < 0) {
+			throw new IllegalArgumentException(
+					"Spacing may not be negative.");
+		}
+		this.spacing = spacing;
+	}
+
+	public Object[] getLayoutParameters() {
+		// the delegates created by the factory are configured alike, so that
+		// the parameters of a new one are reported
+		return new Object[] { spacing,
+				delegate != null ? delegate : delegateFactory.get() };
+	}
+
+	public void applyLayout(LayoutContext context, boolean clean) {
+		if (!clean) {
+			return;
+		}
+		Node[] entities = context.getNodes();
+		int n = entities.length;
+		int[][] components = computeComponents(context, entities);
+		if (components.length <= 1) {
+			// nothing to pack
+			ILayoutAlgorithm algorithm = delegate != null ? delegate
+					: delegateFactory.get();
+			algorithm.applyLayout(context, clean);
+			return;
+		}
+
+		// lay out the components, largest first to balance the load
+		final Graph[] subgraphs = createSubgraphs(context, entities,
+				components);
+		Integer[] order = new Integer[components.length];
+		for (int c = 0; c < order.length; c++) {
+			order[c] = c;
+		}
+		Arrays.sort(order, Comparator
+				.comparingInt((Integer c) -> components[c].length).reversed());
+		IntStream indices = Arrays.stream(order).mapToInt(Integer::intValue);
+		if (delegateFactory != null) {
+			indices = indices.parallel();
+		}
+		indices.forEach(c -> {
+			if (context.isLayoutCancelled()) {
+				return;
+			}
+			LayoutContext subContext = new LayoutContext();
+			subContext.setGraph(subgraphs[c]);
+			subContext.setLayoutAlgorithm(
+					delegate != null ? delegate : delegateFactory.get());
+			subContext.applyLayout(clean);
+		});
+		if (context.isLayoutCancelled()) {
+			return;
+		}
+
+		// determine the bounds of the laid out components
+		double[] x = new double[n];
+		double[] y = new double[n];
+		double[][] componentBounds = new double[components.length][];
+		for (int c = 0; c < components.length; c++) {
+			List<Node> copies = subgraphs[c].getNodes();
+			double minX = Double.POSITIVE_INFINITY;
+			double minY = Double.POSITIVE_INFINITY;
+			double maxX = Double.NEGATIVE_INFINITY;
+			double maxY = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < components[c].length; i++) {
+				Node copy = copies.get(i);
+				Point location = LayoutProperties.getLocation(copy);
+				if (location == null) {
+					location = new Point();
+				}
+				Dimension size = LayoutProperties.getSize(copy);
+				double halfWidth = size == null ? 0 : size.width / 2;
+				double halfHeight = size == null ? 0 : size.height / 2;
+				x[components[c][i]] = location.x;
+				y[components[c][i]] = location.y;
+				minX = Math.min(minX, location.x - halfWidth);
+				minY = Math.min(minY, location.y - halfHeight);
+				maxX = Math.max(maxX, location.x + halfWidth);
+				maxY = Math.max(maxY, location.y + halfHeight);
+			}
+			componentBounds[c] = new double[] { minX, minY, maxX - minX,
+					maxY - minY };
+		}
+
+		// pack the components and move their nodes accordingly
+		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
+		double[][] positions = pack(componentBounds, bounds);
+		double originX = bounds == null ? 0 : bounds.getX();
+		double originY = bounds == null ? 0 : bounds.getY();
+		double[] width = new double[n];
+		double[] height = new double[n];
+		for (int c = 0; c < components.length; c++) {
+			double dx = originX + positions[c][0] - componentBounds[c][0];
+			double dy = originY + positions[c][1] - componentBounds[c][1];
+			List<Node> copies = subgraphs[c].getNodes();
+			for (int i = 0; i < components[c].length; i++) {
+				int v = components[c][i];
+				Dimension size = LayoutProperties.getSize(copies.get(i));
+				width[v] = size == null ? Double.NaN : size.width;
+				height[v] = size == null ? Double.NaN : size.height;
+				if (LayoutProperties.isMovable(entities[v])) {
+					x[v] += dx;
+					y[v] += dy;
+				} else {
+					x[v] = Double.NaN;
+				}
+			}
+		}
+		context.commitLayout(entities, x, y, width, height);
+	}
+
+	/**
+	 * Computes the connected components of the given nodes using a union-find
+	 * structure. Returns the node indices per component, ordered by the index
+	 * of their first node.
+	 */
+	private static int[][] computeComponents(LayoutContext context,
+			Node[] entities) {
+		int n = entities.length;
+		int[] parent = new int[n];
+		for (int i = 0; i < n; i++) {
+			parent[i] = i;
+		}
+		for (Edge edge : context.getEdges()) {
+			int source = context.getNodeIndex(edge.getSource());
+			int target = context.getNodeIndex(edge.getTarget());
+			if (source >= 0 && target >= 0) {
+				int sourceRoot = find(parent, source);
+				int targetRoot = find(parent, target);
+				if (sourceRoot != targetRoot) {
+					// link the larger index to the smaller one
+					parent[Math.max(sourceRoot, targetRoot)] = Math
+							.min(sourceRoot, targetRoot);
+				}
+			}
+		}
+
+		// number the components and count their nodes
+		int[] component = new int[n];
+		int[] counts = new int[n];
+		int componentCount = 0;
+		for (int i = 0; i < n; i++) {
+			int root = find(parent, i);
+			component[i] = root == i ? componentCount++ : component[root];
+			counts[component[i]]++;
+		}
+		int[][] components = new int[componentCount][];
+		for (int c = 0; c < componentCount; c++) {
+			components[c] = new int[counts[c]];
+			counts[c] = 0;
+		}
+		for (int i = 0; i < n; i++) {
+			int c = component[i];
+			components[c][counts[c]++] = i;
+		}
+		return components;
+	}
+
+	private static int find(int[] parent, int i) {
+		int root = i;
+		while (parent[root] != root) {
+			root = parent[root];
+		}
+		// compress the path
+		while (parent[i] != root) {
+			int next = parent[i];
+			parent[i] = root;
+			i = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Creates a {@link Graph} for each component, which contains copies of its
+	 * nodes (in the order of the component) and edges.
+	 */
+	private Graph[] createSubgraphs(LayoutContext context, Node[] entities,
+			int[][] components) {
+		int n = entities.length;
+		Node[] copies = new Node[n];
+		int[] component = new int[n];
+		for (int c = 0; c < components.length; c++) {
+			for (int v : components[c]) {
+				copies[v] = new Node(LayoutProperties
+						.copyLayoutProperties(entities[v].getAttributes()));
+				component[v] = c;
+			}
+		}
+		List<List<Edge>> edges = new ArrayList<>();
+		for (int c = 0; c < components.length; c++) {
+			edges.add(new ArrayList<Edge>());
+		}
+		for (Edge edge : context.getEdges()) {
+			int source = context.getNodeIndex(edge.getSource());
+			int target = context.getNodeIndex(edge.getTarget());
+			if (source >= 0 && target >= 0) {
+				edges.get(component[source]).add(new Edge(
+						LayoutProperties
+								.copyLayoutProperties(edge.getAttributes()),
+						copies[source], copies[target]));
+			}
+		}
+		Graph[] subgraphs = new Graph[components.length];
+		for (int c = 0; c < components.length; c++) {
+			List<Node> nodes = new ArrayList<>();
+			double area = 0;
+			for (int v : components[c]) {
+				nodes.add(copies[v]);
+				Dimension size = LayoutProperties.getSize(entities[v]);
+				double width = size == null ? 0 : size.width;
+				double height = size == null ? 0 : size.height;
+				area += (width + spacing) * (height + spacing);
+			}
+			double side = 2 * Math.sqrt(area);
+			Graph subgraph = new Graph(nodes, edges.get(c));
+			LayoutProperties.setBounds(subgraph,
+					new Rectangle(0, 0, side, side));
+			subgraphs[c] = subgraph;
+		}
+		return subgraphs;
+	}
+
+	/**
+	 * Packs the given rectangles (given as x, y, width, height) into a strip
+	 * using the bottom-left skyline heuristic, and returns their top-left
+	 * positions. The width of the strip is chosen so that the result roughly
+	 * has the aspect ratio of the given bounds (or is square if no bounds are
+	 * given).
+	 */
+	private double[][] pack(double[][] rectangles, Rectangle bounds) {
+		int count = rectangles.length;
+		double area = 0;
+		double maxWidth = 0;
+		for (double[] r : rectangles) {
+			area += (r[2] + spacing) * (r[3] + spacing);
+			maxWidth = Math.max(maxWidth, r[2] + spacing);
+		}
+		double aspectRatio = bounds == null || bounds.getHeight() <= 0 ? 1
+				: bounds.getWidth() / bounds.getHeight();
+		double stripWidth = Math.max(maxWidth, Math.sqrt(area * aspectRatio));
+
+		// place the highest rectangles first
+		Integer[] order = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator
+				.comparingDouble((Integer i) -> rectangles[i][3]).reversed());
+
+		// the skyline consists of segments (x, y, width), sorted by x
+		List<double[]> skyline = new ArrayList<>();
+		skyline.add(new double[] { 0, 0, stripWidth });
+		double[][] positions = new double[count][];
+		for (int r : order) {
+			double width = rectangles[r][2] + spacing;
+			double height = rectangles[r][3] + spacing;
+			// find the lowest position, preferring the left-most one
+			int bestIndex = -1;
+			double bestY = Double.POSITIVE_INFINITY;
+			for (int s = 0; s < skyline.size(); s++) {
+				double startX = skyline.get(s)[0];
+				if (startX + width > stripWidth && s > 0) {
+					break;
+				}
+				double y = 0;
+				double covered = 0;
+				for (int t = s; t < skyline.size() && covered < width; t++) {
+					y = Math.max(y, skyline.get(t)[1]);
+					covered += skyline.get(t)[2];
+				}
+				if (y < bestY) {
+					bestY = y;
+					bestIndex = s;
+				}
+			}
+			double x = skyline.get(bestIndex)[0];
+			positions[r] = new double[] { x, bestY };
+			addToSkyline(skyline, bestIndex, x + width, bestY + height);
+		}
+		return positions;
+	}
+
+	/**
+	 * Raises the skyline from the start of the segment at the given index up
+	 * to the given end to the given height.
+	 */
+	private static void addToSkyline(List<double[]> skyline, int index,
+			double endX, double y) {
+		double startX = skyline.get(index)[0];
+		// remove the covered segments, splitting the last one
+		while (index < skyline.size()) {
+			double[] segment = skyline.get(index);
+			double segmentEnd = segment[0] + segment[2];
+			if (segmentEnd <= endX) {
+				skyline.remove(index);
+			} else {
+				if (segment[0] < endX) {
+					segment[2] = segmentEnd - endX;
+					segment[0] = endX;
+				}
+				break;
+			}
+		}
+		skyline.add(index, new double[] { startX, y, endX - startX });
+
+		// merge with neighbors of the same height
+		if (index + 1 < skyline.size() && skyline.get(index + 1)[1] == y) {
+			skyline.get(index)[2] += skyline.remove(index + 1)[2];
+		}
+		if (index > 0 && skyline.get(index - 1)[1] == y) {
+			skyline.get(index - 1)[2] += skyline.remove(index)[2];
+		}
+	}
+
+}
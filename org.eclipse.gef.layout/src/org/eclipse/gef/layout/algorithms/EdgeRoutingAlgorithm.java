@@ -0,0 +1,798 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link EdgeRoutingAlgorithm} computes routes for all edges that avoid the
+ * nodes, and stores them as control points of the edges (see
+ * {@link LayoutProperties#CONTROL_POINTS_PROPERTY}). It does not move any
+ * nodes, and is intended to be applied after another algorithm, e.g. using a
+ * {@link CompositeLayoutAlgorithm}.
+ * <p>
+ * The bounds of the nodes, enlarged by the padding, are the obstacles, which
+ * are registered in a uniform grid that is shared by all edges. An edge whose
+ * straight line does not cross an obstacle (other than its source and target)
+ * remains straight and gets an empty list of control points. Otherwise, a
+ * shortest route is searched (using A*) in a graph that is restricted to the
+ * obstacles within a corridor around the edge, which is widened if no route is
+ * found:
+ * <ul>
+ * <li>For {@link Style#POLYLINE} routes, this is the visibility graph of the
+ * obstacle corners. The control points may be rendered as a spline, e.g. using
+ * an interpolator that passes through them.
+ * <li>For {@link Style#ORTHOGONAL} routes, this is the grid of horizontal and
+ * vertical channels along the obstacle borders, and bends are penalized.
+ * </ul>
+ * The routes of large numbers of edges are computed in parallel. The control
+ * points of edges that cannot be routed, i.e. self loops, edges between nodes
+ * without a location, or edges for which no route is found around a limited
+ * number of obstacles, are removed.
+ */
+public class EdgeRoutingAlgorithm implements ILayoutAlgorithm {
+
+	/**
+	 * The style of the routes that are computed by an
+	 * {@link EdgeRoutingAlgorithm}.
+	 */
+	public enum Style {
+		/**
+		 * Routes consist of straight segments of arbitrary direction.
+		 */
+		POLYLINE,
+		/**
+		 * Routes consist of horizontal and vertical segments.
+		 */
+		ORTHOGONAL
+	}
+
+	private static final double DEFAULT_PADDING = 5;
+
+	/**
+	 * Obstacles are shrunk by this, so that routes along their borders do not
+	 * intersect them.
+	 */
+	private static final double EPSILON = 1e-6;
+
+	/**
+	 * The routes of at least this number of edges are computed in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 64;
+
+	/**
+	 * Edges that can only be routed around more obstacles than this are not
+	 * routed, which bounds the size of the searched graphs.
+	 */
+	private static final int MAX_NEARBY_OBSTACLES = 128;
+
+	/**
+	 * The four directions of orthogonal segments, as x and y offsets.
+	 */
+	private static final int[] DIRECTION_X = { 1, 0, -1, 0 };
+	private static final int[] DIRECTION_Y = { 0, 1, 0, -1 };
+
+	private Style style = Style.POLYLINE;
+	private double padding = DEFAULT_PADDING;
+
+	/**
+	 * Returns the {@link Style} of the computed routes.
+	 *
+	 * @return The {@link Style} of the computed routes.
+	 */
+	public Style getStyle() {
+		return style;
+	}
+
+	/**
+	 * Sets the {@link Style} of the computed routes. Defaults to
+	 * {@link Style#POLYLINE}.
+	 *
+	 * @param style
+	 *            The new {@link Style} of the computed routes.
+	 */
+	public void setStyle(Style style) {
+		if (style == null) {
+			throw new IllegalArgumentException("Style may not be null.");
+		}
+		this.style = style;
+	}
+
+	/**
+	 * Returns the distance that is kept between routes and nodes.
+	 *
+	 * @return The distance that is kept between routes and nodes.
+	 */
+	public double getPadding() {
+		return padding;
+	}
+
+	/**
+	 * Sets the distance that is kept between routes and nodes. Defaults to
+	 * <code>5</code>.
+	 *
+	 * @param padding
+	 *            The new distance that is kept between routes and nodes.
+	 */
+	public void setPadding(double padding) {
+		if (padding < 0) {
+			throw new IllegalArgumentException(
+					"Padding may not be negative.");
+		}
+		this.padding = padding;
+	}
+
+	public void applyLayout(final LayoutContext context, boolean clean) {
+		Node[] nodes = context.getNodes();
+		final Edge[] edges = context.getEdges();
+		if (edges.length == 0) {
+			return;
+		}
+		final ObstacleIndex obstacles = new ObstacleIndex(nodes, padding);
+		final int[] sources = new int[edges.length];
+		final int[] targets = new int[edges.length];
+		for (int e = 0; e < edges.length; e++) {
+			sources[e] = context.getNodeIndex(edges[e].getSource());
+			targets[e] = context.getNodeIndex(edges[e].getTarget());
+		}
+
+		// compute the routes, which are only applied when all are known
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		final List<Point>[] routes = new List[edges.length];
+		IntStream indices = IntStream.range(0, edges.length);
+		if (edges.length >= PARALLEL_THRESHOLD) {
+			indices = indices.parallel();
+		}
+		indices.forEach(e -> {
+			if (context.isLayoutCancelled()) {
+				return;
+			}
+			int s = sources[e];
+			int t = targets[e];
+			if (s >= 0 && t >= 0 && s != t && obstacles.isPresent(s)
+					&& obstacles.isPresent(t)) {
+				routes[e] = style == Style.ORTHOGONAL
+						? new OrthogonalRouter(obstacles, s, t).route()
+						: new PolylineRouter(obstacles, s, t).route();
+			}
+		});
+		if (context.isLayoutCancelled()) {
+			return;
+		}
+		for (int e = 0; e < edges.length; e++) {
+			LayoutProperties.setControlPoints(edges[e], routes[e]);
+		}
+	}
+
+	/**
+	 * Registers the node bounds, enlarged by the padding, in a uniform grid of
+	 * cells, so that the obstacles near a point or along a segment can be
+	 * determined without testing all of them. It is not modified after its
+	 * construction, so that it can be shared by concurrent routers.
+	 */
+	private static final class ObstacleIndex {
+
+		final int n;
+		final double[] minX;
+		final double[] minY;
+		final double[] maxX;
+		final double[] maxY;
+		final double[] centerX;
+		final double[] centerY;
+		final boolean[] present;
+		// the bounds of all obstacles
+		final double boundsMinX;
+		final double boundsMinY;
+		final double boundsMaxX;
+		final double boundsMaxY;
+		// the average extent of the obstacles
+		final double averageExtent;
+
+		// the grid, whose cell contents are stored consecutively
+		final int columns;
+		final int rows;
+		final double cellWidth;
+		final double cellHeight;
+		final int[] cellStart;
+		final int[] cellObstacles;
+
+		ObstacleIndex(Node[] nodes, double padding) {
+			n = nodes.length;
+			minX = new double[n];
+			minY = new double[n];
+			maxX = new double[n];
+			maxY = new double[n];
+			centerX = new double[n];
+			centerY = new double[n];
+			present = new boolean[n];
+			double bMinX = Double.POSITIVE_INFINITY;
+			double bMinY = Double.POSITIVE_INFINITY;
+			double bMaxX = Double.NEGATIVE_INFINITY;
+			double bMaxY = Double.NEGATIVE_INFINITY;
+			double extent = 0;
+			int count = 0;
+			for (int i = 0; i < n; i++) {
+				Point location = LayoutProperties.getLocation(nodes[i]);
+				if (location == null) {
+					continue;
+				}
+				Dimension size = LayoutProperties.getSize(nodes[i]);
+				double halfWidth = (size == null ? 0 : size.width / 2)
+						+ padding;
+				double halfHeight = (size == null ? 0 : size.height / 2)
+						+ padding;
+				present[i] = true;
+				centerX[i] = location.x;
+				centerY[i] = location.y;
+				minX[i] = location.x - halfWidth;
+				minY[i] = location.y - halfHeight;
+				maxX[i] = location.x + halfWidth;
+				maxY[i] = location.y + halfHeight;
+				bMinX = Math.min(bMinX, minX[i]);
+				bMinY = Math.min(bMinY, minY[i]);
+				bMaxX = Math.max(bMaxX, maxX[i]);
+				bMaxY = Math.max(bMaxY, maxY[i]);
+				extent += halfWidth + halfHeight;
+				count++;
+			}
+			if (count == 0) {
+				bMinX = bMinY = bMaxX = bMaxY = 0;
+			}
+			boundsMinX = bMinX;
+			boundsMinY = bMinY;
+			boundsMaxX = bMaxX;
+			boundsMaxY = bMaxY;
+			averageExtent = count == 0 ? 1 : Math.max(extent / count, 1);
+
+			// about one obstacle per cell, but cells not smaller than those
+			double width = Math.max(boundsMaxX - boundsMinX, EPSILON);
+			double height = Math.max(boundsMaxY - boundsMinY, EPSILON);
+			double cellSize = Math.max(averageExtent,
+					Math.sqrt(width * height / Math.max(count, 1)));
+			columns = (int) Math.min(Math.ceil(width / cellSize), 1024);
+			rows = (int) Math.min(Math.ceil(height / cellSize), 1024);
+			cellWidth = width / columns;
+			cellHeight = height / rows;
+			cellStart = new int[columns * rows + 1];
+			for (int i = 0; i < n; i++) {
+				if (present[i]) {
+					for (int r = row(minY[i]); r <= row(maxY[i]); r++) {
+						for (int c = column(minX[i]); c <= column(
+								maxX[i]); c++) {
+							cellStart[r * columns + c + 1]++;
+						}
+					}
+				}
+			}
+			for (int c = 0; c < columns * rows; c++) {
+				cellStart[c + 1] += cellStart[c];
+			}
+			cellObstacles = new int[cellStart[columns * rows]];
+			int[] fill = Arrays.copyOf(cellStart, columns * rows);
+			for (int i = 0; i < n; i++) {
+				if (present[i]) {
+					for (int r = row(minY[i]); r <= row(maxY[i]); r++) {
+						for (int c = column(minX[i]); c <= column(
+								maxX[i]); c++) {
+							cellObstacles[fill[r * columns + c]++] = i;
+						}
+					}
+				}
+			}
+		}
+
+		int column(double x) {
+			int c = (int) ((x - boundsMinX) / cellWidth);
+			return Math.max(0, Math.min(columns - 1, c));
+		}
+
+		int row(double y) {
+			int r = (int) ((y - boundsMinY) / cellHeight);
+			return Math.max(0, Math.min(rows - 1, r));
+		}
+
+		boolean isPresent(int i) {
+			return present[i];
+		}
+
+		/**
+		 * Returns the obstacles whose interior contains the given point, in
+		 * ascending order.
+		 */
+		int[] containing(double x, double y) {
+			int[] result = new int[0];
+			if (x <= boundsMinX || x >= boundsMaxX || y <= boundsMinY
+					|| y >= boundsMaxY) {
+				return result;
+			}
+			int cell = row(y) * columns + column(x);
+			for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+				int i = cellObstacles[k];
+				if (x > minX[i] + EPSILON && x < maxX[i] - EPSILON
+						&& y > minY[i] + EPSILON && y < maxY[i] - EPSILON) {
+					result = Arrays.copyOf(result, result.length + 1);
+					result[result.length - 1] = i;
+				}
+			}
+			Arrays.sort(result);
+			return result;
+		}
+
+		/**
+		 * Returns <code>true</code> if the given point lies in the interior of
+		 * an obstacle other than the given (sorted) ones.
+		 */
+		boolean contains(double x, double y, int[] ignored) {
+			for (int i : containing(x, y)) {
+				if (Arrays.binarySearch(ignored, i) < 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Returns <code>true</code> if the given segment intersects the
+		 * interior of an obstacle other than the given (sorted) ones. The
+		 * cells along
+		 * the segment are visited using a grid traversal.
+		 */
+		boolean intersects(double ax, double ay, double bx, double by,
+				int[] ignored) {
+			double[] range = { 0, 1 };
+			if (!clip(ax, ay, bx, by, boundsMinX, boundsMinY, boundsMaxX,
+					boundsMaxY, range)) {
+				return false;
+			}
+			double dx = bx - ax;
+			double dy = by - ay;
+			double x0 = ax + range[0] * dx;
+			double y0 = ay + range[0] * dy;
+			double x1 = ax + range[1] * dx;
+			double y1 = ay + range[1] * dy;
+			int column = column(x0);
+			int row = row(y0);
+			int endColumn = column(x1);
+			int endRow = row(y1);
+			int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0;
+			int stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+			// the parameters (relative to the clipped segment) at which the
+			// next column and row are entered
+			double tMaxX = stepX == 0 ? Double.POSITIVE_INFINITY
+					: (boundsMinX + (column + (stepX > 0 ? 1 : 0)) * cellWidth
+							- x0) / (x1 - x0);
+			double tMaxY = stepY == 0 ? Double.POSITIVE_INFINITY
+					: (boundsMinY + (row + (stepY > 0 ? 1 : 0)) * cellHeight
+							- y0) / (y1 - y0);
+			double tDeltaX = stepX == 0 ? Double.POSITIVE_INFINITY
+					: cellWidth / Math.abs(x1 - x0);
+			double tDeltaY = stepY == 0 ? Double.POSITIVE_INFINITY
+					: cellHeight / Math.abs(y1 - y0);
+			int steps = Math.abs(endColumn - column) + Math.abs(endRow - row);
+			for (int step = 0; step <= steps; step++) {
+				int cell = row * columns + column;
+				for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+					int i = cellObstacles[k];
+					if (Arrays.binarySearch(ignored, i) < 0
+							&& clip(ax, ay, bx, by, minX[i] + EPSILON,
+									minY[i] + EPSILON, maxX[i] - EPSILON,
+									maxY[i] - EPSILON, new double[] { 0, 1 })) {
+						return true;
+					}
+				}
+				if (row == endRow || column != endColumn && tMaxX < tMaxY) {
+					column += stepX;
+					tMaxX += tDeltaX;
+				} else {
+					row += stepY;
+					tMaxY += tDeltaY;
+				}
+				if (column < 0 || column >= columns || row < 0
+						|| row >= rows) {
+					break;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Returns the obstacles that are within the given distance of the
+		 * given segment, in ascending order. The distance of an obstacle is
+		 * underestimated by that of its center minus half its diagonal.
+		 */
+		int[] query(double ax, double ay, double bx, double by,
+				double distance) {
+			int[] result = new int[16];
+			int count = 0;
+			int c0 = column(Math.min(ax, bx) - distance);
+			int c1 = column(Math.max(ax, bx) + distance);
+			int r0 = row(Math.min(ay, by) - distance);
+			int r1 = row(Math.max(ay, by) + distance);
+			double dx = bx - ax;
+			double dy = by - ay;
+			double lengthSquared = dx * dx + dy * dy;
+			for (int r = r0; r <= r1; r++) {
+				for (int c = c0; c <= c1; c++) {
+					int cell = r * columns + c;
+					for (int k = cellStart[cell]; k < cellStart[cell
+							+ 1]; k++) {
+						int i = cellObstacles[k];
+						double t = lengthSquared == 0 ? 0
+								: ((centerX[i] - ax) * dx
+										+ (centerY[i] - ay) * dy)
+										/ lengthSquared;
+						t = Math.max(0, Math.min(1, t));
+						if (Math.hypot(centerX[i] - ax - t * dx,
+								centerY[i] - ay - t * dy)
+								- Math.hypot(maxX[i] - centerX[i],
+										maxY[i] - centerY[i]) <= distance) {
+							if (count == result.length) {
+								result = Arrays.copyOf(result, 2 * count);
+							}
+							result[count++] = i;
+						}
+					}
+				}
+			}
+			// remove the duplicates of obstacles that span several cells
+			Arrays.sort(result, 0, count);
+			int unique = 0;
+			for (int k = 0; k < count; k++) {
+				if (unique == 0 || result[unique - 1] != result[k]) {
+					result[unique++] = result[k];
+				}
+			}
+			return Arrays.copyOf(result, unique);
+		}
+
+		/**
+		 * Clips the given segment to the given rectangle (Liang-Barsky), by
+		 * narrowing the given parameter range. Returns <code>false</code> if
+		 * the segment does not intersect the rectangle.
+		 */
+		static boolean clip(double ax, double ay, double bx, double by,
+				double x0, double y0, double x1, double y1, double[] range) {
+			double dx = bx - ax;
+			double dy = by - ay;
+			return clip(-dx, ax - x0, range) && clip(dx, x1 - ax, range)
+					&& clip(-dy, ay - y0, range) && clip(dy, y1 - ay, range)
+					&& range[0] < range[1];
+		}
+
+		private static boolean clip(double p, double q, double[] range) {
+			if (p == 0) {
+				return q > 0;
+			}
+			double t = q / p;
+			if (p < 0) {
+				if (t > range[1]) {
+					return false;
+				}
+				range[0] = Math.max(range[0], t);
+			} else {
+				if (t < range[0]) {
+					return false;
+				}
+				range[1] = Math.min(range[1], t);
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Base class of the routers, which compute the route of a single edge. The
+	 * search is restricted to the obstacles within a corridor around the
+	 * straight line between source and target, which is widened until a route
+	 * is found, it covers all obstacles, or it contains too many of them.
+	 * Every segment of a route is tested against all obstacles, though.
+	 */
+	private static abstract class AbstractRouter {
+
+		final ObstacleIndex obstacles;
+		final double ax;
+		final double ay;
+		final double bx;
+		final double by;
+		// the obstacles that the route may cross, i.e. those that contain its
+		// start or end point
+		final int[] ignored;
+
+		AbstractRouter(ObstacleIndex obstacles, int source, int target) {
+			this.obstacles = obstacles;
+			ax = obstacles.centerX[source];
+			ay = obstacles.centerY[source];
+			bx = obstacles.centerX[target];
+			by = obstacles.centerY[target];
+			int[] atStart = obstacles.containing(ax, ay);
+			int[] atEnd = obstacles.containing(bx, by);
+			int[] all = Arrays.copyOf(atStart,
+					atStart.length + atEnd.length + 2);
+			System.arraycopy(atEnd, 0, all, atStart.length, atEnd.length);
+			all[all.length - 2] = source;
+			all[all.length - 1] = target;
+			ignored = IntStream.of(all).sorted().distinct().toArray();
+		}
+
+		/**
+		 * Returns the control points of the route, or <code>null</code> if no
+		 * route is found.
+		 */
+		List<Point> route() {
+			double width = 2 * obstacles.averageExtent;
+			double maxWidth = Math.hypot(
+					obstacles.boundsMaxX - obstacles.boundsMinX,
+					obstacles.boundsMaxY - obstacles.boundsMinY) + width;
+			while (true) {
+				int[] nearby = obstacles.query(ax, ay, bx, by, width);
+				if (nearby.length > MAX_NEARBY_OBSTACLES) {
+					return null;
+				}
+				List<Point> route = route(Math.min(ax, bx) - width,
+						Math.min(ay, by) - width, Math.max(ax, bx) + width,
+						Math.max(ay, by) + width, nearby);
+				if (route != null || width > maxWidth) {
+					return route;
+				}
+				width *= 2;
+			}
+		}
+
+		/**
+		 * Searches a route within the given region, using the given nearby
+		 * obstacles. Returns <code>null</code> if no route is found.
+		 */
+		abstract List<Point> route(double x0, double y0, double x1, double y1,
+				int[] nearby);
+	}
+
+	/**
+	 * Searches the shortest route within the visibility graph of the corners
+	 * of the nearby obstacles. The edges of the visibility graph are
+	 * determined lazily, when a vertex is settled.
+	 */
+	private static final class PolylineRouter extends AbstractRouter {
+
+		PolylineRouter(ObstacleIndex obstacles, int source, int target) {
+			super(obstacles, source, target);
+		}
+
+		@Override
+		List<Point> route() {
+			if (!obstacles.intersects(ax, ay, bx, by, ignored)) {
+				return Collections.emptyList();
+			}
+			return super.route();
+		}
+
+		@Override
+		List<Point> route(double x0, double y0, double x1, double y1,
+				int[] nearby) {
+			// the start and end point, followed by the free corners
+			double[] x = new double[4 * nearby.length + 2];
+			double[] y = new double[x.length];
+			x[0] = ax;
+			y[0] = ay;
+			x[1] = bx;
+			y[1] = by;
+			int v = 2;
+			for (int i : nearby) {
+				for (int corner = 0; corner < 4; corner++) {
+					double cx = corner % 2 == 0 ? obstacles.minX[i]
+							: obstacles.maxX[i];
+					double cy = corner < 2 ? obstacles.minY[i]
+							: obstacles.maxY[i];
+					if (!obstacles.contains(cx, cy, ignored)) {
+						x[v] = cx;
+						y[v] = cy;
+						v++;
+					}
+				}
+			}
+
+			// A* with the euclidean distance to the end point as heuristic
+			double[] distance = new double[v];
+			int[] predecessor = new int[v];
+			boolean[] settled = new boolean[v];
+			Arrays.fill(distance, Double.POSITIVE_INFINITY);
+			distance[0] = 0;
+			PriorityQueue<double[]> queue = new PriorityQueue<>(
+					(e1, e2) -> Double.compare(e1[0], e2[0]));
+			queue.add(new double[] { Math.hypot(bx - ax, by - ay), 0 });
+			while (!queue.isEmpty()) {
+				int u = (int) queue.poll()[1];
+				if (settled[u]) {
+					continue;
+				}
+				settled[u] = true;
+				if (u == 1) {
+					break;
+				}
+				for (int w = 1; w < v; w++) {
+					if (settled[w]) {
+						continue;
+					}
+					double d = distance[u] + Math.hypot(x[w] - x[u], y[w] - y[u]);
+					if (d < distance[w] && !obstacles.intersects(x[u], y[u],
+							x[w], y[w], ignored)) {
+						distance[w] = d;
+						predecessor[w] = u;
+						queue.add(new double[] {
+								d + Math.hypot(bx - x[w], by - y[w]), w });
+					}
+				}
+			}
+			if (!settled[1]) {
+				return null;
+			}
+			List<Point> route = new ArrayList<>();
+			for (int w = predecessor[1]; w != 0; w = predecessor[w]) {
+				route.add(new Point(x[w], y[w]));
+			}
+			Collections.reverse(route);
+			return route;
+		}
+	}
+
+	/**
+	 * Searches the route with the minimal length and number of bends within
+	 * the grid of channels that is formed by the borders of the nearby
+	 * obstacles and the coordinates of the start and end point.
+	 */
+	private static final class OrthogonalRouter extends AbstractRouter {
+
+		OrthogonalRouter(ObstacleIndex obstacles, int source, int target) {
+			super(obstacles, source, target);
+		}
+
+		@Override
+		List<Point> route() {
+			if ((ax == bx || ay == by)
+					&& !obstacles.intersects(ax, ay, bx, by, ignored)) {
+				return Collections.emptyList();
+			}
+			return super.route();
+		}
+
+		@Override
+		List<Point> route(double x0, double y0, double x1, double y1,
+				int[] nearby) {
+			double[] xs = new double[2 * nearby.length + 4];
+			double[] ys = new double[xs.length];
+			int k = 0;
+			for (int i : nearby) {
+				xs[k] = obstacles.minX[i];
+				ys[k++] = obstacles.minY[i];
+				xs[k] = obstacles.maxX[i];
+				ys[k++] = obstacles.maxY[i];
+			}
+			xs[k] = ax;
+			ys[k++] = ay;
+			xs[k] = bx;
+			ys[k++] = by;
+			xs[k] = x0;
+			ys[k++] = y0;
+			xs[k] = x1;
+			ys[k++] = y1;
+			xs = unique(xs, x0, x1);
+			ys = unique(ys, y0, y1);
+			int columns = xs.length;
+			int rows = ys.length;
+			int start = Arrays.binarySearch(ys, ay) * columns
+					+ Arrays.binarySearch(xs, ax);
+			int end = Arrays.binarySearch(ys, by) * columns
+					+ Arrays.binarySearch(xs, bx);
+
+			// A* over (grid point, direction) states, where a bend costs as
+			// much as an obstacle is wide, and the manhattan distance to the
+			// end point is the heuristic
+			double bendCost = obstacles.averageExtent;
+			int states = 4 * columns * rows;
+			double[] distance = new double[states];
+			int[] predecessor = new int[states];
+			boolean[] settled = new boolean[states];
+			Arrays.fill(distance, Double.POSITIVE_INFINITY);
+			PriorityQueue<double[]> queue = new PriorityQueue<>(
+					(e1, e2) -> Double.compare(e1[0], e2[0]));
+			for (int direction = 0; direction < 4; direction++) {
+				int state = 4 * start + direction;
+				distance[state] = 0;
+				predecessor[state] = -1;
+				queue.add(new double[] {
+						Math.abs(bx - ax) + Math.abs(by - ay), state });
+			}
+			int found = -1;
+			while (!queue.isEmpty()) {
+				int state = (int) queue.poll()[1];
+				if (settled[state]) {
+					continue;
+				}
+				settled[state] = true;
+				int point = state / 4;
+				if (point == end) {
+					found = state;
+					break;
+				}
+				int column = point % columns;
+				int row = point / columns;
+				for (int direction = 0; direction < 4; direction++) {
+					int c = column + DIRECTION_X[direction];
+					int r = row + DIRECTION_Y[direction];
+					if (c < 0 || c >= columns || r < 0 || r >= rows) {
+						continue;
+					}
+					int next = 4 * (r * columns + c) + direction;
+					if (settled[next]) {
+						continue;
+					}
+					double d = distance[state] + Math.abs(xs[c] - xs[column])
+							+ Math.abs(ys[r] - ys[row])
+							+ (direction == state % 4 ? 0 : bendCost);
+					if (d < distance[next] && !obstacles.intersects(
+							xs[column], ys[row], xs[c], ys[r], ignored)) {
+						distance[next] = d;
+						predecessor[next] = state;
+						queue.add(new double[] { d + Math.abs(bx - xs[c])
+								+ Math.abs(by - ys[r]), next });
+					}
+				}
+			}
+			if (found < 0) {
+				return null;
+			}
+			// the bend points are where the direction changes
+			List<Point> route = new ArrayList<>();
+			for (int state = found; predecessor[state] >= 0
+					&& predecessor[predecessor[state]] >= 0; state = predecessor[state]) {
+				int previous = predecessor[state];
+				if (previous % 4 != state % 4) {
+					int point = previous / 4;
+					route.add(new Point(xs[point % columns],
+							ys[point / columns]));
+				}
+			}
+			Collections.reverse(route);
+			return route;
+		}
+
+		/**
+		 * Returns the sorted distinct values of the given coordinates that lie
+		 * within the given range.
+		 */
+		private static double[] unique(double[] values, double min,
+				double max) {
+			Arrays.sort(values);
+			int count = 0;
+			for (double value : values) {
+				if (value >= min && value <= max
+						&& (count == 0 || values[count - 1] != value)) {
+					values[count++] = value;
+				}
+			}
+			return Arrays.copyOf(values, count);
+		}
+	}
+}
@@ -17,7 +17,7 @@ import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -30,7 +30,7 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class GridLayoutAlgorithm implements ILayoutAlgorithm {
+public class GridLayoutAlgorithm implements ICacheableLayoutAlgorithm {
 
 	private static final double PADDING_PERCENTAGE = 0.95;
 	private static final int MIN_ENTITY_SIZE = 5;
@@ -89,10 +89,15 @@ public class GridLayoutAlgorithm implements ILayoutAlgorithm {
 	public GridLayoutAlgorithm() {
 	}
 
+	public Object[] getLayoutParameters() {
+		return new Object[] { aspectRatio, rowPadding, resize };
+	}
+
 	public void applyLayout(LayoutContext context, boolean clean) {
 		if (!clean)
 			return;
-		numChildren = context.getNodes().length;
+		Node[] entities = context.getNodes();
+		numChildren = entities.length;
 		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
 		calculateGrid(bounds);
 
@@ -100,7 +105,7 @@ public class GridLayoutAlgorithm implements ILayoutAlgorithm {
 		for (int i = 0; i < rows; i++) {
 			for (int j = 0; j < cols; j++) {
 				if ((i * cols + j) < numChildren) {
-					Node node = context.getNodes()[index++];
+					Node node = entities[index++];
 					if (resize && LayoutProperties.isResizable(node))
 						LayoutProperties.setSize(node, new Dimension(
 								Math.max(childrenWidth, MIN_ENTITY_SIZE),
@@ -0,0 +1,558 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link MultilevelForceLayoutAlgorithm} is a multilevel force-directed
+ * layout algorithm in the spirit of Graphviz' <code>sfdp</code> (see Y. Hu,
+ * "Efficient and High Quality Force-Directed Graph Drawing", 2005).
+ * <p>
+ * The graph is repeatedly coarsened by collapsing the edges of a (heavy edge)
+ * matching, until the graph is small or cannot be reduced significantly any
+ * further. The coarsest graph is laid out from a random initial placement.
+ * Then, the layout is prolonged to the next finer graph and refined there,
+ * level by level, until the original graph is reached. Repulsive forces are
+ * approximated using a Barnes-Hut quad tree, so that a single iteration takes
+ * <code>O(n log n)</code> time and the total cost is near-linear in the size of
+ * the graph.
+ */
+public class MultilevelForceLayoutAlgorithm
+		implements ICacheableLayoutAlgorithm {
+
+	/**
+	 * Represents one level of the multilevel hierarchy, i.e. a graph in
+	 * compressed sparse row format, and the mapping of its nodes to the nodes
+	 * of the next coarser level.
+	 */
+	private static class Level {
+		int size;
+		int[] offsets;
+		int[] targets;
+		double[] weights;
+		double[] nodeWeights;
+		int[] coarseIndex;
+		double[] x;
+		double[] y;
+
+		Level(int size) {
+			this.size = size;
+			x = new double[size];
+			y = new double[size];
+		}
+	}
+
+	/**
+	 * The default number of iterations that are performed at most per level.
+	 */
+	private static final int DEFAULT_MAX_ITERATIONS = 100;
+
+	/**
+	 * The default ideal edge length.
+	 */
+	private static final double DEFAULT_IDEAL_EDGE_LENGTH = 50;
+
+	/**
+	 * The relative strength of the repulsive forces (C in Hu's paper).
+	 */
+	private static final double REPULSION = 0.2;
+
+	/**
+	 * The opening criterion for the Barnes-Hut approximation.
+	 */
+	private static final double THETA = 1.2;
+
+	/**
+	 * The factor by which the step length is adapted.
+	 */
+	private static final double COOLING = 0.9;
+
+	/**
+	 * The coarsest level is laid out from scratch and is allowed this many
+	 * times the maximum number of iterations of the finer levels.
+	 */
+	private static final int COARSEST_ITERATIONS = 3;
+
+	/**
+	 * The initial step length when refining a prolonged layout, relative to the
+	 * ideal edge length. The prolonged layout is already close to the final
+	 * one, so that smaller steps are sufficient.
+	 */
+	private static final double REFINEMENT_STEP = 0.2;
+
+	/**
+	 * Relative displacement below which a level is considered converged.
+	 */
+	private static final double TOLERANCE = 0.01;
+
+	/**
+	 * Coarsening stops if a level does not reduce the number of nodes below
+	 * this fraction of the previous level.
+	 */
+	private static final double MIN_COARSENING_RATE = 0.75;
+
+	/**
+	 * Coarsening stops if a level has at most this number of nodes.
+	 */
+	private static final int MIN_COARSEST_SIZE = 10;
+
+	/**
+	 * Levels with at least this number of nodes compute forces in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 2000;
+
+	private int maxIterations = DEFAULT_MAX_ITERATIONS;
+	private double idealEdgeLength = DEFAULT_IDEAL_EDGE_LENGTH;
+	private long randomSeed = 0;
+	private boolean resize = false;
+	private boolean fitWithinBounds = true;
+
+	/**
+	 * Constructs a new {@link MultilevelForceLayoutAlgorithm}.
+	 */
+	public MultilevelForceLayoutAlgorithm() {
+	}
+
+	public Object[] getLayoutParameters() {
+		return new Object[] { maxIterations, idealEdgeLength,
+				randomSeed, resize, fitWithinBounds };
+	}
+
+	public void applyLayout(LayoutContext layoutContext, boolean clean) {
+		if (!clean) {
+			return;
+		}
+		Node[] entities = layoutContext.getNodes();
+		if (entities.length == 0) {
+			return;
+		}
+
+		Random random = new Random(randomSeed);
+		List<Level> levels = coarsen(
+				createFinestLevel(entities, layoutContext.getEdges()), random);
+
+		// lay out the coarsest level starting from a random placement
+		Level coarsest = levels.get(levels.size() - 1);
+		double side = idealEdgeLength * Math.sqrt(coarsest.size);
+		for (int i = 0; i < coarsest.size; i++) {
+			coarsest.x[i] = random.nextDouble() * side;
+			coarsest.y[i] = random.nextDouble() * side;
+		}
+		if (levels.size() == 1) {
+			refine(coarsest, fixNonMovable(entities, coarsest), idealEdgeLength,
+					COARSEST_ITERATIONS * maxIterations);
+		} else {
+			refine(coarsest, null, idealEdgeLength,
+					COARSEST_ITERATIONS * maxIterations);
+		}
+
+		// prolong and refine level by level
+		for (int l = levels.size() - 2; l >= 0; l--) {
+			Level fine = levels.get(l);
+			prolong(levels.get(l + 1), fine, random);
+			refine(fine, l == 0 ? fixNonMovable(entities, fine) : null,
+					REFINEMENT_STEP * idealEdgeLength, maxIterations);
+		}
+
+		Level finest = levels.get(0);
+		for (int i = 0; i < entities.length; i++) {
+			if (!LayoutProperties.isMovable(entities[i])) {
+				finest.x[i] = Double.NaN;
+			}
+		}
+		layoutContext.commitLayout(entities, finest.x, finest.y, null, null);
+
+		if (resize) {
+			AlgorithmHelper.maximizeSizes(entities);
+		}
+		Rectangle bounds = LayoutProperties.getBounds(layoutContext.getGraph());
+		if (fitWithinBounds && bounds != null) {
+			Rectangle bounds2 = new Rectangle(bounds);
+			int insets = 4;
+			bounds2.setX(bounds2.getX() + insets);
+			bounds2.setY(bounds2.getY() + insets);
+			bounds2.setWidth(bounds2.getWidth() - 2 * insets);
+			bounds2.setHeight(bounds2.getHeight() - 2 * insets);
+			AlgorithmHelper.fitWithinBounds(entities, bounds2, resize);
+		}
+	}
+
+	/**
+	 * Places the non-movable nodes at their current locations and returns a
+	 * mask that prevents them from being moved during refinement.
+	 */
+	private static boolean[] fixNonMovable(Node[] entities, Level finest) {
+		boolean[] fixed = new boolean[entities.length];
+		for (int i = 0; i < entities.length; i++) {
+			if (!LayoutProperties.isMovable(entities[i])) {
+				fixed[i] = true;
+				Point location = LayoutProperties.getLocation(entities[i]);
+				if (location != null) {
+					finest.x[i] = location.x;
+					finest.y[i] = location.y;
+				}
+			}
+		}
+		return fixed;
+	}
+
+	/**
+	 * Builds the finest level from the given nodes and edges. Self-loops and
+	 * edges to nodes that are not laid out are ignored, parallel edges are
+	 * merged.
+	 */
+	private Level createFinestLevel(Node[] entities, Edge[] edges) {
+		Level level = new Level(entities.length);
+		level.nodeWeights = new double[entities.length];
+		Arrays.fill(level.nodeWeights, 1);
+		buildRows(level, AlgorithmHelper.getAdjacency(entities, edges), null);
+		return level;
+	}
+
+	/**
+	 * Stores the given adjacency (and weights) in compressed sparse row format
+	 * within the given {@link Level}, merging parallel edges.
+	 */
+	private static void buildRows(Level level, int[][] adjacency,
+			double[][] adjacencyWeights) {
+		int n = level.size;
+		int total = 0;
+		for (int i = 0; i < n; i++) {
+			total += adjacency[i].length;
+		}
+		level.offsets = new int[n + 1];
+		level.targets = new int[total];
+		level.weights = new double[total];
+		int[] marker = new int[n];
+		Arrays.fill(marker, -1);
+		int position = 0;
+		for (int i = 0; i < n; i++) {
+			level.offsets[i] = position;
+			for (int k = 0; k < adjacency[i].length; k++) {
+				int j = adjacency[i][k];
+				double w = adjacencyWeights == null ? 1
+						: adjacencyWeights[i][k];
+				if (marker[j] >= level.offsets[i]) {
+					level.weights[marker[j]] += w;
+				} else {
+					marker[j] = position;
+					level.targets[position] = j;
+					level.weights[position] = w;
+					position++;
+				}
+			}
+		}
+		level.offsets[n] = position;
+	}
+
+	/**
+	 * Computes the multilevel hierarchy by repeated heavy edge matching.
+	 */
+	private static List<Level> coarsen(Level finest, Random random) {
+		List<Level> levels = new ArrayList<>();
+		levels.add(finest);
+		Level fine = finest;
+		while (fine.size > MIN_COARSEST_SIZE) {
+			Level coarse = match(fine, random);
+			if (coarse.size > MIN_COARSENING_RATE * fine.size) {
+				fine.coarseIndex = null;
+				break;
+			}
+			levels.add(coarse);
+			fine = coarse;
+		}
+		return levels;
+	}
+
+	private static Level match(Level fine, Random random) {
+		int n = fine.size;
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		for (int i = n - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tmp = order[i];
+			order[i] = order[j];
+			order[j] = tmp;
+		}
+
+		// heavy edge matching, normalized by node weights so that light nodes
+		// are preferred and the coarse graph stays balanced
+		int[] coarseIndex = new int[n];
+		Arrays.fill(coarseIndex, -1);
+		int coarseSize = 0;
+		for (int k = 0; k < n; k++) {
+			int u = order[k];
+			if (coarseIndex[u] >= 0) {
+				continue;
+			}
+			int best = -1;
+			double bestScore = 0;
+			for (int e = fine.offsets[u]; e < fine.offsets[u + 1]; e++) {
+				int v = fine.targets[e];
+				if (coarseIndex[v] >= 0) {
+					continue;
+				}
+				double score = fine.weights[e]
+						/ (fine.nodeWeights[u] * fine.nodeWeights[v]);
+				if (score > bestScore) {
+					bestScore = score;
+					best = v;
+				}
+			}
+			coarseIndex[u] = coarseSize;
+			if (best >= 0) {
+				coarseIndex[best] = coarseSize;
+			}
+			coarseSize++;
+		}
+		fine.coarseIndex = coarseIndex;
+
+		Level coarse = new Level(coarseSize);
+		coarse.nodeWeights = new double[coarseSize];
+		int[] degree = new int[coarseSize];
+		for (int u = 0; u < n; u++) {
+			coarse.nodeWeights[coarseIndex[u]] += fine.nodeWeights[u];
+			for (int e = fine.offsets[u]; e < fine.offsets[u + 1]; e++) {
+				if (coarseIndex[fine.targets[e]] != coarseIndex[u]) {
+					degree[coarseIndex[u]]++;
+				}
+			}
+		}
+		int[][] adjacency = new int[coarseSize][];
+		double[][] adjacencyWeights = new double[coarseSize][];
+		for (int c = 0; c < coarseSize; c++) {
+			adjacency[c] = new int[degree[c]];
+			adjacencyWeights[c] = new double[degree[c]];
+			degree[c] = 0;
+		}
+		for (int u = 0; u < n; u++) {
+			int cu = coarseIndex[u];
+			for (int e = fine.offsets[u]; e < fine.offsets[u + 1]; e++) {
+				int cv = coarseIndex[fine.targets[e]];
+				if (cv != cu) {
+					adjacency[cu][degree[cu]] = cv;
+					adjacencyWeights[cu][degree[cu]++] = fine.weights[e];
+				}
+			}
+		}
+		buildRows(coarse, adjacency, adjacencyWeights);
+		return coarse;
+	}
+
+	/**
+	 * Transfers the positions of the coarse level to the fine level. Nodes
+	 * that were merged are placed next to each other, and the layout is scaled
+	 * so that it provides enough room for the additional nodes.
+	 */
+	private void prolong(Level coarse, Level fine, Random random) {
+		double scale = Math.sqrt((double) fine.size / coarse.size);
+		double jitter = 0.1 * idealEdgeLength;
+		for (int i = 0; i < fine.size; i++) {
+			int c = fine.coarseIndex[i];
+			fine.x[i] = coarse.x[c] * scale
+					+ (random.nextDouble() - 0.5) * jitter;
+			fine.y[i] = coarse.y[c] * scale
+					+ (random.nextDouble() - 0.5) * jitter;
+		}
+	}
+
+	/**
+	 * Refines the layout of the given level using spring-electrical forces
+	 * with an adaptive step length.
+	 */
+	private void refine(final Level level, final boolean[] fixed,
+			double initialStep, int iterations) {
+		final int n = level.size;
+		if (n < 2) {
+			return;
+		}
+		final double k = idealEdgeLength;
+		final double repulsion = REPULSION * k * k;
+		final double[] fx = new double[n];
+		final double[] fy = new double[n];
+		final BarnesHutQuadTree tree = new BarnesHutQuadTree();
+		final ThreadLocal<int[]> stacks = ThreadLocal
+				.withInitial(() -> new int[64]);
+
+		double step = initialStep;
+		double energy = Double.POSITIVE_INFINITY;
+		int progress = 0;
+		for (int iteration = 0; iteration < iterations; iteration++) {
+			tree.build(level.x, level.y, n);
+			IntStream indices = IntStream.range(0, n);
+			if (n >= PARALLEL_THRESHOLD) {
+				indices = indices.parallel();
+			}
+			indices.forEach(i -> {
+				double[] force = new double[2];
+				stacks.set(tree.addRepulsiveForce(i, repulsion, THETA,
+						stacks.get(), force));
+				double xi = level.x[i];
+				double yi = level.y[i];
+				for (int e = level.offsets[i]; e < level.offsets[i
+						+ 1]; e++) {
+					int j = level.targets[e];
+					double dx = xi - level.x[j];
+					double dy = yi - level.y[j];
+					double d = Math.sqrt(dx * dx + dy * dy);
+					force[0] -= dx * d / k;
+					force[1] -= dy * d / k;
+				}
+				fx[i] = force[0];
+				fy[i] = force[1];
+			});
+
+			double previousEnergy = energy;
+			energy = 0;
+			double displacement = 0;
+			for (int i = 0; i < n; i++) {
+				double f2 = fx[i] * fx[i] + fy[i] * fy[i];
+				energy += f2;
+				if (f2 == 0 || (fixed != null && fixed[i])) {
+					continue;
+				}
+				double f = Math.sqrt(f2);
+				level.x[i] += step * fx[i] / f;
+				level.y[i] += step * fy[i] / f;
+				displacement += step;
+			}
+
+			// adaptive step length (see Hu, 2005)
+			if (energy < previousEnergy) {
+				progress++;
+				if (progress >= 5) {
+					progress = 0;
+					step /= COOLING;
+				}
+			} else {
+				progress = 0;
+				step *= COOLING;
+			}
+			if (displacement < TOLERANCE * k * n) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Returns the ideal edge length, i.e. the natural length of the springs.
+	 *
+	 * @return The ideal edge length.
+	 */
+	public double getIdealEdgeLength() {
+		return idealEdgeLength;
+	}
+
+	/**
+	 * Sets the ideal edge length, i.e. the natural length of the springs. The
+	 * default value is 50.
+	 *
+	 * @param idealEdgeLength
+	 *            The new ideal edge length, should be greater than 0.
+	 */
+	public void setIdealEdgeLength(double idealEdgeLength) {
+		if (idealEdgeLength > 0) {
+			this.idealEdgeLength = idealEdgeLength;
+		}
+	}
+
+	/**
+	 * Returns the maximum number of iterations that are performed per level.
+	 *
+	 * @return The maximum number of iterations per level.
+	 */
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+
+	/**
+	 * Sets the maximum number of iterations that are performed per level. The
+	 * default value is 100. The coarsest level, which is laid out from a random
+	 * placement, may use three times as many iterations.
+	 *
+	 * @param maxIterations
+	 *            The new maximum number of iterations per level.
+	 */
+	public void setMaxIterations(int maxIterations) {
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * Sets the seed that is used for the random initial placement and the
+	 * randomized coarsening, so that layouts can be reproduced.
+	 *
+	 * @param randomSeed
+	 *            The new random seed.
+	 */
+	public void setRandomSeed(long randomSeed) {
+		this.randomSeed = randomSeed;
+	}
+
+	/**
+	 * Returns whether the computed layout is scaled to fit within the layout
+	 * bounds.
+	 *
+	 * @return <code>true</code> if the layout is fitted within the layout
+	 *         bounds, otherwise <code>false</code>.
+	 */
+	public boolean isFitWithinBounds() {
+		return fitWithinBounds;
+	}
+
+	/**
+	 * Sets whether the computed layout is scaled to fit within the layout
+	 * bounds (default is <code>true</code>). Otherwise, the node distances are
+	 * determined by the {@link #setIdealEdgeLength(double) ideal edge length}.
+	 *
+	 * @param fitWithinBounds
+	 *            <code>true</code> to fit the layout within the layout bounds,
+	 *            otherwise <code>false</code>.
+	 */
+	public void setFitWithinBounds(boolean fitWithinBounds) {
+		this.fitWithinBounds = fitWithinBounds;
+	}
+
+	/**
+	 *
+	 * @return true if this algorithm is set to resize elements
+	 */
+	public boolean isResizing() {
+		return resize;
+	}
+
+	/**
+	 *
+	 * @param resizing
+	 *            true if this algorithm should resize elements (default is
+	 *            false)
+	 */
+	public void setResizing(boolean resizing) {
+		resize = resizing;
+	}
+}
@@ -0,0 +1,508 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link OverlapRemovalLayoutAlgorithm} removes overlaps between the nodes
+ * of an existing layout, while keeping the nodes close to their locations. It
+ * is intended to be applied after another algorithm, e.g. using a
+ * {@link CompositeLayoutAlgorithm}.
+ * <p>
+ * In each round, the overlapping pairs of nodes are detected using a sweep
+ * line (in O(n log n + k) for k overlapping pairs). Each pair is to be
+ * separated along the axis on which it overlaps less, which yields separation
+ * constraints for each axis. As the constraints of an axis are acyclic with
+ * respect to the node order along it, they are satisfied by a forward and a
+ * backward longest path pass, whose results are averaged, so that nodes are
+ * moved in both directions. Moving the nodes may cause new overlaps, which are
+ * removed in the next round.
+ * <p>
+ * If overlaps remain after the maximum number of rounds, a final sweep
+ * separates all nodes whose horizontal extents overlap vertically, using
+ * constraints between the nodes that are adjacent within the sweep line, which
+ * removes all overlaps if all nodes are movable. Nodes that are not movable
+ * are not moved, and nodes without a location are ignored.
+ */
+public class OverlapRemovalLayoutAlgorithm implements ILayoutAlgorithm {
+
+	private static final int DEFAULT_MAX_ITERATIONS = 3;
+
+	/**
+	 * Overlaps below this are ignored, so that rounding errors do not cause
+	 * further rounds.
+	 */
+	private static final double EPSILON = 1e-6;
+
+	private double spacing = 0;
+	private int maxIterations = DEFAULT_MAX_ITERATIONS;
+
+	// the state of the current layout pass
+	private int n;
+	private double[] x;
+	private double[] y;
+	private double[] halfWidth;
+	private double[] halfHeight;
+	private boolean[] movable;
+
+	/**
+	 * Returns the spacing that is enforced between nodes.
+	 *
+	 * @return The spacing that is enforced between nodes.
+	 */
+	public double getSpacing() {
+		return spacing;
+	}
+
+	/**
+	 * Sets the spacing that is enforced between nodes. Defaults to
+	 * <code>0</code>.
+	 *
+	 * @param spacing
+	 *            The new spacing that is enforced between nodes.
+	 */
+	public void setSpacing(double spacing) {
+		if (spacing < 0) {
+			throw new IllegalArgumentException(
+					"Spacing may not be negative.");
+		}
+		this.spacing = spacing;
+	}
+
+	/**
+	 * Returns the maximum number of rounds.
+	 *
+	 * @return The maximum number of rounds.
+	 */
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+
+	/**
+	 * Sets the maximum number of rounds before the final sweep. Defaults to
+	 * <code>3</code>. Fewer rounds are faster, but the final sweep moves the
+	 * nodes further, as it separates all overlapping nodes vertically.
+	 *
+	 * @param maxIterations
+	 *            The new maximum number of rounds.
+	 */
+	public void setMaxIterations(int maxIterations) {
+		if (maxIterations < 0) {
+			throw new IllegalArgumentException(
+					"Max iterations may not be negative.");
+		}
+		this.maxIterations = maxIterations;
+	}
+
+	public void applyLayout(LayoutContext context, boolean clean) {
+		if (!clean) {
+			return;
+		}
+		Node[] entities = context.getNodes();
+		init(entities);
+		if (n < 2) {
+			return;
+		}
+
+		for (int iteration = 0; iteration <= maxIterations; iteration++) {
+			if (context.isLayoutCancelled()) {
+				return;
+			}
+			int[] pairs = findOverlaps();
+			if (pairs.length == 0) {
+				break;
+			}
+			if (iteration == maxIterations) {
+				separateVertically();
+				break;
+			}
+			// separate each pair along the axis with the smaller overlap
+			int[] pairsX = new int[pairs.length];
+			int[] pairsY = new int[pairs.length];
+			int countX = 0;
+			int countY = 0;
+			for (int p = 0; p < pairs.length; p += 2) {
+				int i = pairs[p];
+				int j = pairs[p + 1];
+				double overlapX = halfWidth[i] + halfWidth[j]
+						- Math.abs(x[i] - x[j]);
+				double overlapY = halfHeight[i] + halfHeight[j]
+						- Math.abs(y[i] - y[j]);
+				if (overlapX <= overlapY) {
+					pairsX[countX++] = i;
+					pairsX[countX++] = j;
+				} else {
+					pairsY[countY++] = i;
+					pairsY[countY++] = j;
+				}
+			}
+			separate(x, halfWidth, pairsX, countX);
+			separate(y, halfHeight, pairsY, countY);
+		}
+
+		double[] locationX = new double[entities.length];
+		double[] locationY = new double[entities.length];
+		Arrays.fill(locationX, Double.NaN);
+		int i = 0;
+		for (int e = 0; e < entities.length; e++) {
+			if (LayoutProperties.getLocation(entities[e]) != null) {
+				if (movable[i]) {
+					locationX[e] = x[i];
+					locationY[e] = y[i];
+				}
+				i++;
+			}
+		}
+		context.commitLayout(entities, locationX, locationY, null, null);
+	}
+
+	/**
+	 * Reads the locations and sizes of the given nodes (skipping those
+	 * without a location). The spacing is added to the sizes.
+	 */
+	private void init(Node[] entities) {
+		n = 0;
+		x = new double[entities.length];
+		y = new double[entities.length];
+		halfWidth = new double[entities.length];
+		halfHeight = new double[entities.length];
+		movable = new boolean[entities.length];
+		for (Node entity : entities) {
+			Point location = LayoutProperties.getLocation(entity);
+			if (location == null) {
+				continue;
+			}
+			Dimension size = LayoutProperties.getSize(entity);
+			x[n] = location.x;
+			y[n] = location.y;
+			halfWidth[n] = ((size == null ? 0 : size.width) + spacing) / 2;
+			halfHeight[n] = ((size == null ? 0 : size.height) + spacing) / 2;
+			movable[n] = LayoutProperties.isMovable(entity);
+			n++;
+		}
+	}
+
+	/**
+	 * Returns the node indices sorted by the given key, and by index if the
+	 * keys are equal.
+	 */
+	private int[] sort(double[] key) {
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		sort(order, key, 0, n - 1);
+		return order;
+	}
+
+	/**
+	 * Sorts the given range (inclusive) of the given indices by the given key
+	 * using quicksort, and insertion sort for small ranges.
+	 */
+	private static void sort(int[] order, double[] key, int low, int high) {
+		while (high - low > 16) {
+			// median of three pivot
+			int mid = (low + high) >>> 1;
+			if (less(order[mid], order[low], key)) {
+				swap(order, mid, low);
+			}
+			if (less(order[high], order[low], key)) {
+				swap(order, high, low);
+			}
+			if (less(order[high], order[mid], key)) {
+				swap(order, high, mid);
+			}
+			int pivot = order[mid];
+			int i = low;
+			int j = high;
+			while (i <= j) {
+				while (less(order[i], pivot, key)) {
+					i++;
+				}
+				while (less(pivot, order[j], key)) {
+					j--;
+				}
+				if (i <= j) {
+					swap(order, i++, j--);
+				}
+			}
+			// recurse into the smaller part
+			if (j - low < high - i) {
+				sort(order, key, low, j);
+				low = i;
+			} else {
+				sort(order, key, i, high);
+				high = j;
+			}
+		}
+		for (int i = low + 1; i <= high; i++) {
+			int p = order[i];
+			int j = i - 1;
+			while (j >= low && less(p, order[j], key)) {
+				order[j + 1] = order[j];
+				j--;
+			}
+			order[j + 1] = p;
+		}
+	}
+
+	private static boolean less(int i, int j, double[] key) {
+		return key[i] < key[j] || key[i] == key[j] && i < j;
+	}
+
+	private static void swap(int[] order, int i, int j) {
+		int tmp = order[i];
+		order[i] = order[j];
+		order[j] = tmp;
+	}
+
+	/**
+	 * Sweeps a vertical line over the nodes, maintaining the nodes that
+	 * intersect it ordered by their top side, and returns the overlapping
+	 * pairs of nodes (as consecutive indices) of which at least one is
+	 * movable.
+	 */
+	private int[] findOverlaps() {
+		double[] left = new double[n];
+		double[] right = new double[n];
+		// the indices n and n + 1 are used as lower and upper search keys,
+		// whose top side is stored in the additional array slots
+		final double[] top = new double[n + 2];
+		double maxHeight = 0;
+		for (int i = 0; i < n; i++) {
+			left[i] = x[i] - halfWidth[i];
+			right[i] = x[i] + halfWidth[i];
+			top[i] = y[i] - halfHeight[i];
+			maxHeight = Math.max(maxHeight, 2 * halfHeight[i]);
+		}
+		int[] byLeft = sort(left);
+		int[] byRight = sort(right);
+		final int lowerKey = n;
+		final int upperKey = n + 1;
+		NavigableSet<Integer> active = new TreeSet<>(
+				new Comparator<Integer>() {
+					@Override
+					public int compare(Integer i, Integer j) {
+						int result = Double.compare(top[i], top[j]);
+						if (result != 0) {
+							return result;
+						}
+						return Integer.compare(rank(i), rank(j));
+					}
+
+					private int rank(int i) {
+						return i == lowerKey ? -1
+								: i == upperKey ? Integer.MAX_VALUE : i;
+					}
+				});
+
+		int[] pairs = new int[16];
+		int count = 0;
+		int r = 0;
+		for (int l = 0; l < n; l++) {
+			int i = byLeft[l];
+			// nodes that end before (or shortly after) this one starts are
+			// passed
+			while (r < n && right[byRight[r]] <= left[i] + EPSILON) {
+				active.remove(byRight[r++]);
+			}
+			// active nodes overlap vertically if their top side is within
+			// the vertical extent of this node, extended by the max height
+			double bottom = y[i] + halfHeight[i];
+			top[lowerKey] = top[i] - maxHeight;
+			top[upperKey] = bottom - EPSILON;
+			for (int j : active.subSet(lowerKey, false, upperKey, false)) {
+				if (top[j] + 2 * halfHeight[j] > top[i] + EPSILON
+						&& (movable[i] || movable[j])) {
+					if (count == pairs.length) {
+						pairs = Arrays.copyOf(pairs, 2 * count);
+					}
+					pairs[count++] = i;
+					pairs[count++] = j;
+				}
+			}
+			active.add(i);
+		}
+		return Arrays.copyOf(pairs, count);
+	}
+
+	/**
+	 * Moves the nodes vertically, so that all nodes whose horizontal extents
+	 * overlap are separated. The constraints are generated between the nodes
+	 * that are adjacent within the sweep line when a node is added, or when a
+	 * node between them is removed.
+	 */
+	private void separateVertically() {
+		double[] left = new double[n];
+		double[] right = new double[n];
+		for (int i = 0; i < n; i++) {
+			left[i] = x[i] - halfWidth[i];
+			right[i] = x[i] + halfWidth[i];
+		}
+		int[] byLeft = sort(left);
+		int[] byRight = sort(right);
+		NavigableSet<Integer> active = new TreeSet<>(
+				new Comparator<Integer>() {
+					@Override
+					public int compare(Integer i, Integer j) {
+						int result = Double.compare(y[i], y[j]);
+						return result != 0 ? result : Integer.compare(i, j);
+					}
+				});
+
+		// two constraints per added node, and one per removed node
+		int[] pairs = new int[6 * n];
+		int count = 0;
+		int r = 0;
+		for (int l = 0; l < n; l++) {
+			int i = byLeft[l];
+			while (r < n && right[byRight[r]] <= left[i] + EPSILON) {
+				int j = byRight[r++];
+				Integer above = active.lower(j);
+				Integer below = active.higher(j);
+				active.remove(j);
+				if (above != null && below != null) {
+					pairs[count++] = above;
+					pairs[count++] = below;
+				}
+			}
+			active.add(i);
+			Integer above = active.lower(i);
+			Integer below = active.higher(i);
+			if (above != null) {
+				pairs[count++] = above;
+				pairs[count++] = i;
+			}
+			if (below != null) {
+				pairs[count++] = i;
+				pairs[count++] = below;
+			}
+		}
+		separate(y, halfHeight, pairs, count);
+	}
+
+	/**
+	 * Moves the nodes along one axis, so that the given pairs are separated
+	 * by the sum of their half extents. The constraints lead from the lower to
+	 * the higher node, or away from a node that is not movable, so that such
+	 * nodes are only sources, and are processed first.
+	 */
+	private void separate(double[] position, double[] halfExtent, int[] pairs,
+			int count) {
+		if (count == 0) {
+			return;
+		}
+		int[] order = sort(position);
+		int[] rank = new int[n];
+		for (int k = 0; k < n; k++) {
+			rank[order[k]] = k;
+		}
+		int fixed = 0;
+		for (int k = 0; k < n; k++) {
+			if (!movable[order[k]]) {
+				fixed++;
+			}
+		}
+		if (fixed > 0) {
+			// move the fixed nodes to the front of the processing order
+			int[] sorted = order;
+			order = new int[n];
+			int f = 0;
+			int m = fixed;
+			for (int i : sorted) {
+				order[movable[i] ? m++ : f++] = i;
+			}
+		}
+
+		int[] sources = new int[count / 2];
+		int[] targets = new int[count / 2];
+		int constraints = 0;
+		for (int p = 0; p < count; p += 2) {
+			int i = pairs[p];
+			int j = pairs[p + 1];
+			if (!movable[i] && !movable[j]) {
+				continue;
+			}
+			boolean forward = movable[i] && movable[j] ? rank[i] < rank[j]
+					: !movable[i];
+			sources[constraints] = forward ? i : j;
+			targets[constraints++] = forward ? j : i;
+		}
+		int[] outOffsets = new int[n + 1];
+		int[] inOffsets = new int[n + 1];
+		for (int c = 0; c < constraints; c++) {
+			outOffsets[sources[c] + 1]++;
+			inOffsets[targets[c] + 1]++;
+		}
+		for (int i = 0; i < n; i++) {
+			outOffsets[i + 1] += outOffsets[i];
+			inOffsets[i + 1] += inOffsets[i];
+		}
+		int[] outTargets = new int[constraints];
+		int[] inSources = new int[constraints];
+		int[] outFill = Arrays.copyOf(outOffsets, n);
+		int[] inFill = Arrays.copyOf(inOffsets, n);
+		for (int c = 0; c < constraints; c++) {
+			outTargets[outFill[sources[c]]++] = targets[c];
+			inSources[inFill[targets[c]]++] = sources[c];
+		}
+
+		// backward pass (pushing movable sources to lower positions)
+		double[] backward = position.clone();
+		for (int k = n - 1; k >= fixed; k--) {
+			int j = order[k];
+			for (int e = inOffsets[j]; e < inOffsets[j + 1]; e++) {
+				int i = inSources[e];
+				if (movable[i]) {
+					backward[i] = Math.min(backward[i],
+							backward[j] - halfExtent[i] - halfExtent[j]);
+				}
+			}
+		}
+		// forward passes (pushing targets to higher positions), the second
+		// one only being needed to satisfy the constraints of fixed nodes,
+		// which the backward pass can not move
+		double[] forward = position.clone();
+		pushForward(forward, halfExtent, order, outOffsets, outTargets);
+		if (fixed > 0) {
+			pushForward(backward, halfExtent, order, outOffsets, outTargets);
+		}
+		for (int i = 0; i < n; i++) {
+			position[i] = (forward[i] + backward[i]) / 2;
+		}
+	}
+
+	private void pushForward(double[] position, double[] halfExtent,
+			int[] order, int[] outOffsets, int[] outTargets) {
+		for (int i : order) {
+			for (int e = outOffsets[i]; e < outOffsets[i + 1]; e++) {
+				int j = outTargets[e];
+				position[j] = Math.max(position[j],
+						position[i] + halfExtent[i] + halfExtent[j]);
+			}
+		}
+	}
+
+}
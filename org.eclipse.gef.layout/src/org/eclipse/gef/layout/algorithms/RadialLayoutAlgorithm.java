@@ -13,10 +13,12 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.List;
+
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -30,7 +32,7 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
+public class RadialLayoutAlgorithm implements ICacheableLayoutAlgorithm {
 
 	private static final double MAX_DEGREES = Math.PI * 2;
 	private double startDegree = 0;
@@ -44,11 +46,15 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 	public RadialLayoutAlgorithm() {
 	}
 
+	public Object[] getLayoutParameters() {
+		return new Object[] { startDegree, endDegree, resize };
+	}
+
 	public void applyLayout(LayoutContext layoutContext, boolean clean) {
 		if (!clean)
 			return;
 		treeLayout.internalApplyLayout(layoutContext);
-		Node[] entities = layoutContext.getNodes();
+		List<Node> entities = layoutContext.getNodesUnmodifiable();
 		Rectangle bounds = LayoutProperties.getBounds(layoutContext.getGraph())
 				.getCopy();
 		computeRadialPositions(entities, bounds);
@@ -62,13 +68,14 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 		AlgorithmHelper.fitWithinBounds(entities, bounds, resize);
 	}
 
-	private void computeRadialPositions(Node[] entities, Rectangle bounds) {
+	private void computeRadialPositions(List<Node> entities,
+			Rectangle bounds) {
 		Rectangle layoutBounds = AlgorithmHelper.getLayoutBounds(entities,
 				false);
 		layoutBounds.setX(bounds.getX());
 		layoutBounds.setWidth(bounds.getWidth());
-		for (int i = 0; i < entities.length; i++) {
-			Point location = LayoutProperties.getLocation(entities[i]);
+		for (Node entity : entities) {
+			Point location = LayoutProperties.getLocation(entity);
 			if (layoutBounds.getWidth() == 0 || layoutBounds.getHeight() == 0) {
 				location.x = 0;
 				location.y = 0;
@@ -82,7 +89,7 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 				location.x = distance * Math.cos(theta);
 				location.y = distance * Math.sin(theta);
 			}
-			LayoutProperties.setLocation(entities[i], location);
+			LayoutProperties.setLocation(entity, location);
 		}
 	}
 
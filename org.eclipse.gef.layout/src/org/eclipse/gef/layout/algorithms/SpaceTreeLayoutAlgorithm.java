@@ -18,13 +18,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
@@ -39,6 +45,15 @@ import org.eclipse.gef.layout.algorithms.TreeLayoutHelper.TreeNode;
  * to keep the tree structure clearly visible, it also keeps track of the nodes'
  * positions to makes sure they stay in their current layer and don't overlap
  * with each other.
+ * <p>
+ * The tree structure and the expansion state are kept across layout passes.
+ * When nodes or edges are added to or removed from the layout context, only
+ * the subtrees of the nodes whose children changed are updated. Nodes can be
+ * expanded and collapsed using {@link #expand(Node)} and
+ * {@link #collapse(Node)}. These changes are applied incrementally during the
+ * next layout pass, i.e. only the affected subtree and its neighbors within
+ * the layers are moved. The nodes that were moved during the last pass are
+ * available via {@link #getChangedNodes()}.
  * 
  * @author Ian Bull
  * @author Mateusz Matela
@@ -84,7 +99,7 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 			SpaceTreeNode child2 = (SpaceTreeNode) child;
 			child2.expanded = false;
 
-			if (child.depth >= 0)
+			if (child.depth >= 0 && child.depth < spaceTreeLayers.size())
 				spaceTreeLayers.get(child.depth).removeNode(child2);
 
 			if (expanded) {
@@ -305,8 +320,10 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 					break;
 				}
 				Point currentLocation = LayoutProperties.getLocation(node);
-				if (currentLocation.x != x || currentLocation.y != y) {
+				if (currentLocation == null || currentLocation.x != x
+						|| currentLocation.y != y) {
 					LayoutProperties.setLocation(node, new Point(x, y));
+					changedNodes.add(node);
 					SpaceTreeNode spaceTreeNode = (SpaceTreeNode) treeObserver
 							.getTreeNode(node);
 					spaceTreeNode
@@ -356,6 +373,11 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 		public ArrayList<SpaceTreeNode> nodes = new ArrayList<>();
 		private final int depth;
 		public double thickness = 0;
+		/**
+		 * Whether the nodes may not be sorted by their order, i.e. whether
+		 * nodes were added since they were last sorted.
+		 */
+		private boolean unsorted = false;
 
 		public SpaceTreeLayer(int depth) {
 			this.depth = depth;
@@ -367,6 +389,7 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 			for (Iterator<TreeNode> iterator = nodesToAdd.iterator(); iterator
 					.hasNext();) {
 				SpaceTreeNode nodeToAdd = (SpaceTreeNode) iterator.next();
+				unsorted = true;
 
 				SpaceTreeNode nodeInLayer = null;
 				while (layerIterator.hasNext()) {
@@ -408,19 +431,22 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 
 		public void removeNode(SpaceTreeNode node) {
 			if (nodes.remove(node)) {
-				spaceTreeLayers.get(depth + 1).removeNodes(node.children);
+				if (depth + 1 < spaceTreeLayers.size())
+					spaceTreeLayers.get(depth + 1).removeNodes(node.children);
 				refreshThickness();
 			}
 		}
 
 		public void removeNodes(List<TreeNode> nodesToRemove) {
 			if (this.nodes.removeAll(nodesToRemove)) {
-				SpaceTreeLayer nextLayer = spaceTreeLayers.get(depth + 1);
-				for (Iterator<TreeNode> iterator = nodesToRemove
-						.iterator(); iterator.hasNext();) {
-					SpaceTreeNode nodeToRemove = (SpaceTreeNode) iterator
-							.next();
-					nextLayer.removeNodes(nodeToRemove.children);
+				if (depth + 1 < spaceTreeLayers.size()) {
+					SpaceTreeLayer nextLayer = spaceTreeLayers.get(depth + 1);
+					for (Iterator<TreeNode> iterator = nodesToRemove
+							.iterator(); iterator.hasNext();) {
+						SpaceTreeNode nodeToRemove = (SpaceTreeNode) iterator
+								.next();
+						nextLayer.removeNodes(nodeToRemove.children);
+					}
 				}
 				refreshThickness();
 			}
@@ -513,12 +539,18 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 			}
 		}
 
-		public void moveNode(SpaceTreeNode node, double newPosition) {
+		public void sortNodes() {
 			Collections.sort(nodes, new Comparator<SpaceTreeNode>() {
 				public int compare(SpaceTreeNode arg0, SpaceTreeNode arg1) {
 					return arg0.order - arg1.order;
 				}
 			});
+			unsorted = false;
+		}
+
+		public void moveNode(SpaceTreeNode node, double newPosition) {
+			if (unsorted)
+				sortNodes();
 			double positionInLayerAtStart = node.positionInLayer;
 			if (newPosition >= positionInLayerAtStart)
 				moveNodeForward(node, newPosition);
@@ -875,6 +907,22 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 	private double availableSpace;
 	private ArrayList<SpaceTreeLayer> spaceTreeLayers = new ArrayList<>();
 
+	/**
+	 * The nodes and edges for which the tree structure was computed.
+	 */
+	private Node[] treeNodes;
+	private Edge[] treeEdges;
+
+	/**
+	 * The expansion changes that are applied during the next layout pass.
+	 */
+	private final Map<Node, Boolean> pendingExpansionChanges = new LinkedHashMap<>();
+
+	/**
+	 * The nodes whose location changed during the last layout pass.
+	 */
+	private final Set<Node> changedNodes = new LinkedHashSet<>();
+
 	/**
 	 * If not null, this node and all of its children shall not be collapsed
 	 * during node movements.
@@ -930,24 +978,265 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 					"Invalid direction: " + direction);
 	}
 
+	/**
+	 * Requests the given node to be expanded, i.e. to show as many levels of
+	 * its subtree as the available space permits. The change is applied
+	 * during the next layout pass, and it has no effect if the node is not
+	 * visible at that time.
+	 * 
+	 * @param node
+	 *            The {@link Node} to expand.
+	 */
+	public void expand(Node node) {
+		pendingExpansionChanges.put(node, true);
+	}
+
+	/**
+	 * Requests the given node to be collapsed, i.e. to hide its subtree. The
+	 * change is applied during the next layout pass, and it has no effect if
+	 * the node is not visible at that time.
+	 * 
+	 * @param node
+	 *            The {@link Node} to collapse.
+	 */
+	public void collapse(Node node) {
+		pendingExpansionChanges.put(node, false);
+	}
+
+	/**
+	 * Returns <code>true</code> if the given node is expanded (including
+	 * pending expansion changes), otherwise <code>false</code>.
+	 * 
+	 * @param node
+	 *            The {@link Node} to test.
+	 * @return <code>true</code> if the given node is expanded, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isExpanded(Node node) {
+		Boolean pending = pendingExpansionChanges.get(node);
+		if (pending != null) {
+			return pending;
+		}
+		SpaceTreeNode treeNode = treeObserver == null ? null
+				: (SpaceTreeNode) treeObserver.findTreeNode(node);
+		return treeNode != null && treeNode.expanded;
+	}
+
+	/**
+	 * Returns the nodes whose location was changed during the last layout
+	 * pass. Viewers may use this information to only update (or animate) these
+	 * nodes.
+	 * 
+	 * @return An unmodifiable {@link Set} containing the {@link Node}s whose
+	 *         location was changed during the last layout pass.
+	 */
+	public Set<Node> getChangedNodes() {
+		return Collections.unmodifiableSet(changedNodes);
+	}
+
 	public void applyLayout(LayoutContext layoutContext, boolean clean) {
+		changedNodes.clear();
 		bounds = LayoutProperties.getBounds(layoutContext.getGraph());
 		if (bounds.isEmpty()) {
 			return;
 		}
 
-		treeObserver = new TreeLayoutHelper(spaceTreeNodeFactory);
-		treeObserver.computeTree(layoutContext.getNodes());
+		// only compute the tree structure once, and update it when the graph
+		// changes
+		Node[] nodes = layoutContext.getNodes();
+		Edge[] edges = layoutContext.getEdges();
+		if (treeObserver == null) {
+			treeObserver = new TreeLayoutHelper(spaceTreeNodeFactory);
+			treeObserver.computeTree(nodes);
+		} else if (!Arrays.equals(nodes, treeNodes)
+				|| !Arrays.equals(edges, treeEdges)) {
+			updateTree(nodes, edges);
+		}
+		treeNodes = nodes;
+		treeEdges = edges;
 
 		if (clean) {
 			maximizeExpansion((SpaceTreeNode) treeObserver.getSuperRoot());
 		}
+		applyExpansionChanges();
 
 		SpaceTreeNode superRoot = ((SpaceTreeNode) treeObserver.getSuperRoot());
 		superRoot.flushExpansionChanges();
 		superRoot.flushLocationChanges(0);
 	}
 
+	private void applyExpansionChanges() {
+		for (Map.Entry<Node, Boolean> change : pendingExpansionChanges
+				.entrySet()) {
+			SpaceTreeNode treeNode = (SpaceTreeNode) treeObserver
+					.findTreeNode(change.getKey());
+			if (treeNode == null || !isVisible(treeNode)
+					|| treeNode.children.isEmpty()) {
+				continue;
+			}
+			if (change.getValue()) {
+				maximizeExpansion(treeNode);
+			} else if (treeNode.expanded) {
+				spaceTreeLayers.get(treeNode.depth).collapseNode(treeNode);
+			}
+		}
+		pendingExpansionChanges.clear();
+	}
+
+	/**
+	 * Returns <code>true</code> if all ancestors of the given node are
+	 * expanded, i.e. if the node is contained in its layer.
+	 */
+	private boolean isVisible(SpaceTreeNode treeNode) {
+		for (TreeNode ancestor = treeNode.parent; ancestor != null;
+				ancestor = ancestor.parent) {
+			if (!((SpaceTreeNode) ancestor).expanded) {
+				return false;
+			}
+		}
+		return treeNode.depth >= 0;
+	}
+
+	/**
+	 * Updates the tree structure for the nodes and edges that were added or
+	 * removed since the last layout pass. Only the subtrees of the nodes whose
+	 * children changed are expanded again, i.e. the expansion state and
+	 * positions of all other nodes are kept.
+	 */
+	private void updateTree(Node[] nodes, Edge[] edges) {
+		Set<Node> nodeSet = new HashSet<>(Arrays.asList(nodes));
+		Set<Node> oldNodeSet = new HashSet<>(Arrays.asList(treeNodes));
+		Set<Edge> edgeSet = new HashSet<>(Arrays.asList(edges));
+		Set<Edge> oldEdgeSet = new HashSet<>(Arrays.asList(treeEdges));
+		SpaceTreeNode superRoot = (SpaceTreeNode) treeObserver.getSuperRoot();
+		Set<TreeNode> roots = new HashSet<>(superRoot.children);
+
+		// the tree nodes whose children change, mapped to whether they are to
+		// be expanded afterwards, and the tree nodes whose parent changes
+		Map<TreeNode, Boolean> parents = new LinkedHashMap<>();
+		Set<TreeNode> moved = new HashSet<>();
+		for (Node node : treeNodes) {
+			if (!nodeSet.contains(node)) {
+				SpaceTreeNode treeNode = (SpaceTreeNode) treeObserver
+						.findTreeNode(node);
+				if (treeNode.depth < spaceTreeLayers.size())
+					spaceTreeLayers.get(treeNode.depth).removeNode(treeNode);
+				addParent(parents, treeNode.parent);
+				List<TreeNode> children = new ArrayList<>(treeNode.children);
+				treeObserver.removeNode(node);
+				for (TreeNode child : children) {
+					addParent(parents, child.parent);
+				}
+				moved.addAll(children);
+			}
+		}
+		for (Edge edge : treeEdges) {
+			if (!edgeSet.contains(edge)) {
+				updateParent(parents, moved, edge, false);
+			}
+		}
+		for (Node node : nodes) {
+			if (!oldNodeSet.contains(node)) {
+				treeObserver.addNode(node);
+				moved.add(treeObserver.findTreeNode(node));
+			}
+		}
+		for (Edge edge : edges) {
+			if (!oldEdgeSet.contains(edge)) {
+				updateParent(parents, moved, edge, true);
+			}
+		}
+
+		superRoot.precomputeTree();
+		// the order of the nodes is recomputed, so that the layers have to be
+		// sorted again
+		for (SpaceTreeLayer layer : spaceTreeLayers) {
+			layer.sortNodes();
+		}
+		if (!roots.equals(new HashSet<>(superRoot.children))) {
+			maximizeExpansion(superRoot);
+			return;
+		}
+		for (Map.Entry<TreeNode, Boolean> parent : parents.entrySet()) {
+			SpaceTreeNode treeNode = (SpaceTreeNode) parent.getKey();
+			if (treeNode != superRoot && parent.getValue()
+					&& treeObserver.findTreeNode(treeNode.node) == treeNode
+					&& isVisible(treeNode)) {
+				showChildren(treeNode, moved);
+			}
+		}
+	}
+
+	/**
+	 * Places the given moved children of the given node next to their
+	 * siblings, and centers all children below the node. Only the neighbors
+	 * that would overlap otherwise are moved.
+	 */
+	private void showChildren(SpaceTreeNode parent, Set<TreeNode> moved) {
+		protectedNode = parent;
+		parent.expanded = true;
+		if (parent.children.isEmpty()) {
+			return;
+		}
+		SpaceTreeLayer childLayer = spaceTreeLayers.get(parent.depth + 1);
+		SpaceTreeNode previousChild = null;
+		for (TreeNode child : parent.children) {
+			SpaceTreeNode child2 = (SpaceTreeNode) child;
+			if (moved.contains(child2)) {
+				childLayer.removeNode(child2);
+				child2.expanded = false;
+				child2.positionInLayer = previousChild == null
+						? parent.positionInLayer
+						: previousChild.positionInLayer
+								+ expectedDistance(previousChild, child2);
+				childLayer.addNodes(Arrays.asList(child));
+			}
+			previousChild = child2;
+		}
+		parent.centerParentsTopDown();
+	}
+
+	/**
+	 * Updates the tree structure for the given added or removed edge, and
+	 * records its target as well as its previous and new parent if the parent
+	 * changed.
+	 */
+	private void updateParent(Map<TreeNode, Boolean> parents,
+			Set<TreeNode> moved, Edge edge, boolean added) {
+		TreeNode source = treeObserver.findTreeNode(edge.getSource());
+		TreeNode target = treeObserver.findTreeNode(edge.getTarget());
+		if (source == null || target == null) {
+			return;
+		}
+		TreeNode previousParent = target.parent;
+		boolean expand = ((SpaceTreeNode) source).expanded
+				|| source.children.isEmpty();
+		if (added) {
+			treeObserver.addEdge(edge.getSource(), edge.getTarget());
+		} else {
+			treeObserver.removeEdge(edge.getSource(), edge.getTarget());
+		}
+		if (target.parent != previousParent) {
+			moved.add(target);
+			if (!parents.containsKey(source)) {
+				parents.put(source, expand);
+			}
+			addParent(parents, previousParent);
+			addParent(parents, target.parent);
+		}
+	}
+
+	/**
+	 * Records the given tree node as one whose children change. It is expanded
+	 * afterwards if it is currently expanded or has no children yet.
+	 */
+	private void addParent(Map<TreeNode, Boolean> parents, TreeNode parent) {
+		if (!parents.containsKey(parent)) {
+			parents.put(parent, ((SpaceTreeNode) parent).expanded
+					|| parent.children.isEmpty());
+		}
+	}
+
 	private void maximizeExpansion(SpaceTreeNode nodeToExpand) {
 		protectedNode = nodeToExpand;
 		double availableSpace = getAvailableSpace();
@@ -1116,6 +1405,7 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 		for (int i = 0; i < snapShot.length; i++) {
 			SpaceTreeLayer layer = spaceTreeLayers.get(i);
 			layer.nodes.clear();
+			layer.unsorted = true;
 			for (int j = 0; j < snapShot[i].length; j++) {
 				snapShot[i][j].node.positionInLayer = snapShot[i][j].position;
 				snapShot[i][j].node.expanded = snapShot[i][j].expanded;
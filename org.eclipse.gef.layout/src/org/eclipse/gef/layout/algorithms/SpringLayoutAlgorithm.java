@@ -15,7 +15,9 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
@@ -45,6 +47,11 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	private static final int DEFAULT_SPRING_ITERATIONS = 1000;
 
+	/**
+	 * The number of iterations after which the progress is reported.
+	 */
+	private static final int PROGRESS_INTERVAL = 50;
+
 	/**
 	 * the default value for the time algorithm runs.
 	 */
@@ -80,6 +87,19 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	private static final double MIN_DISTANCE = 1.0d;
 
+	/**
+	 * The maximum distance (in layout units) that any node may move within one
+	 * iteration of a continuous layout, for the iteration to be considered
+	 * stable.
+	 */
+	private static final double CONVERGENCE_THRESHOLD = 0.5d;
+
+	/**
+	 * The number of consecutive stable iterations after which a continuous
+	 * layout has converged.
+	 */
+	private static final int CONVERGENCE_ITERATIONS = 10;
+
 	/**
 	 * The variable can be customized to set the number of iterations used.
 	 */
@@ -139,6 +159,8 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	// TODO: expose field
 	private boolean fitWithinBounds = true;
 
+	private int stableIterations;
+
 	public void applyLayout(LayoutContext layoutContext, boolean clean) {
 		this.layoutContext = layoutContext;
 		initLayout(layoutContext);
@@ -146,8 +168,18 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 			return;
 		}
 
+		int steps = 0;
 		while (performAnotherNonContinuousIteration()) {
+			if (layoutContext.isLayoutCancelled()) {
+				return;
+			}
 			computeOneIteration();
+			if (++steps % PROGRESS_INTERVAL == 0) {
+				// publish intermediate results
+				saveLocations();
+				layoutContext.reportProgress(
+						Math.min(1, (double) iteration / sprIterations));
+			}
 		}
 
 		saveLocations();
@@ -203,6 +235,115 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		layoutContext.postLayout();
 	}
 
+	/**
+	 * Performs iterations of a continuous layout on the given
+	 * {@link LayoutContext}, until either the given number of iterations is
+	 * performed, the given time budget is exceeded, or the layout has
+	 * converged. At least one iteration is performed (see below for an
+	 * exception). The iterations start
+	 * from the current locations of the nodes, so that they are not restarted
+	 * when nodes are added, removed, or moved by the user. Only the first
+	 * layout of a context places the nodes randomly (if
+	 * {@link #setRandom(boolean) enabled}).
+	 * <p>
+	 * The layout has converged if no node was moved by more than a small
+	 * distance during several consecutive iterations, or if the
+	 * {@link #getIterations() maximum number of iterations} was reached since
+	 * the last change. In this case, no further iterations are necessary
+	 * until the context changes.
+	 * <p>
+	 * A layout pass that is applied to the context in the background is
+	 * cancelled before (see {@link LayoutContext#cancelAsyncLayout()}). If its
+	 * layout algorithm is still running, no iterations are performed and
+	 * <code>false</code> is returned without waiting for it, so that the
+	 * iterations are performed in one of the next frames.
+	 *
+	 * @param context
+	 *            The {@link LayoutContext} to layout.
+	 * @param maxIterations
+	 *            The maximum number of iterations to perform.
+	 * @param timeBudget
+	 *            The time budget (in milliseconds), after which no further
+	 *            iterations are started.
+	 * @return <code>true</code> if the layout has converged, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean performContinuousIterations(LayoutContext context,
+			int maxIterations, long timeBudget) {
+		if (maxIterations < 1) {
+			throw new IllegalArgumentException(
+					"At least one iteration has to be performed.");
+		}
+		if (!context.cancelAsyncLayout()) {
+			return false;
+		}
+		long deadline = System.nanoTime()
+				+ TimeUnit.MILLISECONDS.toNanos(timeBudget);
+		context.preLayout();
+		if (layoutContext != context || entities == null) {
+			layoutContext = context;
+			initLayout(context, sprRandom);
+			stableIterations = 0;
+		} else if (!Arrays.asList(entities)
+				.equals(context.getNodesUnmodifiable())) {
+			// warm start from the current locations
+			initLayout(context, false);
+			stableIterations = 0;
+		} else if (loadChangedLocations()) {
+			iteration = 1;
+			stableIterations = 0;
+		}
+		bounds = LayoutProperties.getBounds(context.getGraph());
+		if (entities.length == 0) {
+			context.postLayout();
+			return true;
+		}
+
+		double[] previousX = new double[entities.length];
+		double[] previousY = new double[entities.length];
+		int steps = 0;
+		do {
+			System.arraycopy(locationsX, 0, previousX, 0, entities.length);
+			System.arraycopy(locationsY, 0, previousY, 0, entities.length);
+			computeOneIteration();
+			double maxDistance = 0;
+			for (int i = 0; i < entities.length; i++) {
+				maxDistance = Math.max(maxDistance,
+						Math.max(Math.abs(locationsX[i] - previousX[i]),
+								Math.abs(locationsY[i] - previousY[i])));
+			}
+			stableIterations = maxDistance < CONVERGENCE_THRESHOLD
+					? stableIterations + 1
+					: 0;
+		} while (++steps < maxIterations && !isConverged()
+				&& System.nanoTime() < deadline);
+		saveLocations();
+		context.postLayout();
+		return isConverged();
+	}
+
+	private boolean isConverged() {
+		return stableIterations >= CONVERGENCE_ITERATIONS
+				|| iteration > sprIterations;
+	}
+
+	/**
+	 * Loads the locations and sizes of the nodes, and returns whether any
+	 * location was changed (by more than the convergence threshold) since the
+	 * locations were saved.
+	 */
+	private boolean loadChangedLocations() {
+		boolean changed = false;
+		for (int i = 0; i < entities.length && !changed; i++) {
+			Point location = LayoutProperties.getLocation(entities[i]);
+			changed = Math.abs(location.x - locationsX[i]) > CONVERGENCE_THRESHOLD
+					|| Math.abs(location.y
+							- locationsY[i]) > CONVERGENCE_THRESHOLD;
+		}
+		loadLocations();
+		return changed;
+	}
+
 	/**
 	 * 
 	 * @return true if this algorithm is set to resize elements
@@ -364,6 +505,10 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	private long startTime = 0;
 
 	private void initLayout(LayoutContext context) {
+		initLayout(context, sprRandom);
+	}
+
+	private void initLayout(LayoutContext context, boolean random) {
 		entities = context.getNodes();
 		bounds = LayoutProperties.getBounds(context.getGraph());
 		loadLocations();
@@ -389,7 +534,7 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 					.intValue()] += weight;
 		}
 
-		if (sprRandom)
+		if (random)
 			placeRandomly(); // put vertices in random places
 
 		iteration = 1;
@@ -428,9 +573,9 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 				locationsX[i] = 0;
 				locationsY[i] = 0;
 			}
-			LayoutProperties.setLocation(entities[i],
-					new Point(locationsX[i], locationsY[i]));
 		}
+		layoutContext.commitLayout(entities, locationsX, locationsY, null,
+				null);
 	}
 
 	/**
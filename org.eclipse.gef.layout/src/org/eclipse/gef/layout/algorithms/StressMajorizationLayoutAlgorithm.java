@@ -0,0 +1,756 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link StressMajorizationLayoutAlgorithm} is a distance-based layout
+ * algorithm in the spirit of Graphviz' <code>neato</code>. It places the nodes
+ * so that their Euclidean distances approximate their graph-theoretic
+ * distances, by minimizing the (sparse) stress of the layout (see M. Ortmann,
+ * M. Klimenta, U. Brandes, "A Sparse Stress Model", 2016).
+ * <p>
+ * Instead of computing all pairwise distances, only the distances to a small
+ * set of pivot nodes are computed (by breadth first search). These are used
+ * for the initial placement (pivot MDS, see U. Brandes, C. Pich, "Eigensolver
+ * Methods for Progressive Multidimensional Scaling of Large Data", 2006) and
+ * to approximate the stress terms between distant nodes. The stress is then
+ * minimized by majorization, solving the resulting linear systems with the
+ * conjugate gradient method. The per-node computations are performed in
+ * parallel for large graphs.
+ * <p>
+ * By default, the computed layout is not scaled to fit within the layout
+ * bounds, so that the edge lengths are preserved.
+ */
+public class StressMajorizationLayoutAlgorithm
+		implements ICacheableLayoutAlgorithm {
+
+	/**
+	 * The stress terms of the layout in compressed sparse row format. The
+	 * terms are symmetric, i.e. each term is stored for both of its nodes.
+	 */
+	private static class StressTerms {
+		int[] offsets;
+		int[] targets;
+		double[] weights;
+		double[] distances;
+		double[] diagonal;
+	}
+
+	/**
+	 * The default number of pivots.
+	 */
+	private static final int DEFAULT_PIVOT_COUNT = 50;
+
+	/**
+	 * The default maximum number of majorization iterations.
+	 */
+	private static final int DEFAULT_MAX_ITERATIONS = 100;
+
+	/**
+	 * The default edge length.
+	 */
+	private static final double DEFAULT_EDGE_LENGTH = 50;
+
+	/**
+	 * The majorization stops when the relative stress improvement falls below
+	 * this value.
+	 */
+	private static final double TOLERANCE = 1e-4;
+
+	/**
+	 * The maximum number of conjugate gradient iterations per majorization
+	 * iteration.
+	 */
+	private static final int MAX_CG_ITERATIONS = 20;
+
+	/**
+	 * The relative residual at which the conjugate gradient method stops.
+	 */
+	private static final double CG_TOLERANCE = 1e-3;
+
+	/**
+	 * The number of power iterations used to compute the eigenvectors for the
+	 * initial placement.
+	 */
+	private static final int POWER_ITERATIONS = 100;
+
+	/**
+	 * Computations on graphs with at least this number of nodes are
+	 * parallelized.
+	 */
+	private static final int PARALLEL_THRESHOLD = 2000;
+
+	private int pivotCount = DEFAULT_PIVOT_COUNT;
+	private int maxIterations = DEFAULT_MAX_ITERATIONS;
+	private double edgeLength = DEFAULT_EDGE_LENGTH;
+	private boolean resize = false;
+	private boolean fitWithinBounds = false;
+
+	/**
+	 * Constructs a new {@link StressMajorizationLayoutAlgorithm}.
+	 */
+	public StressMajorizationLayoutAlgorithm() {
+	}
+
+	public Object[] getLayoutParameters() {
+		return new Object[] { pivotCount, maxIterations, edgeLength,
+				resize, fitWithinBounds };
+	}
+
+	public void applyLayout(LayoutContext layoutContext, boolean clean) {
+		if (!clean) {
+			return;
+		}
+		Node[] entities = layoutContext.getNodes();
+		int n = entities.length;
+		if (n == 0) {
+			return;
+		}
+		int[][] adjacency = AlgorithmHelper.getAdjacency(entities,
+				layoutContext.getEdges());
+
+		// distances to pivots (max-min selection)
+		int k = Math.min(pivotCount, n);
+		int[] pivots = new int[k];
+		int[][] pivotDistances = new int[k][];
+		int[] region = new int[n];
+		int[] minDistance = new int[n];
+		Arrays.fill(minDistance, Integer.MAX_VALUE);
+		int[] queue = new int[n];
+		int maxDistance = 0;
+		int pivot = 0;
+		for (int i = 1; i < n; i++) {
+			if (adjacency[i].length > adjacency[pivot].length) {
+				pivot = i;
+			}
+		}
+		for (int p = 0; p < k; p++) {
+			pivots[p] = pivot;
+			pivotDistances[p] = breadthFirstSearch(adjacency, pivot, queue);
+			int next = pivot;
+			for (int i = 0; i < n; i++) {
+				int d = pivotDistances[p][i];
+				maxDistance = Math.max(maxDistance, d);
+				if (d < 0) {
+					d = Integer.MAX_VALUE - 1;
+				}
+				if (d < minDistance[i]) {
+					minDistance[i] = d;
+					region[i] = p;
+				}
+				if (minDistance[i] > minDistance[next]) {
+					next = i;
+				}
+			}
+			pivot = next;
+		}
+		// nodes in different components are placed at the maximum distance + 1
+		for (int p = 0; p < k; p++) {
+			for (int i = 0; i < n; i++) {
+				if (pivotDistances[p][i] < 0) {
+					pivotDistances[p][i] = maxDistance + 1;
+				}
+			}
+		}
+
+		double[] x = new double[n];
+		double[] y = new double[n];
+		boolean[] fixed = new boolean[n];
+		StressTerms terms = createStressTerms(adjacency, pivots,
+				pivotDistances, region, maxDistance + 1);
+		initialize(pivotDistances, x, y);
+		scale(terms, x, y);
+		placeNonMovable(entities, fixed, x, y);
+		majorize(terms, fixed, x, y);
+
+		// transfer positions, translated to the origin of the layout bounds
+		Rectangle bounds = LayoutProperties.getBounds(layoutContext.getGraph());
+		double dx = 0;
+		double dy = 0;
+		if (!containsTrue(fixed)) {
+			double minX = Double.POSITIVE_INFINITY;
+			double minY = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < n; i++) {
+				Dimension size = LayoutProperties.getSize(entities[i]);
+				double halfWidth = size == null ? 0 : size.width / 2;
+				double halfHeight = size == null ? 0 : size.height / 2;
+				minX = Math.min(minX, x[i] - halfWidth);
+				minY = Math.min(minY, y[i] - halfHeight);
+			}
+			dx = (bounds == null ? 0 : bounds.getX()) - minX;
+			dy = (bounds == null ? 0 : bounds.getY()) - minY;
+		}
+		for (int i = 0; i < n; i++) {
+			if (fixed[i]) {
+				x[i] = Double.NaN;
+			} else {
+				x[i] += dx;
+				y[i] += dy;
+			}
+		}
+		layoutContext.commitLayout(entities, x, y, null, null);
+
+		if (resize) {
+			AlgorithmHelper.maximizeSizes(entities);
+		}
+		if (fitWithinBounds && bounds != null) {
+			Rectangle bounds2 = new Rectangle(bounds);
+			int insets = 4;
+			bounds2.setX(bounds2.getX() + insets);
+			bounds2.setY(bounds2.getY() + insets);
+			bounds2.setWidth(bounds2.getWidth() - 2 * insets);
+			bounds2.setHeight(bounds2.getHeight() - 2 * insets);
+			AlgorithmHelper.fitWithinBounds(entities, bounds2, resize);
+		}
+	}
+
+	private static boolean containsTrue(boolean[] values) {
+		for (boolean value : values) {
+			if (value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the hop distances from the given source node to all other nodes,
+	 * or -1 for nodes that cannot be reached.
+	 */
+	private static int[] breadthFirstSearch(int[][] adjacency, int source,
+			int[] queue) {
+		int[] distances = new int[adjacency.length];
+		Arrays.fill(distances, -1);
+		distances[source] = 0;
+		queue[0] = source;
+		int head = 0;
+		int tail = 1;
+		while (head < tail) {
+			int u = queue[head++];
+			for (int v : adjacency[u]) {
+				if (distances[v] < 0) {
+					distances[v] = distances[u] + 1;
+					queue[tail++] = v;
+				}
+			}
+		}
+		return distances;
+	}
+
+	/**
+	 * Creates the sparse stress terms, consisting of one term per edge and one
+	 * term per node and (non-adjacent) pivot. The pivot terms are weighted by
+	 * the number of nodes that they represent, i.e. the nodes of the pivot's
+	 * region that are closer to the pivot than half the distance of the term.
+	 */
+	private StressTerms createStressTerms(int[][] adjacency, int[] pivots,
+			int[][] pivotDistances, int[] region, int maxDistance) {
+		int n = adjacency.length;
+		int k = pivots.length;
+
+		// cumulative number of region nodes per distance
+		int[][] regionCounts = new int[k][maxDistance + 1];
+		for (int i = 0; i < n; i++) {
+			regionCounts[region[i]][pivotDistances[region[i]][i]]++;
+		}
+		for (int p = 0; p < k; p++) {
+			for (int d = 1; d <= maxDistance; d++) {
+				regionCounts[p][d] += regionCounts[p][d - 1];
+			}
+		}
+
+		int[] degree = new int[n];
+		for (int i = 0; i < n; i++) {
+			degree[i] += adjacency[i].length;
+			for (int p = 0; p < k; p++) {
+				if (pivotDistances[p][i] > 1) {
+					degree[i]++;
+					degree[pivots[p]]++;
+				}
+			}
+		}
+		StressTerms terms = new StressTerms();
+		terms.offsets = new int[n + 1];
+		for (int i = 0; i < n; i++) {
+			terms.offsets[i + 1] = terms.offsets[i] + degree[i];
+		}
+		int size = terms.offsets[n];
+		terms.targets = new int[size];
+		terms.weights = new double[size];
+		terms.distances = new double[size];
+		terms.diagonal = new double[n];
+		int[] position = Arrays.copyOf(terms.offsets, n);
+		for (int i = 0; i < n; i++) {
+			for (int j : adjacency[i]) {
+				addTerm(terms, position, i, j, 1, edgeLength);
+			}
+			for (int p = 0; p < k; p++) {
+				int d = pivotDistances[p][i];
+				if (d > 1) {
+					double weight = (double) regionCounts[p][d / 2] / (d * d);
+					addTerm(terms, position, i, pivots[p], weight,
+							d * edgeLength);
+					addTerm(terms, position, pivots[p], i, weight,
+							d * edgeLength);
+				}
+			}
+		}
+		return terms;
+	}
+
+	private static void addTerm(StressTerms terms, int[] position, int i,
+			int j, double weight, double distance) {
+		int e = position[i]++;
+		terms.targets[e] = j;
+		terms.weights[e] = weight;
+		terms.distances[e] = distance;
+		terms.diagonal[i] += weight;
+	}
+
+	/**
+	 * Computes the initial placement by pivot MDS, i.e. by projecting the
+	 * double-centered squared pivot distances onto the two dominant
+	 * eigenvectors of their inner product matrix.
+	 */
+	private static void initialize(int[][] pivotDistances, double[] x,
+			double[] y) {
+		final int k = pivotDistances.length;
+		final int n = x.length;
+		final double[][] c = new double[k][n];
+		double[] rowMeans = new double[n];
+		double[] columnMeans = new double[k];
+		double mean = 0;
+		for (int p = 0; p < k; p++) {
+			for (int i = 0; i < n; i++) {
+				double d2 = (double) pivotDistances[p][i] * pivotDistances[p][i];
+				c[p][i] = d2;
+				rowMeans[i] += d2 / k;
+				columnMeans[p] += d2 / n;
+			}
+			mean += columnMeans[p] / k;
+		}
+		for (int p = 0; p < k; p++) {
+			for (int i = 0; i < n; i++) {
+				c[p][i] = -0.5
+						* (c[p][i] - rowMeans[i] - columnMeans[p] + mean);
+			}
+		}
+
+		// inner product matrix (k x k)
+		final double[][] product = new double[k][k];
+		range(k, n).forEach(p -> {
+			for (int q = 0; q <= p; q++) {
+				double sum = 0;
+				for (int i = 0; i < n; i++) {
+					sum += c[p][i] * c[q][i];
+				}
+				product[p][q] = sum;
+				product[q][p] = sum;
+			}
+		});
+
+		double[] first = new double[k];
+		double[] second = new double[k];
+		for (int p = 0; p < k; p++) {
+			first[p] = Math.sin(p + 1);
+			second[p] = Math.cos(p + 1);
+		}
+		powerIteration(product, first, null);
+		powerIteration(product, second, first);
+
+		range(n, k).forEach(i -> {
+			double xi = 0;
+			double yi = 0;
+			for (int p = 0; p < k; p++) {
+				xi += c[p][i] * first[p];
+				yi += c[p][i] * second[p];
+			}
+			x[i] = xi;
+			y[i] = yi;
+		});
+	}
+
+	/**
+	 * Approximates the dominant eigenvector of the given symmetric matrix
+	 * (that is orthogonal to the given vector, if any) in place.
+	 */
+	private static void powerIteration(double[][] matrix, double[] vector,
+			double[] orthogonal) {
+		int k = vector.length;
+		double[] next = new double[k];
+		for (int iteration = 0; iteration < POWER_ITERATIONS; iteration++) {
+			if (orthogonal != null) {
+				double projection = dot(vector, orthogonal);
+				for (int p = 0; p < k; p++) {
+					vector[p] -= projection * orthogonal[p];
+				}
+			}
+			double norm = Math.sqrt(dot(vector, vector));
+			if (norm == 0) {
+				return;
+			}
+			for (int p = 0; p < k; p++) {
+				vector[p] /= norm;
+			}
+			for (int p = 0; p < k; p++) {
+				double sum = 0;
+				for (int q = 0; q < k; q++) {
+					sum += matrix[p][q] * vector[q];
+				}
+				next[p] = sum;
+			}
+			System.arraycopy(next, 0, vector, 0, k);
+		}
+		if (orthogonal != null) {
+			double projection = dot(vector, orthogonal);
+			for (int p = 0; p < k; p++) {
+				vector[p] -= projection * orthogonal[p];
+			}
+		}
+		double norm = Math.sqrt(dot(vector, vector));
+		for (int p = 0; norm > 0 && p < k; p++) {
+			vector[p] /= norm;
+		}
+	}
+
+	private static double dot(double[] a, double[] b) {
+		double sum = 0;
+		for (int i = 0; i < a.length; i++) {
+			sum += a[i] * b[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * Scales the given layout so that its stress is minimal.
+	 */
+	private static void scale(StressTerms terms, double[] x, double[] y) {
+		double numerator = 0;
+		double denominator = 0;
+		int n = x.length;
+		for (int i = 0; i < n; i++) {
+			for (int e = terms.offsets[i]; e < terms.offsets[i + 1]; e++) {
+				int j = terms.targets[e];
+				double dx = x[i] - x[j];
+				double dy = y[i] - y[j];
+				double distance = Math.sqrt(dx * dx + dy * dy);
+				numerator += terms.weights[e] * terms.distances[e] * distance;
+				denominator += terms.weights[e] * distance * distance;
+			}
+		}
+		double factor = denominator > 0 ? numerator / denominator : 1;
+		for (int i = 0; i < n; i++) {
+			// perturb the nodes slightly, so that coinciding nodes separate
+			x[i] = x[i] * factor + 1e-3 * Math.sin(i);
+			y[i] = y[i] * factor + 1e-3 * Math.cos(i);
+		}
+	}
+
+	/**
+	 * Places the non-movable nodes at their current locations, translating
+	 * the initial placement of the other nodes so that the centers match.
+	 */
+	private static void placeNonMovable(Node[] entities, boolean[] fixed,
+			double[] x, double[] y) {
+		int n = entities.length;
+		double fixedX = 0;
+		double fixedY = 0;
+		double movableX = 0;
+		double movableY = 0;
+		int fixedCount = 0;
+		for (int i = 0; i < n; i++) {
+			Point location = LayoutProperties.getLocation(entities[i]);
+			if (!LayoutProperties.isMovable(entities[i]) && location != null) {
+				fixed[i] = true;
+				fixedX += location.x;
+				fixedY += location.y;
+				movableX += x[i];
+				movableY += y[i];
+				fixedCount++;
+			}
+		}
+		if (fixedCount == 0) {
+			return;
+		}
+		double dx = (fixedX - movableX) / fixedCount;
+		double dy = (fixedY - movableY) / fixedCount;
+		for (int i = 0; i < n; i++) {
+			if (fixed[i]) {
+				Point location = LayoutProperties.getLocation(entities[i]);
+				x[i] = location.x;
+				y[i] = location.y;
+			} else {
+				x[i] += dx;
+				y[i] += dy;
+			}
+		}
+	}
+
+	/**
+	 * Minimizes the stress by majorization. In each iteration, the weighted
+	 * Laplacian system <code>L<sub>w</sub> X = L<sub>Z</sub> Z</code> is solved
+	 * for both coordinates using the conjugate gradient method, starting with
+	 * the current layout <code>Z</code>.
+	 */
+	private void majorize(final StressTerms terms, final boolean[] fixed,
+			final double[] x, final double[] y) {
+		final int n = x.length;
+		final double[] bx = new double[n];
+		final double[] by = new double[n];
+		final double[] rx = new double[n];
+		final double[] ry = new double[n];
+		final double[] px = new double[n];
+		final double[] py = new double[n];
+		final double[] qx = new double[n];
+		final double[] qy = new double[n];
+
+		double stress = Double.POSITIVE_INFINITY;
+		for (int iteration = 0; iteration < maxIterations; iteration++) {
+			// right hand side and stress of the current layout
+			double newStress = range(n, n).mapToDouble(i -> {
+				double sumX = 0;
+				double sumY = 0;
+				double partialStress = 0;
+				for (int e = terms.offsets[i]; e < terms.offsets[i
+						+ 1]; e++) {
+					int j = terms.targets[e];
+					double dx = x[i] - x[j];
+					double dy = y[i] - y[j];
+					double distance = Math.sqrt(dx * dx + dy * dy);
+					double w = terms.weights[e];
+					double d = terms.distances[e];
+					if (distance > 0) {
+						sumX += w * d * dx / distance;
+						sumY += w * d * dy / distance;
+					}
+					partialStress += w * (distance - d) * (distance - d);
+				}
+				bx[i] = sumX;
+				by[i] = sumY;
+				return partialStress;
+			}).sum();
+			if (stress - newStress < TOLERANCE * newStress) {
+				break;
+			}
+			stress = newStress;
+
+			// conjugate gradient (both coordinates at once)
+			multiply(terms, fixed, x, y, qx, qy);
+			double rrX = 0;
+			double rrY = 0;
+			double bbX = 0;
+			double bbY = 0;
+			for (int i = 0; i < n; i++) {
+				if (fixed[i]) {
+					rx[i] = ry[i] = px[i] = py[i] = 0;
+					continue;
+				}
+				rx[i] = px[i] = bx[i] - qx[i];
+				ry[i] = py[i] = by[i] - qy[i];
+				rrX += rx[i] * rx[i];
+				rrY += ry[i] * ry[i];
+				bbX += bx[i] * bx[i];
+				bbY += by[i] * by[i];
+			}
+			double toleranceX = CG_TOLERANCE * CG_TOLERANCE * bbX;
+			double toleranceY = CG_TOLERANCE * CG_TOLERANCE * bbY;
+			for (int cg = 0; cg < MAX_CG_ITERATIONS
+					&& (rrX > toleranceX || rrY > toleranceY); cg++) {
+				multiply(terms, fixed, px, py, qx, qy);
+				double pqX = 0;
+				double pqY = 0;
+				for (int i = 0; i < n; i++) {
+					pqX += px[i] * qx[i];
+					pqY += py[i] * qy[i];
+				}
+				double alphaX = pqX > 0 && rrX > toleranceX ? rrX / pqX : 0;
+				double alphaY = pqY > 0 && rrY > toleranceY ? rrY / pqY : 0;
+				double newRrX = 0;
+				double newRrY = 0;
+				for (int i = 0; i < n; i++) {
+					x[i] += alphaX * px[i];
+					y[i] += alphaY * py[i];
+					rx[i] -= alphaX * qx[i];
+					ry[i] -= alphaY * qy[i];
+					newRrX += rx[i] * rx[i];
+					newRrY += ry[i] * ry[i];
+				}
+				double betaX = rrX > 0 ? newRrX / rrX : 0;
+				double betaY = rrY > 0 ? newRrY / rrY : 0;
+				for (int i = 0; i < n; i++) {
+					px[i] = rx[i] + betaX * px[i];
+					py[i] = ry[i] + betaY * py[i];
+				}
+				rrX = newRrX;
+				rrY = newRrY;
+			}
+		}
+	}
+
+	/**
+	 * Multiplies the weighted Laplacian (restricted to the movable nodes) with
+	 * the given vectors.
+	 */
+	private static void multiply(final StressTerms terms,
+			final boolean[] fixed, final double[] x, final double[] y,
+			final double[] resultX, final double[] resultY) {
+		range(x.length, x.length).forEach(i -> {
+			if (fixed[i]) {
+				resultX[i] = 0;
+				resultY[i] = 0;
+				return;
+			}
+			double sumX = terms.diagonal[i] * x[i];
+			double sumY = terms.diagonal[i] * y[i];
+			for (int e = terms.offsets[i]; e < terms.offsets[i + 1]; e++) {
+				int j = terms.targets[e];
+				sumX -= terms.weights[e] * x[j];
+				sumY -= terms.weights[e] * y[j];
+			}
+			resultX[i] = sumX;
+			resultY[i] = sumY;
+		});
+	}
+
+	/**
+	 * Returns a stream over the given number of indices, which is parallel if
+	 * the graph is large enough.
+	 */
+	private static IntStream range(int count, int graphSize) {
+		IntStream range = IntStream.range(0, count);
+		return graphSize >= PARALLEL_THRESHOLD ? range.parallel() : range;
+	}
+
+	/**
+	 * Returns the desired edge length, i.e. the distance of adjacent nodes.
+	 *
+	 * @return The desired edge length.
+	 */
+	public double getEdgeLength() {
+		return edgeLength;
+	}
+
+	/**
+	 * Sets the desired edge length, i.e. the distance of adjacent nodes. The
+	 * desired distance of two nodes is their graph-theoretic distance
+	 * multiplied by the edge length. The default value is 50.
+	 *
+	 * @param edgeLength
+	 *            The new edge length, should be greater than 0.
+	 */
+	public void setEdgeLength(double edgeLength) {
+		if (edgeLength > 0) {
+			this.edgeLength = edgeLength;
+		}
+	}
+
+	/**
+	 * Returns the number of pivots that are used to approximate the stress.
+	 *
+	 * @return The number of pivots.
+	 */
+	public int getPivotCount() {
+		return pivotCount;
+	}
+
+	/**
+	 * Sets the number of pivots that are used to approximate the stress. More
+	 * pivots increase the quality of the layout, but also the running time.
+	 * The default value is 50.
+	 *
+	 * @param pivotCount
+	 *            The new number of pivots, has to be at least 1.
+	 */
+	public void setPivotCount(int pivotCount) {
+		if (pivotCount < 1) {
+			throw new IllegalArgumentException(
+					"The number of pivots has to be at least 1.");
+		}
+		this.pivotCount = pivotCount;
+	}
+
+	/**
+	 * Returns the maximum number of majorization iterations.
+	 *
+	 * @return The maximum number of iterations.
+	 */
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+
+	/**
+	 * Sets the maximum number of majorization iterations. The default value is
+	 * 100.
+	 *
+	 * @param maxIterations
+	 *            The new maximum number of iterations.
+	 */
+	public void setMaxIterations(int maxIterations) {
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * Returns whether the computed layout is scaled to fit within the layout
+	 * bounds.
+	 *
+	 * @return <code>true</code> if the layout is fitted within the layout
+	 *         bounds, otherwise <code>false</code>.
+	 */
+	public boolean isFitWithinBounds() {
+		return fitWithinBounds;
+	}
+
+	/**
+	 * Sets whether the computed layout is scaled to fit within the layout
+	 * bounds (default is <code>false</code>). Otherwise, the layout is only
+	 * translated to the origin of the layout bounds, preserving the
+	 * {@link #setEdgeLength(double) edge length}.
+	 *
+	 * @param fitWithinBounds
+	 *            <code>true</code> to fit the layout within the layout bounds,
+	 *            otherwise <code>false</code>.
+	 */
+	public void setFitWithinBounds(boolean fitWithinBounds) {
+		this.fitWithinBounds = fitWithinBounds;
+	}
+
+	/**
+	 *
+	 * @return true if this algorithm is set to resize elements
+	 */
+	public boolean isResizing() {
+		return resize;
+	}
+
+	/**
+	 *
+	 * @param resizing
+	 *            true if this algorithm should resize elements (default is
+	 *            false)
+	 */
+	public void setResizing(boolean resizing) {
+		resize = resizing;
+	}
+}
@@ -19,24 +19,30 @@
 package org.eclipse.gef.layout.algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Random;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -55,11 +61,17 @@ import org.eclipse.gef.layout.LayoutProperties;
  * This layout algorithm works only with - directed graphs (otherwise an
  * appropriate RuntimeException is thrown)
  * 
+ * If the layout is not applied clean, the layers and the order of the previous
+ * layout pass are updated incrementally: nodes keep their layer, new nodes and
+ * edges are inserted at locally optimal positions, and crossings are only
+ * reduced within the window of affected layers. A {@link CoordinateAssigner}
+ * may then restrict the coordinate updates to these layers.
+ * 
  * @author Rene Kuhlemann
  * @author Adam Kovacs
  * @author mwienand
  */
-public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
+public class SugiyamaLayoutAlgorithm implements ICacheableLayoutAlgorithm {
 
 	/**
 	 * Specifies the direction for the {@link SugiyamaLayoutAlgorithm}.
@@ -279,13 +291,9 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		 */
 		private ArrayList<Node> unionOfNodes(Collection<Node> a,
 				Collection<Node> b) {
-			ArrayList<Node> res = new ArrayList<>(a);
-			for (Node n : b) {
-				if (!res.contains(n)) {
-					res.add(n);
-				}
-			}
-			return res;
+			Set<Node> res = new LinkedHashSet<>(a);
+			res.addAll(b);
+			return new ArrayList<>(res);
 		}
 
 		/**
@@ -465,13 +473,9 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		 */
 		private ArrayList<Node> unionOfNodes(Collection<Node> a,
 				Collection<Node> b) {
-			ArrayList<Node> res = new ArrayList<>(a);
-			for (Node n : b) {
-				if (!res.contains(n)) {
-					res.add(n);
-				}
-			}
-			return res;
+			Set<Node> res = new LinkedHashSet<>(a);
+			res.addAll(b);
+			return new ArrayList<>(res);
 		}
 
 		/**
@@ -635,6 +639,387 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		}
 	}
 
+	/**
+	 * Implements the {@link CrossingReducer} interface using the layer sweep
+	 * method: the layers are reordered one after the other according to the
+	 * (weighted) median positions of their neighbors in the previous layer,
+	 * alternating between downward and upward sweeps. After each sweep, the
+	 * order is refined by transposing adjacent nodes as long as this reduces
+	 * the number of crossings (see E. R. Gansner et al., "A Technique for
+	 * Drawing Directed Graphs", 1993). The best order that is found is kept.
+	 * <p>
+	 * Crossings are counted in <code>O(E log V)</code> using the accumulator
+	 * tree of W. Barth, M. J&uuml;nger, and P. Mutzel ("Simple and Efficient
+	 * Bilayer Cross Counting", 2002). All computations are performed on
+	 * primitive arrays. Crossing counting is performed for all pairs of
+	 * adjacent layers in parallel, and the transposition is performed for all
+	 * even and then all odd layers in parallel, as these do not influence each
+	 * other.
+	 * <p>
+	 * The edges between adjacent layers are determined by the predecessors and
+	 * successors of the given {@link NodeWrapper}s. If no {@link NodeWrapper}
+	 * is linked, the edges of the graph are used instead, in which case edges
+	 * that do not connect adjacent layers are ignored.
+	 */
+	public static class LayerSweepCrossingReducer implements CrossingReducer {
+
+		private static final int MAX_SWEEPS = 24;
+		private static final int MAX_NON_IMPROVING_SWEEPS = 4;
+		private static final int MAX_TRANSPOSITION_PASSES = 8;
+		private static final int PARALLEL_THRESHOLD = 1000;
+
+		// order[l][i] is the id of the node at position i of layer l
+		private int[][] order;
+		// position[l][id] is the position of the node with the given id
+		private int[][] position;
+		// neighbor ids in the previous (upper) and next (lower) layer
+		private int[][][] upper;
+		private int[][][] lower;
+		private boolean parallel;
+
+		public void crossReduction(List<List<NodeWrapper>> nodes) {
+			int layerCount = nodes.size();
+			if (layerCount < 2) {
+				return;
+			}
+			buildLayers(nodes);
+
+			long best = countCrossings();
+			int[][] bestOrder = copy(order);
+			int nonImproving = 0;
+			for (int sweep = 0; sweep < MAX_SWEEPS && best > 0; sweep++) {
+				if ((sweep & 1) == 0) {
+					for (int l = 1; l < layerCount; l++) {
+						reorder(l, upper[l], position[l - 1]);
+					}
+				} else {
+					for (int l = layerCount - 2; l >= 0; l--) {
+						reorder(l, lower[l], position[l + 1]);
+					}
+				}
+				transpose();
+				long crossings = countCrossings();
+				if (crossings < best) {
+					best = crossings;
+					bestOrder = copy(order);
+					nonImproving = 0;
+				} else if (++nonImproving >= MAX_NON_IMPROVING_SWEEPS) {
+					break;
+				}
+			}
+
+			// apply the best order to the layers
+			for (int l = 0; l < layerCount; l++) {
+				List<NodeWrapper> layer = nodes.get(l);
+				NodeWrapper[] wrappers = layer
+						.toArray(new NodeWrapper[layer.size()]);
+				layer.clear();
+				for (int i = 0; i < bestOrder[l].length; i++) {
+					NodeWrapper nw = wrappers[bestOrder[l][i]];
+					nw.index = i;
+					layer.add(nw);
+				}
+			}
+		}
+
+		private void buildLayers(List<List<NodeWrapper>> nodes) {
+			int layerCount = nodes.size();
+			order = new int[layerCount][];
+			position = new int[layerCount][];
+			Map<NodeWrapper, Integer> ids = new IdentityHashMap<>();
+			Map<Node, NodeWrapper> wrappers = new IdentityHashMap<>();
+			Map<NodeWrapper, Integer> layerOf = new IdentityHashMap<>();
+			boolean linked = false;
+			int nodeCount = 0;
+			Graph graph = null;
+			for (int l = 0; l < layerCount; l++) {
+				List<NodeWrapper> layer = nodes.get(l);
+				order[l] = new int[layer.size()];
+				position[l] = new int[layer.size()];
+				for (int i = 0; i < layer.size(); i++) {
+					NodeWrapper nw = layer.get(i);
+					order[l][i] = i;
+					position[l][i] = i;
+					ids.put(nw, i);
+					layerOf.put(nw, l);
+					linked |= !nw.succ.isEmpty() || !nw.pred.isEmpty();
+					if (nw.node != null) {
+						wrappers.put(nw.node, nw);
+						if (graph == null) {
+							graph = nw.node.getGraph();
+						}
+					}
+				}
+				nodeCount += layer.size();
+			}
+			parallel = nodeCount >= PARALLEL_THRESHOLD;
+
+			// collect the edges between adjacent layers
+			List<NodeWrapper> sources = new ArrayList<>();
+			List<NodeWrapper> targets = new ArrayList<>();
+			if (linked) {
+				for (List<NodeWrapper> layer : nodes) {
+					for (NodeWrapper nw : layer) {
+						for (NodeWrapper succ : nw.succ) {
+							sources.add(nw);
+							targets.add(succ);
+						}
+						for (NodeWrapper pred : nw.pred) {
+							// only consider predecessors that are not linked
+							// in the other direction
+							if (!pred.succ.contains(nw)) {
+								sources.add(pred);
+								targets.add(nw);
+							}
+						}
+					}
+				}
+			} else if (graph != null) {
+				for (Edge edge : graph.getEdges()) {
+					NodeWrapper source = wrappers.get(edge.getSource());
+					NodeWrapper target = wrappers.get(edge.getTarget());
+					if (source != null && target != null) {
+						sources.add(source);
+						targets.add(target);
+					}
+				}
+			}
+
+			int[][] upperDegree = new int[layerCount][];
+			int[][] lowerDegree = new int[layerCount][];
+			for (int l = 0; l < layerCount; l++) {
+				upperDegree[l] = new int[order[l].length];
+				lowerDegree[l] = new int[order[l].length];
+			}
+			int edgeCount = sources.size();
+			int[] edgeLayer = new int[edgeCount];
+			int[] upperIds = new int[edgeCount];
+			int[] lowerIds = new int[edgeCount];
+			for (int e = 0; e < edgeCount; e++) {
+				Integer sourceLayer = layerOf.get(sources.get(e));
+				Integer targetLayer = layerOf.get(targets.get(e));
+				if (sourceLayer == null || targetLayer == null
+						|| Math.abs(sourceLayer - targetLayer) != 1) {
+					edgeLayer[e] = -1;
+					continue;
+				}
+				boolean down = sourceLayer < targetLayer;
+				edgeLayer[e] = down ? sourceLayer : targetLayer;
+				upperIds[e] = ids.get(down ? sources.get(e) : targets.get(e));
+				lowerIds[e] = ids.get(down ? targets.get(e) : sources.get(e));
+				lowerDegree[edgeLayer[e]][upperIds[e]]++;
+				upperDegree[edgeLayer[e] + 1][lowerIds[e]]++;
+			}
+			upper = new int[layerCount][][];
+			lower = new int[layerCount][][];
+			for (int l = 0; l < layerCount; l++) {
+				upper[l] = new int[order[l].length][];
+				lower[l] = new int[order[l].length][];
+				for (int id = 0; id < order[l].length; id++) {
+					upper[l][id] = new int[upperDegree[l][id]];
+					lower[l][id] = new int[lowerDegree[l][id]];
+					upperDegree[l][id] = 0;
+					lowerDegree[l][id] = 0;
+				}
+			}
+			for (int e = 0; e < edgeCount; e++) {
+				int l = edgeLayer[e];
+				if (l >= 0) {
+					int u = upperIds[e];
+					int v = lowerIds[e];
+					lower[l][u][lowerDegree[l][u]++] = v;
+					upper[l + 1][v][upperDegree[l + 1][v]++] = u;
+				}
+			}
+		}
+
+		private static int[][] copy(int[][] array) {
+			int[][] copy = new int[array.length][];
+			for (int i = 0; i < array.length; i++) {
+				copy[i] = array[i].clone();
+			}
+			return copy;
+		}
+
+		/**
+		 * Returns the total number of crossings between all pairs of adjacent
+		 * layers.
+		 */
+		private long countCrossings() {
+			IntStream pairs = IntStream.range(0, order.length - 1);
+			if (parallel) {
+				pairs = pairs.parallel();
+			}
+			return pairs.mapToLong(this::countCrossings).sum();
+		}
+
+		/**
+		 * Counts the crossings between the given layer and the next one using
+		 * an accumulator tree.
+		 */
+		private long countCrossings(int l) {
+			int lowerSize = order[l + 1].length;
+			int first = 1;
+			while (first < lowerSize) {
+				first <<= 1;
+			}
+			int[] tree = new int[2 * first - 1];
+			long crossings = 0;
+			for (int id : order[l]) {
+				int[] targets = getPositions(lower[l][id], position[l + 1]);
+				for (int target : targets) {
+					int index = target + first - 1;
+					tree[index]++;
+					while (index > 0) {
+						if ((index & 1) == 1) {
+							crossings += tree[index + 1];
+						}
+						index = (index - 1) >> 1;
+						tree[index]++;
+					}
+				}
+			}
+			return crossings;
+		}
+
+		/**
+		 * Returns the sorted positions of the given neighbors.
+		 */
+		private static int[] getPositions(int[] neighbors, int[] position) {
+			int[] positions = new int[neighbors.length];
+			for (int i = 0; i < neighbors.length; i++) {
+				positions[i] = position[neighbors[i]];
+			}
+			Arrays.sort(positions);
+			return positions;
+		}
+
+		/**
+		 * Sorts the given layer by the median positions of the neighbors in the
+		 * fixed adjacent layer (ties are broken by the barycenter). Nodes
+		 * without neighbors keep their position.
+		 */
+		private void reorder(int l, int[][] neighbors, int[] fixedPosition) {
+			int size = order[l].length;
+			final double[] median = new double[size];
+			final double[] barycenter = new double[size];
+			for (int id = 0; id < size; id++) {
+				int[] positions = getPositions(neighbors[id], fixedPosition);
+				int count = positions.length;
+				if (count == 0) {
+					median[id] = barycenter[id] = position[l][id];
+					continue;
+				}
+				int sum = 0;
+				for (int p : positions) {
+					sum += p;
+				}
+				barycenter[id] = (double) sum / count;
+				median[id] = (count & 1) == 1 ? positions[count / 2]
+						: (positions[count / 2 - 1] + positions[count / 2])
+								/ 2d;
+			}
+			Integer[] ids = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				ids[i] = order[l][i];
+			}
+			// stable sort, i.e. ties keep their current order
+			Arrays.sort(ids, new Comparator<Integer>() {
+				public int compare(Integer a, Integer b) {
+					int result = Double.compare(median[a], median[b]);
+					return result != 0 ? result
+							: Double.compare(barycenter[a], barycenter[b]);
+				}
+			});
+			for (int i = 0; i < size; i++) {
+				order[l][i] = ids[i];
+				position[l][ids[i]] = i;
+			}
+		}
+
+		/**
+		 * Transposes adjacent nodes of all layers until no further
+		 * improvement is possible. Even and odd layers are processed
+		 * alternately, so that layers that are processed at the same time
+		 * do not depend on each other.
+		 */
+		private void transpose() {
+			for (int pass = 0; pass < MAX_TRANSPOSITION_PASSES; pass++) {
+				boolean improved = false;
+				for (int parity = 0; parity < 2; parity++) {
+					final int offset = parity;
+					IntStream layers = IntStream
+							.range(0, (order.length - parity + 1) / 2)
+							.map(i -> 2 * i + offset);
+					if (parallel) {
+						layers = layers.parallel();
+					}
+					improved |= layers.filter(this::transpose).count() > 0;
+				}
+				if (!improved) {
+					break;
+				}
+			}
+		}
+
+		/**
+		 * Performs one pass over the given layer, transposing adjacent nodes if
+		 * this reduces the number of crossings with the adjacent layers.
+		 * Returns <code>true</code> if a transposition was performed.
+		 */
+		private boolean transpose(int l) {
+			int size = order[l].length;
+			int[][] upperPositions = new int[size][];
+			int[][] lowerPositions = new int[size][];
+			for (int id = 0; id < size; id++) {
+				upperPositions[id] = l > 0
+						? getPositions(upper[l][id], position[l - 1])
+						: new int[0];
+				lowerPositions[id] = l < order.length - 1
+						? getPositions(lower[l][id], position[l + 1])
+						: new int[0];
+			}
+			boolean transposed = false;
+			for (int i = 0; i < size - 1; i++) {
+				int v = order[l][i];
+				int w = order[l][i + 1];
+				long before = countCrossings(upperPositions[v],
+						upperPositions[w])
+						+ countCrossings(lowerPositions[v],
+								lowerPositions[w]);
+				long after = countCrossings(upperPositions[w],
+						upperPositions[v])
+						+ countCrossings(lowerPositions[w],
+								lowerPositions[v]);
+				if (after < before) {
+					order[l][i] = w;
+					order[l][i + 1] = v;
+					position[l][w] = i;
+					position[l][v] = i + 1;
+					transposed = true;
+				}
+			}
+			return transposed;
+		}
+
+		/**
+		 * Returns the number of crossings between the edges of two nodes,
+		 * given by the sorted positions of their neighbors, if the first node
+		 * is placed left of the second one.
+		 */
+		private static long countCrossings(int[] left, int[] right) {
+			long crossings = 0;
+			int j = 0;
+			for (int a : left) {
+				while (j < right.length && right[j] < a) {
+					j++;
+				}
+				crossings += j;
+			}
+			return crossings;
+		}
+	}
+
 	/**
 	 * Structure to store nodes and their positions in the layers. Furthermore
 	 * predecessors and successors can be assigned to the nodes.
@@ -1211,6 +1596,1092 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 
 	}
 
+	/**
+	 * Implements the {@link LayerProvider} interface using the network simplex
+	 * method of E. R. Gansner et al. ("A Technique for Drawing Directed
+	 * Graphs", 1993), which minimizes the total edge length of the layering:
+	 * <ol>
+	 * <li>Cycles are broken by reversing the back edges of a depth first
+	 * search.
+	 * <li>An initial layering is computed by the longest path method.
+	 * <li>A feasible spanning tree of tight edges is constructed, and the
+	 * layering is improved by network simplex pivots, until the layering is
+	 * optimal or the maximum number of iterations is reached.
+	 * </ol>
+	 * Edges that span more than one layer are split by chains of dummy nodes,
+	 * and all {@link NodeWrapper}s are linked to their predecessors and
+	 * successors in the adjacent layers. All steps are implemented
+	 * iteratively on primitive arrays, so that large and deep graphs can be
+	 * layered.
+	 */
+	public static class NetworkSimplexLayerProvider implements LayerProvider {
+
+		private static final int DEFAULT_MAX_ITERATIONS = 100;
+
+		private final int maxIterations;
+
+		// the (acyclic) edges and their weights (number of merged edges)
+		private int[] tail;
+		private int[] head;
+		private int[] weight;
+		// incident edges per node in compressed sparse row format
+		private int[] incidentOffsets;
+		private int[] incident;
+		private int[] layer;
+
+		// spanning tree
+		private boolean[] treeEdge;
+		private int[] cutValue;
+		private int[] parentEdge;
+		private int[] low;
+		private int[] lim;
+
+		/**
+		 * Constructs a new {@link NetworkSimplexLayerProvider} that performs
+		 * at most 100 network simplex iterations.
+		 */
+		public NetworkSimplexLayerProvider() {
+			this(DEFAULT_MAX_ITERATIONS);
+		}
+
+		/**
+		 * Constructs a new {@link NetworkSimplexLayerProvider} that performs
+		 * at most the given number of network simplex iterations. If the
+		 * number of iterations is 0, the longest path layering is used.
+		 *
+		 * @param maxIterations
+		 *            The maximum number of network simplex iterations.
+		 */
+		public NetworkSimplexLayerProvider(int maxIterations) {
+			if (maxIterations < 0) {
+				throw new IllegalArgumentException(
+						"The maximum number of iterations may not be negative.");
+			}
+			this.maxIterations = maxIterations;
+		}
+
+		public List<List<NodeWrapper>> calculateLayers(List<Node> nodes) {
+			List<List<NodeWrapper>> layers = new ArrayList<>();
+			int n = nodes.size();
+			if (n == 0) {
+				return layers;
+			}
+			createAcyclicEdges(nodes);
+			computeLongestPathLayering(n);
+			if (maxIterations > 0 && tail.length > 0) {
+				feasibleTree(n);
+				networkSimplex(n);
+			}
+			normalize(n);
+			return createLayers(nodes, layers);
+		}
+
+		/**
+		 * Determines the edges between the given nodes, reverses the back
+		 * edges of an (iterative) depth first search, and merges parallel
+		 * edges.
+		 */
+		private void createAcyclicEdges(List<Node> nodes) {
+			int n = nodes.size();
+			Map<Node, Integer> indices = new IdentityHashMap<>();
+			for (int i = 0; i < n; i++) {
+				indices.put(nodes.get(i), i);
+			}
+			Graph graph = nodes.get(0).getGraph();
+			List<Edge> edges = graph == null ? Collections.<Edge> emptyList()
+					: graph.getEdges();
+			int[] sources = new int[edges.size()];
+			int[] targets = new int[edges.size()];
+			int m = 0;
+			for (Edge edge : edges) {
+				Integer source = indices.get(edge.getSource());
+				Integer target = indices.get(edge.getTarget());
+				if (source != null && target != null
+						&& source.intValue() != target.intValue()) {
+					sources[m] = source;
+					targets[m] = target;
+					m++;
+				}
+			}
+
+			// outgoing edges per node
+			int[] outOffsets = new int[n + 1];
+			for (int e = 0; e < m; e++) {
+				outOffsets[sources[e] + 1]++;
+			}
+			int[] inDegree = new int[n];
+			for (int e = 0; e < m; e++) {
+				inDegree[targets[e]]++;
+			}
+			for (int i = 0; i < n; i++) {
+				outOffsets[i + 1] += outOffsets[i];
+			}
+			int[] out = new int[m];
+			int[] fill = Arrays.copyOf(outOffsets, n);
+			for (int e = 0; e < m; e++) {
+				out[fill[sources[e]]++] = e;
+			}
+
+			// depth first search, starting with the sources
+			boolean[] reversed = new boolean[m];
+			byte[] state = new byte[n]; // 0: new, 1: on stack, 2: finished
+			int[] stack = new int[n];
+			int[] next = new int[n];
+			for (int pass = 0; pass < 2; pass++) {
+				for (int root = 0; root < n; root++) {
+					if (state[root] != 0 || (pass == 0 && inDegree[root] > 0)) {
+						continue;
+					}
+					int top = 0;
+					stack[top++] = root;
+					state[root] = 1;
+					next[root] = outOffsets[root];
+					while (top > 0) {
+						int u = stack[top - 1];
+						if (next[u] < outOffsets[u + 1]) {
+							int e = out[next[u]++];
+							int v = targets[e];
+							if (state[v] == 1) {
+								reversed[e] = true;
+							} else if (state[v] == 0) {
+								state[v] = 1;
+								next[v] = outOffsets[v];
+								stack[top++] = v;
+							}
+						} else {
+							state[u] = 2;
+							top--;
+						}
+					}
+				}
+			}
+
+			// merge parallel edges
+			Map<Long, Integer> merged = new HashMap<>();
+			int[] mergedTail = new int[m];
+			int[] mergedHead = new int[m];
+			int[] mergedWeight = new int[m];
+			int count = 0;
+			for (int e = 0; e < m; e++) {
+				int u = reversed[e] ? targets[e] : sources[e];
+				int v = reversed[e] ? sources[e] : targets[e];
+				Long key = (long) u * n + v;
+				Integer existing = merged.get(key);
+				if (existing == null) {
+					merged.put(key, count);
+					mergedTail[count] = u;
+					mergedHead[count] = v;
+					mergedWeight[count] = 1;
+					count++;
+				} else {
+					mergedWeight[existing]++;
+				}
+			}
+			tail = Arrays.copyOf(mergedTail, count);
+			head = Arrays.copyOf(mergedHead, count);
+			weight = Arrays.copyOf(mergedWeight, count);
+
+			incidentOffsets = new int[n + 1];
+			for (int e = 0; e < count; e++) {
+				incidentOffsets[tail[e] + 1]++;
+				incidentOffsets[head[e] + 1]++;
+			}
+			for (int i = 0; i < n; i++) {
+				incidentOffsets[i + 1] += incidentOffsets[i];
+			}
+			incident = new int[2 * count];
+			fill = Arrays.copyOf(incidentOffsets, n);
+			for (int e = 0; e < count; e++) {
+				incident[fill[tail[e]]++] = e;
+				incident[fill[head[e]]++] = e;
+			}
+		}
+
+		/**
+		 * Assigns each node to the layer after its latest predecessor, in
+		 * topological order.
+		 */
+		private void computeLongestPathLayering(int n) {
+			layer = new int[n];
+			int[] inDegree = new int[n];
+			for (int e = 0; e < head.length; e++) {
+				inDegree[head[e]]++;
+			}
+			int[] queue = new int[n];
+			int tailIndex = 0;
+			for (int i = 0; i < n; i++) {
+				if (inDegree[i] == 0) {
+					queue[tailIndex++] = i;
+				}
+			}
+			for (int headIndex = 0; headIndex < tailIndex; headIndex++) {
+				int u = queue[headIndex];
+				for (int k = incidentOffsets[u]; k < incidentOffsets[u
+						+ 1]; k++) {
+					int e = incident[k];
+					if (tail[e] == u) {
+						int v = head[e];
+						layer[v] = Math.max(layer[v], layer[u] + 1);
+						if (--inDegree[v] == 0) {
+							queue[tailIndex++] = v;
+						}
+					}
+				}
+			}
+		}
+
+		private int slack(int e) {
+			return layer[head[e]] - layer[tail[e]] - 1;
+		}
+
+		/**
+		 * Constructs a spanning tree of tight edges for each connected
+		 * component. The tree is grown like in Prim's algorithm, picking an
+		 * incident edge of minimal slack and shifting the tree to make it
+		 * tight. The shift is applied lazily by an offset, so that the slacks
+		 * of the edges that leave the tree (and of those that enter the tree)
+		 * change uniformly and can be kept in priority queues.
+		 */
+		private void feasibleTree(int n) {
+			int m = tail.length;
+			treeEdge = new boolean[m];
+			boolean[] inTree = new boolean[n];
+			// layer = base + offset for nodes of the current tree
+			int[] base = new int[n];
+			int[] nodes = new int[n];
+			final int[] outKey = new int[m];
+			final int[] inKey = new int[m];
+			PriorityQueue<Integer> outgoing = new PriorityQueue<>(
+					(a, b) -> Integer.compare(outKey[a], outKey[b]));
+			PriorityQueue<Integer> incoming = new PriorityQueue<>(
+					(a, b) -> Integer.compare(inKey[a], inKey[b]));
+			for (int root = 0; root < n; root++) {
+				if (inTree[root]) {
+					continue;
+				}
+				int offset = 0;
+				int size = 0;
+				int v = root;
+				while (true) {
+					inTree[v] = true;
+					base[v] = layer[v] - offset;
+					nodes[size++] = v;
+					for (int k = incidentOffsets[v]; k < incidentOffsets[v
+							+ 1]; k++) {
+						int e = incident[k];
+						if (tail[e] == v && !inTree[head[e]]) {
+							// slack = layer(head) - base(v) - offset - 1
+							outKey[e] = layer[head[e]] - base[v] - 1;
+							outgoing.add(e);
+						} else if (head[e] == v && !inTree[tail[e]]) {
+							// slack = base(v) + offset - layer(tail) - 1
+							inKey[e] = base[v] - layer[tail[e]] - 1;
+							incoming.add(e);
+						}
+					}
+					while (!outgoing.isEmpty() && inTree[head[outgoing.peek()]]) {
+						outgoing.poll();
+					}
+					while (!incoming.isEmpty() && inTree[tail[incoming.peek()]]) {
+						incoming.poll();
+					}
+					if (outgoing.isEmpty() && incoming.isEmpty()) {
+						break;
+					}
+					int outSlack = outgoing.isEmpty() ? Integer.MAX_VALUE
+							: outKey[outgoing.peek()] - offset;
+					int inSlack = incoming.isEmpty() ? Integer.MAX_VALUE
+							: inKey[incoming.peek()] + offset;
+					int e;
+					if (outSlack <= inSlack) {
+						// move the tree down towards the head
+						e = outgoing.poll();
+						offset += outSlack;
+						v = head[e];
+					} else {
+						// move the tree up towards the tail
+						e = incoming.poll();
+						offset -= inSlack;
+						v = tail[e];
+					}
+					treeEdge[e] = true;
+				}
+				for (int i = 0; i < size; i++) {
+					layer[nodes[i]] = base[nodes[i]] + offset;
+				}
+			}
+		}
+
+		/**
+		 * Improves the layering by exchanging tree edges with negative cut
+		 * values for non-tree edges of minimal slack.
+		 */
+		private void networkSimplex(int n) {
+			int m = tail.length;
+			cutValue = new int[m];
+			parentEdge = new int[n];
+			low = new int[n];
+			lim = new int[n];
+			int[] order = new int[n];
+			int[] stack = new int[n];
+			int[] next = new int[n];
+			initTree(n, order, stack, next);
+			int searchStart = 0;
+			for (int iteration = 0; iteration < maxIterations; iteration++) {
+				// find a tree edge with negative cut value (cyclic search)
+				int leave = -1;
+				for (int k = 0; k < m; k++) {
+					int e = (searchStart + k) % m;
+					if (treeEdge[e] && cutValue[e] < 0) {
+						leave = e;
+						break;
+					}
+				}
+				if (leave < 0) {
+					break;
+				}
+				searchStart = leave + 1;
+
+				// find the non-tree edge of minimal slack that reconnects
+				// the two components
+				int u = tail[leave];
+				int v = head[leave];
+				int subtree = lim[u] < lim[v] ? u : v;
+				boolean flip = subtree != u;
+				int enter = -1;
+				for (int e = 0; e < m; e++) {
+					if (!treeEdge[e]
+							&& flip == isDescendant(tail[e], subtree)
+							&& flip != isDescendant(head[e], subtree)
+							&& (enter < 0 || slack(e) < slack(enter))) {
+						enter = e;
+					}
+				}
+				if (enter < 0) {
+					break;
+				}
+				treeEdge[leave] = false;
+				treeEdge[enter] = true;
+				initTree(n, order, stack, next);
+			}
+		}
+
+		private boolean isDescendant(int node, int root) {
+			return low[root] <= lim[node] && lim[node] <= lim[root];
+		}
+
+		/**
+		 * Computes the parent edges, the postorder numbering (low/lim), the
+		 * layers (so that all tree edges are tight), and the cut values of
+		 * the current spanning tree.
+		 */
+		private void initTree(int n, int[] order, int[] stack, int[] next) {
+			Arrays.fill(parentEdge, -2);
+			int postorder = 0;
+			int preorder = 0;
+			for (int root = 0; root < n; root++) {
+				if (parentEdge[root] != -2) {
+					continue;
+				}
+				parentEdge[root] = -1;
+				int top = 0;
+				stack[top++] = root;
+				next[root] = incidentOffsets[root];
+				low[root] = postorder + 1;
+				order[preorder++] = root;
+				while (top > 0) {
+					int u = stack[top - 1];
+					if (next[u] < incidentOffsets[u + 1]) {
+						int e = incident[next[u]++];
+						if (!treeEdge[e] || e == parentEdge[u]) {
+							continue;
+						}
+						int v = tail[e] == u ? head[e] : tail[e];
+						parentEdge[v] = e;
+						layer[v] = tail[e] == u ? layer[u] + 1 : layer[u] - 1;
+						low[v] = postorder + 1;
+						next[v] = incidentOffsets[v];
+						stack[top++] = v;
+						order[preorder++] = v;
+					} else {
+						lim[u] = ++postorder;
+						top--;
+					}
+				}
+			}
+			// cut values in reverse preorder, i.e. children first
+			for (int k = n - 1; k >= 0; k--) {
+				int child = order[k];
+				int e = parentEdge[child];
+				if (e >= 0) {
+					cutValue[e] = computeCutValue(child, e);
+				}
+			}
+		}
+
+		private int computeCutValue(int child, int treeEdge) {
+			boolean childIsTail = tail[treeEdge] == child;
+			int parent = childIsTail ? head[treeEdge] : tail[treeEdge];
+			int value = weight[treeEdge];
+			for (int k = incidentOffsets[child]; k < incidentOffsets[child
+					+ 1]; k++) {
+				int e = incident[k];
+				boolean isOutEdge = tail[e] == child;
+				int other = isOutEdge ? head[e] : tail[e];
+				if (other == parent) {
+					continue;
+				}
+				boolean pointsToHead = isOutEdge == childIsTail;
+				value += pointsToHead ? weight[e] : -weight[e];
+				if (this.treeEdge[e]) {
+					value += pointsToHead ? -cutValue[e] : cutValue[e];
+				}
+			}
+			return value;
+		}
+
+		private void normalize(int n) {
+			int min = Integer.MAX_VALUE;
+			for (int i = 0; i < n; i++) {
+				min = Math.min(min, layer[i]);
+			}
+			for (int i = 0; i < n; i++) {
+				layer[i] -= min;
+			}
+		}
+
+		/**
+		 * Wraps the nodes, splits long edges by chains of dummy nodes, and
+		 * links all wrappers to their predecessors and successors.
+		 */
+		private List<List<NodeWrapper>> createLayers(List<Node> nodes,
+				List<List<NodeWrapper>> layers) {
+			int n = nodes.size();
+			NodeWrapper[] wrappers = new NodeWrapper[n];
+			for (int i = 0; i < n; i++) {
+				while (layers.size() <= layer[i]) {
+					layers.add(new ArrayList<NodeWrapper>());
+				}
+				wrappers[i] = new NodeWrapper(nodes.get(i), layer[i]);
+				layers.get(layer[i]).add(wrappers[i]);
+			}
+			for (int e = 0; e < tail.length; e++) {
+				NodeWrapper predecessor = wrappers[tail[e]];
+				for (int l = layer[tail[e]] + 1; l < layer[head[e]]; l++) {
+					NodeWrapper dummy = new NodeWrapper(l);
+					dummy.addPredecessor(predecessor);
+					predecessor.addSuccessor(dummy);
+					layers.get(l).add(dummy);
+					predecessor = dummy;
+				}
+				wrappers[head[e]].addPredecessor(predecessor);
+				predecessor.addSuccessor(wrappers[head[e]]);
+			}
+			for (List<NodeWrapper> l : layers) {
+				for (int index = 0; index < l.size(); index++) {
+					l.get(index).index = index;
+				}
+			}
+			return layers;
+		}
+	}
+
+	/**
+	 * An interface for heuristics that assign coordinates to the nodes, after
+	 * the layers and the order of the nodes within the layers have been
+	 * determined.
+	 */
+	public static interface CoordinateAssigner {
+
+		/**
+		 * Computes the locations of the nodes of the given layers and assigns
+		 * them to the wrapped {@link Node}s using
+		 * {@link LayoutProperties#setLocation(Node, Point)}.
+		 *
+		 * @param layers
+		 *            The layers, each represented by a list of
+		 *            {@link NodeWrapper}s in their final order.
+		 * @param direction
+		 *            The {@link Direction} of the layout.
+		 * @param bounds
+		 *            The layout bounds, may be <code>null</code>.
+		 */
+		void assignCoordinates(List<List<NodeWrapper>> layers,
+				Direction direction, Rectangle bounds);
+
+		/**
+		 * Updates the locations of the nodes of the given range of layers
+		 * after an incremental layout pass, in which nodes and dummies have
+		 * been inserted into these layers. The placed nodes keep the locations
+		 * of the previous pass as far as possible. The default implementation
+		 * delegates to
+		 * {@link #assignCoordinates(List, Direction, Rectangle)}.
+		 *
+		 * @param layers
+		 *            The layers, each represented by a list of
+		 *            {@link NodeWrapper}s in their final order.
+		 * @param direction
+		 *            The {@link Direction} of the layout.
+		 * @param bounds
+		 *            The layout bounds, may be <code>null</code>.
+		 * @param placed
+		 *            The {@link Node}s whose locations have been computed by
+		 *            the previous layout pass.
+		 * @param firstLayer
+		 *            The index of the first layer to update.
+		 * @param lastLayer
+		 *            The index of the last layer to update.
+		 */
+		default void updateCoordinates(List<List<NodeWrapper>> layers,
+				Direction direction, Rectangle bounds, Set<Node> placed,
+				int firstLayer, int lastLayer) {
+			assignCoordinates(layers, direction, bounds);
+		}
+	}
+
+	/**
+	 * Implements the {@link CoordinateAssigner} interface using the method of
+	 * U. Brandes and B. K&ouml;pf ("Fast and Simple Horizontal Coordinate
+	 * Assignment", 2001). The nodes are aligned with their median neighbors
+	 * into vertical blocks in four different ways (upper/lower neighbors,
+	 * left/right alignment), preferring the inner segments of long edges. The
+	 * blocks of each alignment are compacted, and the final coordinate of a
+	 * node is the average median of its four candidate coordinates. The
+	 * compaction is performed by a longest path computation on the
+	 * separation constraints between the blocks, which takes the sizes of the
+	 * nodes ({@link LayoutProperties#getSize(Node)}) into account. All steps
+	 * take linear time.
+	 * <p>
+	 * The layers are placed next to each other, separated by the layer
+	 * spacing and the size of the largest node of each layer. The layout is
+	 * translated to the origin of the layout bounds, but not scaled.
+	 * <p>
+	 * When coordinates are updated after an incremental layout pass, only the
+	 * nodes of the affected layers are moved. Within each of these layers,
+	 * the placed nodes aim for their previous coordinate and new nodes for the
+	 * median coordinate of their placed neighbors, and the coordinates with
+	 * the least squared displacement that respect the order and the node
+	 * spacing are computed by pool adjacent violators in linear time.
+	 */
+	public static class BrandesKoepfCoordinateAssigner
+			implements CoordinateAssigner {
+
+		private static final double DEFAULT_NODE_SPACING = 20;
+		private static final double DEFAULT_LAYER_SPACING = 40;
+
+		private final double nodeSpacing;
+		private final double layerSpacing;
+
+		// layered graph (ids are indices into the wrappers array)
+		private NodeWrapper[] wrappers;
+		private int[][] layers;
+		private int[] position;
+		private int[] layerOf;
+		private int[][] upper;
+		private int[][] lower;
+		private double[] size;
+		private Set<Long> marked;
+
+		/**
+		 * Constructs a new {@link BrandesKoepfCoordinateAssigner} with a node
+		 * spacing of 20 and a layer spacing of 40.
+		 */
+		public BrandesKoepfCoordinateAssigner() {
+			this(DEFAULT_NODE_SPACING, DEFAULT_LAYER_SPACING);
+		}
+
+		/**
+		 * Constructs a new {@link BrandesKoepfCoordinateAssigner} with the
+		 * given spacings.
+		 *
+		 * @param nodeSpacing
+		 *            The minimum distance between the borders of two adjacent
+		 *            nodes of the same layer.
+		 * @param layerSpacing
+		 *            The minimum distance between the borders of the nodes of
+		 *            two adjacent layers.
+		 */
+		public BrandesKoepfCoordinateAssigner(double nodeSpacing,
+				double layerSpacing) {
+			this.nodeSpacing = nodeSpacing;
+			this.layerSpacing = layerSpacing;
+		}
+
+		public void assignCoordinates(List<List<NodeWrapper>> nodes,
+				Direction direction, Rectangle bounds) {
+			boolean vertical = direction != Direction.HORIZONTAL;
+			buildLayeredGraph(nodes, vertical);
+			int n = wrappers.length;
+			if (n == 0) {
+				return;
+			}
+			markTypeOneConflicts();
+
+			// compute the four candidate layouts
+			double[][] candidates = new double[4][];
+			for (int k = 0; k < 4; k++) {
+				boolean downward = k < 2;
+				boolean leftToRight = (k & 1) == 0;
+				candidates[k] = computeCandidate(downward, leftToRight);
+			}
+
+			// align the candidates to the one of minimal width
+			double[] min = new double[4];
+			double[] max = new double[4];
+			int smallest = 0;
+			for (int k = 0; k < 4; k++) {
+				min[k] = Double.POSITIVE_INFINITY;
+				max[k] = Double.NEGATIVE_INFINITY;
+				for (int v = 0; v < n; v++) {
+					min[k] = Math.min(min[k], candidates[k][v] - size[v] / 2);
+					max[k] = Math.max(max[k], candidates[k][v] + size[v] / 2);
+				}
+				if (max[k] - min[k] < max[smallest] - min[smallest]) {
+					smallest = k;
+				}
+			}
+			double[] x = new double[n];
+			double[] values = new double[4];
+			for (int v = 0; v < n; v++) {
+				for (int k = 0; k < 4; k++) {
+					double shift = (k & 1) == 0 ? min[smallest] - min[k]
+							: max[smallest] - max[k];
+					values[k] = candidates[k][v] + shift;
+				}
+				Arrays.sort(values);
+				x[v] = (values[1] + values[2]) / 2;
+			}
+
+			// place the layers
+			double[] y = new double[layers.length];
+			double offset = 0;
+			for (int l = 0; l < layers.length; l++) {
+				double thickness = 0;
+				for (int v : layers[l]) {
+					if (wrappers[v].node != null) {
+						Dimension nodeSize = LayoutProperties
+								.getSize(wrappers[v].node);
+						if (nodeSize != null) {
+							thickness = Math.max(thickness, vertical
+									? nodeSize.height : nodeSize.width);
+						}
+					}
+				}
+				y[l] = offset + thickness / 2;
+				offset += thickness + layerSpacing;
+			}
+
+			// translate to the origin of the layout bounds
+			double minX = Double.POSITIVE_INFINITY;
+			for (int v = 0; v < n; v++) {
+				minX = Math.min(minX, x[v] - size[v] / 2);
+			}
+			double originX = bounds == null ? 0
+					: vertical ? bounds.getX() : bounds.getY();
+			double originY = bounds == null ? 0
+					: vertical ? bounds.getY() : bounds.getX();
+			for (int l = 0; l < layers.length; l++) {
+				for (int v : layers[l]) {
+					Node node = wrappers[v].node;
+					if (node != null) {
+						double inLayer = x[v] - minX + originX;
+						double acrossLayers = y[l] + originY;
+						LayoutProperties.setLocation(node,
+								vertical ? new Point(inLayer, acrossLayers)
+										: new Point(acrossLayers, inLayer));
+					}
+				}
+			}
+		}
+
+		@Override
+		public void updateCoordinates(List<List<NodeWrapper>> nodes,
+				Direction direction, Rectangle bounds, Set<Node> placed,
+				int firstLayer, int lastLayer) {
+			boolean vertical = direction != Direction.HORIZONTAL;
+			// the layers keep their previous coordinate
+			double[] acrossLayers = new double[lastLayer - firstLayer + 1];
+			for (int l = firstLayer; l <= lastLayer; l++) {
+				acrossLayers[l - firstLayer] = Double.NaN;
+				for (NodeWrapper nw : nodes.get(l)) {
+					Point location = nw.node == null
+							|| !placed.contains(nw.node) ? null
+									: LayoutProperties.getLocation(nw.node);
+					if (location != null) {
+						acrossLayers[l - firstLayer] = vertical ? location.y
+								: location.x;
+						break;
+					}
+				}
+				if (Double.isNaN(acrossLayers[l - firstLayer])) {
+					// a new layer
+					assignCoordinates(nodes, direction, bounds);
+					return;
+				}
+			}
+			for (int l = firstLayer; l <= lastLayer; l++) {
+				List<Node> layer = new ArrayList<>();
+				List<Double> targets = new ArrayList<>();
+				for (NodeWrapper nw : nodes.get(l)) {
+					if (nw.node != null) {
+						layer.add(nw.node);
+						targets.add(getTarget(nw, placed, vertical));
+					}
+				}
+				double[] inLayer = place(layer, targets, vertical);
+				for (int i = 0; i < layer.size(); i++) {
+					double across = acrossLayers[l - firstLayer];
+					LayoutProperties.setLocation(layer.get(i),
+							vertical ? new Point(inLayer[i], across)
+									: new Point(across, inLayer[i]));
+				}
+			}
+		}
+
+		/**
+		 * Returns the in-layer coordinate that the given wrapper aims for,
+		 * which is its previous coordinate if it is placed, or the median
+		 * coordinate of the placed nodes it is connected to otherwise (NaN if
+		 * there are none).
+		 */
+		private static double getTarget(NodeWrapper nw, Set<Node> placed,
+				boolean vertical) {
+			Point location = placed.contains(nw.node)
+					? LayoutProperties.getLocation(nw.node)
+					: null;
+			if (location != null) {
+				return vertical ? location.x : location.y;
+			}
+			List<Double> coordinates = new ArrayList<>();
+			for (NodeWrapper neighbor : nw.pred) {
+				while (neighbor.isDummy() && !neighbor.pred.isEmpty()) {
+					neighbor = neighbor.pred.get(0);
+				}
+				addCoordinate(neighbor, placed, vertical, coordinates);
+			}
+			for (NodeWrapper neighbor : nw.succ) {
+				while (neighbor.isDummy() && !neighbor.succ.isEmpty()) {
+					neighbor = neighbor.succ.get(0);
+				}
+				addCoordinate(neighbor, placed, vertical, coordinates);
+			}
+			if (coordinates.isEmpty()) {
+				return Double.NaN;
+			}
+			Collections.sort(coordinates);
+			int m = coordinates.size() / 2;
+			return coordinates.size() % 2 == 1 ? coordinates.get(m)
+					: (coordinates.get(m - 1) + coordinates.get(m)) / 2;
+		}
+
+		private static void addCoordinate(NodeWrapper nw, Set<Node> placed,
+				boolean vertical, List<Double> coordinates) {
+			if (nw.node != null && placed.contains(nw.node)) {
+				Point location = LayoutProperties.getLocation(nw.node);
+				if (location != null) {
+					coordinates.add(vertical ? location.x : location.y);
+				}
+			}
+		}
+
+		/**
+		 * Computes the in-layer coordinates of the given nodes (in their
+		 * order) that minimize the squared distances to the given targets,
+		 * such that adjacent nodes are separated by the node spacing. A NaN
+		 * target is replaced by the closest position next to its predecessor
+		 * (or successor).
+		 */
+		private double[] place(List<Node> layer, List<Double> targets,
+				boolean vertical) {
+			int n = layer.size();
+			double[] size = new double[n];
+			for (int i = 0; i < n; i++) {
+				Dimension nodeSize = LayoutProperties.getSize(layer.get(i));
+				if (nodeSize != null) {
+					size[i] = vertical ? nodeSize.width : nodeSize.height;
+				}
+			}
+			// the minimum offset of each node from the first one
+			double[] offset = new double[n];
+			for (int i = 1; i < n; i++) {
+				offset[i] = offset[i - 1] + (size[i - 1] + size[i]) / 2
+						+ nodeSpacing;
+			}
+			double[] target = new double[n];
+			int first = -1;
+			for (int i = 0; i < n; i++) {
+				target[i] = targets.get(i);
+				if (Double.isNaN(target[i]) && i > 0
+						&& !Double.isNaN(target[i - 1])) {
+					target[i] = target[i - 1] + offset[i] - offset[i - 1];
+				}
+				if (first < 0 && !Double.isNaN(target[i])) {
+					first = i;
+				}
+			}
+			for (int i = first - 1; i >= 0; i--) {
+				target[i] = target[i + 1] - offset[i + 1] + offset[i];
+			}
+
+			// pool adjacent violators on the targets relative to the offsets
+			double[] sum = new double[n];
+			int[] count = new int[n];
+			int blocks = 0;
+			for (int i = 0; i < n; i++) {
+				sum[blocks] = target[i] - offset[i];
+				count[blocks] = 1;
+				blocks++;
+				while (blocks > 1 && sum[blocks - 2]
+						/ count[blocks - 2] > sum[blocks - 1]
+								/ count[blocks - 1]) {
+					sum[blocks - 2] += sum[blocks - 1];
+					count[blocks - 2] += count[blocks - 1];
+					blocks--;
+				}
+			}
+			double[] coordinates = new double[n];
+			for (int b = 0, i = 0; b < blocks; b++) {
+				double mean = sum[b] / count[b];
+				for (int k = 0; k < count[b]; k++, i++) {
+					coordinates[i] = mean + offset[i];
+				}
+			}
+			return coordinates;
+		}
+
+		/**
+		 * Converts the given layers into primitive arrays. Only links between
+		 * wrappers of adjacent layers are considered.
+		 */
+		private void buildLayeredGraph(List<List<NodeWrapper>> nodes,
+				boolean vertical) {
+			Map<NodeWrapper, Integer> ids = new IdentityHashMap<>();
+			List<NodeWrapper> all = new ArrayList<>();
+			layers = new int[nodes.size()][];
+			for (int l = 0; l < nodes.size(); l++) {
+				List<NodeWrapper> layer = nodes.get(l);
+				layers[l] = new int[layer.size()];
+				for (int i = 0; i < layer.size(); i++) {
+					ids.put(layer.get(i), all.size());
+					layers[l][i] = all.size();
+					all.add(layer.get(i));
+				}
+			}
+			int n = all.size();
+			wrappers = all.toArray(new NodeWrapper[n]);
+			position = new int[n];
+			layerOf = new int[n];
+			size = new double[n];
+			for (int l = 0; l < layers.length; l++) {
+				for (int i = 0; i < layers[l].length; i++) {
+					position[layers[l][i]] = i;
+					layerOf[layers[l][i]] = l;
+				}
+			}
+			upper = new int[n][];
+			lower = new int[n][];
+			for (int v = 0; v < n; v++) {
+				upper[v] = getNeighbors(wrappers[v].pred, ids, layerOf,
+						layerOf[v] - 1);
+				lower[v] = getNeighbors(wrappers[v].succ, ids, layerOf,
+						layerOf[v] + 1);
+				Node node = wrappers[v].node;
+				Dimension nodeSize = node == null ? null
+						: LayoutProperties.getSize(node);
+				if (nodeSize != null) {
+					size[v] = vertical ? nodeSize.width : nodeSize.height;
+				}
+			}
+		}
+
+		/**
+		 * Returns the ids of the given neighbors that are on the given layer,
+		 * sorted by their position.
+		 */
+		private int[] getNeighbors(List<NodeWrapper> neighbors,
+				Map<NodeWrapper, Integer> ids, int[] layerOf, int layer) {
+			int[] result = new int[neighbors.size()];
+			int count = 0;
+			for (NodeWrapper neighbor : neighbors) {
+				Integer id = ids.get(neighbor);
+				if (id != null && layerOf[id] == layer) {
+					result[count++] = id;
+				}
+			}
+			result = Arrays.copyOf(result, count);
+			// insertion sort, as the number of neighbors is usually small
+			for (int i = 1; i < count; i++) {
+				int id = result[i];
+				int j = i - 1;
+				while (j >= 0 && position[result[j]] > position[id]) {
+					result[j + 1] = result[j];
+					j--;
+				}
+				result[j + 1] = id;
+			}
+			return result;
+		}
+
+		private boolean isInnerSegment(int u, int v) {
+			return wrappers[u].isDummy() && wrappers[v].isDummy();
+		}
+
+		private static long key(int upperId, int lowerId) {
+			return ((long) upperId << 32) | lowerId;
+		}
+
+		/**
+		 * Marks the non-inner segments that cross an inner segment (type 1
+		 * conflicts), so that inner segments are preferred for the alignment
+		 * and long edges are drawn straight.
+		 */
+		private void markTypeOneConflicts() {
+			marked = new HashSet<>();
+			for (int l = 1; l < layers.length - 1; l++) {
+				int[] upperLayer = layers[l];
+				int[] lowerLayer = layers[l + 1];
+				int k0 = 0;
+				int scan = 0;
+				for (int l1 = 0; l1 < lowerLayer.length; l1++) {
+					int v = lowerLayer[l1];
+					int innerUpper = -1;
+					for (int u : upper[v]) {
+						if (isInnerSegment(u, v)) {
+							innerUpper = u;
+						}
+					}
+					if (l1 == lowerLayer.length - 1 || innerUpper >= 0) {
+						int k1 = innerUpper >= 0 ? position[innerUpper]
+								: upperLayer.length - 1;
+						for (; scan <= l1; scan++) {
+							int w = lowerLayer[scan];
+							for (int u : upper[w]) {
+								int k = position[u];
+								if ((k < k0 || k > k1)
+										&& !isInnerSegment(u, w)) {
+									marked.add(key(u, w));
+								}
+							}
+						}
+						k0 = k1;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Computes the coordinates for one of the four alignments.
+		 *
+		 * @param downward
+		 *            <code>true</code> to align with the upper neighbors
+		 *            (processing the layers top-down), <code>false</code> to
+		 *            align with the lower neighbors (bottom-up).
+		 * @param leftToRight
+		 *            <code>true</code> to process the layers from left to
+		 *            right (compacting to the left), <code>false</code> for
+		 *            right to left.
+		 */
+		private double[] computeCandidate(boolean downward,
+				boolean leftToRight) {
+			int n = wrappers.length;
+			int[] root = new int[n];
+			int[] align = new int[n];
+			for (int v = 0; v < n; v++) {
+				root[v] = v;
+				align[v] = v;
+			}
+
+			// vertical alignment
+			for (int step = 1; step < layers.length; step++) {
+				int[] layer = layers[downward ? step
+						: layers.length - 1 - step];
+				int r = -1;
+				for (int i = 0; i < layer.length; i++) {
+					int v = layer[leftToRight ? i : layer.length - 1 - i];
+					int[] neighbors = downward ? upper[v] : lower[v];
+					int d = neighbors.length;
+					if (d == 0) {
+						continue;
+					}
+					int first = (d - 1) / 2;
+					int second = d / 2;
+					for (int m = first; m <= second; m++) {
+						if (align[v] != v) {
+							break;
+						}
+						int u = neighbors[leftToRight ? m : d - 1 - m];
+						int viewPosition = leftToRight ? position[u]
+								: layers[layerOf[u]].length - 1 - position[u];
+						boolean conflict = downward
+								? marked.contains(key(u, v))
+								: marked.contains(key(v, u));
+						if (!conflict && r < viewPosition) {
+							align[u] = v;
+							root[v] = root[u];
+							align[v] = root[v];
+							r = viewPosition;
+						}
+					}
+				}
+			}
+
+			// horizontal compaction: longest paths in the (acyclic) block
+			// constraint graph, i.e. each block is placed as far left as
+			// its left neighbors allow
+			int[] constraintOffsets = new int[n + 1];
+			for (int[] layer : layers) {
+				for (int i = 1; i < layer.length; i++) {
+					int left = leftToRight ? layer[i - 1] : layer[i];
+					constraintOffsets[root[left] + 1]++;
+				}
+			}
+			for (int v = 0; v < n; v++) {
+				constraintOffsets[v + 1] += constraintOffsets[v];
+			}
+			int[] constraintTargets = new int[constraintOffsets[n]];
+			double[] constraintGaps = new double[constraintOffsets[n]];
+			int[] fill = Arrays.copyOf(constraintOffsets, n);
+			int[] inDegree = new int[n];
+			for (int[] layer : layers) {
+				for (int i = 1; i < layer.length; i++) {
+					int left = leftToRight ? layer[i - 1] : layer[i];
+					int right = leftToRight ? layer[i] : layer[i - 1];
+					int e = fill[root[left]]++;
+					constraintTargets[e] = root[right];
+					constraintGaps[e] = (size[left] + size[right]) / 2
+							+ nodeSpacing;
+					inDegree[root[right]]++;
+				}
+			}
+			double[] blockX = new double[n];
+			int[] queue = new int[n];
+			int tail = 0;
+			for (int v = 0; v < n; v++) {
+				if (root[v] == v && inDegree[v] == 0) {
+					queue[tail++] = v;
+				}
+			}
+			for (int head = 0; head < tail; head++) {
+				int b = queue[head];
+				for (int e = constraintOffsets[b]; e < constraintOffsets[b
+						+ 1]; e++) {
+					int c = constraintTargets[e];
+					blockX[c] = Math.max(blockX[c],
+							blockX[b] + constraintGaps[e]);
+					if (--inDegree[c] == 0) {
+						queue[tail++] = c;
+					}
+				}
+			}
+
+			double[] x = new double[n];
+			for (int v = 0; v < n; v++) {
+				x[v] = leftToRight ? blockX[root[v]] : -blockX[root[v]];
+			}
+			return x;
+		}
+	}
+
 	private List<List<NodeWrapper>> layers = new ArrayList<>();
 	private Map<Node, NodeWrapper> map = new IdentityHashMap<>();
 	private final Direction direction;
@@ -1221,6 +2692,7 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 
 	private LayerProvider layerProvider;
 	private CrossingReducer crossingReducer;
+	private CoordinateAssigner coordinateAssigner;
 
 	/**
 	 * Constructs a tree-like, layered layout of a directed graph.
@@ -1331,29 +2803,540 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		this(Direction.VERTICAL, null, null, null);
 	}
 
+	/**
+	 * Sets the {@link CoordinateAssigner} that is used to compute the node
+	 * locations once the layers have been ordered. If <code>null</code> (the
+	 * default), the nodes are distributed on a uniform grid that fills the
+	 * layout bounds.
+	 *
+	 * @param coordinateAssigner
+	 *            The {@link CoordinateAssigner} to use, or <code>null</code>.
+	 */
+	public void setCoordinateAssigner(CoordinateAssigner coordinateAssigner) {
+		this.coordinateAssigner = coordinateAssigner;
+	}
+
+	/**
+	 * Returns the {@link CoordinateAssigner} that is used to compute the node
+	 * locations, or <code>null</code> if the nodes are distributed on a
+	 * uniform grid.
+	 *
+	 * @return The {@link CoordinateAssigner}, or <code>null</code>.
+	 */
+	public CoordinateAssigner getCoordinateAssigner() {
+		return coordinateAssigner;
+	}
+
+	public Object[] getLayoutParameters() {
+		// only the parameters of the provided strategies are known (except
+		// for the nodes assigned to layers by a DFSLayerProvider)
+		Class<?> layering = layerProvider.getClass();
+		Class<?> crossing = crossingReducer.getClass();
+		if (layering != SimpleLayerProvider.class
+				&& layering != NetworkSimplexLayerProvider.class
+				|| crossing != BarycentricCrossingReducer.class
+						&& crossing != SplitCrossingReducer.class
+						&& crossing != GreedyCrossingReducer.class
+						&& crossing != LayerSweepCrossingReducer.class
+				|| coordinateAssigner != null && coordinateAssigner
+						.getClass() != BrandesKoepfCoordinateAssigner.class) {
+			return null;
+		}
+		Integer maxIterations = null;
+		if (layerProvider instanceof NetworkSimplexLayerProvider) {
+			NetworkSimplexLayerProvider networkSimplex = (NetworkSimplexLayerProvider) layerProvider;
+			maxIterations = networkSimplex.maxIterations;
+		}
+		Double nodeSpacing = null;
+		Double layerSpacing = null;
+		if (coordinateAssigner != null) {
+			BrandesKoepfCoordinateAssigner brandesKoepf = (BrandesKoepfCoordinateAssigner) coordinateAssigner;
+			nodeSpacing = brandesKoepf.nodeSpacing;
+			layerSpacing = brandesKoepf.layerSpacing;
+		}
+		return new Object[] { direction, dimension, layering.getName(),
+				maxIterations, crossing.getName(), nodeSpacing,
+				layerSpacing };
+	}
+
 	public void applyLayout(LayoutContext layoutContext, boolean clean) {
-		if (!clean)
-			return;
+		if (!clean && !map.isEmpty()) {
+			Set<Node> placed = Collections
+					.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+			placed.addAll(map.keySet());
+			int[] affected = updateLayers(layoutContext);
+			if (affected != null) {
+				updateCoordinates(layoutContext, placed, affected[0],
+						affected[1]);
+				return;
+			}
+		}
 		layers.clear();
 		map.clear();
 
 		ArrayList<Node> nodes = new ArrayList<>();
 		ArrayList<Node> nodes2 = new ArrayList<>();
-		for (Node node : layoutContext.getNodes()) {
+		for (Node node : layoutContext.getNodesUnmodifiable()) {
 			nodes.add(node);
 			nodes2.add(node);
 		}
 		layers = layerProvider.calculateLayers(nodes);
 		crossingReducer.crossReduction(layers);
 
+		for (List<NodeWrapper> layer : layers) {
+			for (NodeWrapper nw : layer) {
+				map.put(nw.node, nw);
+			}
+		}
+		assignCoordinates(layoutContext);
+	}
+
+	private void assignCoordinates(LayoutContext layoutContext) {
+		last = 0;
 		for (List<NodeWrapper> layer : layers) {
 			if (layer.size() > last)
 				last = layer.size();
+		}
+		if (coordinateAssigner != null) {
+			coordinateAssigner.assignCoordinates(layers, direction,
+					getBounds(layoutContext));
+		} else {
+			calculatePositions(layoutContext);
+		}
+	}
+
+	private void updateCoordinates(LayoutContext layoutContext,
+			Set<Node> placed, int firstLayer, int lastLayer) {
+		if (coordinateAssigner == null) {
+			// the grid depends on the size of the largest layer
+			assignCoordinates(layoutContext);
+		} else if (firstLayer <= lastLayer) {
+			coordinateAssigner.updateCoordinates(layers, direction,
+					getBounds(layoutContext), placed, firstLayer, lastLayer);
+		}
+	}
+
+	private Rectangle getBounds(LayoutContext layoutContext) {
+		return dimension != null
+				? new Rectangle(0, 0, dimension.getWidth(),
+						dimension.getHeight())
+				: LayoutProperties.getBounds(layoutContext.getGraph());
+	}
+
+	/**
+	 * Updates the layers of the previous layout pass to the current nodes and
+	 * edges of the given context. The nodes that were layouted before keep
+	 * their layers and their order, and the dummy chains of the edges that
+	 * were layouted before are reused. New nodes are assigned to the layer
+	 * that minimizes the lengths of their edges, and new nodes and dummies
+	 * are inserted at the position within their layer that minimizes the
+	 * crossings with the adjacent layers. Finally, crossings are reduced by
+	 * transposing adjacent nodes within the window of affected layers.
+	 * <p>
+	 * Returns the indices of the first and last affected layer, or
+	 * <code>null</code> if no node was layouted before, or if an edge connects
+	 * two previously layouted nodes of the same layer, in which case a clean
+	 * layout pass has to be performed.
+	 */
+	private int[] updateLayers(LayoutContext context) {
+		Node[] nodes = context.getNodes();
+		Map<Node, Integer> layerOf = new IdentityHashMap<>();
+		for (Node node : nodes) {
+			NodeWrapper previous = map.get(node);
+			if (previous != null) {
+				layerOf.put(node, previous.layer);
+			}
+		}
+		if (layerOf.isEmpty()) {
+			return null;
+		}
+
+		// determine the neighbors of all nodes
+		Map<Node, List<Node>> predecessors = new IdentityHashMap<>();
+		Map<Node, List<Node>> successors = new IdentityHashMap<>();
+		for (Node node : nodes) {
+			predecessors.put(node, new ArrayList<Node>());
+			successors.put(node, new ArrayList<Node>());
+		}
+		for (Edge edge : context.getEdgesUnmodifiable()) {
+			Node source = edge.getSource();
+			Node target = edge.getTarget();
+			if (source != target && predecessors.containsKey(source)
+					&& predecessors.containsKey(target)) {
+				successors.get(source).add(target);
+				predecessors.get(target).add(source);
+			}
+		}
+		for (Node node : nodes) {
+			Integer layer = layerOf.get(node);
+			if (layer != null) {
+				for (Node successor : successors.get(node)) {
+					if (layer.equals(layerOf.get(successor))) {
+						return null;
+					}
+				}
+			}
+		}
+		assignLayers(nodes, layerOf, predecessors, successors);
+
+		// remove empty layers
+		int maxLayer = 0;
+		for (int layer : layerOf.values()) {
+			maxLayer = Math.max(maxLayer, layer);
+		}
+		int[] compacted = new int[maxLayer + 1];
+		for (int layer : layerOf.values()) {
+			compacted[layer] = 1;
+		}
+		int layerCount = 0;
+		for (int l = 0; l <= maxLayer; l++) {
+			compacted[l] = compacted[l] == 0 ? -1 : layerCount++;
+		}
+
+		// create the wrappers, reusing the order of the previous ones
+		List<List<NodeWrapper>> newLayers = new ArrayList<>(layerCount);
+		for (int l = 0; l < layerCount; l++) {
+			newLayers.add(new ArrayList<NodeWrapper>());
+		}
+		Map<NodeWrapper, Integer> previousIndex = new IdentityHashMap<>();
+		Map<Node, NodeWrapper> newMap = new IdentityHashMap<>();
+		for (Node node : nodes) {
+			NodeWrapper nw = new NodeWrapper(node,
+					compacted[layerOf.get(node)]);
+			newMap.put(node, nw);
+			NodeWrapper previous = map.get(node);
+			if (previous != null) {
+				previousIndex.put(nw, previous.index);
+			}
+		}
+		Map<Node, Map<Node, List<NodeWrapper>>> previousChains = getDummyChains();
+		Map<Node, Map<Node, Boolean>> linked = new IdentityHashMap<>();
+		for (Node node : nodes) {
+			for (Node successor : successors.get(node)) {
+				boolean forward = layerOf.get(node) < layerOf.get(successor);
+				Node upper = forward ? node : successor;
+				Node lower = forward ? successor : node;
+				Map<Node, Boolean> linkedFromUpper = linked.get(upper);
+				if (linkedFromUpper == null) {
+					linkedFromUpper = new IdentityHashMap<>();
+					linked.put(upper, linkedFromUpper);
+				}
+				if (linkedFromUpper.put(lower, true) != null) {
+					// parallel edges share a chain
+					continue;
+				}
+				Map<Node, List<NodeWrapper>> chainsFromUpper = previousChains
+						.get(upper);
+				List<NodeWrapper> previousChain = chainsFromUpper == null
+						? null
+						: chainsFromUpper.get(lower);
+				int upperLayer = layerOf.get(upper);
+				if (previousChain != null && previousChain
+						.size() != layerOf.get(lower) - upperLayer - 1) {
+					previousChain = null;
+				}
+				NodeWrapper predecessor = newMap.get(upper);
+				for (int l = upperLayer + 1; l < layerOf.get(lower); l++) {
+					if (compacted[l] < 0) {
+						continue;
+					}
+					NodeWrapper dummy = new NodeWrapper(compacted[l]);
+					if (previousChain != null) {
+						previousIndex.put(dummy, previousChain
+								.get(l - upperLayer - 1).index);
+					}
+					dummy.addPredecessor(predecessor);
+					predecessor.addSuccessor(dummy);
+					predecessor = dummy;
+				}
+				NodeWrapper lowerWrapper = newMap.get(lower);
+				lowerWrapper.addPredecessor(predecessor);
+				predecessor.addSuccessor(lowerWrapper);
+			}
+		}
+
+		// order the previous wrappers, and insert the new ones
+		List<List<NodeWrapper>> inserted = new ArrayList<>(layerCount);
+		for (int l = 0; l < layerCount; l++) {
+			inserted.add(new ArrayList<NodeWrapper>());
+		}
+		for (Node node : nodes) {
+			collectWrappers(newMap.get(node), previousIndex, newLayers,
+					inserted);
+		}
+		final Map<NodeWrapper, Integer> index = previousIndex;
+		Set<NodeWrapper> ordered = Collections
+				.newSetFromMap(new IdentityHashMap<NodeWrapper, Boolean>());
+		ordered.addAll(previousIndex.keySet());
+		int minAffected = layerCount;
+		int maxAffected = -1;
+		for (int l = 0; l < layerCount; l++) {
+			List<NodeWrapper> layer = newLayers.get(l);
+			Collections.sort(layer, new Comparator<NodeWrapper>() {
+				public int compare(NodeWrapper nw1, NodeWrapper nw2) {
+					return Integer.compare(index.get(nw1), index.get(nw2));
+				}
+			});
+			updateIndex(layer);
+			if (!inserted.get(l).isEmpty()) {
+				minAffected = Math.min(minAffected, l);
+				maxAffected = Math.max(maxAffected, l);
+			}
+		}
+		for (int l = minAffected; l <= maxAffected; l++) {
+			for (NodeWrapper nw : inserted.get(l)) {
+				insert(newLayers.get(l), nw, ordered);
+			}
+		}
+		int[] affected = { 0, -1 };
+		if (maxAffected >= 0) {
+			affected[0] = Math.max(0, minAffected - 1);
+			affected[1] = Math.min(layerCount - 1, maxAffected + 1);
+			transpose(newLayers, affected[0], affected[1]);
+		}
+		layers = newLayers;
+		map = newMap;
+		return affected;
+	}
+
+	/**
+	 * Assigns the nodes that were not layouted before to the layer that
+	 * minimizes the length of their edges to the already assigned nodes,
+	 * preferring layers below their predecessors and above their successors.
+	 * The layers of adjacent nodes are never used, so that all edges connect
+	 * different layers.
+	 */
+	private static void assignLayers(Node[] nodes, Map<Node, Integer> layerOf,
+			Map<Node, List<Node>> predecessors,
+			Map<Node, List<Node>> successors) {
+		List<Node> unassigned = new ArrayList<>();
+		int maxLayer = 0;
+		for (Node node : nodes) {
+			Integer layer = layerOf.get(node);
+			if (layer == null) {
+				unassigned.add(node);
+			} else {
+				maxLayer = Math.max(maxLayer, layer);
+			}
+		}
+		while (!unassigned.isEmpty()) {
+			boolean assigned = false;
+			for (Iterator<Node> it = unassigned.iterator(); it.hasNext();) {
+				Node node = it.next();
+				int[] above = getLayers(predecessors.get(node), layerOf);
+				int[] below = getLayers(successors.get(node), layerOf);
+				if (above.length + below.length == 0) {
+					continue;
+				}
+				// using a layer on the wrong side of a neighbor reverses the
+				// edge, which costs more than any edge length
+				long reversal = maxLayer + 2;
+				long minCost = Long.MAX_VALUE;
+				int best = 0;
+				for (int l = 0; l <= maxLayer + 1; l++) {
+					long cost = 0;
+					boolean adjacent = false;
+					for (int a : above) {
+						adjacent |= a == l;
+						cost += a < l ? l - a : reversal + a - l;
+					}
+					for (int b : below) {
+						adjacent |= b == l;
+						cost += b > l ? b - l : reversal + l - b;
+					}
+					if (!adjacent && cost < minCost) {
+						minCost = cost;
+						best = l;
+					}
+				}
+				layerOf.put(node, best);
+				maxLayer = Math.max(maxLayer, best);
+				it.remove();
+				assigned = true;
+			}
+			if (!assigned) {
+				// not connected to any assigned node
+				layerOf.put(unassigned.remove(0), 0);
+			}
+		}
+	}
+
+	private static int[] getLayers(List<Node> neighbors,
+			Map<Node, Integer> layerOf) {
+		int[] layers = new int[neighbors.size()];
+		int count = 0;
+		for (Node neighbor : neighbors) {
+			Integer layer = layerOf.get(neighbor);
+			if (layer != null) {
+				layers[count++] = layer;
+			}
+		}
+		return Arrays.copyOf(layers, count);
+	}
+
+	/**
+	 * Returns the dummy chains of the previous layout pass, by the upper and
+	 * lower node that they connect.
+	 */
+	private Map<Node, Map<Node, List<NodeWrapper>>> getDummyChains() {
+		Map<Node, Map<Node, List<NodeWrapper>>> chains = new IdentityHashMap<>();
+		for (List<NodeWrapper> layer : layers) {
 			for (NodeWrapper nw : layer) {
-				map.put(nw.node, nw);
+				if (nw.node == null) {
+					continue;
+				}
+				for (NodeWrapper successor : nw.succ) {
+					List<NodeWrapper> chain = new ArrayList<>();
+					while (successor.isDummy() && !successor.succ.isEmpty()) {
+						chain.add(successor);
+						successor = successor.succ.get(0);
+					}
+					if (successor.node != null) {
+						Map<Node, List<NodeWrapper>> chainsFromNode = chains
+								.get(nw.node);
+						if (chainsFromNode == null) {
+							chainsFromNode = new IdentityHashMap<>();
+							chains.put(nw.node, chainsFromNode);
+						}
+						chainsFromNode.put(successor.node, chain);
+					}
+				}
+			}
+		}
+		return chains;
+	}
+
+	/**
+	 * Adds the given wrapper and the dummies of its outgoing chains to their
+	 * layers, if they have a previous index, or to the inserted wrappers
+	 * otherwise.
+	 */
+	private static void collectWrappers(NodeWrapper nw,
+			Map<NodeWrapper, Integer> previousIndex,
+			List<List<NodeWrapper>> layers,
+			List<List<NodeWrapper>> inserted) {
+		(previousIndex.containsKey(nw) ? layers : inserted).get(nw.layer)
+				.add(nw);
+		for (NodeWrapper successor : nw.succ) {
+			while (successor.isDummy()) {
+				(previousIndex.containsKey(successor) ? layers : inserted)
+						.get(successor.layer).add(successor);
+				successor = successor.succ.get(0);
+			}
+		}
+	}
+
+	private static void updateIndex(List<NodeWrapper> layer) {
+		for (int i = 0; i < layer.size(); i++) {
+			layer.get(i).index = i;
+		}
+	}
+
+	/**
+	 * Inserts the given wrapper into the given layer, at the position that
+	 * minimizes the crossings with the edges of the wrappers that are already
+	 * ordered (i.e. which have an index). Ties are broken by the distance to
+	 * the barycenter of the neighbors.
+	 */
+	private static void insert(List<NodeWrapper> layer, NodeWrapper nw,
+			Set<NodeWrapper> ordered) {
+		int[] upper = getPositions(nw.pred, ordered);
+		int[] lower = getPositions(nw.succ, ordered);
+		double barycenter = layer.size();
+		if (upper.length + lower.length > 0) {
+			barycenter = 0;
+			for (int p : upper) {
+				barycenter += p;
+			}
+			for (int p : lower) {
+				barycenter += p;
+			}
+			barycenter /= upper.length + lower.length;
+		}
+		// the crossings at each gap, relative to the first one
+		long crossings = 0;
+		long minCrossings = 0;
+		int best = 0;
+		for (int i = 0; i < layer.size(); i++) {
+			NodeWrapper other = layer.get(i);
+			int[] otherUpper = getPositions(other.pred, ordered);
+			int[] otherLower = getPositions(other.succ, ordered);
+			crossings += LayerSweepCrossingReducer.countCrossings(otherUpper,
+					upper)
+					+ LayerSweepCrossingReducer.countCrossings(otherLower,
+							lower)
+					- LayerSweepCrossingReducer.countCrossings(upper,
+							otherUpper)
+					- LayerSweepCrossingReducer.countCrossings(lower,
+							otherLower);
+			if (crossings < minCrossings || crossings == minCrossings
+					&& Math.abs(i + 1 - barycenter) < Math
+							.abs(best - barycenter)) {
+				minCrossings = crossings;
+				best = i + 1;
+			}
+		}
+		layer.add(best, nw);
+		updateIndex(layer);
+		ordered.add(nw);
+	}
+
+	/**
+	 * Returns the sorted indices of the given neighbors that are ordered, or
+	 * of all given neighbors if no ordered wrappers are given.
+	 */
+	private static int[] getPositions(List<NodeWrapper> neighbors,
+			Set<NodeWrapper> ordered) {
+		int[] positions = new int[neighbors.size()];
+		int count = 0;
+		for (NodeWrapper neighbor : neighbors) {
+			if (ordered == null || ordered.contains(neighbor)) {
+				positions[count++] = neighbor.index;
+			}
+		}
+		positions = Arrays.copyOf(positions, count);
+		Arrays.sort(positions);
+		return positions;
+	}
+
+	/**
+	 * Transposes adjacent wrappers of the given range of layers, as long as
+	 * this reduces the number of crossings with the adjacent layers.
+	 */
+	private static void transpose(List<List<NodeWrapper>> layers, int first,
+			int last) {
+		for (int pass = 0; pass < LayerSweepCrossingReducer.MAX_TRANSPOSITION_PASSES; pass++) {
+			boolean transposed = false;
+			for (int l = first; l <= last; l++) {
+				List<NodeWrapper> layer = layers.get(l);
+				for (int i = 0; i < layer.size() - 1; i++) {
+					NodeWrapper v = layer.get(i);
+					NodeWrapper w = layer.get(i + 1);
+					int[] upperV = getPositions(v.pred, null);
+					int[] upperW = getPositions(w.pred, null);
+					int[] lowerV = getPositions(v.succ, null);
+					int[] lowerW = getPositions(w.succ, null);
+					long before = LayerSweepCrossingReducer
+							.countCrossings(upperV, upperW)
+							+ LayerSweepCrossingReducer.countCrossings(lowerV,
+									lowerW);
+					long after = LayerSweepCrossingReducer
+							.countCrossings(upperW, upperV)
+							+ LayerSweepCrossingReducer.countCrossings(lowerW,
+									lowerV);
+					if (after < before) {
+						layer.set(i, w);
+						layer.set(i + 1, v);
+						w.index = i;
+						v.index = i + 1;
+						transposed = true;
+					}
+				}
+			}
+			if (!transposed) {
+				break;
 			}
 		}
-		calculatePositions(layoutContext);
 	}
 
 	private void calculatePositions(LayoutContext context) {
@@ -1364,13 +3347,13 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		double dx = boundary.getWidth() / layers.size();
 		double dy = boundary.getHeight() / (last + 1);
 		if (direction == Direction.HORIZONTAL)
-			for (Node node : context.getNodes()) {
+			for (Node node : context.getNodesUnmodifiable()) {
 				NodeWrapper nw = map.get(node);
 				LayoutProperties.setLocation(node, new Point(
 						(nw.layer + 0.5d) * dx, (nw.index + 0.5d) * dy));
 			}
 		else
-			for (Node node : context.getNodes()) {
+			for (Node node : context.getNodesUnmodifiable()) {
 				NodeWrapper nw = map.get(node);
 				LayoutProperties.setLocation(node, new Point(
 						(nw.index + 0.5d) * dx, (nw.layer + 0.5d) * dy));
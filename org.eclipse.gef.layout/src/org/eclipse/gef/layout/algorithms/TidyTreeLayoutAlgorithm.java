@@ -0,0 +1,531 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link TidyTreeLayoutAlgorithm} arranges a tree (or forest) in layers,
+ * placing each parent centered above its children and packing the subtrees as
+ * closely as their contours allow. The placement follows the linear-time
+ * variant of Walker's algorithm by C. Buchheim, M. J&uuml;nger, and S. Leipert
+ * ("Improving Walker's Algorithm to Run in Linear Time", 2002), using the
+ * sizes of the nodes ({@link LayoutProperties#getSize(Node)}) to separate
+ * neighboring nodes.
+ * <p>
+ * The spanning tree is computed by a breadth first search that starts at the
+ * nodes without incoming edges (in the order of the nodes). Edges to nodes
+ * that were already visited are ignored, and nodes that are only reachable
+ * via cycles are used as additional roots. All trees of the forest are placed
+ * next to each other. All traversals are iterative, so that deep trees do not
+ * overflow the stack.
+ * <p>
+ * The computed layout is not scaled, but translated to the origin of the
+ * layout bounds.
+ */
+public class TidyTreeLayoutAlgorithm implements ICacheableLayoutAlgorithm {
+
+	private static final double DEFAULT_NODE_SPACING = 20;
+	private static final double DEFAULT_LEVEL_SPACING = 40;
+
+	private int direction = TreeLayoutAlgorithm.TOP_DOWN;
+	private double nodeSpacing = DEFAULT_NODE_SPACING;
+	private double levelSpacing = DEFAULT_LEVEL_SPACING;
+
+	// the tree, the virtual root (with index n) connects all roots
+	private int[] parent;
+	private int[] childOffsets;
+	private int[] children;
+	private int[] number;
+	private int[] order;
+	private int[] depth;
+	private double[] breadth;
+
+	// the state of the Buchheim-Walker algorithm
+	private double[] prelim;
+	private double[] mod;
+	private double[] shift;
+	private double[] change;
+	private int[] thread;
+	private int[] ancestor;
+	private int[] defaultAncestor;
+
+	/**
+	 * Constructs a new {@link TidyTreeLayoutAlgorithm} that places the roots
+	 * at the top.
+	 */
+	public TidyTreeLayoutAlgorithm() {
+	}
+
+	/**
+	 * Constructs a new {@link TidyTreeLayoutAlgorithm} with the given
+	 * direction.
+	 *
+	 * @param direction
+	 *            The direction, one of {@link TreeLayoutAlgorithm#TOP_DOWN},
+	 *            {@link TreeLayoutAlgorithm#BOTTOM_UP},
+	 *            {@link TreeLayoutAlgorithm#LEFT_RIGHT}, or
+	 *            {@link TreeLayoutAlgorithm#RIGHT_LEFT}.
+	 */
+	public TidyTreeLayoutAlgorithm(int direction) {
+		setDirection(direction);
+	}
+
+	public Object[] getLayoutParameters() {
+		return new Object[] { direction, nodeSpacing, levelSpacing };
+	}
+
+	public void applyLayout(LayoutContext layoutContext, boolean clean) {
+		if (!clean) {
+			return;
+		}
+		Node[] entities = layoutContext.getNodes();
+		int n = entities.length;
+		if (n == 0) {
+			return;
+		}
+		boolean vertical = direction == TreeLayoutAlgorithm.TOP_DOWN
+				|| direction == TreeLayoutAlgorithm.BOTTOM_UP;
+		buildTree(entities, layoutContext.getEdges(), vertical);
+		firstWalk(n);
+		double[] x = secondWalk(n);
+
+		// determine the level offsets from the largest node of each level
+		int levels = 0;
+		for (int v = 0; v < n; v++) {
+			levels = Math.max(levels, depth[v] + 1);
+		}
+		double[] thickness = new double[levels];
+		for (int v = 0; v < n; v++) {
+			Dimension size = LayoutProperties.getSize(entities[v]);
+			if (size != null) {
+				thickness[depth[v]] = Math.max(thickness[depth[v]],
+						vertical ? size.height : size.width);
+			}
+		}
+		double[] levelCenter = new double[levels];
+		double offset = 0;
+		for (int l = 0; l < levels; l++) {
+			levelCenter[l] = offset + thickness[l] / 2;
+			offset += thickness[l] + levelSpacing;
+		}
+		double totalDepth = offset - levelSpacing;
+
+		double minX = Double.POSITIVE_INFINITY;
+		for (int v = 0; v < n; v++) {
+			minX = Math.min(minX, x[v] - breadth[v] / 2);
+		}
+		Rectangle bounds = LayoutProperties
+				.getBounds(layoutContext.getGraph());
+		double originX = bounds == null ? 0 : bounds.getX();
+		double originY = bounds == null ? 0 : bounds.getY();
+		double[] locationX = new double[n];
+		double[] locationY = new double[n];
+		for (int v = 0; v < n; v++) {
+			if (!LayoutProperties.isMovable(entities[v])) {
+				locationX[v] = Double.NaN;
+				continue;
+			}
+			double b = x[v] - minX;
+			double d = levelCenter[depth[v]];
+			switch (direction) {
+			case TreeLayoutAlgorithm.BOTTOM_UP:
+				locationX[v] = b;
+				locationY[v] = totalDepth - d;
+				break;
+			case TreeLayoutAlgorithm.LEFT_RIGHT:
+				locationX[v] = d;
+				locationY[v] = b;
+				break;
+			case TreeLayoutAlgorithm.RIGHT_LEFT:
+				locationX[v] = totalDepth - d;
+				locationY[v] = b;
+				break;
+			default:
+				locationX[v] = b;
+				locationY[v] = d;
+			}
+			locationX[v] += originX;
+			locationY[v] += originY;
+		}
+		layoutContext.commitLayout(entities, locationX, locationY, null, null);
+	}
+
+	/**
+	 * Computes a breadth first spanning forest of the given nodes and connects
+	 * its roots to a virtual root. The resulting order lists the nodes level by
+	 * level, and the children of each node from left to right.
+	 */
+	private void buildTree(Node[] entities, Edge[] edges, boolean vertical) {
+		int n = entities.length;
+		Map<Node, Integer> indices = new IdentityHashMap<>();
+		for (int i = 0; i < n; i++) {
+			indices.put(entities[i], i);
+		}
+		// outgoing adjacency in compressed sparse row format
+		int[] sources = new int[edges.length];
+		int[] targets = new int[edges.length];
+		int m = 0;
+		int[] outOffsets = new int[n + 1];
+		boolean[] hasIncoming = new boolean[n];
+		for (Edge edge : edges) {
+			Integer source = indices.get(edge.getSource());
+			Integer target = indices.get(edge.getTarget());
+			if (source == null || target == null
+					|| source.intValue() == target.intValue()) {
+				continue;
+			}
+			sources[m] = source;
+			targets[m] = target;
+			outOffsets[source + 1]++;
+			hasIncoming[target] = true;
+			m++;
+		}
+		for (int v = 0; v < n; v++) {
+			outOffsets[v + 1] += outOffsets[v];
+		}
+		int[] out = new int[m];
+		int[] fill = Arrays.copyOf(outOffsets, n);
+		for (int e = 0; e < m; e++) {
+			out[fill[sources[e]]++] = targets[e];
+		}
+
+		// breadth first search, starting with the sources
+		parent = new int[n + 1];
+		depth = new int[n + 1];
+		order = new int[n + 1];
+		Arrays.fill(parent, -1);
+		int root = n;
+		order[0] = root;
+		depth[root] = -1;
+		int tail = 1;
+		boolean[] visited = new boolean[n];
+		for (int pass = 0; pass < 2; pass++) {
+			for (int r = 0; r < n; r++) {
+				// first pass: sources, second pass: remaining cycles
+				if (visited[r] || (pass == 0 && hasIncoming[r])) {
+					continue;
+				}
+				visited[r] = true;
+				parent[r] = root;
+				depth[r] = 0;
+				int start = tail;
+				order[tail++] = r;
+				for (int i = start; i < tail; i++) {
+					int v = order[i];
+					for (int e = outOffsets[v]; e < outOffsets[v + 1]; e++) {
+						int w = out[e];
+						if (!visited[w]) {
+							visited[w] = true;
+							parent[w] = v;
+							depth[w] = depth[v] + 1;
+							order[tail++] = w;
+						}
+					}
+				}
+			}
+		}
+
+		// the search visits the trees one after another, so reorder the
+		// nodes by depth (stable), which keeps siblings in order
+		int[] levelCount = new int[n + 2];
+		for (int v = 0; v < n; v++) {
+			levelCount[depth[v] + 2]++;
+		}
+		levelCount[1]++;
+		for (int l = 1; l < levelCount.length; l++) {
+			levelCount[l] += levelCount[l - 1];
+		}
+		int[] levelOrder = new int[n + 1];
+		for (int i = 0; i <= n; i++) {
+			int v = order[i];
+			levelOrder[levelCount[depth[v] + 1]++] = v;
+		}
+		order = levelOrder;
+
+		// children in compressed sparse row format (in level order)
+		childOffsets = new int[n + 2];
+		for (int v = 0; v < n; v++) {
+			childOffsets[parent[v] + 1]++;
+		}
+		for (int v = 0; v <= n; v++) {
+			childOffsets[v + 1] += childOffsets[v];
+		}
+		children = new int[n];
+		number = new int[n + 1];
+		fill = Arrays.copyOf(childOffsets, n + 1);
+		for (int i = 1; i <= n; i++) {
+			int v = order[i];
+			number[v] = fill[parent[v]] - childOffsets[parent[v]];
+			children[fill[parent[v]]++] = v;
+		}
+
+		breadth = new double[n + 1];
+		for (int v = 0; v < n; v++) {
+			Dimension size = LayoutProperties.getSize(entities[v]);
+			if (size != null) {
+				breadth[v] = vertical ? size.width : size.height;
+			}
+		}
+	}
+
+	private int getChildCount(int v) {
+		return childOffsets[v + 1] - childOffsets[v];
+	}
+
+	private int getFirstChild(int v) {
+		return getChildCount(v) == 0 ? -1 : children[childOffsets[v]];
+	}
+
+	private int getLastChild(int v) {
+		return getChildCount(v) == 0 ? -1 : children[childOffsets[v + 1] - 1];
+	}
+
+	private int getLeftSibling(int v) {
+		return number[v] == 0 ? -1
+				: children[childOffsets[parent[v]] + number[v] - 1];
+	}
+
+	private int getLeftmostSibling(int v) {
+		return children[childOffsets[parent[v]]];
+	}
+
+	private int nextLeft(int v) {
+		return getChildCount(v) == 0 ? thread[v] : getFirstChild(v);
+	}
+
+	private int nextRight(int v) {
+		return getChildCount(v) == 0 ? thread[v] : getLastChild(v);
+	}
+
+	private double getDistance(int left, int right) {
+		return (breadth[left] + breadth[right]) / 2 + nodeSpacing;
+	}
+
+	/**
+	 * Computes the preliminary coordinates bottom-up. Instead of a post-order
+	 * traversal, the levels are processed from the deepest to the root, each
+	 * from left to right, so that all subtrees below and all left siblings of
+	 * a node are complete when the node is processed.
+	 */
+	private void firstWalk(int n) {
+		prelim = new double[n + 1];
+		mod = new double[n + 1];
+		shift = new double[n + 1];
+		change = new double[n + 1];
+		thread = new int[n + 1];
+		ancestor = new int[n + 1];
+		defaultAncestor = new int[n + 1];
+		Arrays.fill(thread, -1);
+		for (int v = 0; v <= n; v++) {
+			ancestor[v] = v;
+			defaultAncestor[v] = getFirstChild(v);
+		}
+
+		int end = n + 1;
+		while (end > 0) {
+			// determine the current level
+			int start = end - 1;
+			while (start > 0
+					&& depth[order[start - 1]] == depth[order[end - 1]]) {
+				start--;
+			}
+			for (int i = start; i < end; i++) {
+				int v = order[i];
+				int leftSibling = v == n ? -1 : getLeftSibling(v);
+				double midpoint = 0;
+				if (getChildCount(v) > 0) {
+					executeShifts(v);
+					midpoint = (prelim[getFirstChild(v)]
+							+ prelim[getLastChild(v)]) / 2;
+				}
+				if (leftSibling >= 0) {
+					prelim[v] = prelim[leftSibling]
+							+ getDistance(leftSibling, v);
+					mod[v] = prelim[v] - midpoint;
+				} else {
+					prelim[v] = midpoint;
+				}
+				if (v != n) {
+					defaultAncestor[parent[v]] = apportion(v,
+							defaultAncestor[parent[v]]);
+				}
+			}
+			end = start;
+		}
+	}
+
+	private int apportion(int v, int defaultAncestor) {
+		int w = getLeftSibling(v);
+		if (w < 0) {
+			return defaultAncestor;
+		}
+		int vir = v;
+		int vor = v;
+		int vil = w;
+		int vol = getLeftmostSibling(v);
+		double sir = mod[vir];
+		double sor = mod[vor];
+		double sil = mod[vil];
+		double sol = mod[vol];
+		while (nextRight(vil) >= 0 && nextLeft(vir) >= 0) {
+			vil = nextRight(vil);
+			vir = nextLeft(vir);
+			vol = nextLeft(vol);
+			vor = nextRight(vor);
+			ancestor[vor] = v;
+			double s = (prelim[vil] + sil) - (prelim[vir] + sir)
+					+ getDistance(vil, vir);
+			if (s > 0) {
+				int a = parent[ancestor[vil]] == parent[v] ? ancestor[vil]
+						: defaultAncestor;
+				moveSubtree(a, v, s);
+				sir += s;
+				sor += s;
+			}
+			sil += mod[vil];
+			sir += mod[vir];
+			sol += mod[vol];
+			sor += mod[vor];
+		}
+		if (nextRight(vil) >= 0 && nextRight(vor) < 0) {
+			thread[vor] = nextRight(vil);
+			mod[vor] += sil - sor;
+		}
+		if (nextLeft(vir) >= 0 && nextLeft(vol) < 0) {
+			thread[vol] = nextLeft(vir);
+			mod[vol] += sir - sol;
+			defaultAncestor = v;
+		}
+		return defaultAncestor;
+	}
+
+	private void moveSubtree(int wl, int wr, double s) {
+		int subtrees = number[wr] - number[wl];
+		change[wr] -= s / subtrees;
+		shift[wr] += s;
+		change[wl] += s / subtrees;
+		prelim[wr] += s;
+		mod[wr] += s;
+	}
+
+	private void executeShifts(int v) {
+		double s = 0;
+		double c = 0;
+		for (int i = childOffsets[v + 1] - 1; i >= childOffsets[v]; i--) {
+			int w = children[i];
+			prelim[w] += s;
+			mod[w] += s;
+			c += change[w];
+			s += shift[w] + c;
+		}
+	}
+
+	/**
+	 * Computes the final coordinates by accumulating the modifiers top-down.
+	 */
+	private double[] secondWalk(int n) {
+		double[] modSum = new double[n + 1];
+		double[] x = new double[n + 1];
+		for (int i = 1; i <= n; i++) {
+			int v = order[i];
+			modSum[v] = modSum[parent[v]] + mod[parent[v]];
+			x[v] = prelim[v] + modSum[v];
+		}
+		return x;
+	}
+
+	/**
+	 * Returns the direction of this {@link TidyTreeLayoutAlgorithm}.
+	 *
+	 * @return The direction of this {@link TidyTreeLayoutAlgorithm}.
+	 */
+	public int getDirection() {
+		return direction;
+	}
+
+	/**
+	 * Changes the direction of this {@link TidyTreeLayoutAlgorithm} to the
+	 * given value. The direction may either be
+	 * {@link TreeLayoutAlgorithm#TOP_DOWN},
+	 * {@link TreeLayoutAlgorithm#BOTTOM_UP},
+	 * {@link TreeLayoutAlgorithm#LEFT_RIGHT}, or
+	 * {@link TreeLayoutAlgorithm#RIGHT_LEFT}.
+	 *
+	 * @param direction
+	 *            The new direction for this {@link TidyTreeLayoutAlgorithm}.
+	 */
+	public void setDirection(int direction) {
+		if (direction == TreeLayoutAlgorithm.TOP_DOWN
+				|| direction == TreeLayoutAlgorithm.BOTTOM_UP
+				|| direction == TreeLayoutAlgorithm.LEFT_RIGHT
+				|| direction == TreeLayoutAlgorithm.RIGHT_LEFT)
+			this.direction = direction;
+		else
+			throw new IllegalArgumentException(
+					"Invalid direction: " + direction);
+	}
+
+	/**
+	 * Returns the minimum distance between the borders of two neighboring
+	 * nodes of the same level.
+	 *
+	 * @return The node spacing.
+	 */
+	public double getNodeSpacing() {
+		return nodeSpacing;
+	}
+
+	/**
+	 * Sets the minimum distance between the borders of two neighboring nodes
+	 * of the same level (default is 20).
+	 *
+	 * @param nodeSpacing
+	 *            The new node spacing.
+	 */
+	public void setNodeSpacing(double nodeSpacing) {
+		this.nodeSpacing = nodeSpacing;
+	}
+
+	/**
+	 * Returns the distance between the borders of the largest nodes of two
+	 * adjacent levels.
+	 *
+	 * @return The level spacing.
+	 */
+	public double getLevelSpacing() {
+		return levelSpacing;
+	}
+
+	/**
+	 * Sets the distance between the borders of the largest nodes of two
+	 * adjacent levels (default is 40).
+	 *
+	 * @param levelSpacing
+	 *            The new level spacing.
+	 */
+	public void setLevelSpacing(double levelSpacing) {
+		this.levelSpacing = levelSpacing;
+	}
+}
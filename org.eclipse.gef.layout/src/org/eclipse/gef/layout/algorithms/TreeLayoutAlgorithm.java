@@ -16,12 +16,13 @@
 package org.eclipse.gef.layout.algorithms;
 
 import java.util.Iterator;
+import java.util.List;
 
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 import org.eclipse.gef.layout.algorithms.TreeLayoutHelper.TreeNode;
@@ -38,7 +39,7 @@ import org.eclipse.gef.layout.algorithms.TreeLayoutHelper.TreeNode;
  * @author Miles Parker
  * @author mwienand
  */
-public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
+public class TreeLayoutAlgorithm implements ICacheableLayoutAlgorithm {
 
 	/**
 	 * Tree direction constant for which root is placed at the top and branches
@@ -166,20 +167,24 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 		resize = resizing;
 	}
 
+	public Object[] getLayoutParameters() {
+		return new Object[] { direction, resize };
+	}
+
 	public void applyLayout(LayoutContext layoutContext, boolean clean) {
 		if (!clean)
 			return;
 
 		internalApplyLayout(layoutContext);
 
-		Node[] entities = layoutContext.getNodes();
+		List<Node> entities = layoutContext.getNodesUnmodifiable();
 		if (resize) {
 			AlgorithmHelper.maximizeSizes(entities);
 		}
 		scaleEntities(entities);
 	}
 
-	private void scaleEntities(Node[] entities) {
+	private void scaleEntities(List<Node> entities) {
 		if (nodeSpace == null) {
 			Rectangle resizedBounds = new Rectangle(bounds);
 			int insets = 4;
@@ -200,7 +205,7 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	void internalApplyLayout(LayoutContext context) {
 		treeObserver = new TreeLayoutHelper(null);
-		treeObserver.computeTree(context.getNodes());
+		treeObserver.computeTree(context.getNodesUnmodifiable());
 
 		TreeNode superRoot = treeObserver.getSuperRoot();
 		bounds = LayoutProperties.getBounds(context.getGraph());
@@ -15,6 +15,7 @@
 package org.eclipse.gef.layout.algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -416,6 +417,17 @@ public class TreeLayoutHelper {
 	 *            nodes
 	 */
 	public void computeTree(Node[] nodes) {
+		computeTree(Arrays.asList(nodes));
+	}
+
+	/**
+	 * Recomputes all the information about the tree structure (the same effect
+	 * as creating new <code>TreeLayoutObserver</code>).
+	 * 
+	 * @param nodes
+	 *            nodes
+	 */
+	public void computeTree(List<Node> nodes) {
 		superRoot = factory.createTreeNode(null, this);
 		layoutToTree.put(null, superRoot);
 		createTrees(nodes);
@@ -451,17 +463,124 @@ public class TreeLayoutHelper {
 		return treeNode;
 	}
 
+	/**
+	 * Returns the {@link TreeNode} related to the given node, or
+	 * <code>null</code> if the given node is not part of the observed tree
+	 * structure.
+	 * 
+	 * @param node
+	 *            The {@link Node} for which to return the corresponding
+	 *            {@link TreeNode}.
+	 * @return The {@link TreeNode} related to the given {@link Node}, or
+	 *         <code>null</code>.
+	 */
+	TreeNode findTreeNode(Node node) {
+		return node == null ? null : layoutToTree.get(node);
+	}
+
+	/**
+	 * Adds the given node to the observed tree structure, as a child of
+	 * {@link #getSuperRoot() Super Root}. Only the depths of the tree nodes are
+	 * kept up to date when the tree structure is changed, i.e.
+	 * {@link TreeNode#precomputeTree()} has to be called on Super Root
+	 * afterwards.
+	 * 
+	 * @param node
+	 *            The {@link Node} to add.
+	 */
+	void addNode(Node node) {
+		TreeNode treeNode = getTreeNode(node);
+		superRoot.addChild(treeNode);
+		updateDepths(treeNode);
+	}
+
+	/**
+	 * Removes the given node from the observed tree structure. Its children
+	 * are moved to the best of their remaining predecessors, or to
+	 * {@link #getSuperRoot() Super Root}.
+	 * 
+	 * @param node
+	 *            The {@link Node} to remove.
+	 */
+	void removeNode(Node node) {
+		TreeNode treeNode = layoutToTree.remove(node);
+		if (treeNode == null) {
+			return;
+		}
+		treeNode.parent.children.remove(treeNode);
+		for (TreeNode child : new ArrayList<>(treeNode.children)) {
+			child.parent = null;
+			child.findNewParent();
+			updateDepths(child);
+		}
+	}
+
+	/**
+	 * Updates the observed tree structure for a new edge between the given
+	 * nodes, i.e. the target becomes a child of the source if the source is
+	 * a better parent.
+	 * 
+	 * @param source
+	 *            The source {@link Node} of the edge.
+	 * @param target
+	 *            The target {@link Node} of the edge.
+	 */
+	void addEdge(Node source, Node target) {
+		TreeNode sourceNode = layoutToTree.get(source);
+		TreeNode targetNode = layoutToTree.get(target);
+		if (sourceNode == null || targetNode == null
+				|| sourceNode == targetNode
+				|| !targetNode.isBetterParent(sourceNode)) {
+			return;
+		}
+		targetNode.parent.children.remove(targetNode);
+		sourceNode.addChild(targetNode);
+		updateDepths(targetNode);
+	}
+
+	/**
+	 * Updates the observed tree structure for a removed edge between the
+	 * given nodes, i.e. the target is moved to a new parent if the source was
+	 * its parent.
+	 * 
+	 * @param source
+	 *            The source {@link Node} of the edge.
+	 * @param target
+	 *            The target {@link Node} of the edge.
+	 */
+	void removeEdge(Node source, Node target) {
+		TreeNode sourceNode = layoutToTree.get(source);
+		TreeNode targetNode = layoutToTree.get(target);
+		if (sourceNode == null || targetNode == null
+				|| targetNode.parent != sourceNode) {
+			return;
+		}
+		targetNode.findNewParent();
+		updateDepths(targetNode);
+	}
+
+	/**
+	 * Sets the depths of the given tree node and its descendants according to
+	 * the depth of its parent.
+	 */
+	private void updateDepths(TreeNode treeNode) {
+		treeNode.depth = treeNode.parent.depth + 1;
+		for (TreeNode child : treeNode.children) {
+			updateDepths(child);
+		}
+	}
+
 	/**
 	 * Builds a tree structure using BFS method. Created trees are children of
 	 * {@link #superRoot}.
 	 * 
 	 * @param nodes
 	 */
-	private void createTrees(Node[] nodes) {
+	private void createTrees(List<Node> nodes) {
 		HashSet<Node> alreadyVisited = new HashSet<>();
 		LinkedList<Object[]> nodesToAdd = new LinkedList<>();
-		for (int i = 0; i < nodes.length; i++) {
-			Node root = findRoot(nodes[i], alreadyVisited);
+		for (Node node : nodes) {
+			Node root = findRoot(node, alreadyVisited);
 			if (root != null) {
 				alreadyVisited.add(root);
 				nodesToAdd.addLast(new Object[] { root, superRoot });
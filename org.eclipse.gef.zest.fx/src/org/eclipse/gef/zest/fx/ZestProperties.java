@@ -394,6 +394,29 @@ public class ZestProperties {
 	 */
 	public static final String LAYOUT_ALGORITHM__G = "graph-layout-algorithm";
 
+	/**
+	 * This attribute determines if the layout of the graph is computed in the
+	 * background, so that the JavaFX application thread is not blocked. The
+	 * results are applied on the JavaFX application thread. By default, the
+	 * layout is computed synchronously.
+	 *
+	 * @see #getLayoutAsynchronous(Graph)
+	 * @see #setLayoutAsynchronous(Graph, Boolean)
+	 */
+	public static final String LAYOUT_ASYNCHRONOUS__G = "graph-layout-asynchronous";
+
+	/**
+	 * This attribute determines if the layout of the graph is computed
+	 * continuously, i.e. a bounded number of iterations is performed per frame,
+	 * until the layout is stable. Only supported by the
+	 * {@link org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm}. By
+	 * default, the layout is computed in a single pass.
+	 *
+	 * @see #getLayoutContinuous(Graph)
+	 * @see #setLayoutContinuous(Graph, Boolean)
+	 */
+	public static final String LAYOUT_CONTINUOUS__G = "graph-layout-continuous";
+
 	/**
 	 * Returns the value of the {@link #CONTROL_POINTS__E} attribute of the given
 	 * {@link Edge}.
@@ -852,6 +875,40 @@ public class ZestProperties {
 		return (ILayoutAlgorithm) value;
 	}
 
+	/**
+	 * Returns the value of the {@link #LAYOUT_ASYNCHRONOUS__G} attribute of the
+	 * given {@link Graph}.
+	 *
+	 * @param graph
+	 *            The {@link Graph} of which the asynchronous layout flag is
+	 *            determined.
+	 * @return The asynchronous layout flag of the given {@link Graph}.
+	 */
+	public static Boolean getLayoutAsynchronous(Graph graph) {
+		Object value = graph.attributesProperty().get(LAYOUT_ASYNCHRONOUS__G);
+		if (value instanceof Provider) {
+			return (Boolean) ((Provider<?>) value).get();
+		}
+		return (Boolean) value;
+	}
+
+	/**
+	 * Returns the value of the {@link #LAYOUT_CONTINUOUS__G} attribute of the
+	 * given {@link Graph}.
+	 *
+	 * @param graph
+	 *            The {@link Graph} of which the continuous layout flag is
+	 *            determined.
+	 * @return The continuous layout flag of the given {@link Graph}.
+	 */
+	public static Boolean getLayoutContinuous(Graph graph) {
+		Object value = graph.attributesProperty().get(LAYOUT_CONTINUOUS__G);
+		if (value instanceof Provider) {
+			return (Boolean) ((Provider<?>) value).get();
+		}
+		return (Boolean) value;
+	}
+
 	/**
 	 * Returns the value of the {@link #LAYOUT_IRRELEVANT__NE} attribute of the
 	 * given {@link Edge}.
@@ -2223,6 +2280,42 @@ public class ZestProperties {
 		}
 	}
 
+	/**
+	 * Sets the value of the {@link #LAYOUT_ASYNCHRONOUS__G} attribute of the
+	 * given {@link Graph} to the given value.
+	 *
+	 * @param graph
+	 *            The {@link Graph} of which the asynchronous layout flag is
+	 *            changed.
+	 * @param asynchronous
+	 *            The new asynchronous layout flag for the given {@link Graph}.
+	 */
+	public static void setLayoutAsynchronous(Graph graph, Boolean asynchronous) {
+		if (asynchronous == null) {
+			graph.getAttributes().remove(LAYOUT_ASYNCHRONOUS__G);
+		} else {
+			graph.attributesProperty().put(LAYOUT_ASYNCHRONOUS__G, asynchronous);
+		}
+	}
+
+	/**
+	 * Sets the value of the {@link #LAYOUT_CONTINUOUS__G} attribute of the
+	 * given {@link Graph} to the given value.
+	 *
+	 * @param graph
+	 *            The {@link Graph} of which the continuous layout flag is
+	 *            changed.
+	 * @param continuous
+	 *            The new continuous layout flag for the given {@link Graph}.
+	 */
+	public static void setLayoutContinuous(Graph graph, Boolean continuous) {
+		if (continuous == null) {
+			graph.getAttributes().remove(LAYOUT_CONTINUOUS__G);
+		} else {
+			graph.attributesProperty().put(LAYOUT_CONTINUOUS__G, continuous);
+		}
+	}
+
 	/**
 	 * Sets the value of the {@link #LAYOUT_IRRELEVANT__NE} attribute of the given
 	 * {@link Edge} to the given value.
@@ -13,8 +13,15 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.zest.fx.ZestProperties;
 import org.eclipse.gef.zest.fx.parts.EdgePart;
 
 import javafx.scene.Node;
@@ -29,6 +36,12 @@ import javafx.scene.Node;
 // only applicable for EdgePart (see #getHost())
 public class EdgeLayoutBehavior extends AbstractLayoutBehavior {
 
+	/**
+	 * The control points that were applied for the route of the last layout
+	 * pass (if the edge was routed).
+	 */
+	private List<Point> routedControlPoints = null;
+
 	@Override
 	public EdgePart getHost() {
 		return (EdgePart) super.getHost();
@@ -43,6 +56,22 @@ public class EdgeLayoutBehavior extends AbstractLayoutBehavior {
 
 	@Override
 	protected void postLayout() {
+		// apply the route, if the edge was routed during layout, otherwise
+		// discard the route of a previous layout pass, which is outdated as
+		// the nodes may have been moved (control points that were provided
+		// otherwise, e.g. by the user or the model, are kept)
+		Edge edge = getHost().getContent();
+		List<Point> postLayoutControlPoints = LayoutProperties.getControlPoints(edge);
+		if (postLayoutControlPoints != null) {
+			routedControlPoints = new ArrayList<>(postLayoutControlPoints);
+			ZestProperties.setControlPoints(edge, routedControlPoints);
+		} else if (routedControlPoints != null) {
+			if (edge.getAttributes().get(ZestProperties.CONTROL_POINTS__E) == routedControlPoints) {
+				ZestProperties.setControlPoints(edge, (List<Point>) null);
+			}
+			routedControlPoints = null;
+		}
+
 		// refresh visual
 		getHost().refreshVisual();
 
@@ -52,5 +81,7 @@ public class EdgeLayoutBehavior extends AbstractLayoutBehavior {
 
 	@Override
 	protected void preLayout() {
+		// discard the route of a previous layout pass, which is outdated
+		LayoutProperties.setControlPoints(getHost().getContent(), null);
 	}
 }
@@ -14,9 +14,13 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
+import org.eclipse.gef.fx.nodes.Connection;
 import org.eclipse.gef.fx.nodes.InfiniteCanvas;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
@@ -25,6 +29,9 @@ import org.eclipse.gef.layout.ILayoutAlgorithm;
 import org.eclipse.gef.layout.ILayoutFilter;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutResultCache;
+import org.eclipse.gef.layout.algorithms.SpaceTreeLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.mvc.fx.parts.PartUtils;
@@ -34,17 +41,22 @@ import org.eclipse.gef.zest.fx.ZestProperties;
 import org.eclipse.gef.zest.fx.models.HidingModel;
 import org.eclipse.gef.zest.fx.models.NavigationModel;
 import org.eclipse.gef.zest.fx.models.NavigationModel.ViewportState;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
 import org.eclipse.gef.zest.fx.parts.GraphPart;
 import org.eclipse.gef.zest.fx.parts.NodePart;
 
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ListChangeListener;
 import javafx.collections.SetChangeListener;
+import javafx.event.EventHandler;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.input.MouseEvent;
 
 /**
  * The {@link GraphLayoutBehavior} is responsible for initiating layout passes.
@@ -56,6 +68,18 @@ import javafx.scene.Scene;
 // only applicable for GraphPart (see #getHost())
 public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
+	/**
+	 * The default time budget (in milliseconds) of a continuous layout per
+	 * frame.
+	 */
+	public static final long DEFAULT_CONTINUOUS_LAYOUT_BUDGET = 8;
+
+	/**
+	 * The default maximum number of iterations of a continuous layout per
+	 * frame.
+	 */
+	public static final int DEFAULT_CONTINUOUS_LAYOUT_ITERATIONS = 20;
+
 	private Runnable postLayout = new Runnable() {
 		@Override
 		public void run() {
@@ -102,11 +126,44 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		}
 	};
 
+	private EventHandler<MouseEvent> mouseButtonFilter = new EventHandler<MouseEvent>() {
+		@Override
+		public void handle(MouseEvent event) {
+			// suspend a continuous layout while the user interacts (e.g.
+			// drags nodes), and warm start it afterwards, so that it adapts to
+			// the changes
+			continuousLayoutSuspended = event.isPrimaryButtonDown() || event.isSecondaryButtonDown()
+					|| event.isMiddleButtonDown();
+			if (!continuousLayoutSuspended && isContinuousLayout()) {
+				continuousLayoutTimer.start();
+			}
+		}
+	};
+
+	private AnimationTimer continuousLayoutTimer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			performContinuousLayout();
+		}
+	};
+
+	private boolean continuousLayoutSuspended;
+	private long continuousLayoutBudget = DEFAULT_CONTINUOUS_LAYOUT_BUDGET;
+	private int continuousLayoutIterations = DEFAULT_CONTINUOUS_LAYOUT_ITERATIONS;
+
 	private boolean skipNextLayout;
+	private boolean incrementalLayout;
 
 	/**
 	 * Performs one layout pass using the static layout algorithm that is configured
-	 * for the layout context.
+	 * for the layout context. If the {@link ZestProperties#LAYOUT_CONTINUOUS__G}
+	 * attribute is set (and a {@link SpringLayoutAlgorithm} is used), a continuous
+	 * layout is started instead. If the
+	 * {@link ZestProperties#LAYOUT_ASYNCHRONOUS__G} attribute is set, the layout is
+	 * computed in the background, unless an incremental layout pass is requested
+	 * (i.e. <code>clean</code> is <code>false</code>), which is always computed
+	 * synchronously, so that the layout algorithm can reuse the state of the
+	 * previous pass.
 	 *
 	 * @param clean Whether to fully re-compute the layout or not.
 	 * @param extra An extra {@link Object} that is passed-on to the
@@ -152,8 +209,165 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 			layoutContext.setGraph(graph);
 		}
 
+		// the layout filter depends on the hiding model and the activation of
+		// the content parts, which are not observed by the context
+		layoutContext.invalidateLayoutObjects();
+
 		// apply layout (if no algorithm is set, will be a no-op)
-		layoutContext.applyLayout(true);
+		if (isContinuousLayout()) {
+			// iterations are performed per frame, starting from the current
+			// locations
+			continuousLayoutTimer.start();
+		} else if (clean && Boolean.TRUE.equals(ZestProperties.getLayoutAsynchronous(graph))) {
+			// compute in the background and apply the results on the
+			// application thread
+			layoutContext.applyLayoutAsync(true, ForkJoinPool.commonPool(), Platform::runLater);
+		} else {
+			// a pass that is deferred until a cancelled background pass stopped
+			// updates all parts
+			incrementalLayout = !clean;
+			try {
+				layoutContext.applyLayout(clean);
+			} finally {
+				incrementalLayout = false;
+			}
+		}
+	}
+
+	/**
+	 * Collapses the given node, i.e. hides its subtree, if a
+	 * {@link SpaceTreeLayoutAlgorithm} is used, and applies an incremental layout
+	 * pass. Only the nodes that are moved by the layout pass (and their edges) are
+	 * updated. Has no effect if a different layout algorithm is used.
+	 *
+	 * @param node The {@link org.eclipse.gef.graph.Node} to collapse.
+	 */
+	public void collapse(org.eclipse.gef.graph.Node node) {
+		SpaceTreeLayoutAlgorithm spaceTree = getLayoutAlgorithm(
+				ZestProperties.getLayoutAlgorithm(getHost().getContent()), SpaceTreeLayoutAlgorithm.class);
+		if (spaceTree != null) {
+			spaceTree.collapse(node);
+			applyLayout(false, null);
+		}
+	}
+
+	/**
+	 * Expands the given node, i.e. shows as many levels of its subtree as the
+	 * layout bounds permit, if a {@link SpaceTreeLayoutAlgorithm} is used, and
+	 * applies an incremental layout pass. Only the nodes that are moved by the
+	 * layout pass (and their edges) are updated. Has no effect if a different
+	 * layout algorithm is used.
+	 *
+	 * @param node The {@link org.eclipse.gef.graph.Node} to expand.
+	 */
+	public void expand(org.eclipse.gef.graph.Node node) {
+		SpaceTreeLayoutAlgorithm spaceTree = getLayoutAlgorithm(
+				ZestProperties.getLayoutAlgorithm(getHost().getContent()), SpaceTreeLayoutAlgorithm.class);
+		if (spaceTree != null) {
+			spaceTree.expand(node);
+			applyLayout(false, null);
+		}
+	}
+
+	/**
+	 * Returns the time budget (in milliseconds) of a continuous layout per
+	 * frame.
+	 *
+	 * @return The time budget of a continuous layout per frame.
+	 */
+	public long getContinuousLayoutBudget() {
+		return continuousLayoutBudget;
+	}
+
+	/**
+	 * Returns the maximum number of iterations of a continuous layout per frame.
+	 *
+	 * @return The maximum number of iterations of a continuous layout per frame.
+	 */
+	public int getContinuousLayoutIterations() {
+		return continuousLayoutIterations;
+	}
+
+	/**
+	 * Sets the time budget (in milliseconds) of a continuous layout per frame,
+	 * after which no further iterations are started within the frame. Defaults
+	 * to {@link #DEFAULT_CONTINUOUS_LAYOUT_BUDGET}.
+	 *
+	 * @param budget The new time budget of a continuous layout per frame.
+	 */
+	public void setContinuousLayoutBudget(long budget) {
+		if (budget < 0) {
+			throw new IllegalArgumentException("Budget may not be negative.");
+		}
+		continuousLayoutBudget = budget;
+	}
+
+	/**
+	 * Sets the maximum number of iterations of a continuous layout per frame.
+	 * Defaults to {@link #DEFAULT_CONTINUOUS_LAYOUT_ITERATIONS}.
+	 *
+	 * @param iterations The new maximum number of iterations of a continuous
+	 *                   layout per frame.
+	 */
+	public void setContinuousLayoutIterations(int iterations) {
+		if (iterations < 1) {
+			throw new IllegalArgumentException("At least one iteration has to be performed per frame.");
+		}
+		continuousLayoutIterations = iterations;
+	}
+
+	/**
+	 * Returns the given layout algorithm if it is of the given type. A layout
+	 * algorithm that is wrapped by a {@link LayoutResultCache} is unwrapped
+	 * before.
+	 *
+	 * @param layoutAlgorithm The {@link ILayoutAlgorithm} to test, may be
+	 *                        <code>null</code>.
+	 * @param type            The type of the layout algorithm to return.
+	 * @return The (unwrapped) layout algorithm, or <code>null</code> if it is not
+	 *         of the given type.
+	 */
+	private static <T extends ILayoutAlgorithm> T getLayoutAlgorithm(ILayoutAlgorithm layoutAlgorithm,
+			Class<T> type) {
+		if (layoutAlgorithm instanceof LayoutResultCache.CachingLayoutAlgorithm) {
+			layoutAlgorithm = ((LayoutResultCache.CachingLayoutAlgorithm) layoutAlgorithm).getDelegate();
+		}
+		return type.isInstance(layoutAlgorithm) ? type.cast(layoutAlgorithm) : null;
+	}
+
+	/**
+	 * Returns <code>true</code> if the layout is computed continuously, i.e. if
+	 * the {@link ZestProperties#LAYOUT_CONTINUOUS__G} attribute is set and a
+	 * {@link SpringLayoutAlgorithm} is used (possibly wrapped by a
+	 * {@link LayoutResultCache}), otherwise <code>false</code>.
+	 *
+	 * @return Whether the layout is computed continuously.
+	 */
+	protected boolean isContinuousLayout() {
+		return Boolean.TRUE.equals(ZestProperties.getLayoutContinuous(getHost().getContent()))
+				&& getLayoutAlgorithm(getLayoutContext().getLayoutAlgorithm(), SpringLayoutAlgorithm.class) != null;
+	}
+
+	/**
+	 * Performs the iterations of a continuous layout for one frame. The
+	 * continuous layout is stopped when it has converged, and is suspended while
+	 * a mouse button is pressed. A layout pass that is computed in the
+	 * background is cancelled before the iterations are performed, which are
+	 * skipped until its layout algorithm stopped.
+	 */
+	protected void performContinuousLayout() {
+		if (continuousLayoutSuspended) {
+			// resumed when the mouse button is released
+			continuousLayoutTimer.stop();
+			return;
+		}
+		// performing the iterations cancels an asynchronous layout pass, as does a
+		// synchronous layout pass; neither blocks the application thread
+		if (!isContinuousLayout() || getLayoutAlgorithm(getLayoutContext().getLayoutAlgorithm(),
+				SpringLayoutAlgorithm.class).performContinuousIterations(getLayoutContext(), continuousLayoutIterations,
+						continuousLayoutBudget)) {
+			continuousLayoutTimer.stop();
+		}
 	}
 
 	/**
@@ -185,6 +399,8 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 	@Override
 	protected void doActivate() {
 		getHost().getChildrenUnmodifiable().addListener(childrenObserver);
+		getInfiniteCanvas().addEventFilter(MouseEvent.MOUSE_PRESSED, mouseButtonFilter);
+		getInfiniteCanvas().addEventFilter(MouseEvent.MOUSE_RELEASED, mouseButtonFilter);
 
 		LayoutContext layoutContext = getLayoutContext();
 		layoutContext.schedulePreLayoutPass(preLayout);
@@ -266,6 +482,10 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 	@Override
 	protected void doDeactivate() {
 		getHost().getChildrenUnmodifiable().removeListener(childrenObserver);
+		getInfiniteCanvas().removeEventFilter(MouseEvent.MOUSE_PRESSED, mouseButtonFilter);
+		getInfiniteCanvas().removeEventFilter(MouseEvent.MOUSE_RELEASED, mouseButtonFilter);
+		continuousLayoutTimer.stop();
+		continuousLayoutSuspended = false;
 
 		final HidingModel hidingModel = getHost().getRoot().getViewer().getAdapter(HidingModel.class);
 		if (hidingModel != null) {
@@ -322,16 +542,54 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
 	@Override
 	protected void postLayout() {
-		// execute post-layout of all nodes and edges
+		// after an incremental layout pass of a space tree, only the nodes that
+		// were moved (and their edges) need to be updated
+		Set<org.eclipse.gef.graph.Node> changedNodes = null;
+		if (incrementalLayout) {
+			SpaceTreeLayoutAlgorithm spaceTree = getLayoutAlgorithm(getLayoutContext().getLayoutAlgorithm(),
+					SpaceTreeLayoutAlgorithm.class);
+			if (spaceTree != null) {
+				changedNodes = spaceTree.getChangedNodes();
+			}
+		}
+
+		// defer the refresh of the connections while the layout results are
+		// applied, so that each connection is refreshed once (rather than for
+		// each change of its anchors, points, and attributes)
+		List<Connection> deferredConnections = new ArrayList<>();
 		for (IVisualPart<? extends Node> child : getHost().getChildrenUnmodifiable()) {
-			// FIXME: Layout should only be triggered when content-part-map
-			// is changed, not when the children are changed.
-			if (child.getViewer() == null) {
-				continue;
+			if (child instanceof EdgePart && !((EdgePart) child).getVisual().isDeferredRefresh()) {
+				Connection connection = ((EdgePart) child).getVisual();
+				connection.setDeferredRefresh(true);
+				deferredConnections.add(connection);
 			}
-			AbstractLayoutBehavior childLayoutBehavior = child.getAdapter(AbstractLayoutBehavior.class);
-			if (childLayoutBehavior != null) {
-				childLayoutBehavior.postLayout();
+		}
+
+		try {
+			// execute post-layout of all (changed) nodes and edges
+			for (IVisualPart<? extends Node> child : getHost().getChildrenUnmodifiable()) {
+				// FIXME: Layout should only be triggered when content-part-map
+				// is changed, not when the children are changed.
+				if (child.getViewer() == null) {
+					continue;
+				}
+				if (changedNodes != null && child instanceof IContentPart) {
+					Object content = ((IContentPart<?>) child).getContent();
+					if (content instanceof org.eclipse.gef.graph.Node && !changedNodes.contains(content)
+							|| content instanceof Edge && !changedNodes.contains(((Edge) content).getSource())
+									&& !changedNodes.contains(((Edge) content).getTarget())) {
+						continue;
+					}
+				}
+				AbstractLayoutBehavior childLayoutBehavior = child.getAdapter(AbstractLayoutBehavior.class);
+				if (childLayoutBehavior != null) {
+					childLayoutBehavior.postLayout();
+				}
+			}
+		} finally {
+			// perform the pending refreshes
+			for (Connection connection : deferredConnections) {
+				connection.setDeferredRefresh(false);
 			}
 		}
 	}
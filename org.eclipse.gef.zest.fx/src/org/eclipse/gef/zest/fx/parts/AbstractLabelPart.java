@@ -20,6 +20,7 @@ import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.gef.common.attributes.IAttributeStore;
 import org.eclipse.gef.fx.listeners.VisualChangeListener;
 import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.layout.LayoutProperties;
 import org.eclipse.gef.mvc.fx.operations.TransformVisualOperation;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
 import org.eclipse.gef.mvc.fx.parts.ITransformableContentPart;
@@ -70,7 +71,10 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 	private MapChangeListener<String, Object> elementAttributesObserver = new MapChangeListener<String, Object>() {
 		@Override
 		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
-			refreshVisual();
+			// layout properties are not rendered
+			if (!LayoutProperties.isLayoutProperty(change.getKey())) {
+				refreshVisual();
+			}
 		}
 	};
 
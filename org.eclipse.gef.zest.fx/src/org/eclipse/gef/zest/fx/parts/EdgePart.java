@@ -26,6 +26,7 @@ import org.eclipse.gef.fx.nodes.IConnectionInterpolator;
 import org.eclipse.gef.fx.nodes.IConnectionRouter;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.layout.LayoutProperties;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
 import org.eclipse.gef.mvc.fx.parts.IBendableContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
@@ -70,6 +71,10 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 
 		@Override
 		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
+			if (LayoutProperties.isLayoutProperty(change.getKey())) {
+				// layout properties are not rendered
+				return;
+			}
 			if (ZestProperties.ROUTER__E.equals(change.getKey())) {
 				// if the router changed, re-attach the visual (so we attach to
 				// a different anchor)
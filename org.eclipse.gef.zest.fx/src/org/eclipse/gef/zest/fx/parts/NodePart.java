@@ -25,6 +25,7 @@ import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.layout.LayoutProperties;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
 import org.eclipse.gef.mvc.fx.parts.IResizableContentPart;
 import org.eclipse.gef.mvc.fx.parts.ITransformableContentPart;
@@ -170,7 +171,11 @@ public class NodePart extends AbstractContentPart<Group>
 	private MapChangeListener<String, Object> nodeAttributesObserver = new MapChangeListener<String, Object>() {
 		@Override
 		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
-			refreshVisual();
+			// layout results are transferred after the layout pass (see
+			// NodeLayoutBehavior), so that the visual is only refreshed once
+			if (!LayoutProperties.isLayoutProperty(change.getKey())) {
+				refreshVisual();
+			}
 		}
 	};
 
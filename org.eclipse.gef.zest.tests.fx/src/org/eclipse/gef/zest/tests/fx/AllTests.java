@@ -18,6 +18,6 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ GraphPartTests.class, NodeLayoutBehaviorTests.class })
+@SuiteClasses({ EdgeLayoutBehaviorTests.class, GraphPartTests.class, NodeLayoutBehaviorTests.class })
 public class AllTests {
 }
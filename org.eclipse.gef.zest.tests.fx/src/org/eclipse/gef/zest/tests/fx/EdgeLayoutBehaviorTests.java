@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 itemis AG and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.mvc.tests.fx.rules.FXApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.EdgeLayoutBehavior;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class EdgeLayoutBehaviorTests {
+
+	/**
+	 * Ensure all tests are executed on the JavaFX application thread (and the
+	 * JavaFX toolkit is properly initialized).
+	 */
+	@Rule
+	public FXApplicationThreadRule fxApplicationThreadRule = new FXApplicationThreadRule();
+
+	private Edge createEdge() {
+		Node source = new Node.Builder().buildNode();
+		Node target = new Node.Builder().buildNode();
+		Edge edge = new Edge(source, target);
+		new Graph(Arrays.asList(source, target), Arrays.asList(edge));
+		return edge;
+	}
+
+	private EdgeLayoutBehavior createEdgeLayoutBehavior(final Edge edge) {
+		EdgeLayoutBehavior behavior = new EdgeLayoutBehavior() {
+			private EdgePart host;
+
+			@Override
+			public EdgePart getHost() {
+				if (host == null) {
+					host = new EdgePart() {
+						@Override
+						public Edge getContent() {
+							return edge;
+						}
+					};
+				}
+				return host;
+			}
+		};
+		return behavior;
+	}
+
+	/**
+	 * Performs a layout pass for the given behavior, during which the edge is
+	 * routed along the given control points (if provided).
+	 */
+	private void layout(EdgeLayoutBehavior behavior, List<Point> route) throws Exception {
+		Method preLayout = EdgeLayoutBehavior.class.getDeclaredMethod("preLayout", new Class[] {});
+		preLayout.setAccessible(true);
+		preLayout.invoke(behavior, new Object[] {});
+
+		if (route != null) {
+			LayoutProperties.setControlPoints(behavior.getHost().getContent(), route);
+		}
+
+		Method postLayout = EdgeLayoutBehavior.class.getDeclaredMethod("postLayout", new Class[] {});
+		postLayout.setAccessible(true);
+		postLayout.invoke(behavior, new Object[] {});
+	}
+
+	@Test
+	public void test_routedControlPointsDiscarded() throws Exception {
+		Edge edge = createEdge();
+		EdgeLayoutBehavior behavior = createEdgeLayoutBehavior(edge);
+
+		// the route is applied
+		List<Point> route = Arrays.asList(new Point(10, 20), new Point(30, 40));
+		layout(behavior, route);
+		assertEquals(route, ZestProperties.getControlPoints(edge));
+
+		// and discarded if the edge is not routed during the next pass
+		layout(behavior, null);
+		assertTrue(ZestProperties.getControlPoints(edge).isEmpty());
+	}
+
+	@Test
+	public void test_userControlPointsKept() throws Exception {
+		Edge edge = createEdge();
+		EdgeLayoutBehavior behavior = createEdgeLayoutBehavior(edge);
+
+		// control points that were not routed survive a layout pass without
+		// routing
+		List<Point> controlPoints = Arrays.asList(new Point(50, 60));
+		ZestProperties.setControlPoints(edge, controlPoints);
+		layout(behavior, null);
+		assertEquals(controlPoints, ZestProperties.getControlPoints(edge));
+
+		// as well as control points that replaced a route
+		layout(behavior, Collections.singletonList(new Point(10, 20)));
+		ZestProperties.setControlPoints(edge, controlPoints);
+		layout(behavior, null);
+		assertEquals(controlPoints, ZestProperties.getControlPoints(edge));
+	}
+}